@@ -0,0 +1,172 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for decomposing arrays of instants into year, month, day, hour and minute with
+ * {@link BulkDateTimeUtils#decompose}, against the per-field bulk methods and the {@link DateTimeUtils#toCalendar}
+ * based getters, and for the paired-instant calculations against their single-value methods.  The {@link BulkKernels}
+ * are also compared with the {@link ScalarBulkKernels}, which differ when the vector profile is active (on Java 17 and
+ * later, where the benchmarks run with the Vector API kernels)
+ * <p>
+ * Run with e.g. {@code mvn -P benchmark test-compile exec:exec -Djmh.args="-prof gc BulkDateTimeUtilsBenchmark"}
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class BulkDateTimeUtilsBenchmark {
+
+    private static final int SIZE = 10000;
+
+    /**
+     * Whether the instants are a sorted run (such as a day of events) or spread at random over 50 years
+     */
+    @Param( { "sorted", "random" } )
+    public String order;
+
+    private TimeZone zone;
+    private int offset;
+    private long[] startMillis;
+    private long[] endMillis;
+    private int[] years;
+    private int[] months;
+    private int[] days;
+    private int[] hours;
+    private int[] minutes;
+    private double[] exactDays;
+
+    @Setup
+    public void setUp() {
+        zone = TimeZone.getDefault();
+        final Random random = new Random( 42 );
+        startMillis = new long[ SIZE ];
+        endMillis = new long[ SIZE ];
+        for ( int i = 0; i < SIZE; i++ )
+        {
+            startMillis[ i ] = "sorted".equals( order )
+                               ? 1628945130250L + i * 8640L
+                               : 1000000000000L + ( long ) ( random.nextDouble() * 50 * 365 * 86400000L );
+            endMillis[ i ] = startMillis[ i ] + ( long ) ( random.nextDouble() * 30 * 86400000L );
+        }
+        years = new int[ SIZE ];
+        months = new int[ SIZE ];
+        days = new int[ SIZE ];
+        hours = new int[ SIZE ];
+        minutes = new int[ SIZE ];
+        exactDays = new double[ SIZE ];
+        offset = zone.getOffset( startMillis[ 0 ] );
+    }
+
+    /* ********* *
+     * Decompose *
+     * ********* */
+
+    @Benchmark
+    public int[] decompose() {
+        BulkDateTimeUtils.decompose( startMillis, zone, years, months, days, hours, minutes );
+        return minutes;
+    }
+
+    @Benchmark
+    public int[] decomposeKernel() {
+        BulkKernels.decompose( startMillis, 0, SIZE, offset, years, months, days, hours, minutes );
+        return minutes;
+    }
+
+    @Benchmark
+    public int[] scalarDecomposeKernel() {
+        ScalarBulkKernels.decompose( startMillis, 0, SIZE, offset, years, months, days, hours, minutes );
+        return minutes;
+    }
+
+    @Benchmark
+    public int[] perFieldBulkMethods() {
+        BulkDateTimeUtils.getYear( startMillis, zone, years );
+        BulkDateTimeUtils.getMonth( startMillis, zone, months );
+        BulkDateTimeUtils.getDay( startMillis, zone, days );
+        BulkDateTimeUtils.getHours( startMillis, zone, hours );
+        BulkDateTimeUtils.getMinutes( startMillis, zone, minutes );
+        return minutes;
+    }
+
+    @Benchmark
+    public int[] toCalendarGetters() {
+        for ( int i = 0; i < SIZE; i++ )
+        {
+            final Calendar calendar = DateTimeUtils.toCalendar( new Date( startMillis[ i ] ) );
+            years[ i ] = calendar.get( Calendar.YEAR );
+            months[ i ] = calendar.get( Calendar.MONTH );
+            days[ i ] = calendar.get( Calendar.DAY_OF_MONTH );
+            hours[ i ] = calendar.get( Calendar.HOUR_OF_DAY );
+            minutes[ i ] = calendar.get( Calendar.MINUTE );
+        }
+        return minutes;
+    }
+
+    /* ************ *
+     * Calculations *
+     * ************ */
+
+    @Benchmark
+    public int[] minutesBetween() {
+        BulkDateTimeUtils.minutesBetween( startMillis, endMillis, minutes );
+        return minutes;
+    }
+
+    @Benchmark
+    public int[] scalarMinutesBetween() {
+        ScalarBulkKernels.minutesBetween( startMillis, endMillis, 0, SIZE, minutes );
+        return minutes;
+    }
+
+    @Benchmark
+    public void singleMinutesBetween( final Blackhole blackhole ) {
+        for ( int i = 0; i < SIZE; i++ )
+        {
+            blackhole.consume( DateTimeUtils.minutesBetween( new Date( startMillis[ i ] ),
+                    new Date( endMillis[ i ] ) ) );
+        }
+    }
+
+    @Benchmark
+    public double[] daysBetweenExact() {
+        BulkDateTimeUtils.daysBetweenExact( startMillis, endMillis, exactDays );
+        return exactDays;
+    }
+
+    @Benchmark
+    public double[] scalarDaysBetweenExact() {
+        ScalarBulkKernels.daysBetweenExact( startMillis, endMillis, 0, SIZE, exactDays );
+        return exactDays;
+    }
+
+    @Benchmark
+    public void singleDaysBetweenExact( final Blackhole blackhole ) {
+        for ( int i = 0; i < SIZE; i++ )
+        {
+            blackhole.consume( DateTimeUtils.daysBetweenExact( startMillis[ i ], endMillis[ i ] ) );
+        }
+    }
+}
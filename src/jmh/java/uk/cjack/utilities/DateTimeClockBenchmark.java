@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the {@link DateTimeUtils} methods that depend on the current time, with each
+ * {@link DateTimeClock} mode
+ * <p>
+ * Run with e.g. {@code mvn -P benchmark test-compile exec:exec -Djmh.args="-prof gc DateTimeClockBenchmark"}
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class DateTimeClockBenchmark {
+
+    @Param( { "system", "ticking" } )
+    public String clockMode;
+
+    private Date date;
+
+    @Setup
+    public void setUp() {
+        date = new Date( System.currentTimeMillis() + 3600000 );
+        DateTimeUtils.setClock( "ticking".equals( clockMode ) ? DateTimeClock.ticking( 10 ) : DateTimeClock.system() );
+    }
+
+    @TearDown
+    public void tearDown() {
+        final DateTimeClock clock = DateTimeUtils.getClock();
+        if ( clock instanceof DateTimeClock.Ticking )
+        {
+            ( ( DateTimeClock.Ticking ) clock ).close();
+        }
+        DateTimeUtils.setClock( null );
+    }
+
+    @Benchmark
+    public boolean isToday() {
+        return DateTimeUtils.isToday( date );
+    }
+
+    @Benchmark
+    public boolean isInFuture() {
+        return DateTimeUtils.isInFuture( date );
+    }
+
+    @Benchmark
+    public boolean isWithinDays() {
+        return DateTimeUtils.isWithinDays( date, 30 );
+    }
+
+    @Benchmark
+    public int getCurrentYear() {
+        return DateTimeUtils.getCurrentYear();
+    }
+
+    @Benchmark
+    public int getCurrentMonth() {
+        return DateTimeUtils.getCurrentMonth();
+    }
+
+    @Benchmark
+    public boolean isCurrentlyDST() {
+        return DateTimeUtils.isCurrentlyDST( "Europe/London" );
+    }
+
+    @Benchmark
+    public long getTimeZoneOffsetMillis() {
+        return DateTimeUtils.getTimeZoneOffsetMillis( "Europe/London" );
+    }
+}
@@ -0,0 +1,506 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.cjack.utilities.exception.InvalidDateException;
+
+/**
+ * JMH benchmarks for the public entry points of {@link DateTimeUtils}
+ * <p>
+ * Run with {@code mvn -P benchmark test-compile exec:exec}; the profile passes {@code -prof gc} by default so every
+ * result is reported as throughput alongside {@code gc.alloc.rate.norm} (bytes allocated per operation).
+ * A subset can be selected with e.g. {@code -Djmh.args="-prof gc DateTimeUtilsBenchmark.get"}
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class DateTimeUtilsBenchmark {
+
+    /**
+     * 2021-08-14T13:45:30.250 in the JVM's default time zone
+     */
+    private long baseMillis;
+    private long laterMillis;
+
+    private Date date;
+    private Date laterDate;
+    private Date mutableDate;
+    private Date mutableEndDate;
+    private Calendar mutableCalendar;
+
+    private String isoDateTimeString;
+    private String isoDateString;
+    private String isoTimeString;
+    private String ukDateString;
+    private String invalidDateString;
+
+    @Setup
+    public void setUp() {
+        date = DateTimeUtils.setDateTime( 2021, Calendar.AUGUST, 14, 13, 45, 30, 250 );
+        laterDate = DateTimeUtils.setDateTime( 2023, Calendar.FEBRUARY, 1, 23, 0, 0, 0 );
+        baseMillis = date.getTime();
+        laterMillis = laterDate.getTime();
+        mutableDate = new Date( baseMillis );
+        mutableEndDate = new Date( baseMillis );
+        mutableCalendar = Calendar.getInstance();
+
+        isoDateTimeString = "2021-08-14T13:45:30";
+        isoDateString = "2021-08-14";
+        isoTimeString = "13:45";
+        ukDateString = "14/08/2021";
+        invalidDateString = "2021-02-30";
+    }
+
+    /* ******** *
+     * Set Time *
+     * ******** */
+
+    @Benchmark
+    public Date setTime() {
+        return DateTimeUtils.setTime( date, 9, 30 );
+    }
+
+    @Benchmark
+    public Date setTimeWithSeconds() {
+        return DateTimeUtils.setTime( date, 9, 30, 15, 0 );
+    }
+
+    @Benchmark
+    public Date setTimeFromDate() {
+        return DateTimeUtils.setTime( date, laterDate, true );
+    }
+
+    @Benchmark
+    public Date setTimeOnDate() {
+        mutableDate.setTime( baseMillis );
+        DateTimeUtils.setTimeOnDate( mutableDate, 9, 30 );
+        return mutableDate;
+    }
+
+    @Benchmark
+    public Date setTimeEventStartOfDay() {
+        return DateTimeUtils.setTimeEvent( date, DateTimeUtils.TimeEvent.START_OF_DAY );
+    }
+
+    @Benchmark
+    public Date setTimeEventEndOfDay() {
+        return DateTimeUtils.setTimeEvent( date, DateTimeUtils.TimeEvent.END_OF_DAY );
+    }
+
+    @Benchmark
+    public Date setTimeEventStartOfYear() {
+        return DateTimeUtils.setTimeEvent( date, DateTimeUtils.TimeEvent.START_OF_YEAR );
+    }
+
+    @Benchmark
+    public Date setTimeEventEndOfYear() {
+        return DateTimeUtils.setTimeEvent( date, DateTimeUtils.TimeEvent.END_OF_YEAR );
+    }
+
+    @Benchmark
+    public Date setTimeEventOneWeekAgo() {
+        return DateTimeUtils.setTimeEvent( date, DateTimeUtils.TimeEvent.ONE_WEEK_AGO );
+    }
+
+    @Benchmark
+    public Date setTimeEventOnDate() {
+        mutableDate.setTime( baseMillis );
+        DateTimeUtils.setTimeEventOnDate( mutableDate, DateTimeUtils.TimeEvent.END_OF_DAY );
+        return mutableDate;
+    }
+
+    @Benchmark
+    public Date resetTime() {
+        return DateTimeUtils.resetTime( date );
+    }
+
+    @Benchmark
+    public Date setTimeOnDummyDate() {
+        return DateTimeUtils.setTimeOnDummyDate( 13, 45 );
+    }
+
+    @Benchmark
+    public Date setTimeOnDummyDateFromDate() {
+        return DateTimeUtils.setTimeOnDummyDate( date );
+    }
+
+    @Benchmark
+    public Date setTimeOnDummyDateFromString() throws ParseException {
+        return DateTimeUtils.setTimeOnDummyDate( isoTimeString );
+    }
+
+    /* ******** *
+     * Set Date *
+     * ******** */
+
+    @Benchmark
+    public Date setDate() {
+        return DateTimeUtils.setDate( 2021, Calendar.AUGUST, 14 );
+    }
+
+    @Benchmark
+    public Date setDateTime() {
+        return DateTimeUtils.setDateTime( 2021, Calendar.AUGUST, 14, 13, 45, 30, 250 );
+    }
+
+    @Benchmark
+    public void setMonthBoundaries( final Blackhole blackhole ) {
+        DateTimeUtils.setMonthBoundaries( mutableDate, mutableEndDate, 2021, Calendar.FEBRUARY );
+        blackhole.consume( mutableDate );
+        blackhole.consume( mutableEndDate );
+    }
+
+    @Benchmark
+    public MonthBoundary getMonthBoundary() {
+        return DateTimeUtils.getMonthBoundary( 2021, Calendar.FEBRUARY );
+    }
+
+    /* *********** *
+     * Conversions *
+     * *********** */
+
+    @Benchmark
+    public Calendar toCalendar() {
+        return DateTimeUtils.toCalendar( date );
+    }
+
+    @Benchmark
+    public LocalDate toLocalDate() {
+        return DateTimeUtils.toLocalDate( date );
+    }
+
+    @Benchmark
+    public int convertToMinutes() {
+        return DateTimeUtils.convertToMinutes( date );
+    }
+
+    @Benchmark
+    public String convertFormat() throws ParseException {
+        return DateTimeUtils.convertFormat( ukDateString,
+                DateTimeUtils.Format.UK_DATE,
+                DateTimeUtils.Format.ISO_8601_DATE_ONLY );
+    }
+
+    @Benchmark
+    public String convertFormatWithFormatters() throws ParseException {
+        return DateTimeUtils.convertFormat( ukDateString,
+                DateTimeUtils.Formatter.UK_DATE,
+                DateTimeUtils.Formatter.ISO_8601_DATE_ONLY );
+    }
+
+    @Benchmark
+    public LinkedList<Date> getDatesAsList() {
+        return DateTimeUtils.getDatesAsList( date, 31 );
+    }
+
+    @Benchmark
+    public void getDateRange( final Blackhole blackhole ) {
+        final DateRange range = DateTimeUtils.getDateRange( date, 31, ChronoUnit.DAYS );
+        for ( int i = 0; i < range.size(); i++ )
+        {
+            blackhole.consume( range.getMillis( i ) );
+        }
+    }
+
+    /* ************ *
+     * Calculations *
+     * ************ */
+
+    @Benchmark
+    public long millisecondsBetween() {
+        return DateTimeUtils.millisecondsBetween( date, laterDate );
+    }
+
+    @Benchmark
+    public long secondsBetween() {
+        return DateTimeUtils.secondsBetween( date, laterDate );
+    }
+
+    @Benchmark
+    public int minutesBetween() {
+        return DateTimeUtils.minutesBetween( date, laterDate );
+    }
+
+    @Benchmark
+    public int hoursBetween() {
+        return DateTimeUtils.hoursBetween( date, laterDate );
+    }
+
+    @Benchmark
+    public int daysBetween() {
+        return DateTimeUtils.daysBetween( date, laterDate );
+    }
+
+    @Benchmark
+    public double daysBetweenExact() {
+        return DateTimeUtils.daysBetweenExact( date, laterDate );
+    }
+
+    @Benchmark
+    public double daysBetweenExactMillis() {
+        return DateTimeUtils.daysBetweenExact( baseMillis, laterMillis );
+    }
+
+    @Benchmark
+    public int daysSpanned() {
+        return DateTimeUtils.daysSpanned( date, laterDate );
+    }
+
+    @Benchmark
+    public int monthsBetween() {
+        return DateTimeUtils.monthsBetween( date, laterDate );
+    }
+
+    @Benchmark
+    public int yearsBetween() {
+        return DateTimeUtils.yearsBetween( date, laterDate );
+    }
+
+    /* **************** *
+     * Get Unit Methods *
+     * **************** */
+
+    @Benchmark
+    public int getDayOfWeek() {
+        return DateTimeUtils.getDayOfWeek( date );
+    }
+
+    @Benchmark
+    public int getHours() {
+        return DateTimeUtils.getHours( date );
+    }
+
+    @Benchmark
+    public int getMinutes() {
+        return DateTimeUtils.getMinutes( date );
+    }
+
+    @Benchmark
+    public int getSeconds() {
+        return DateTimeUtils.getSeconds( date );
+    }
+
+    @Benchmark
+    public int getDay() {
+        return DateTimeUtils.getDay( date );
+    }
+
+    @Benchmark
+    public int getMonth() {
+        return DateTimeUtils.getMonth( date );
+    }
+
+    @Benchmark
+    public int getYear() {
+        return DateTimeUtils.getYear( date );
+    }
+
+    @Benchmark
+    public int getCurrentYear() {
+        return DateTimeUtils.getCurrentYear();
+    }
+
+    @Benchmark
+    public int getCurrentMonth() {
+        return DateTimeUtils.getCurrentMonth();
+    }
+
+    @Benchmark
+    public Date getStartOfYear() {
+        return DateTimeUtils.getStartOfYear( 2021 );
+    }
+
+    @Benchmark
+    public Date getEndOfYear() {
+        return DateTimeUtils.getEndOfYear( 2021 );
+    }
+
+    @Benchmark
+    public Date getStartOfToday() {
+        return DateTimeUtils.getStartOfToday();
+    }
+
+    @Benchmark
+    public Date getEndOfToday() {
+        return DateTimeUtils.getEndOfToday();
+    }
+
+    @Benchmark
+    public long getTimeZoneOffsetMillis() {
+        return DateTimeUtils.getTimeZoneOffsetMillis( "Europe/London" );
+    }
+
+    /* ***************** *
+     * To String Methods *
+     * ***************** */
+
+    @Benchmark
+    public String minutesToTime() {
+        return DateTimeUtils.minutesToTime( 825 );
+    }
+
+    @Benchmark
+    public String toStringTime() {
+        return DateTimeUtils.toStringTime( date );
+    }
+
+    @Benchmark
+    public String toStringTimeFromFields() {
+        return DateTimeUtils.toStringTime( 13, 45 );
+    }
+
+    @Benchmark
+    public String toIsoStringDate() {
+        return DateTimeUtils.toIsoStringDate( date );
+    }
+
+    @Benchmark
+    public String toIsoStringDateTime() {
+        return DateTimeUtils.toIsoStringDateTime( date );
+    }
+
+    /* ********************** *
+     * Add / Subtract Methods *
+     * ********************** */
+
+    @Benchmark
+    public Date addDays() {
+        mutableDate.setTime( baseMillis );
+        DateTimeUtils.addDays( mutableDate, 10 );
+        return mutableDate;
+    }
+
+    @Benchmark
+    public Date addDaysToCalendar() {
+        mutableCalendar.setTimeInMillis( baseMillis );
+        return DateTimeUtils.addDays( mutableCalendar, 10 );
+    }
+
+    @Benchmark
+    public Date addDaysToNow() {
+        return DateTimeUtils.addDays( 10 );
+    }
+
+    @Benchmark
+    public Date addMinutes() {
+        mutableDate.setTime( baseMillis );
+        DateTimeUtils.addMinutes( mutableDate, 90 );
+        return mutableDate;
+    }
+
+    @Benchmark
+    public Date addMinutesToNow() {
+        return DateTimeUtils.addMinutes( 90 );
+    }
+
+    @Benchmark
+    public Date minusMinutes() {
+        mutableDate.setTime( baseMillis );
+        DateTimeUtils.minusMinutes( mutableDate, 90 );
+        return mutableDate;
+    }
+
+    /* *************** *
+     * To Date Methods *
+     * *************** */
+
+    @Benchmark
+    public Date iso8601StringToDate() throws ParseException {
+        return DateTimeUtils.iso8601StringToDate( isoDateTimeString );
+    }
+
+    /* ****************** *
+     * Date Check Methods *
+     * ****************** */
+
+    @Benchmark
+    public boolean isInFuture() {
+        return DateTimeUtils.isInFuture( date );
+    }
+
+    @Benchmark
+    public boolean isBetween() {
+        return DateTimeUtils.isBetween( date, date, laterDate );
+    }
+
+    @Benchmark
+    public boolean isWithin() {
+        return DateTimeUtils.isWithin( date, laterDate, date, laterDate );
+    }
+
+    @Benchmark
+    public boolean isWithinDays() {
+        return DateTimeUtils.isWithinDays( date, 30 );
+    }
+
+    @Benchmark
+    public boolean isNotWithinDays() {
+        return DateTimeUtils.isNotWithinDays( date, 30 );
+    }
+
+    @Benchmark
+    public boolean isSameDate() {
+        return DateTimeUtils.isSameDate( date, laterDate, DateTimeUtils.Formatter.ISO_8601_DATE_ONLY );
+    }
+
+    @Benchmark
+    public boolean isToday() {
+        return DateTimeUtils.isToday( date );
+    }
+
+    @Benchmark
+    public Date validateDateUnit() throws InvalidDateException {
+        return DateTimeUtils.validateDateUnit( isoDateString, DateTimeUtils.Formatter.ISO_8601_DATE_ONLY, "Date" );
+    }
+
+    @Benchmark
+    public Date validateDateUnitUkDate() throws InvalidDateException {
+        return DateTimeUtils.validateDateUnit( ukDateString, DateTimeUtils.Formatter.UK_DATE, "Date" );
+    }
+
+    @Benchmark
+    public InvalidDateException validateInvalidDateUnitQuietly() {
+        try
+        {
+            DateTimeUtils.validateDateUnit( invalidDateString, DateTimeUtils.Formatter.ISO_8601_DATE_ONLY, "Date", true );
+            return null;
+        }
+        catch ( final InvalidDateException invalidDateException )
+        {
+            return invalidDateException;
+        }
+    }
+
+    @Benchmark
+    public DateValidator.Status checkInvalidDateUnit() {
+        return DateTimeUtils.checkDateUnit( invalidDateString, DateTimeUtils.Formatter.ISO_8601_DATE_ONLY );
+    }
+
+    @Benchmark
+    public boolean isCurrentlyDST() {
+        return DateTimeUtils.isCurrentlyDST( "Europe/London" );
+    }
+}
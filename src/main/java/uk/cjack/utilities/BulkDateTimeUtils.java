@@ -0,0 +1,529 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.time.LocalDate;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bulk equivalents of the {@link DateTimeUtils} calculations, working over arrays of epoch milliseconds and filling
+ * caller-supplied primitive result arrays.
+ * <p>
+ * Each result is exactly what the single-value method would return for a {@link java.util.Date} of the same instant
+ * when the given zone is the default zone (pass {@link TimeZone#getDefault()} to reproduce {@link DateTimeUtils}).
+ * Arrays of at least {@value #PARALLEL_THRESHOLD} elements are split into ranges and processed on the common
+ * {@link ForkJoinPool}; smaller arrays are processed on the calling thread.  The input and result arrays must not be
+ * modified by anything else while a call is in progress.
+ * <p>
+ * On Java 17 and later, {@link #decompose}, {@link #minutesBetween} and {@link #daysBetweenExact} work through a whole
+ * vector of elements at a time when the JVM is started with {@code --add-modules jdk.incubator.vector} (and these
+ * classes are loaded from the multi-release jar), with the same results as the scalar loops.
+ */
+public abstract class BulkDateTimeUtils {
+
+    /**
+     * The number of elements below which a range is processed on a single thread
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    /* **************** *
+     * Get Unit Methods *
+     * **************** */
+
+    /**
+     * Retrieves the year of each instant, as {@link DateTimeUtils#getYear}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void getYear( final long[] epochMillis, final TimeZone zone, final int[] results ) {
+        checkLength( epochMillis.length, results.length );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = EpochTimeUtils.getYear( epochMillis[ i ], zone );
+            }
+        } );
+    }
+
+    /**
+     * Retrieves the month (January = 0) of each instant, as {@link DateTimeUtils#getMonth}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void getMonth( final long[] epochMillis, final TimeZone zone, final int[] results ) {
+        checkLength( epochMillis.length, results.length );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = EpochTimeUtils.getMonth( epochMillis[ i ], zone );
+            }
+        } );
+    }
+
+    /**
+     * Retrieves the day of the month of each instant, as {@link DateTimeUtils#getDay}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void getDay( final long[] epochMillis, final TimeZone zone, final int[] results ) {
+        checkLength( epochMillis.length, results.length );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = EpochTimeUtils.getDay( epochMillis[ i ], zone );
+            }
+        } );
+    }
+
+    /**
+     * Retrieves the day of the week (Sunday = 1) of each instant, as {@link DateTimeUtils#getDayOfWeek}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void getDayOfWeek( final long[] epochMillis, final TimeZone zone, final int[] results ) {
+        checkLength( epochMillis.length, results.length );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = EpochTimeUtils.getDayOfWeek( epochMillis[ i ], zone );
+            }
+        } );
+    }
+
+    /**
+     * Retrieves the hour of the day of each instant, as {@link DateTimeUtils#getHours}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void getHours( final long[] epochMillis, final TimeZone zone, final int[] results ) {
+        checkLength( epochMillis.length, results.length );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = EpochTimeUtils.getHours( epochMillis[ i ], zone );
+            }
+        } );
+    }
+
+    /**
+     * Retrieves the minutes of the hour of each instant, as {@link DateTimeUtils#getMinutes}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void getMinutes( final long[] epochMillis, final TimeZone zone, final int[] results ) {
+        checkLength( epochMillis.length, results.length );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = EpochTimeUtils.getMinutes( epochMillis[ i ], zone );
+            }
+        } );
+    }
+
+    /**
+     * Retrieves the seconds of the minute of each instant, as {@link DateTimeUtils#getSeconds}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void getSeconds( final long[] epochMillis, final TimeZone zone, final int[] results ) {
+        checkLength( epochMillis.length, results.length );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = EpochTimeUtils.getSeconds( epochMillis[ i ], zone );
+            }
+        } );
+    }
+
+    /**
+     * Converts the time of each instant into minutes into the day, as
+     * {@link DateTimeUtils#convertToMinutes(java.util.Date)}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void convertToMinutes( final long[] epochMillis, final TimeZone zone, final int[] results ) {
+        checkLength( epochMillis.length, results.length );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = EpochTimeUtils.convertToMinutes( epochMillis[ i ], zone );
+            }
+        } );
+    }
+
+    /**
+     * Decomposes each instant into its year, month (January = 0), day of the month, hour of the day and minutes of the
+     * hour, as {@link DateTimeUtils#getYear}, {@link DateTimeUtils#getMonth}, {@link DateTimeUtils#getDay},
+     * {@link DateTimeUtils#getHours} and {@link DateTimeUtils#getMinutes}.
+     * <p>
+     * This is a single pass that is much quicker than calling each of those methods: the offset is looked up once for
+     * each run of instants within a period of constant offset (as sorted instants are), and the date fields share one
+     * conversion of the local epoch day, for a whole vector of instants at a time where that is enabled.  A zone whose
+     * rules are not those of its ID (such as a {@link java.util.SimpleTimeZone} with a custom ID) has its offset looked
+     * up from the zone for every instant.
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param years       the array to fill with the years (at least as long as the instants)
+     * @param months      the array to fill with the months
+     * @param days        the array to fill with the days of the month
+     * @param hours       the array to fill with the hours of the day
+     * @param minutes     the array to fill with the minutes of the hour
+     */
+    public static void decompose( final long[] epochMillis,
+                                  final TimeZone zone,
+                                  final int[] years,
+                                  final int[] months,
+                                  final int[] days,
+                                  final int[] hours,
+                                  final int[] minutes ) {
+        checkLength( epochMillis.length, years.length );
+        checkLength( epochMillis.length, months.length );
+        checkLength( epochMillis.length, days.length );
+        checkLength( epochMillis.length, hours.length );
+        checkLength( epochMillis.length, minutes.length );
+        final CompiledZoneRules compiled = CompiledZoneRules.forId( zone.getID() );
+        final CompiledZoneRules rules = compiled.hasSameRules( zone ) ? compiled : null;
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            int i = from;
+            while ( i < to )
+            {
+                final long millis = epochMillis[ i ];
+                if ( millis < EpochTimeUtils.GREGORIAN_CUTOVER_MILLIS )
+                {
+                    // Julian dates, which are never within a compiled period
+                    years[ i ] = EpochTimeUtils.getYear( millis, zone );
+                    months[ i ] = EpochTimeUtils.getMonth( millis, zone );
+                    days[ i ] = EpochTimeUtils.getDay( millis, zone );
+                    hours[ i ] = EpochTimeUtils.getHours( millis, zone );
+                    minutes[ i ] = EpochTimeUtils.getMinutes( millis, zone );
+                    i++;
+                    continue;
+                }
+                if ( rules == null )
+                {
+                    // Not the zone of its ID, so each instant is a run of its own
+                    BulkKernels.decompose( epochMillis, i, i + 1, zone.getOffset( millis ),
+                            years, months, days, hours, minutes );
+                    i++;
+                    continue;
+                }
+                // The run of instants within the period of constant offset of this one
+                final long periodStart = rules.periodStart( millis );
+                final long periodEnd = rules.periodEnd( millis );
+                int runEnd = i + 1;
+                while ( runEnd < to && epochMillis[ runEnd ] >= periodStart && epochMillis[ runEnd ] < periodEnd )
+                {
+                    runEnd++;
+                }
+                BulkKernels.decompose( epochMillis, i, runEnd, rules.getOffset( millis ),
+                        years, months, days, hours, minutes );
+                i = runEnd;
+            }
+        } );
+    }
+
+    /* ************** *
+     * Day Boundaries *
+     * ************** */
+
+    /**
+     * Truncates each instant to the start of its day, as {@link DateTimeUtils#resetTime}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants, and may be the same array)
+     */
+    public static void resetTime( final long[] epochMillis, final TimeZone zone, final long[] results ) {
+        checkLength( epochMillis.length, results.length );
+        final DayBoundaryCache cache = DayBoundaryCache.forZone( zone );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = cache.startOfDay( epochMillis[ i ] );
+            }
+        } );
+    }
+
+    /**
+     * Converts each instant into the epoch day of its date, as {@code DateTimeUtils.toLocalDate( date ).toEpochDay()}
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants, and may be the same array)
+     */
+    public static void toEpochDay( final long[] epochMillis, final TimeZone zone, final long[] results ) {
+        checkLength( epochMillis.length, results.length );
+        forEachRange( epochMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = localEpochDay( epochMillis[ i ], zone );
+            }
+        } );
+    }
+
+    /* ************ *
+     * Calculations *
+     * ************ */
+
+    /**
+     * Calculates the number of minutes between each pair of instants, as {@link DateTimeUtils#minutesBetween}
+     *
+     * @param startMillis the start instants in milliseconds since the epoch
+     * @param endMillis   the end instants in milliseconds since the epoch
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void minutesBetween( final long[] startMillis, final long[] endMillis, final int[] results ) {
+        checkLength( startMillis.length, endMillis.length );
+        checkLength( startMillis.length, results.length );
+        forEachRange( startMillis.length,
+                ( from, to ) -> BulkKernels.minutesBetween( startMillis, endMillis, from, to, results ) );
+    }
+
+    /**
+     * Calculates the number of hours between each pair of instants, as {@link DateTimeUtils#hoursBetween}
+     *
+     * @param startMillis the start instants in milliseconds since the epoch
+     * @param endMillis   the end instants in milliseconds since the epoch
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void hoursBetween( final long[] startMillis, final long[] endMillis, final int[] results ) {
+        checkLength( startMillis.length, endMillis.length );
+        checkLength( startMillis.length, results.length );
+        forEachRange( startMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                // Truncated to whole minutes (as an int) first, as the single-value method is
+                results[ i ] = ( int ) ( ( endMillis[ i ] - startMillis[ i ] ) / 60000 ) / 60;
+            }
+        } );
+    }
+
+    /**
+     * Calculates the exact number of days between each pair of instants, as {@link DateTimeUtils#daysBetweenExact}
+     *
+     * @param startMillis the start instants in milliseconds since the epoch
+     * @param endMillis   the end instants in milliseconds since the epoch
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void daysBetweenExact( final long[] startMillis, final long[] endMillis, final double[] results ) {
+        checkLength( startMillis.length, endMillis.length );
+        checkLength( startMillis.length, results.length );
+        forEachRange( startMillis.length,
+                ( from, to ) -> BulkKernels.daysBetweenExact( startMillis, endMillis, from, to, results ) );
+    }
+
+    /**
+     * Calculates the number of days between the dates of each pair of instants, as {@link DateTimeUtils#daysBetween}
+     *
+     * @param startMillis the start instants in milliseconds since the epoch
+     * @param endMillis   the end instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void daysBetween( final long[] startMillis,
+                                    final long[] endMillis,
+                                    final TimeZone zone,
+                                    final int[] results ) {
+        checkLength( startMillis.length, endMillis.length );
+        checkLength( startMillis.length, results.length );
+        forEachRange( startMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = ( int ) ( localEpochDay( endMillis[ i ], zone )
+                        - localEpochDay( startMillis[ i ], zone ) );
+            }
+        } );
+    }
+
+    /**
+     * Calculates the number of dates spanned by each pair of instants, as {@link DateTimeUtils#daysSpanned}
+     *
+     * @param startMillis the start instants in milliseconds since the epoch
+     * @param endMillis   the end instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void daysSpanned( final long[] startMillis,
+                                    final long[] endMillis,
+                                    final TimeZone zone,
+                                    final int[] results ) {
+        checkLength( startMillis.length, endMillis.length );
+        checkLength( startMillis.length, results.length );
+        forEachRange( startMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = ( int ) ( localEpochDay( endMillis[ i ], zone ) + 1
+                        - localEpochDay( startMillis[ i ], zone ) );
+            }
+        } );
+    }
+
+    /**
+     * Calculates the number of whole months between the dates of each pair of instants, as
+     * {@link DateTimeUtils#monthsBetween}
+     *
+     * @param startMillis the start instants in milliseconds since the epoch
+     * @param endMillis   the end instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void monthsBetween( final long[] startMillis,
+                                      final long[] endMillis,
+                                      final TimeZone zone,
+                                      final int[] results ) {
+        checkLength( startMillis.length, endMillis.length );
+        checkLength( startMillis.length, results.length );
+        forEachRange( startMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = ( int ) monthsBetween( localEpochDay( startMillis[ i ], zone ),
+                        localEpochDay( endMillis[ i ], zone ) );
+            }
+        } );
+    }
+
+    /**
+     * Calculates the number of whole years between the dates of each pair of instants, as
+     * {@link DateTimeUtils#yearsBetween}
+     *
+     * @param startMillis the start instants in milliseconds since the epoch
+     * @param endMillis   the end instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @param results     the array to fill (at least as long as the instants)
+     */
+    public static void yearsBetween( final long[] startMillis,
+                                     final long[] endMillis,
+                                     final TimeZone zone,
+                                     final int[] results ) {
+        checkLength( startMillis.length, endMillis.length );
+        checkLength( startMillis.length, results.length );
+        forEachRange( startMillis.length, ( from, to ) -> {
+            for ( int i = from; i < to; i++ )
+            {
+                results[ i ] = ( int ) ( monthsBetween( localEpochDay( startMillis[ i ], zone ),
+                        localEpochDay( endMillis[ i ], zone ) ) / 12 );
+            }
+        } );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * Calculates the epoch day of the instant's {@link DateTimeUtils#toLocalDate}.  Before the Gregorian cutover the
+     * {@link java.util.Date} fields are Julian, but are read into the (proleptic Gregorian) {@link LocalDate} as-is
+     */
+    private static long localEpochDay( final long epochMillis, final TimeZone zone ) {
+        if ( epochMillis < EpochTimeUtils.GREGORIAN_CUTOVER_MILLIS + MILLIS_PER_DAY )
+        {
+            return LocalDate.of( EpochTimeUtils.getYear( epochMillis, zone ),
+                    EpochTimeUtils.getMonth( epochMillis, zone ) + 1,
+                    EpochTimeUtils.getDay( epochMillis, zone ) ).toEpochDay();
+        }
+        return EpochTimeUtils.toEpochDay( epochMillis, zone );
+    }
+
+    /**
+     * Calculates whole months between two epoch days in the same way as {@link LocalDate#until}
+     */
+    private static long monthsBetween( final long startEpochDay, final long endEpochDay ) {
+        final long start = packedMonthDay( startEpochDay );
+        final long end = packedMonthDay( endEpochDay );
+        return ( end - start ) / 32;
+    }
+
+    private static long packedMonthDay( final long epochDay ) {
+        final long prolepticMonth = EpochTimeUtils.yearOfEpochDay( epochDay ) * 12L
+                + EpochTimeUtils.monthOfEpochDay( epochDay );
+        return prolepticMonth * 32L + EpochTimeUtils.dayOfMonthOfEpochDay( epochDay );
+    }
+
+    private static void checkLength( final int inputLength, final int outputLength ) {
+        if ( outputLength < inputLength )
+        {
+            throw new IllegalArgumentException( String.format( "Array of length %d is shorter than the %d instants",
+                    outputLength,
+                    inputLength ) );
+        }
+    }
+
+    private static void forEachRange( final int length, final RangeTask task ) {
+        if ( length < PARALLEL_THRESHOLD )
+        {
+            task.apply( 0, length );
+        }
+        else
+        {
+            ForkJoinPool.commonPool().invoke( new RangeAction( task, 0, length ) );
+        }
+    }
+
+    /**
+     * Processes the elements from (inclusive) and to (exclusive) the given indexes
+     */
+    @FunctionalInterface
+    private interface RangeTask {
+
+        void apply( int from, int to );
+    }
+
+    /**
+     * Halves its range until it is below {@link #PARALLEL_THRESHOLD}, then runs the task over it
+     */
+    private static final class RangeAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeTask task;
+        private final int from;
+        private final int to;
+
+        private RangeAction( final RangeTask task, final int from, final int to ) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if ( to - from < PARALLEL_THRESHOLD )
+            {
+                task.apply( from, to );
+            }
+            else
+            {
+                final int middle = ( from + to ) >>> 1;
+                invokeAll( new RangeAction( task, from, middle ), new RangeAction( task, middle, to ) );
+            }
+        }
+    }
+
+    /**
+     * No instantiation
+     */
+    private BulkDateTimeUtils() {
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+/**
+ * The inner loops of {@link BulkDateTimeUtils} that can run at vector width, each over the elements from (inclusive)
+ * and to (exclusive) the given indexes.
+ * <p>
+ * This is the Java 11 version, which runs the {@link ScalarBulkKernels}.  The multi-release jar replaces it on Java 17
+ * and later with a version (in src/main/java17) that runs the Vector API kernels when the {@code jdk.incubator.vector}
+ * module is added to the JVM.
+ */
+abstract class BulkKernels {
+
+    /**
+     * @see ScalarBulkKernels#decompose
+     */
+    static void decompose( final long[] epochMillis,
+                           final int from,
+                           final int to,
+                           final int offset,
+                           final int[] years,
+                           final int[] months,
+                           final int[] days,
+                           final int[] hours,
+                           final int[] minutes ) {
+        ScalarBulkKernels.decompose( epochMillis, from, to, offset, years, months, days, hours, minutes );
+    }
+
+    /**
+     * @see ScalarBulkKernels#minutesBetween
+     */
+    static void minutesBetween( final long[] startMillis,
+                                final long[] endMillis,
+                                final int from,
+                                final int to,
+                                final int[] results ) {
+        ScalarBulkKernels.minutesBetween( startMillis, endMillis, from, to, results );
+    }
+
+    /**
+     * @see ScalarBulkKernels#daysBetweenExact
+     */
+    static void daysBetweenExact( final long[] startMillis,
+                                  final long[] endMillis,
+                                  final int from,
+                                  final int to,
+                                  final double[] results ) {
+        ScalarBulkKernels.daysBetweenExact( startMillis, endMillis, from, to, results );
+    }
+
+    /**
+     * No instantiation
+     */
+    private BulkKernels() {
+    }
+}
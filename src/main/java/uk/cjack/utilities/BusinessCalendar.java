@@ -0,0 +1,333 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * An immutable calendar of working days - every day except the configured weekend days and holidays - for SLA and
+ * delivery date calculations without looping day by day.
+ * <p>
+ * Dates are compared by their local date, as with {@link DateTimeUtils#daysBetween} (which uses
+ * {@link DateTimeUtils#toLocalDate}): in the calendar's zone, or the default zone at the time of each call if it was
+ * created without one.  Working days are counted as {@link DateTimeUtils#daysBetween} counts days, from the day after
+ * the start up to and including the end, so {@link #workingDaysBetween} from Friday to Monday is 1.
+ * <p>
+ * The working days from the 1st of January {@value #DEFAULT_FIRST_YEAR} (or of the earliest holiday's year) to the
+ * 31st of December {@value #DEFAULT_LAST_YEAR} (or of the latest holiday's year) are held as a bitset, with the
+ * number of working days before each 64-day word of it and the day of every working day, so every query is O(1).
+ * Outside that range only the weekend days are skipped, and the counts are calculated a week at a time.
+ */
+public final class BusinessCalendar {
+
+    public static final int DEFAULT_FIRST_YEAR = 1970;
+    public static final int DEFAULT_LAST_YEAR = 2100;
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    /**
+     * The zone local dates are taken in, or null for the default zone
+     */
+    private final TimeZone zone;
+
+    /**
+     * The first and last epoch days held in the bitset
+     */
+    private final long firstDay;
+    private final long lastDay;
+
+    /**
+     * Bit n of the bitset is set if firstDay + n is a working day, with the number of working days before each word
+     */
+    private final long[] bits;
+    private final int[] wordRanks;
+
+    /**
+     * The offset from firstDay of every working day in the bitset, in order
+     */
+    private final int[] workingDays;
+
+    /**
+     * Whether each day of the week (Sunday = 0) is a working day, and the number of working days before each day of a
+     * two-week run starting on Sunday
+     */
+    private final boolean[] workingDaysOfWeek = new boolean[ DAYS_PER_WEEK ];
+    private final int[] weekRanks = new int[ DAYS_PER_WEEK * 2 + 1 ];
+    private final int workingDaysPerWeek;
+
+    private BusinessCalendar( final TimeZone zone, final Collection<LocalDate> holidays, final int[] weekendDays ) {
+        this.zone = zone;
+        for ( int i = 0; i < DAYS_PER_WEEK; i++ )
+        {
+            workingDaysOfWeek[ i ] = true;
+        }
+        for ( final int weekendDay : weekendDays )
+        {
+            if ( weekendDay < Calendar.SUNDAY || weekendDay > Calendar.SATURDAY )
+            {
+                throw new IllegalArgumentException( "Invalid day of the week: " + weekendDay );
+            }
+            workingDaysOfWeek[ weekendDay - Calendar.SUNDAY ] = false;
+        }
+        for ( int i = 0; i < weekRanks.length - 1; i++ )
+        {
+            weekRanks[ i + 1 ] = weekRanks[ i ] + ( workingDaysOfWeek[ i % DAYS_PER_WEEK ] ? 1 : 0 );
+        }
+        workingDaysPerWeek = weekRanks[ DAYS_PER_WEEK ];
+        if ( workingDaysPerWeek == 0 )
+        {
+            throw new IllegalArgumentException( "At least one day of the week must be a working day" );
+        }
+
+        int firstYear = DEFAULT_FIRST_YEAR;
+        int lastYear = DEFAULT_LAST_YEAR;
+        for ( final LocalDate holiday : holidays )
+        {
+            firstYear = Math.min( firstYear, holiday.getYear() );
+            lastYear = Math.max( lastYear, holiday.getYear() );
+        }
+        firstDay = LocalDate.of( firstYear, 1, 1 ).toEpochDay();
+        lastDay = LocalDate.of( lastYear, 12, 31 ).toEpochDay();
+        final int days = Math.toIntExact( lastDay - firstDay + 1 );
+
+        // One spare word, so the rank of the day after lastDay can be read like any other
+        bits = new long[ ( days >>> 6 ) + 1 ];
+        for ( int i = 0; i < days; i++ )
+        {
+            if ( workingDaysOfWeek[ dayOfWeek( firstDay + i ) ] )
+            {
+                bits[ i >>> 6 ] |= 1L << i;
+            }
+        }
+        for ( final LocalDate holiday : holidays )
+        {
+            final int i = ( int ) ( holiday.toEpochDay() - firstDay );
+            bits[ i >>> 6 ] &= ~( 1L << i );
+        }
+
+        wordRanks = new int[ bits.length ];
+        for ( int i = 1; i < bits.length; i++ )
+        {
+            wordRanks[ i ] = wordRanks[ i - 1 ] + Long.bitCount( bits[ i - 1 ] );
+        }
+        workingDays = new int[ wordRanks[ bits.length - 1 ] + Long.bitCount( bits[ bits.length - 1 ] ) ];
+        for ( int i = 0, count = 0; i < days; i++ )
+        {
+            if ( ( bits[ i >>> 6 ] & 1L << i ) != 0 )
+            {
+                workingDays[ count++ ] = i;
+            }
+        }
+    }
+
+    /**
+     * Creates a calendar that takes the local dates of {@link Date}s in the default zone at the time of each call, as
+     * {@link DateTimeUtils#toLocalDate} does
+     *
+     * @param holidays    the dates that are not working days
+     * @param weekendDays the days of the week that are not working days, e.g. {@link Calendar#SATURDAY} and
+     *                    {@link Calendar#SUNDAY}
+     * @return the {@link BusinessCalendar}
+     * @throws IllegalArgumentException if a day of the week is not valid, or every day of the week is a weekend day
+     */
+    public static BusinessCalendar of( final Collection<LocalDate> holidays, final int... weekendDays ) {
+        return new BusinessCalendar( null, holidays, weekendDays );
+    }
+
+    /**
+     * Creates a calendar that takes the local dates of {@link Date}s in the given zone
+     *
+     * @param zone        the {@link TimeZone} to take local dates in
+     * @param holidays    the dates that are not working days
+     * @param weekendDays the days of the week that are not working days, e.g. {@link Calendar#SATURDAY} and
+     *                    {@link Calendar#SUNDAY}
+     * @return the {@link BusinessCalendar}
+     * @throws IllegalArgumentException if a day of the week is not valid, or every day of the week is a weekend day
+     */
+    public static BusinessCalendar of( final TimeZone zone,
+                                       final Collection<LocalDate> holidays,
+                                       final int... weekendDays ) {
+        return new BusinessCalendar( ( TimeZone ) zone.clone(), holidays, weekendDays );
+    }
+
+    /**
+     * Checks whether the date is a working day
+     *
+     * @param date the {@link Date} to check
+     * @return TRUE if the date is neither a weekend day nor a holiday
+     */
+    public boolean isWorkingDay( final Date date ) {
+        return isWorkingDay( toEpochDay( date ) );
+    }
+
+    /**
+     * Checks whether the date is a working day
+     *
+     * @param date the {@link LocalDate} to check
+     * @return TRUE if the date is neither a weekend day nor a holiday
+     */
+    public boolean isWorkingDay( final LocalDate date ) {
+        return isWorkingDay( date.toEpochDay() );
+    }
+
+    /**
+     * Counts the working days after the start date, up to and including the end date
+     *
+     * @param startDate the start {@link Date}
+     * @param endDate   the end {@link Date}
+     * @return the number of working days, which is negative if the end date is before the start date
+     */
+    public int workingDaysBetween( final Date startDate, final Date endDate ) {
+        return workingDaysBetween( toEpochDay( startDate ), toEpochDay( endDate ) );
+    }
+
+    /**
+     * Counts the working days after the start date, up to and including the end date
+     *
+     * @param startDate the start {@link LocalDate}
+     * @param endDate   the end {@link LocalDate}
+     * @return the number of working days, which is negative if the end date is before the start date
+     */
+    public int workingDaysBetween( final LocalDate startDate, final LocalDate endDate ) {
+        return workingDaysBetween( startDate.toEpochDay(), endDate.toEpochDay() );
+    }
+
+    /**
+     * Moves a date forward (or back) by a number of working days, keeping its time of day
+     *
+     * @param date             the {@link Date} to move from, which is not changed
+     * @param workingDaysToAdd the number of working days to move forward, or back if negative
+     * @return a new {@link Date} on the working day reached, or at the same time as the date if none are added
+     */
+    public Date addWorkingDays( final Date date, final int workingDaysToAdd ) {
+        final TimeZone dateZone = zone();
+        final long epochDay = EpochTimeUtils.toEpochDay( date.getTime(), dateZone );
+        final long days = addWorkingDays( epochDay, workingDaysToAdd ) - epochDay;
+        return new Date( EpochTimeUtils.addDays( date.getTime(), days, dateZone ) );
+    }
+
+    /**
+     * Moves a date forward (or back) by a number of working days.  Moving forward from any date and then counting
+     * {@link #workingDaysBetween} the two gives back the number of working days
+     *
+     * @param date             the {@link LocalDate} to move from
+     * @param workingDaysToAdd the number of working days to move forward, or back if negative
+     * @return the working day reached, or the date itself if none are added
+     */
+    public LocalDate addWorkingDays( final LocalDate date, final int workingDaysToAdd ) {
+        return LocalDate.ofEpochDay( addWorkingDays( date.toEpochDay(), workingDaysToAdd ) );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    private boolean isWorkingDay( final long epochDay ) {
+        if ( epochDay < firstDay || epochDay > lastDay )
+        {
+            return workingDaysOfWeek[ dayOfWeek( epochDay ) ];
+        }
+        final long offset = epochDay - firstDay;
+        return ( bits[ ( int ) ( offset >>> 6 ) ] & 1L << offset ) != 0;
+    }
+
+    private int workingDaysBetween( final long startDay, final long endDay ) {
+        return Math.toIntExact( rank( endDay + 1 ) - rank( startDay + 1 ) );
+    }
+
+    private long addWorkingDays( final long epochDay, final int workingDaysToAdd ) {
+        if ( workingDaysToAdd > 0 )
+        {
+            // rank( epochDay + 1 ) is the rank of the first working day after the date
+            return select( rank( epochDay + 1 ) + workingDaysToAdd - 1 );
+        }
+        return workingDaysToAdd == 0 ? epochDay : select( rank( epochDay ) + workingDaysToAdd );
+    }
+
+    /**
+     * @return the number of working days from firstDay up to (but not including) the epoch day, which is negative for
+     * days before firstDay
+     */
+    private long rank( final long epochDay ) {
+        if ( epochDay < firstDay )
+        {
+            return -weekRank( epochDay, firstDay );
+        }
+        if ( epochDay > lastDay + 1 )
+        {
+            return workingDays.length + weekRank( lastDay + 1, epochDay );
+        }
+        final long offset = epochDay - firstDay;
+        final int word = ( int ) ( offset >>> 6 );
+        return wordRanks[ word ] + Long.bitCount( bits[ word ] & ( 1L << offset ) - 1 );
+    }
+
+    /**
+     * @return the working day with the given {@link #rank}
+     */
+    private long select( final long rank ) {
+        if ( rank >= 0 && rank < workingDays.length )
+        {
+            return firstDay + workingDays[ ( int ) rank ];
+        }
+        if ( rank >= 0 )
+        {
+            return weekSelect( lastDay + 1, rank - workingDays.length );
+        }
+
+        // Count back whole weeks from firstDay, then the remaining working days
+        final long back = -rank - 1;
+        long epochDay = firstDay - back / workingDaysPerWeek * DAYS_PER_WEEK;
+        for ( long remaining = back % workingDaysPerWeek; remaining >= 0; )
+        {
+            epochDay--;
+            remaining -= workingDaysOfWeek[ dayOfWeek( epochDay ) ] ? 1 : 0;
+        }
+        return epochDay;
+    }
+
+    /**
+     * @return the number of days of the week that are working days in [fromDay, toDay)
+     */
+    private long weekRank( final long fromDay, final long toDay ) {
+        final long days = toDay - fromDay;
+        final int dayOfWeek = dayOfWeek( fromDay );
+        return days / DAYS_PER_WEEK * workingDaysPerWeek
+               + weekRanks[ dayOfWeek + ( int ) ( days % DAYS_PER_WEEK ) ]
+               - weekRanks[ dayOfWeek ];
+    }
+
+    /**
+     * @return the day of the week that is a working day with the given {@link #weekRank} from fromDay
+     */
+    private long weekSelect( final long fromDay, final long rank ) {
+        long epochDay = fromDay + rank / workingDaysPerWeek * DAYS_PER_WEEK;
+        for ( long remaining = rank % workingDaysPerWeek; ; epochDay++ )
+        {
+            if ( workingDaysOfWeek[ dayOfWeek( epochDay ) ] && remaining-- == 0 )
+            {
+                return epochDay;
+            }
+        }
+    }
+
+    private long toEpochDay( final Date date ) {
+        return EpochTimeUtils.toEpochDay( date.getTime(), zone() );
+    }
+
+    private TimeZone zone() {
+        return zone != null ? zone : TimeZone.getDefault();
+    }
+
+    /**
+     * @return the day of the week of the epoch day, where Sunday = 0 ... Saturday = 6
+     */
+    private static int dayOfWeek( final long epochDay ) {
+        return EpochTimeUtils.dayOfWeekOfEpochDay( epochDay ) - Calendar.SUNDAY;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A registry of {@link TimeZone}s compiled into primitive arrays of offset transitions, so the offset and DST state of
+ * a zone at any instant is a lock-free map lookup plus a binary search, with no allocation.
+ * <p>
+ * Zone IDs are resolved once, with {@link TimeZone#getTimeZone(String)} (so unknown IDs are GMT, as elsewhere in
+ * {@link DateTimeUtils}), and the values at each transition are read from that {@link TimeZone}, so they match
+ * {@link TimeZone#getOffset(long)} and {@link TimeZone#inDaylightTime}.  Transitions are compiled from
+ * {@value #FIRST_YEAR} up to {@value #LAST_YEAR}; instants outside those years are passed to the {@link TimeZone}.
+ */
+public final class CompiledZoneRules {
+
+    private static final int FIRST_YEAR = 1900;
+    private static final int LAST_YEAR = 2100;
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    /**
+     * How far apart to check for changes of DST state within a period.  The tz database has no DST states that change
+     * and change back within a week (but some within a month)
+     */
+    private static final long PROBE_MILLIS = 7 * MILLIS_PER_DAY;
+    private static final long COMPILED_FROM = EpochTimeUtils.toEpochDay( FIRST_YEAR, 0, 1 ) * MILLIS_PER_DAY;
+    private static final long COMPILED_UNTIL = EpochTimeUtils.toEpochDay( LAST_YEAR + 1, 0, 1 ) * MILLIS_PER_DAY;
+
+    private static final ConcurrentMap<String, CompiledZoneRules> REGISTRY = new ConcurrentHashMap<>();
+
+    private final TimeZone zone;
+
+    /**
+     * The instant each period starts (the first being {@link #COMPILED_FROM}), with the offset and DST state of the
+     * zone during that period
+     */
+    private final long[] starts;
+    private final int[] offsets;
+    private final boolean[] daylightTimes;
+
+    private CompiledZoneRules( final TimeZone zone ) {
+        this.zone = zone;
+        final long[] transitions = transitions( zone );
+        if ( transitions == null )
+        {
+            // Custom zones without tzdb rules are not compiled
+            starts = new long[ 0 ];
+            offsets = new int[ 0 ];
+            daylightTimes = new boolean[ 0 ];
+            return;
+        }
+        // A change of DST state with no change of offset is not a transition in the rules, so probe each period a week
+        // at a time and split it wherever the zone has changed
+        long[] periodStarts = new long[ transitions.length + 1 ];
+        int count = 0;
+        long start = COMPILED_FROM;
+        for ( int i = 0; i <= transitions.length; i++ )
+        {
+            final long end = i < transitions.length ? transitions[ i ] : COMPILED_UNTIL;
+            if ( count == periodStarts.length )
+            {
+                periodStarts = Arrays.copyOf( periodStarts, count * 2 );
+            }
+            periodStarts[ count++ ] = start;
+            long probe = start;
+            while ( probe < end - 1 )
+            {
+                probe = Math.min( probe + PROBE_MILLIS, end - 1 );
+                if ( !isSameState( zone, start, probe ) )
+                {
+                    start = firstChange( zone, start, probe );
+                    probe = start;
+                    if ( count == periodStarts.length )
+                    {
+                        periodStarts = Arrays.copyOf( periodStarts, count * 2 );
+                    }
+                    periodStarts[ count++ ] = start;
+                }
+            }
+            start = end;
+        }
+
+        starts = Arrays.copyOf( periodStarts, count );
+        offsets = new int[ count ];
+        daylightTimes = new boolean[ count ];
+        for ( int i = 0; i < count; i++ )
+        {
+            offsets[ i ] = zone.getOffset( starts[ i ] );
+            daylightTimes[ i ] = zone.inDaylightTime( new Date( starts[ i ] ) );
+        }
+    }
+
+    /**
+     * Retrieves the compiled rules of the zone with the given ID, compiling them on first use.  Rules are compiled once
+     * per ID of the resolved {@link TimeZone}, so all unknown IDs share the rules of GMT, and are also held by the ID
+     * they were requested with, so that non-canonical IDs (such as "GMT+5") are only resolved once
+     *
+     * @param zoneId the ID of the {@link TimeZone}
+     * @return the {@link CompiledZoneRules} of the zone
+     */
+    public static CompiledZoneRules forId( final String zoneId ) {
+        final CompiledZoneRules rules = REGISTRY.get( zoneId );
+        if ( rules != null )
+        {
+            return rules;
+        }
+        final TimeZone zone = TimeZone.getTimeZone( zoneId );
+        final CompiledZoneRules resolved = REGISTRY.computeIfAbsent( zone.getID(),
+                id -> new CompiledZoneRules( zone ) );
+        final CompiledZoneRules existing = REGISTRY.putIfAbsent( zoneId, resolved );
+        return existing == null ? resolved : existing;
+    }
+
+    /**
+     * @return the ID of the compiled {@link TimeZone} (GMT if the ID it was requested with is unknown)
+     */
+    public String getId() {
+        return zone.getID();
+    }
+
+    /**
+     * Retrieves the offset from UTC at the given instant, as {@link TimeZone#getOffset(long)}
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the amount of milliseconds to add to UTC to get local time
+     */
+    public int getOffset( final long epochMillis ) {
+        final int period = period( epochMillis );
+        return period < 0 ? zone.getOffset( epochMillis ) : offsets[ period ];
+    }
+
+    /**
+     * Checks whether the zone is observing DST at the given instant, as {@link TimeZone#inDaylightTime}
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return TRUE if the zone is within DST
+     */
+    public boolean inDaylightTime( final long epochMillis ) {
+        final int period = period( epochMillis );
+        return period < 0 ? zone.inDaylightTime( new Date( epochMillis ) ) : daylightTimes[ period ];
+    }
+
+    /**
+     * Checks whether these rules are those of the given zone, which may differ when the zone is not the one its ID
+     * resolves to (such as a {@link java.util.SimpleTimeZone} with a custom ID)
+     *
+     * @param other the {@link TimeZone} to compare with
+     * @return TRUE if the compiled zone has the same rules as the given one, as {@link TimeZone#hasSameRules}
+     */
+    boolean hasSameRules( final TimeZone other ) {
+        return zone.hasSameRules( other );
+    }
+
+    /**
+     * Retrieves the next instant after the given one at which the offset or DST state may change.  Outside the compiled
+     * years that is assumed to be no more than once a day
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the start of the next compiled period, or a day later outside the compiled years
+     */
+    long nextTransition( final long epochMillis ) {
+        final int period = period( epochMillis );
+        if ( period < 0 )
+        {
+            return epochMillis < COMPILED_FROM && starts.length > 0
+                   ? Math.min( COMPILED_FROM, epochMillis + MILLIS_PER_DAY )
+                   : epochMillis + MILLIS_PER_DAY;
+        }
+        return period + 1 < starts.length ? starts[ period + 1 ] : COMPILED_UNTIL;
+    }
+
+    /**
+     * Retrieves the range of instants around the given one over which the offset is known not to change, for callers
+     * that look up many instants in turn.  Outside the compiled years that is the given instant alone
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the start of the compiled period containing the instant, or the instant itself
+     */
+    long periodStart( final long epochMillis ) {
+        final int period = period( epochMillis );
+        return period < 0 ? epochMillis : starts[ period ];
+    }
+
+    /**
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the end (exclusive) of the compiled period containing the instant, or the instant after it
+     * @see #periodStart
+     */
+    long periodEnd( final long epochMillis ) {
+        final int period = period( epochMillis );
+        if ( period < 0 )
+        {
+            return epochMillis + 1;
+        }
+        return period + 1 < starts.length ? starts[ period + 1 ] : COMPILED_UNTIL;
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * @return the index of the period containing the instant, or -1 if it is outside the compiled years
+     */
+    private int period( final long epochMillis ) {
+        if ( epochMillis < COMPILED_FROM || epochMillis >= COMPILED_UNTIL || starts.length == 0 )
+        {
+            return -1;
+        }
+        final int index = Arrays.binarySearch( starts, epochMillis );
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static boolean isSameState( final TimeZone zone, final long first, final long second ) {
+        return zone.getOffset( first ) == zone.getOffset( second )
+                && zone.inDaylightTime( new Date( first ) ) == zone.inDaylightTime( new Date( second ) );
+    }
+
+    /**
+     * @return the first instant after 'from' (and no later than 'to') whose state differs from that at 'from'
+     */
+    private static long firstChange( final TimeZone zone, final long from, final long to ) {
+        long low = from;
+        long high = to;
+        while ( high - low > 1 )
+        {
+            final long middle = low + ( high - low ) / 2;
+            if ( isSameState( zone, from, middle ) )
+            {
+                low = middle;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @return the instants within the compiled years at which the offset of the zone changes, or null if the zone
+     * has no tzdb rules
+     */
+    private static long[] transitions( final TimeZone zone ) {
+        final ZoneRules rules;
+        try
+        {
+            rules = zone.toZoneId().getRules();
+        }
+        catch ( final DateTimeException dateTimeException )
+        {
+            return null;
+        }
+
+        long[] transitions = new long[ 16 ];
+        int count = 0;
+        ZoneOffsetTransition transition = rules.nextTransition( Instant.ofEpochMilli( COMPILED_FROM ) );
+        while ( transition != null && transition.toEpochSecond() * 1000 < COMPILED_UNTIL )
+        {
+            if ( count == transitions.length )
+            {
+                transitions = Arrays.copyOf( transitions, count * 2 );
+            }
+            transitions[ count++ ] = transition.toEpochSecond() * 1000;
+            transition = rules.nextTransition( transition.getInstant() );
+        }
+        return Arrays.copyOf( transitions, count );
+    }
+}
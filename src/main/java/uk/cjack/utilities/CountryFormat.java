@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.util.Locale;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import uk.cjack.utilities.DateTimeUtils.Format;
+
+/**
+ * The locale-specific date formats of each country, keyed by ISO 3166 country code, with the formatters and strict
+ * parsers ({@link DateValidator}s) of every {@link Style} compiled up front.
+ * <p>
+ * Each (country, style) pair has a fixed {@link #index}, so a caller that resolves the index once (e.g. for a shop's
+ * locale) can fetch the formatter on every request with a single array read, rather than a
+ * {@link FastDateFormat#getInstance} cache lookup.  The formatters are in the country's locale and the default zone
+ * when the class is loaded, as the {@link DateTimeUtils.Formatter} constants are.
+ */
+public enum CountryFormat {
+
+    UK( "GB",
+            Locale.UK,
+            Format.UK_DATE,
+            Format.UK_DATE_SHORT_YEAR,
+            Format.UK_DATE_COMPACT,
+            Format.UK_TIME_STAMP,
+            Format.ISO_8601_TIME_ONLY ),
+
+    US( "US",
+            Locale.US,
+            Format.US_DATE,
+            Format.US_DATE_SHORT_YEAR,
+            Format.US_DATE_COMPACT,
+            "MM/dd/yy @ hh:mm a",
+            Format.US_TIME ),
+
+    FR( "FR",
+            Locale.FRANCE,
+            Format.FR_DATE,
+            "dd.MM.yy",
+            "dd.MM",
+            "dd.MM.yy HH:mm",
+            Format.ISO_8601_TIME_ONLY ),
+
+    JP( "JP",
+            Locale.JAPAN,
+            Format.JP_DATE,
+            "yy/MM/dd",
+            "MM/dd",
+            "yy/MM/dd HH:mm",
+            Format.ISO_8601_TIME_ONLY );
+
+    /**
+     * The kinds of format each country has
+     */
+    public enum Style {
+        DATE,
+        DATE_SHORT_YEAR,
+        DATE_COMPACT,
+        TIME_STAMP,
+        TIME
+    }
+
+    private static final int STYLE_COUNT = Style.values().length;
+
+    /**
+     * The formatters and validators of every (country, style) pair, by {@link #index}
+     */
+    private static final FastDateFormat[] FORMATTERS;
+    private static final DateValidator[] VALIDATORS;
+
+    static
+    {
+        final CountryFormat[] countries = values();
+        FORMATTERS = new FastDateFormat[ countries.length * STYLE_COUNT ];
+        VALIDATORS = new DateValidator[ FORMATTERS.length ];
+        for ( final CountryFormat country : countries )
+        {
+            for ( final Style style : Style.values() )
+            {
+                final int index = index( country, style );
+                FORMATTERS[ index ] = FastDateFormat.getInstance( country.getPattern( style ), country.locale );
+                VALIDATORS[ index ] = DateValidator.of( FORMATTERS[ index ] );
+            }
+        }
+    }
+
+    private final String countryCode;
+    private final Locale locale;
+    private final String[] patterns;
+
+    CountryFormat( final String countryCode, final Locale locale, final String... patterns ) {
+        this.countryCode = countryCode;
+        this.locale = locale;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Retrieves the format of the country with the given code
+     *
+     * @param countryCode the ISO 3166 alpha-2 country code, e.g. GB (case insensitive)
+     * @return the {@link CountryFormat}
+     * @throws IllegalArgumentException if there is no format for the country
+     */
+    public static CountryFormat forCountryCode( final String countryCode ) {
+        for ( final CountryFormat country : values() )
+        {
+            if ( country.countryCode.equalsIgnoreCase( countryCode ) )
+            {
+                return country;
+            }
+        }
+        throw new IllegalArgumentException( "No date format for country: " + countryCode );
+    }
+
+    /**
+     * Retrieves the format of the country of the given locale
+     *
+     * @param locale the {@link Locale}, e.g. en_GB
+     * @return the {@link CountryFormat}
+     * @throws IllegalArgumentException if there is no format for the locale's country
+     */
+    public static CountryFormat forLocale( final Locale locale ) {
+        return forCountryCode( locale.getCountry() );
+    }
+
+    /**
+     * Retrieves the fixed index of a (country, style) pair, for {@link #getFormatter(int)} and
+     * {@link #getValidator(int)}
+     *
+     * @param country the {@link CountryFormat}
+     * @param style   the {@link Style}
+     * @return the index
+     */
+    public static int index( final CountryFormat country, final Style style ) {
+        return country.ordinal() * STYLE_COUNT + style.ordinal();
+    }
+
+    /**
+     * @param index the {@link #index} of a (country, style) pair
+     * @return the {@link FastDateFormat} of the pair
+     */
+    public static FastDateFormat getFormatter( final int index ) {
+        return FORMATTERS[ index ];
+    }
+
+    /**
+     * @param index the {@link #index} of a (country, style) pair
+     * @return the {@link DateValidator} of the pair
+     */
+    public static DateValidator getValidator( final int index ) {
+        return VALIDATORS[ index ];
+    }
+
+    /**
+     * @param style the {@link Style}
+     * @return the country's {@link FastDateFormat} of the style
+     */
+    public FastDateFormat getFormatter( final Style style ) {
+        return FORMATTERS[ index( this, style ) ];
+    }
+
+    /**
+     * @param style the {@link Style}
+     * @return the country's {@link DateValidator} of the style
+     */
+    public DateValidator getValidator( final Style style ) {
+        return VALIDATORS[ index( this, style ) ];
+    }
+
+    /**
+     * @param style the {@link Style}
+     * @return the country's pattern of the style
+     */
+    public String getPattern( final Style style ) {
+        return patterns[ style.ordinal() ];
+    }
+
+    /**
+     * @return the ISO 3166 alpha-2 country code
+     */
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    /**
+     * @return the {@link Locale} of the country's formats
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+}
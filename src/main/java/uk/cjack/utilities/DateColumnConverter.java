@@ -0,0 +1,532 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * Converts date columns of delimited (CSV, TSV etc.) files from one {@link FastDateFormat} to another, as
+ * {@link DateTimeUtils#convertFormat} would for each value, without reading the file a line or a String at a time.
+ * <p>
+ * The input is memory-mapped in chunks of whole lines, which are converted in parallel on the common
+ * {@link ForkJoinPool} and written to the output channel in order.  Values are checked strictly (as
+ * {@link DateTimeUtils#validateDateUnit}); invalid values are left as they are and counted, and empty values are left
+ * empty.  Everything other than the converted values is copied byte for byte, including line endings and quotes
+ * around values.
+ * <p>
+ * Files must be ASCII or UTF-8, with one record per line: a quoted value may contain the delimiter, but not a line
+ * break.
+ */
+public final class DateColumnConverter {
+
+    /**
+     * The nominal size of each chunk of the input, which is extended to the end of its last line
+     */
+    static final int DEFAULT_CHUNK_BYTES = 1 << 24;
+
+    private static final int SCAN_BYTES = 8192;
+    private static final int NOT_DIRECT = -1;
+
+    private final byte delimiter;
+    private final boolean header;
+    private final int[] columns;
+    private final boolean[] dateColumns;
+    private final FastDateFormat fromFormat;
+    private final FastDateFormat toFormat;
+    private final DateValidator validator;
+    private final DateTranscoder transcoder;
+
+    /**
+     * TRUE if both patterns are ASCII, so values can be read and written as bytes
+     */
+    private final boolean singleByte;
+    private final int chunkBytes;
+
+    private DateColumnConverter( final char delimiter,
+                                 final boolean header,
+                                 final FastDateFormat fromFormat,
+                                 final FastDateFormat toFormat,
+                                 final int[] columns,
+                                 final int chunkBytes ) {
+        if ( delimiter > 0x7F || delimiter == '"' || delimiter == '\n' || delimiter == '\r' )
+        {
+            throw new IllegalArgumentException( "The delimiter must be an ASCII character other than a quote or line "
+                    + "break: " + delimiter );
+        }
+        if ( columns.length == 0 || Arrays.stream( columns ).anyMatch( column -> column < 0 ) )
+        {
+            throw new IllegalArgumentException( "At least one column is needed, and columns cannot be negative: "
+                    + Arrays.toString( columns ) );
+        }
+        this.delimiter = ( byte ) delimiter;
+        this.header = header;
+        this.fromFormat = fromFormat;
+        this.toFormat = toFormat;
+        this.chunkBytes = chunkBytes;
+        this.columns = columns.clone();
+        dateColumns = new boolean[ Arrays.stream( columns ).max().getAsInt() + 1 ];
+        for ( final int column : columns )
+        {
+            dateColumns[ column ] = true;
+        }
+        validator = DateValidator.of( fromFormat );
+        transcoder = DateTranscoder.of( fromFormat, toFormat );
+        singleByte = isAscii( fromFormat.getPattern() ) && isAscii( toFormat.getPattern() );
+    }
+
+    /**
+     * Creates a converter of the given columns
+     *
+     * @param delimiter  the character between values, e.g. ',' or '\t'
+     * @param header     TRUE if the first line is a header, to be copied as it is
+     * @param fromFormat the {@link FastDateFormat} of the dates in the input
+     * @param toFormat   the {@link FastDateFormat} to write the dates in
+     * @param columns    the indexes of the date columns (the first column being 0)
+     * @return the {@link DateColumnConverter}
+     */
+    public static DateColumnConverter of( final char delimiter,
+                                          final boolean header,
+                                          final FastDateFormat fromFormat,
+                                          final FastDateFormat toFormat,
+                                          final int... columns ) {
+        return new DateColumnConverter( delimiter, header, fromFormat, toFormat, columns, DEFAULT_CHUNK_BYTES );
+    }
+
+    /**
+     * @return a copy of this converter that splits the input into chunks of the given size
+     */
+    DateColumnConverter withChunkBytes( final int chunkBytes ) {
+        return new DateColumnConverter( ( char ) delimiter, header, fromFormat, toFormat, columns, chunkBytes );
+    }
+
+    /**
+     * Converts the date columns of the input file, writing the result to the output file (which is replaced)
+     *
+     * @param input  the {@link Path} of the delimited file to read
+     * @param output the {@link Path} of the file to write
+     * @return the {@link Result} counts
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public Result convert( final Path input, final Path output ) throws IOException {
+        try ( FileChannel in = FileChannel.open( input, StandardOpenOption.READ );
+              FileChannel out = FileChannel.open( output,
+                      StandardOpenOption.CREATE,
+                      StandardOpenOption.TRUNCATE_EXISTING,
+                      StandardOpenOption.WRITE ) )
+        {
+            final long[] boundaries = chunkBoundaries( in );
+            final int window = ForkJoinPool.getCommonPoolParallelism() * 2;
+            final Deque<CompletableFuture<Chunk>> pending = new ArrayDeque<>();
+            final Result result = new Result();
+            int next = 0;
+            while ( next < boundaries.length - 1 || !pending.isEmpty() )
+            {
+                while ( next < boundaries.length - 1 && pending.size() < window )
+                {
+                    final long start = boundaries[ next ];
+                    final long end = boundaries[ next + 1 ];
+                    final boolean first = next == 0;
+                    pending.add( CompletableFuture.supplyAsync( () -> convertChunk( in, start, end, first ) ) );
+                    next++;
+                }
+                final Chunk chunk = join( pending.poll() );
+                final ByteBuffer bytes = ByteBuffer.wrap( chunk.bytes, 0, chunk.size );
+                while ( bytes.hasRemaining() )
+                {
+                    out.write( bytes );
+                }
+                result.add( chunk.result );
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Converts date columns from the command line:
+     * {@code <input> <output> <delimiter> <from pattern> <to pattern> <columns> [--header]}, where the delimiter may be
+     * 'tab', and the columns are comma separated indexes from 0
+     *
+     * @param args the command line arguments
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public static void main( final String[] args ) throws IOException {
+        if ( args.length < 6 || args.length > 7 || ( args.length == 7 && !"--header".equals( args[ 6 ] ) ) )
+        {
+            System.err.println( "Usage: DateColumnConverter <input> <output> <delimiter> <from pattern> <to pattern> "
+                    + "<columns> [--header]" );
+            System.exit( 1 );
+            return;
+        }
+        final char delimiter = "tab".equalsIgnoreCase( args[ 2 ] ) ? '\t' : args[ 2 ].charAt( 0 );
+        final int[] columns = Arrays.stream( args[ 5 ].split( "," ) ).mapToInt( Integer::parseInt ).toArray();
+        final Result result = of( delimiter,
+                args.length == 7,
+                FastDateFormat.getInstance( args[ 3 ] ),
+                FastDateFormat.getInstance( args[ 4 ] ),
+                columns ).convert( Paths.get( args[ 0 ] ), Paths.get( args[ 1 ] ) );
+        System.out.println( result );
+    }
+
+    /**
+     * Counts of the rows and values of a conversion
+     */
+    public static final class Result {
+
+        private long rows;
+        private long convertedValues;
+        private long invalidValues;
+        private long invalidRows;
+
+        private Result() {
+        }
+
+        /**
+         * @return the number of rows, not counting a header
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * @return the number of values converted
+         */
+        public long getConvertedValues() {
+            return convertedValues;
+        }
+
+        /**
+         * @return the number of values left as they were because they are not valid dates in the 'from' format
+         */
+        public long getInvalidValues() {
+            return invalidValues;
+        }
+
+        /**
+         * @return the number of rows with at least one invalid value
+         */
+        public long getInvalidRows() {
+            return invalidRows;
+        }
+
+        private void add( final Result result ) {
+            rows += result.rows;
+            convertedValues += result.convertedValues;
+            invalidValues += result.invalidValues;
+            invalidRows += result.invalidRows;
+        }
+
+        @Override
+        public String toString() {
+            return "Rows: " + rows + ", converted values: " + convertedValues + ", invalid values: " + invalidValues
+                    + ", invalid rows: " + invalidRows;
+        }
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * @return the start of each chunk, each after a line break, followed by the end of the input
+     */
+    private long[] chunkBoundaries( final FileChannel in ) throws IOException {
+        final long size = in.size();
+        long[] boundaries = new long[ ( int ) ( size / chunkBytes ) + 2 ];
+        int count = 0;
+        long start = 0;
+        final ByteBuffer scan = ByteBuffer.allocate( SCAN_BYTES );
+        while ( start < size )
+        {
+            boundaries[ count++ ] = start;
+            long end = start + chunkBytes;
+            // Extend the chunk to the end of the line it finishes in
+            while ( end < size )
+            {
+                scan.clear();
+                final int read = in.read( scan, end );
+                int i = 0;
+                while ( i < read && scan.get( i ) != '\n' )
+                {
+                    i++;
+                }
+                end += i;
+                if ( i < read )
+                {
+                    end++;
+                    break;
+                }
+            }
+            start = Math.min( end, size );
+        }
+        boundaries[ count++ ] = size;
+        return Arrays.copyOf( boundaries, count );
+    }
+
+    private Chunk convertChunk( final FileChannel in, final long start, final long end, final boolean first ) {
+        final MappedByteBuffer source;
+        try
+        {
+            source = in.map( FileChannel.MapMode.READ_ONLY, start, end - start );
+        }
+        catch ( final IOException ioException )
+        {
+            throw new UncheckedIOException( ioException );
+        }
+        final Chunk chunk = new Chunk( source );
+        int lineStart = 0;
+        if ( first && header )
+        {
+            lineStart = chunk.lineEnd( 0 );
+            chunk.copy( lineStart );
+        }
+        while ( lineStart < source.limit() )
+        {
+            lineStart = convertLine( chunk, lineStart );
+        }
+        return chunk;
+    }
+
+    /**
+     * Converts the line starting at the given index of the chunk's source, copying everything up to the end of it
+     *
+     * @return the index of the start of the next line
+     */
+    private int convertLine( final Chunk chunk, final int lineStart ) {
+        final MappedByteBuffer source = chunk.source;
+        final int limit = source.limit();
+        int column = 0;
+        int fieldStart = lineStart;
+        boolean quoted = false;
+        boolean invalid = false;
+        int position = lineStart;
+        while ( true )
+        {
+            final byte b = position < limit ? source.get( position ) : ( byte ) '\n';
+            if ( b == '"' && ( quoted || position == fieldStart ) )
+            {
+                // A quote opens a value at its start, and closes it unless doubled
+                if ( quoted && position + 1 < limit && source.get( position + 1 ) == '"' )
+                {
+                    position++;
+                }
+                else
+                {
+                    quoted = !quoted;
+                }
+            }
+            else if ( !quoted && ( b == delimiter || b == '\n' ) )
+            {
+                if ( column < dateColumns.length && dateColumns[ column ] )
+                {
+                    final int fieldEnd = b == '\n' && position > fieldStart && source.get( position - 1 ) == '\r'
+                                         ? position - 1
+                                         : position;
+                    invalid |= !convertValue( chunk, fieldStart, fieldEnd );
+                }
+                if ( b == '\n' )
+                {
+                    break;
+                }
+                column++;
+                fieldStart = position + 1;
+            }
+            position++;
+        }
+        final int lineEnd = Math.min( position + 1, limit );
+        chunk.copy( lineEnd );
+        chunk.result.rows++;
+        chunk.result.invalidRows += invalid ? 1 : 0;
+        return lineEnd;
+    }
+
+    /**
+     * Converts the value between the given indexes (less any quotes around it) into the chunk's output
+     *
+     * @return FALSE if the value is not a valid date, so was left as it is
+     */
+    private boolean convertValue( final Chunk chunk, final int fieldStart, final int fieldEnd ) {
+        final MappedByteBuffer source = chunk.source;
+        int valueStart = fieldStart;
+        int valueEnd = fieldEnd;
+        if ( valueEnd - valueStart >= 2 && source.get( valueStart ) == '"' && source.get( valueEnd - 1 ) == '"' )
+        {
+            valueStart++;
+            valueEnd--;
+        }
+        if ( valueStart == valueEnd )
+        {
+            return true;
+        }
+        chunk.value.set( valueStart, valueEnd );
+        final CharSequence value = singleByte ? chunk.value : chunk.value.toString();
+        final long epochMillis = validator.parseMillis( value );
+        if ( epochMillis == IsoParseUtils.INVALID )
+        {
+            chunk.result.invalidValues++;
+            return false;
+        }
+        chunk.copy( valueStart );
+        chunk.ensureCapacity( transcoder.getDirectLength() );
+        final int written = singleByte ? transcoder.convertDirectly( value, chunk.bytes, chunk.size ) : NOT_DIRECT;
+        if ( written == NOT_DIRECT )
+        {
+            chunk.write( toFormat.format( epochMillis ).getBytes( StandardCharsets.UTF_8 ) );
+        }
+        else
+        {
+            chunk.size += written;
+        }
+        chunk.copied = valueEnd;
+        chunk.result.convertedValues++;
+        return true;
+    }
+
+    private static boolean isAscii( final String pattern ) {
+        return pattern.chars().allMatch( c -> c <= 0x7F );
+    }
+
+    private static Chunk join( final CompletableFuture<Chunk> future ) throws IOException {
+        try
+        {
+            return future.join();
+        }
+        catch ( final CompletionException completionException )
+        {
+            if ( completionException.getCause() instanceof UncheckedIOException )
+            {
+                throw ( ( UncheckedIOException ) completionException.getCause() ).getCause();
+            }
+            throw completionException;
+        }
+    }
+
+    /**
+     * A mapped chunk of the input, and the converted output of it
+     */
+    private static final class Chunk {
+
+        private final MappedByteBuffer source;
+
+        /**
+         * A view of the source, for reading the source's bytes in bulk
+         */
+        private final ByteBuffer reader;
+        private final ByteValue value;
+        private final Result result = new Result();
+        private byte[] bytes;
+        private int size;
+
+        /**
+         * The index of the source up to which the output has been written
+         */
+        private int copied;
+
+        private Chunk( final MappedByteBuffer source ) {
+            this.source = source;
+            reader = source.duplicate();
+            value = new ByteValue( source );
+            bytes = new byte[ source.limit() + source.limit() / 8 + 64 ];
+        }
+
+        /**
+         * @return the index after the line break ending the line that starts at the given index
+         */
+        private int lineEnd( final int lineStart ) {
+            int position = lineStart;
+            while ( position < source.limit() && source.get( position ) != '\n' )
+            {
+                position++;
+            }
+            return Math.min( position + 1, source.limit() );
+        }
+
+        /**
+         * Copies the source from where the output is up to, to the given index
+         */
+        private void copy( final int to ) {
+            final int length = to - copied;
+            ensureCapacity( length );
+            reader.position( copied );
+            reader.get( bytes, size, length );
+            size += length;
+            copied = to;
+        }
+
+        private void write( final byte[] converted ) {
+            ensureCapacity( converted.length );
+            System.arraycopy( converted, 0, bytes, size, converted.length );
+            size += converted.length;
+        }
+
+        private void ensureCapacity( final int length ) {
+            if ( size + length > bytes.length )
+            {
+                bytes = Arrays.copyOf( bytes, Math.max( bytes.length * 2, size + length ) );
+            }
+        }
+    }
+
+    /**
+     * A reusable view of a value in a buffer of single-byte characters
+     */
+    private static final class ByteValue implements CharSequence {
+
+        private final ByteBuffer buffer;
+        private int start;
+        private int end;
+
+        private ByteValue( final ByteBuffer buffer ) {
+            this.buffer = buffer;
+        }
+
+        private void set( final int start, final int end ) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt( final int index ) {
+            return ( char ) ( buffer.get( start + index ) & 0xFF );
+        }
+
+        @Override
+        public CharSequence subSequence( final int from, final int to ) {
+            return toString().subSequence( from, to );
+        }
+
+        /**
+         * @return the value decoded as UTF-8
+         */
+        @Override
+        public String toString() {
+            final byte[] value = new byte[ length() ];
+            for ( int i = 0; i < value.length; i++ )
+            {
+                value[ i ] = buffer.get( start + i );
+            }
+            return new String( value, StandardCharsets.UTF_8 );
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
+import java.util.Date;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * An immutable sequence of {@link Date}s at a fixed step from a start date, calculated on demand.
+ * <p>
+ * Nothing is held per element, so {@link #get(int)} and {@link #size()} are O(1) however long the range is, and the
+ * {@link #spliterator()} splits exactly in half for parallel streams.  Each {@code get} returns a new {@link Date}.
+ * <p>
+ * Day steps keep the wall-clock time in the range's zone, in the same way as {@code Calendar.add( DAY_OF_MONTH, n )}
+ * (so a daily range stays at 15:00 across DST changes); hour and minute steps are fixed lengths of time.
+ */
+public final class DateRange extends AbstractList<Date> implements RandomAccess {
+
+    private final long startMillis;
+    private final int size;
+
+    /**
+     * The length of an hour or minute step, or 0 for day steps (which vary in length)
+     */
+    private final long stepMillis;
+    private final TimeZone zone;
+
+    private DateRange( final long startMillis, final int size, final ChronoUnit step, final TimeZone zone ) {
+        this.startMillis = startMillis;
+        this.size = size;
+        this.zone = zone;
+        switch ( step )
+        {
+            case DAYS:
+                this.stepMillis = 0;
+                break;
+            case HOURS:
+            case MINUTES:
+                this.stepMillis = step.getDuration().toMillis();
+                break;
+            default:
+                throw new IllegalArgumentException( "Unsupported step: " + step );
+        }
+    }
+
+    /**
+     * Creates a range in the default zone
+     *
+     * @param startDate the first {@link Date} in the range
+     * @param size      the number of dates in the range
+     * @param step      the step between each date: {@link ChronoUnit#DAYS}, {@link ChronoUnit#HOURS} or
+     *                  {@link ChronoUnit#MINUTES}
+     * @return the {@link DateRange}
+     */
+    public static DateRange of( final Date startDate, final int size, final ChronoUnit step ) {
+        return of( startDate.getTime(), size, step, TimeZone.getDefault() );
+    }
+
+    /**
+     * Creates a range in the given zone
+     *
+     * @param startMillis the first instant in the range, in milliseconds since the epoch
+     * @param size        the number of dates in the range
+     * @param step        the step between each date: {@link ChronoUnit#DAYS}, {@link ChronoUnit#HOURS} or
+     *                    {@link ChronoUnit#MINUTES}
+     * @param zone        the {@link TimeZone} that day steps keep the wall-clock time in
+     * @return the {@link DateRange}
+     */
+    public static DateRange of( final long startMillis, final int size, final ChronoUnit step, final TimeZone zone ) {
+        if ( size < 0 )
+        {
+            throw new IllegalArgumentException( "Size must not be negative: " + size );
+        }
+        return new DateRange( startMillis, size, step, ( TimeZone ) zone.clone() );
+    }
+
+    /**
+     * Retrieves the instant of the date at the given index, without creating a {@link Date}
+     *
+     * @param index the index of the date in the range
+     * @return the instant in milliseconds since the epoch
+     */
+    public long getMillis( final int index ) {
+        if ( index < 0 || index >= size )
+        {
+            throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + size );
+        }
+        return millisAt( index );
+    }
+
+    /**
+     * @return the instants of the range, in order, as a stream that splits in the same way as the range
+     */
+    public LongStream millisStream() {
+        return LongStream.range( 0, size ).map( index -> millisAt( ( int ) index ) );
+    }
+
+    @Override
+    public Date get( final int index ) {
+        return new Date( getMillis( index ) );
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Spliterator<Date> spliterator() {
+        return new RangeSpliterator( 0, size );
+    }
+
+    private long millisAt( final int index ) {
+        if ( stepMillis == 0 )
+        {
+            return EpochTimeUtils.addDays( startMillis, index, zone );
+        }
+        return startMillis + index * stepMillis;
+    }
+
+    /**
+     * Covers the indexes from origin (inclusive) to fence (exclusive), splitting off the first half
+     */
+    private final class RangeSpliterator implements Spliterator<Date> {
+
+        private int origin;
+        private final int fence;
+
+        private RangeSpliterator( final int origin, final int fence ) {
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance( final Consumer<? super Date> action ) {
+            if ( origin < fence )
+            {
+                action.accept( new Date( millisAt( origin++ ) ) );
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining( final Consumer<? super Date> action ) {
+            final int end = fence;
+            for ( int i = origin; i < end; i++ )
+            {
+                action.accept( new Date( millisAt( i ) ) );
+            }
+            origin = end;
+        }
+
+        @Override
+        public Spliterator<Date> trySplit() {
+            final int middle = ( origin + fence ) >>> 1;
+            if ( middle <= origin )
+            {
+                return null;
+            }
+            final Spliterator<Date> prefix = new RangeSpliterator( origin, middle );
+            origin = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The source of 'now' for the {@link DateTimeUtils} methods that depend on the current time, set with
+ * {@link DateTimeUtils#setClock}.
+ * <ul>
+ *     <li>{@link #system()} reads the system clock and default {@link TimeZone} on every call (the default)</li>
+ *     <li>{@link #fixed(long)} always returns the same instant, for tests</li>
+ *     <li>{@link #ticking(long)} reads the system clock on a background thread once per period, and memoises today's
+ *     boundaries, the current year and month, and each zone's offset and DST state until they next change, so
+ *     reading them does no clock reads or allocation</li>
+ * </ul>
+ * Values derived from the clock use the {@link TimeZone#getDefault() default zone}, as the rest of
+ * {@link DateTimeUtils} does.
+ */
+public abstract class DateTimeClock {
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    private static final DateTimeClock SYSTEM = new DateTimeClock() {
+        @Override
+        public long millis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * @return a clock that reads the system clock on every call
+     */
+    public static DateTimeClock system() {
+        return SYSTEM;
+    }
+
+    /**
+     * @param epochMillis the instant the clock should always return
+     * @return a clock that is stopped at the given instant
+     */
+    public static DateTimeClock fixed( final long epochMillis ) {
+        return new DateTimeClock() {
+            @Override
+            public long millis() {
+                return epochMillis;
+            }
+        };
+    }
+
+    /**
+     * Creates a clock that reads the system clock (and default zone) on a daemon thread once per period.  The time it
+     * returns can be up to a period behind the system clock, so the period should be the coarsest the callers can
+     * accept.  The thread runs until {@link Ticking#close()} is called
+     *
+     * @param periodMillis how often to read the system clock, in milliseconds
+     * @return the running clock
+     */
+    public static Ticking ticking( final long periodMillis ) {
+        if ( periodMillis <= 0 )
+        {
+            throw new IllegalArgumentException( "Period must be positive: " + periodMillis );
+        }
+        return new Ticking( periodMillis );
+    }
+
+    /**
+     * @return the current instant in milliseconds since the epoch
+     */
+    public abstract long millis();
+
+    /**
+     * @return the {@link TimeZone} to derive the current date in (which must not be modified)
+     */
+    public TimeZone zone() {
+        return TimeZone.getDefault();
+    }
+
+    /**
+     * @return the first millisecond of today, as {@link DateTimeUtils.TimeEvent#START_OF_DAY}
+     */
+    public long startOfToday() {
+        return DayBoundaryCache.forZone( zone() ).startOfDay( millis() );
+    }
+
+    /**
+     * @return the last millisecond of today, as {@link DateTimeUtils.TimeEvent#END_OF_DAY}
+     */
+    public long endOfToday() {
+        return DayBoundaryCache.forZone( zone() ).endOfDay( millis() );
+    }
+
+    /**
+     * @return today's local epoch day (days since 1970-01-01)
+     */
+    public long today() {
+        return DayBoundaryCache.forZone( zone() ).epochDayOf( millis() );
+    }
+
+    /**
+     * @return the current year
+     */
+    public int currentYear() {
+        return EpochTimeUtils.getYear( millis(), zone() );
+    }
+
+    /**
+     * @return the current month (January = 0)
+     */
+    public int currentMonth() {
+        return EpochTimeUtils.getMonth( millis(), zone() );
+    }
+
+    /**
+     * Retrieves the current offset from UTC of the given zone
+     *
+     * @param zoneId the ID of the {@link TimeZone}, or empty for the default zone
+     * @return the amount of milliseconds to add to UTC to get local time
+     */
+    public int getOffset( final String zoneId ) {
+        if ( StringUtils.isEmpty( zoneId ) )
+        {
+            return zone().getOffset( millis() );
+        }
+        return CompiledZoneRules.forId( zoneId ).getOffset( millis() );
+    }
+
+    /**
+     * Checks whether the given zone is currently observing DST
+     *
+     * @param zoneId the ID of the {@link TimeZone}
+     * @return TRUE if the zone is currently within DST
+     */
+    public boolean inDaylightTime( final String zoneId ) {
+        if ( StringUtils.isEmpty( zoneId ) )
+        {
+            return zone().inDaylightTime( new Date( millis() ) );
+        }
+        return CompiledZoneRules.forId( zoneId ).inDaylightTime( millis() );
+    }
+
+    /**
+     * A clock that reads the system clock once per period on a daemon thread, and memoises the values derived from it
+     */
+    public static final class Ticking extends DateTimeClock implements AutoCloseable {
+
+        private final ScheduledExecutorService ticker;
+
+        /**
+         * Offset and DST state per zone ID (the empty String being the default zone)
+         */
+        private final ConcurrentMap<String, ZoneState> zoneStates = new ConcurrentHashMap<>();
+
+        private volatile long millis;
+        private volatile TimeZone zone;
+        private volatile Today today;
+
+        private Ticking( final long periodMillis ) {
+            tick();
+            ticker = Executors.newSingleThreadScheduledExecutor( runnable -> {
+                final Thread thread = new Thread( runnable, "DateTimeClock-ticker" );
+                thread.setDaemon( true );
+                return thread;
+            } );
+            ticker.scheduleAtFixedRate( this::tick, periodMillis, periodMillis, TimeUnit.MILLISECONDS );
+        }
+
+        /**
+         * Reads the system clock and default zone, recalculating today if either has moved it
+         */
+        private void tick() {
+            final long now = System.currentTimeMillis();
+            final TimeZone defaultZone = TimeZone.getDefault();
+            TimeZone currentZone = zone;
+            if ( currentZone == null || !currentZone.getID().equals( defaultZone.getID() )
+                    || !currentZone.hasSameRules( defaultZone ) )
+            {
+                currentZone = defaultZone;
+                zone = currentZone;
+            }
+            final Today currentToday = today;
+            if ( currentToday == null || currentToday.zone != currentZone
+                    || DayBoundaryCache.forZone( currentZone ).epochDayOf( now ) != currentToday.epochDay )
+            {
+                today = new Today( now, currentZone );
+            }
+            millis = now;
+        }
+
+        /**
+         * Stops the background thread.  The clock keeps returning the last time it read
+         */
+        @Override
+        public void close() {
+            ticker.shutdownNow();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public TimeZone zone() {
+            return zone;
+        }
+
+        @Override
+        public long startOfToday() {
+            return today.startOfDay;
+        }
+
+        @Override
+        public long endOfToday() {
+            return today.endOfDay;
+        }
+
+        @Override
+        public long today() {
+            return today.epochDay;
+        }
+
+        @Override
+        public int currentYear() {
+            return today.year;
+        }
+
+        @Override
+        public int currentMonth() {
+            return today.month;
+        }
+
+        @Override
+        public int getOffset( final String zoneId ) {
+            return zoneState( zoneId ).offset;
+        }
+
+        @Override
+        public boolean inDaylightTime( final String zoneId ) {
+            return zoneState( zoneId ).daylightTime;
+        }
+
+        private ZoneState zoneState( final String zoneId ) {
+            final String key = zoneId == null ? "" : zoneId;
+            final long now = millis;
+            final ZoneState state = zoneStates.get( key );
+            if ( state != null && state.isValidAt( now ) && ( !key.isEmpty() || state.zone == zone ) )
+            {
+                return state;
+            }
+            final TimeZone stateZone = key.isEmpty() ? zone : state != null ? state.zone : TimeZone.getTimeZone( key );
+            final ZoneState newState = new ZoneState( stateZone, now );
+            zoneStates.put( key, newState );
+            return newState;
+        }
+    }
+
+    /**
+     * The values derived from the current date, valid for as long as the date (and default zone) stays the same
+     */
+    private static final class Today {
+
+        private final TimeZone zone;
+        private final long epochDay;
+        private final long startOfDay;
+        private final long endOfDay;
+        private final int year;
+        private final int month;
+
+        private Today( final long now, final TimeZone zone ) {
+            final DayBoundaryCache cache = DayBoundaryCache.forZone( zone );
+            this.zone = zone;
+            this.epochDay = cache.epochDayOf( now );
+            this.startOfDay = cache.startOfEpochDay( epochDay );
+            this.endOfDay = cache.endOfEpochDay( epochDay );
+            this.year = EpochTimeUtils.getYear( now, zone );
+            this.month = EpochTimeUtils.getMonth( now, zone );
+        }
+    }
+
+    /**
+     * The offset and DST state of a zone, valid from the instant it was calculated until the zone's next transition
+     * (or a day later, whichever is sooner)
+     */
+    private static final class ZoneState {
+
+        private final TimeZone zone;
+        private final int offset;
+        private final boolean daylightTime;
+        private final long validFrom;
+        private final long validUntil;
+
+        private ZoneState( final TimeZone zone, final long now ) {
+            this.zone = zone;
+            this.offset = zone.getOffset( now );
+            this.daylightTime = zone.inDaylightTime( new Date( now ) );
+            this.validFrom = now;
+            this.validUntil = Math.min( now + MILLIS_PER_DAY, nextTransition( zone, now ) );
+        }
+
+        private boolean isValidAt( final long now ) {
+            return now >= validFrom && now < validUntil;
+        }
+
+        private static long nextTransition( final TimeZone zone, final long now ) {
+            try
+            {
+                final ZoneOffsetTransition transition = zone.toZoneId()
+                        .getRules()
+                        .nextTransition( Instant.ofEpochMilli( now ) );
+                return transition == null ? Long.MAX_VALUE : transition.toEpochSecond() * 1000;
+            }
+            catch ( final DateTimeException dateTimeException )
+            {
+                // Custom zones without tzdb rules are not memoised
+                return now;
+            }
+        }
+    }
+}
@@ -8,14 +8,17 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.TimeZone;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.FastDateFormat;
 
 import uk.cjack.utilities.exception.InvalidDateException;
+import uk.cjack.utilities.metrics.DateTimeMetrics;
+import uk.cjack.utilities.metrics.Operation;
 
 /**
  * Utility Methods for Date/Time purposes to reduce boilerplate/replication in implementations
@@ -28,6 +31,49 @@ public abstract class DateTimeUtils {
      */
     public static final Logger LOGGER = Logger.getLogger( DateTimeUtils.class.getName() );
 
+    /**
+     * The precision of each {@link Format} whose formatted values are equal exactly when the dates are in the same
+     * period of that unit (so {@link #isSameDate(Date, Date, FastDateFormat)} can compare the dates directly)
+     */
+    private static final Map<String, ChronoUnit> FORMAT_UNITS = new HashMap<>();
+
+    static
+    {
+        FORMAT_UNITS.put( Format.ISO_8601_DATE_TIME, ChronoUnit.SECONDS );
+        FORMAT_UNITS.put( Format.ISO_8601_DATE_ONLY, ChronoUnit.DAYS );
+        FORMAT_UNITS.put( Format.YEAR_ONLY, ChronoUnit.YEARS );
+        FORMAT_UNITS.put( Format.UK_DATE, ChronoUnit.DAYS );
+        FORMAT_UNITS.put( Format.US_DATE, ChronoUnit.DAYS );
+        FORMAT_UNITS.put( Format.FR_DATE, ChronoUnit.DAYS );
+        FORMAT_UNITS.put( Format.JP_DATE, ChronoUnit.DAYS );
+    }
+
+    /**
+     * The source of 'now' for the methods that depend on the current time
+     */
+    private static volatile DateTimeClock clock = DateTimeClock.system();
+
+    /* ***** *
+     * Clock *
+     * ***** */
+
+    /**
+     * Sets the clock used by the methods that depend on the current time (e.g. {@link #isToday},
+     * {@link #getCurrentYear}, {@link #addDays(long)})
+     *
+     * @param clockToSet the {@link DateTimeClock} to use, or null to reset to {@link DateTimeClock#system()}
+     */
+    public static void setClock( final DateTimeClock clockToSet ) {
+        clock = clockToSet == null ? DateTimeClock.system() : clockToSet;
+    }
+
+    /**
+     * @return the clock used by the methods that depend on the current time
+     */
+    public static DateTimeClock getClock() {
+        return clock;
+    }
+
 
     /* ******** *
      * Set Time *
@@ -49,14 +95,12 @@ public abstract class DateTimeUtils {
                                 final int minutes,
                                 final int seconds,
                                 final int milliseconds ) {
-        final Calendar calendar = toCalendar( date );
-        return setDateTime( calendar.get( Calendar.YEAR ),
-                calendar.get( Calendar.MONTH ),
-                calendar.get( Calendar.DAY_OF_MONTH ),
+        return new Date( EpochTimeUtils.setTime( date.getTime(),
                 hours,
                 minutes,
                 seconds,
-                milliseconds );
+                milliseconds,
+                TimeZone.getDefault() ) );
     }
 
     /**
@@ -87,14 +131,12 @@ public abstract class DateTimeUtils {
                                       final int minutes,
                                       final int seconds,
                                       final int milliseconds ) {
-        final Calendar calendar = toCalendar( date );
-        date.setTime( setDateTime( calendar.get( Calendar.YEAR ),
-                calendar.get( Calendar.MONTH ),
-                calendar.get( Calendar.DAY_OF_MONTH ),
+        date.setTime( EpochTimeUtils.setTime( date.getTime(),
                 hours,
                 minutes,
                 seconds,
-                milliseconds ).getTime() );
+                milliseconds,
+                TimeZone.getDefault() ) );
     }
 
     /**
@@ -128,34 +170,7 @@ public abstract class DateTimeUtils {
      * @return {@link Date} object with the given datetime set
      */
     public static Date setTimeEvent( final Date date, final TimeEvent timeEvent ) {
-        Date result = null;
-        switch ( timeEvent )
-        {
-            case START_OF_YEAR:
-                result = setDate( getYear( date ), 0, 1 );
-                break;
-            case START_OF_DAY:
-                result = setTime( date, 0, 0, 0, 0 );
-                break;
-            case END_OF_DAY:
-                // -1 milliseconds takes us to the last millisecond of the previous day, which is the end of today
-                result = setTime( addDays( toCalendar( date ), 1 ), 0, 0, 0, -1 );
-                break;
-            case END_OF_YEAR:
-                // -1 milliseconds takes us to a millisecond before Jan 1st, which is the last millisecond of the year
-                result = setTime( setDate( getYear( date ) + 1, 0, 1 ), 0, 0, 0, -1 );
-                break;
-            case ONE_WEEK_AGO:
-                final Date startOfDay = setTime( date, 0, 0, 0, 0 );
-                addDays( startOfDay, -7 );
-                result = startOfDay;
-                break;
-        }
-        if ( result == null )
-        {
-            result = date;
-        }
-        return result;
+        return new Date( EpochTimeUtils.setTimeEvent( date.getTime(), timeEvent, TimeZone.getDefault() ) );
     }
 
     /**
@@ -230,6 +245,17 @@ public abstract class DateTimeUtils {
     public static Date setTimeOnDummyDate( final String timeString ) throws ParseException {
         if ( timeString != null )
         {
+            final long epochMillis = IsoParseUtils.parseTime( timeString, Formatter.ISO_8601_TIME_ONLY.getTimeZone() );
+            if ( epochMillis != IsoParseUtils.INVALID )
+            {
+                final TimeZone zone = TimeZone.getDefault();
+                return setTime( new Date( 0 ),
+                        EpochTimeUtils.getHours( epochMillis, zone ),
+                        EpochTimeUtils.getMinutes( epochMillis, zone ),
+                        0,
+                        0 );
+            }
+            // Not strictly 'HH:mm', so leave it to the (lenient) formatter
             return setTimeOnDummyDate( Formatter.ISO_8601_TIME_ONLY.parse( timeString ) );
         }
         return null;
@@ -284,12 +310,14 @@ public abstract class DateTimeUtils {
                                     final int minute,
                                     final int seconds,
                                     final int milliseconds ) {
-        final Calendar calendar = Calendar.getInstance();
-        calendar.clear();
-        calendar.set( year, month, day, hour, minute, seconds );
-        calendar.set( Calendar.MILLISECOND, milliseconds );
-        return calendar.getTime();
-
+        return new Date( EpochTimeUtils.toEpochMillis( year,
+                month,
+                day,
+                hour,
+                minute,
+                seconds,
+                milliseconds,
+                TimeZone.getDefault() ) );
     }
 
     /**
@@ -304,22 +332,25 @@ public abstract class DateTimeUtils {
                                            final Date endDateToSet,
                                            final int year,
                                            final int month ) {
-        LOGGER.log( Level.INFO, "Setting Month Boundary for month {0} of year {1}",
-                new Object[]{ month, String.valueOf( year ) } );
-
-        // Set the date as the start time and day of the month
-        final Date startOfMonth = setTimeEvent( setDate( year, month, 1 ), TimeEvent.START_OF_DAY );
-        startDateToSet.setTime( toMilliseconds( startOfMonth ) );
+        final long startNanos = DateTimeMetrics.ENABLED ? System.nanoTime() : 0;
+        if ( LOGGER.isLoggable( Level.FINE ) )
+        {
+            LOGGER.log( Level.FINE, "Setting Month Boundary for month {0} of year {1}",
+                    new Object[]{ month, String.valueOf( year ) } );
+        }
 
-        /*
-         * Day 0 works as -1 days, setting the day to the end of the previous month
-         * (without having to work with leap years etc.)
-         * Sets the time as the end of the day (23:59:59.999999999)
-         */
-        final Date endOfMonth = setTimeEvent( setDate( year, month + 1, 0 ), TimeEvent.END_OF_DAY );
-        endDateToSet.setTime( toMilliseconds( endOfMonth ) );
+        final MonthBoundaryTable table = MonthBoundaryTable.forZone( TimeZone.getDefault() );
+        startDateToSet.setTime( table.startOfMonth( year, month ) );
+        endDateToSet.setTime( table.endOfMonth( year, month ) );
+        if ( DateTimeMetrics.ENABLED )
+        {
+            DateTimeMetrics.recordCall( Operation.SET_MONTH_BOUNDARIES, startNanos, false );
+        }
 
-        LOGGER.log( Level.INFO, "Month Start [{0}] Month End [{1}]", new Object[]{ startDateToSet, endDateToSet } );
+        if ( LOGGER.isLoggable( Level.FINE ) )
+        {
+            LOGGER.log( Level.FINE, "Month Start [{0}] Month End [{1}]", new Object[]{ startDateToSet, endDateToSet } );
+        }
     }
 
     /**
@@ -337,6 +368,18 @@ public abstract class DateTimeUtils {
         setMonthBoundaries( startDateToSet, endDateToSet, getYear( dateWithYear ), getMonth( dateWithMonth ) );
     }
 
+    /**
+     * Retrieves the boundaries of the given year and month in the default zone, as set by
+     * {@link #setMonthBoundaries}, without modifying any {@link Date}s
+     *
+     * @param year  the year
+     * @param month the month (January = 0, February = 1... December = 11)
+     * @return the {@link MonthBoundary}
+     */
+    public static MonthBoundary getMonthBoundary( final int year, final int month ) {
+        return MonthBoundaryTable.forZone( TimeZone.getDefault() ).getMonthBoundary( year, month );
+    }
+
     /* *********** *
      * Conversions *
      * *********** */
@@ -370,11 +413,7 @@ public abstract class DateTimeUtils {
      * @return the number of minutes into the day that time represents
      */
     public static int convertToMinutes( final Date dateWithTime ) {
-        final Calendar calendar = toCalendar( dateWithTime );
-        final int hours = calendar.get( Calendar.HOUR_OF_DAY );
-        final int minutes = calendar.get( Calendar.MINUTE );
-
-        return ( ( hours * UnitConstants.MINUTES_IN_AN_HOUR ) + minutes );
+        return EpochTimeUtils.convertToMinutes( dateWithTime.getTime(), TimeZone.getDefault() );
     }
 
     /**
@@ -428,7 +467,22 @@ public abstract class DateTimeUtils {
     public static String convertFormat( final String stringToConvert,
                                         final FastDateFormat fromFormat,
                                         final FastDateFormat toFormat ) throws ParseException {
-        return toFormat.format( fromFormat.parse( stringToConvert ) );
+        if ( !DateTimeMetrics.ENABLED )
+        {
+            return DateTranscoder.of( fromFormat, toFormat ).convert( stringToConvert );
+        }
+        final long startNanos = System.nanoTime();
+        boolean failed = true;
+        try
+        {
+            final String converted = DateTranscoder.of( fromFormat, toFormat ).convert( stringToConvert );
+            failed = false;
+            return converted;
+        }
+        finally
+        {
+            DateTimeMetrics.recordCall( Operation.CONVERT_FORMAT, startNanos, failed );
+        }
     }
 
 
@@ -440,16 +494,21 @@ public abstract class DateTimeUtils {
      * @return a list of Dates
      */
     public static LinkedList<Date> getDatesAsList( final Date startDate, final int numberOfDays ) {
-        final LinkedList<Date> requestedDates = new LinkedList<>();
-
-        int i = 0;
-        while ( i < numberOfDays )
-        {
-            requestedDates.add( addDays( toCalendar( startDate ), i ) );
-            i++;
-        }
+        return new LinkedList<>( getDateRange( startDate, Math.max( numberOfDays, 0 ), ChronoUnit.DAYS ) );
+    }
 
-        return requestedDates;
+    /**
+     * Creates a range of dates starting from the date provided, and incrementing by the given step.  The dates are
+     * calculated on demand, so the range takes no memory up front however many dates it covers
+     *
+     * @param startDate the first {@link Date} to start with
+     * @param size      the number of dates in the range, including the start date
+     * @param step      the step between each date: {@link ChronoUnit#DAYS}, {@link ChronoUnit#HOURS} or
+     *                  {@link ChronoUnit#MINUTES}
+     * @return the {@link DateRange}
+     */
+    public static DateRange getDateRange( final Date startDate, final int size, final ChronoUnit step ) {
+        return DateRange.of( startDate, size, step );
     }
 
     /* ************ *
@@ -600,8 +659,7 @@ public abstract class DateTimeUtils {
      * @return the integer day of the week
      */
     public static int getDayOfWeek( final Date date ) {
-        final Calendar calendar = toCalendar( date );
-        return calendar.get( Calendar.DAY_OF_WEEK );
+        return EpochTimeUtils.getDayOfWeek( date.getTime(), TimeZone.getDefault() );
     }
 
     /**
@@ -616,8 +674,7 @@ public abstract class DateTimeUtils {
      * @return integer hour, in 24-hour format
      */
     public static int getHours( final Date date ) {
-        final Calendar calendar = toCalendar( date );
-        return calendar.get( Calendar.HOUR_OF_DAY );
+        return EpochTimeUtils.getHours( date.getTime(), TimeZone.getDefault() );
     }
 
     /**
@@ -632,8 +689,7 @@ public abstract class DateTimeUtils {
      * @return integer day
      */
     public static int getDay( final Date date ) {
-        final Calendar calendar = toCalendar( date );
-        return calendar.get( Calendar.DAY_OF_MONTH );
+        return EpochTimeUtils.getDay( date.getTime(), TimeZone.getDefault() );
     }
 
     /**
@@ -648,8 +704,7 @@ public abstract class DateTimeUtils {
      * @return integer month
      */
     public static int getMonth( final Date date ) {
-        final Calendar calendar = toCalendar( date );
-        return calendar.get( Calendar.MONTH );
+        return EpochTimeUtils.getMonth( date.getTime(), TimeZone.getDefault() );
     }
 
     /**
@@ -661,8 +716,7 @@ public abstract class DateTimeUtils {
      * @return integer year
      */
     public static int getYear( final Date date ) {
-        final Calendar calendar = toCalendar( date );
-        return calendar.get( Calendar.YEAR );
+        return EpochTimeUtils.getYear( date.getTime(), TimeZone.getDefault() );
     }
 
     /**
@@ -679,8 +733,7 @@ public abstract class DateTimeUtils {
      * @return integer minutes
      */
     public static int getMinutes( final Date date ) {
-        final Calendar calendar = toCalendar( date );
-        return calendar.get( Calendar.MINUTE );
+        return EpochTimeUtils.getMinutes( date.getTime(), TimeZone.getDefault() );
     }
 
     /**
@@ -692,8 +745,7 @@ public abstract class DateTimeUtils {
      * @return integer seconds
      */
     public static int getSeconds( final Date date ) {
-        final Calendar calendar = toCalendar( date );
-        return calendar.get( Calendar.SECOND );
+        return EpochTimeUtils.getSeconds( date.getTime(), TimeZone.getDefault() );
     }
 
     /**
@@ -702,7 +754,7 @@ public abstract class DateTimeUtils {
      * @return the current year in 4-digit format
      */
     public static int getCurrentYear() {
-        return getYear( new Date() );
+        return clock.currentYear();
     }
 
     /**
@@ -711,7 +763,7 @@ public abstract class DateTimeUtils {
      * @return the current month in 2-digit format
      */
     public static int getCurrentMonth() {
-        return getMonth( new Date() );
+        return clock.currentMonth();
     }
 
     /**
@@ -730,7 +782,7 @@ public abstract class DateTimeUtils {
      * @return the today's Date with the time reset to the start of the day
      */
     public static Date getStartOfToday() {
-        return DateTimeUtils.setTimeEvent( new Date(), TimeEvent.START_OF_DAY );
+        return new Date( clock.startOfToday() );
     }
 
     /**
@@ -739,7 +791,7 @@ public abstract class DateTimeUtils {
      * @return the today's Date with the time reset to the end of the day
      */
     public static Date getEndOfToday() {
-        return DateTimeUtils.setTimeEvent( new Date(), TimeEvent.END_OF_DAY );
+        return new Date( clock.endOfToday() );
     }
 
     /**
@@ -759,17 +811,22 @@ public abstract class DateTimeUtils {
      * @return the offset in milliseconds
      */
     public static long getTimeZoneOffsetMillis( final String shopTimeZone ) {
-        final TimeZone zone;
+        return clock.getOffset( shopTimeZone );
+    }
 
-        if ( StringUtils.isEmpty( shopTimeZone ) )
-        {
-            zone = TimeZone.getDefault();
-        }
-        else
+    /**
+     * Returns the amount of millis to add to UTC to get local time at the given instant
+     *
+     * @param shopTimeZone the String TimeZone of the shop (empty for the default zone)
+     * @param epochMillis  the instant in milliseconds since the epoch
+     * @return the offset in milliseconds
+     */
+    public static long getTimeZoneOffsetMillis( final String shopTimeZone, final long epochMillis ) {
+        if ( shopTimeZone == null || shopTimeZone.isEmpty() )
         {
-            zone = TimeZone.getTimeZone( shopTimeZone );
+            return TimeZone.getDefault().getOffset( epochMillis );
         }
-        return zone.getOffset( System.currentTimeMillis() );
+        return CompiledZoneRules.forId( shopTimeZone ).getOffset( epochMillis );
     }
 
     /* ***************** *
@@ -791,18 +848,13 @@ public abstract class DateTimeUtils {
     /**
      * Formats the provided minutes into a store time by converting the values into a HH:mm String format
      * <p>
-     * This could also probably be done with a date formatter (i.e. FastDateFormat) but this is consistent and Java-lib
-     * friendly.
+     * See {@link IsoFormatUtils} to write the time into an existing buffer instead.
      *
      * @param date the date to format
      * @return the string formatted store time as HH:mm
      */
     public static String toStringTime( final Date date ) {
-        final Calendar calendar = toCalendar( date );
-
-        return String.format( Format.TIME_24H,
-                calendar.get( Calendar.HOUR_OF_DAY ),
-                calendar.get( Calendar.MINUTE ) );
+        return minutesToTime( convertToMinutes( date ) );
     }
 
     /**
@@ -814,7 +866,9 @@ public abstract class DateTimeUtils {
     public static String toIsoStringDate( final Date date ) {
         if ( date != null )
         {
-            return FastDateFormat.getInstance( Format.ISO_8601_DATE_ONLY ).format( date );
+            return IsoFormatUtils.appendDate( date.getTime(),
+                    TimeZone.getDefault(),
+                    new StringBuilder( IsoFormatUtils.DATE_LENGTH ) ).toString();
         }
         return null;
     }
@@ -828,7 +882,9 @@ public abstract class DateTimeUtils {
     public static String toIsoStringDateTime( final Date date ) {
         if ( date != null )
         {
-            return FastDateFormat.getInstance( Format.ISO_8601_DATE_TIME ).format( date );
+            return IsoFormatUtils.appendDateTime( date.getTime(),
+                    TimeZone.getDefault(),
+                    new StringBuilder( IsoFormatUtils.DATE_TIME_LENGTH ) ).toString();
         }
         return null;
     }
@@ -841,7 +897,7 @@ public abstract class DateTimeUtils {
      * @return the string formatted store time as HH:mm
      */
     public static String toStringTime( final int hours, final int minutes ) {
-        return String.format( Format.TIME_24H, hours, minutes );
+        return IsoFormatUtils.appendTime( hours, minutes, new StringBuilder( IsoFormatUtils.TIME_LENGTH ) ).toString();
     }
 
     /* *********** *
@@ -855,9 +911,9 @@ public abstract class DateTimeUtils {
      * @param daysToAdd    the number of days to add to the Date
      */
     public static void addDays( final Date dateToAdjust, final long daysToAdd ) {
-        final Calendar calendar = toCalendar( dateToAdjust );
-        calendar.add( Calendar.DAY_OF_MONTH, Math.toIntExact( daysToAdd ) );
-        dateToAdjust.setTime( calendar.getTime().getTime() );
+        dateToAdjust.setTime( EpochTimeUtils.addDays( dateToAdjust.getTime(),
+                Math.toIntExact( daysToAdd ),
+                TimeZone.getDefault() ) );
     }
 
     /**
@@ -879,9 +935,10 @@ public abstract class DateTimeUtils {
      * @return the {@link Date} with the number of days added
      */
     public static Date addDays( final long daysToAdd ) {
-        final Calendar dateToAdjust = Calendar.getInstance();
-        dateToAdjust.add( Calendar.DAY_OF_MONTH, Math.toIntExact( daysToAdd ) );
-        return dateToAdjust.getTime();
+        final DateTimeClock currentClock = clock;
+        return new Date( EpochTimeUtils.addDays( currentClock.millis(),
+                Math.toIntExact( daysToAdd ),
+                currentClock.zone() ) );
     }
 
     /**
@@ -891,9 +948,7 @@ public abstract class DateTimeUtils {
      * @param minutesToAdd the number of minutes to add to the Date
      */
     public static void addMinutes( final Date dateToAdjust, final long minutesToAdd ) {
-        final Calendar calendar = toCalendar( dateToAdjust );
-        calendar.add( Calendar.MINUTE, Math.toIntExact( minutesToAdd ) );
-        dateToAdjust.setTime( calendar.getTime().getTime() );
+        dateToAdjust.setTime( EpochTimeUtils.addMinutes( dateToAdjust.getTime(), minutesToAdd ) );
     }
 
 
@@ -904,9 +959,7 @@ public abstract class DateTimeUtils {
      * @return the {@link Date} equivalent
      */
     public static Date addMinutes( final long minutesToAdd ) {
-        final Calendar calendar = Calendar.getInstance();
-        calendar.add( Calendar.MINUTE, Math.toIntExact( minutesToAdd ) );
-        return calendar.getTime();
+        return new Date( EpochTimeUtils.addMinutes( clock.millis(), minutesToAdd ) );
     }
 
     /* **************** *
@@ -936,6 +989,16 @@ public abstract class DateTimeUtils {
      * @throws ParseException if the date cannot be parsed (left to implementing methods to handle)
      */
     public static Date iso8601StringToDate( final String dateTimeString ) throws ParseException {
+        if ( dateTimeString != null )
+        {
+            final long epochMillis = IsoParseUtils.parseDateTime( dateTimeString,
+                    Formatter.ISO_8601_DATE_TIME.getTimeZone() );
+            if ( epochMillis != IsoParseUtils.INVALID )
+            {
+                return new Date( epochMillis );
+            }
+        }
+        // Not strictly ISO 8601, so leave it to the (lenient) formatter
         return Formatter.ISO_8601_DATE_TIME.parse( dateTimeString );
     }
 
@@ -952,7 +1015,7 @@ public abstract class DateTimeUtils {
     public static boolean isInFuture( final Date dateToCheck ) {
         if ( dateToCheck != null )
         {
-            return new Date().before( dateToCheck );
+            return clock.millis() < dateToCheck.getTime();
         }
         return false;
     }
@@ -1006,7 +1069,8 @@ public abstract class DateTimeUtils {
      * @return TRUE if the date is within the number of days specified
      */
     public static boolean isWithinDays( final Date dateToCheck, final int days ) {
-        return dateToCheck.before( addDays( days ) );
+        final DateTimeClock currentClock = clock;
+        return dateToCheck.getTime() < EpochTimeUtils.addDays( currentClock.millis(), days, currentClock.zone() );
     }
 
     /**
@@ -1018,9 +1082,27 @@ public abstract class DateTimeUtils {
      * @return TRUE, if the String dates are the same
      */
     public static boolean isSameDate( final Date date1, final Date date2, final FastDateFormat formatter ) {
+        final ChronoUnit unit = FORMAT_UNITS.get( formatter.getPattern() );
+        if ( unit != null && date1.getTime() >= EpochTimeUtils.GREGORIAN_CUTOVER_MILLIS
+                && date2.getTime() >= EpochTimeUtils.GREGORIAN_CUTOVER_MILLIS )
+        {
+            return EpochTimeUtils.isSamePeriod( date1.getTime(), date2.getTime(), unit, formatter.getTimeZone() );
+        }
         return formatter.format( date1 ).equals( formatter.format( date2 ) );
     }
 
+    /**
+     * Checks if the dates fall in the same period of the given unit (e.g. the same day for {@link ChronoUnit#DAYS})
+     *
+     * @param date1 the first date to compare
+     * @param date2 the second date to compare
+     * @param unit  the unit to compare to (see {@link EpochTimeUtils#isSamePeriod})
+     * @return TRUE, if the dates are in the same period
+     */
+    public static boolean isSameDate( final Date date1, final Date date2, final ChronoUnit unit ) {
+        return EpochTimeUtils.isSamePeriod( date1.getTime(), date2.getTime(), unit, TimeZone.getDefault() );
+    }
+
     /**
      * Checks if the provided date is 'today'.  Time element is ignored
      *
@@ -1028,7 +1110,8 @@ public abstract class DateTimeUtils {
      * @return TRUE if the date provided is the same as today's date
      */
     public static boolean isToday( final Date date ) {
-        return isSameDate( date, new Date(), Formatter.ISO_8601_DATE_ONLY );
+        final DateTimeClock currentClock = clock;
+        return DayBoundaryCache.forZone( currentClock.zone() ).epochDayOf( date.getTime() ) == currentClock.today();
     }
 
     /**
@@ -1042,25 +1125,79 @@ public abstract class DateTimeUtils {
     public static Date validateDateUnit( final String valueToParse,
                                          final FastDateFormat fastDateFormat,
                                          final String unit ) throws InvalidDateException {
-        try
-        {
-            final Date parsedDate = fastDateFormat.parse( valueToParse );
-            if ( fastDateFormat.format( parsedDate ).equals( valueToParse ) )
-            {
-                return parsedDate;
-            }
-        }
-        catch ( final ParseException parseException )
+        final Date parsedDate = parseRecorded( valueToParse, fastDateFormat );
+        if ( parsedDate != null )
         {
-            // Drop through
+            return parsedDate;
         }
-        final String error = String.format( "Invalid " + unit + " format for String: %s; should be %s",
-                valueToParse,
-                fastDateFormat.getPattern() );
+        final String error = invalidDateUnitMessage( valueToParse, fastDateFormat, unit );
         LOGGER.severe( error );
         throw new InvalidDateException( error );
     }
 
+    /**
+     * Validates a String Date/Time unit and returns the parsed Date object, without logging or filling in a stack
+     * trace on failure (for input where failures are expected to be common)
+     *
+     * @param valueToParse   the String date or time unit in the given format
+     * @param fastDateFormat the {@link FastDateFormat} to use to parse the date or time unit
+     * @param unit           the type of Date/Time unit (for the exception message)
+     * @param quiet          TRUE to throw a stackless exception without logging, FALSE to behave as
+     *                       {@link #validateDateUnit(String, FastDateFormat, String)}
+     * @return the parsed Date, or an exception is thrown if invalid
+     */
+    public static Date validateDateUnit( final String valueToParse,
+                                         final FastDateFormat fastDateFormat,
+                                         final String unit,
+                                         final boolean quiet ) throws InvalidDateException {
+        if ( !quiet )
+        {
+            return validateDateUnit( valueToParse, fastDateFormat, unit );
+        }
+        final Date parsedDate = parseRecorded( valueToParse, fastDateFormat );
+        if ( parsedDate != null )
+        {
+            return parsedDate;
+        }
+        throw new InvalidDateException( invalidDateUnitMessage( valueToParse, fastDateFormat, unit ), false );
+    }
+
+    /**
+     * Checks a String Date/Time unit against the format without throwing, in a single pass for fixed-width numeric
+     * formats
+     *
+     * @param valueToCheck   the String date or time unit
+     * @param fastDateFormat the {@link FastDateFormat} the date or time unit should be in
+     * @return the {@link DateValidator.Status} of the value
+     */
+    public static DateValidator.Status checkDateUnit( final String valueToCheck, final FastDateFormat fastDateFormat ) {
+        return DateValidator.of( fastDateFormat ).validate( valueToCheck );
+    }
+
+    /**
+     * Parses a Date/Time unit for {@link #validateDateUnit}, recording the call when metrics are enabled
+     *
+     * @return the parsed Date, or null if the value is invalid
+     */
+    private static Date parseRecorded( final String valueToParse, final FastDateFormat fastDateFormat ) {
+        final long startNanos = DateTimeMetrics.ENABLED ? System.nanoTime() : 0;
+        final Date parsedDate = DateValidator.of( fastDateFormat ).parse( valueToParse );
+        if ( DateTimeMetrics.ENABLED )
+        {
+            DateTimeMetrics.recordCall( Operation.VALIDATE_DATE_UNIT, startNanos, parsedDate == null );
+        }
+        return parsedDate;
+    }
+
+    /**
+     * @return the message of the {@link InvalidDateException} for an invalid Date/Time unit
+     */
+    private static String invalidDateUnitMessage( final String value,
+                                                  final FastDateFormat fastDateFormat,
+                                                  final String unit ) {
+        return "Invalid " + unit + " format for String: " + value + "; should be " + fastDateFormat.getPattern();
+    }
+
     /**
      * Checks if the provided timeZone is currently observing DST.
      * Means we can make the tests more robust
@@ -1069,7 +1206,22 @@ public abstract class DateTimeUtils {
      * @return true, if the timeZone is currently within DST
      */
     public static boolean isCurrentlyDST( final String timeZone ) {
-        return TimeZone.getTimeZone( timeZone ).inDaylightTime( new Date( System.currentTimeMillis() ) );
+        return clock.inDaylightTime( timeZone );
+    }
+
+    /**
+     * Checks if the provided timeZone is observing DST at the given instant
+     *
+     * @param timeZone    the timeZone to check (empty for the default zone)
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return true, if the timeZone is within DST at the instant
+     */
+    public static boolean isDST( final String timeZone, final long epochMillis ) {
+        if ( timeZone == null || timeZone.isEmpty() )
+        {
+            return TimeZone.getDefault().inDaylightTime( new Date( epochMillis ) );
+        }
+        return CompiledZoneRules.forId( timeZone ).inDaylightTime( epochMillis );
     }
 
     /* ***************** *
@@ -1077,8 +1229,8 @@ public abstract class DateTimeUtils {
      * ***************** */
 
     /**
-     * Date Time Format constants
-     * TODO hopefully move the locale-specific ones into an enum at some point (with country codes etc)
+     * Date Time Format constants.  The locale-specific ones are also available by country, with every style, from
+     * {@link CountryFormat}
      */
     public abstract static class Format {
         /*
@@ -1121,8 +1273,8 @@ public abstract class DateTimeUtils {
     }
 
     /**
-     * Date format formatters
-     * TODO hopefully move the locale-specific ones into an enum at some point (with country codes etc)
+     * Date format formatters.  The locale-specific ones are also available by country, in the country's locale, from
+     * {@link CountryFormat}
      */
     public abstract static class Formatter {
 
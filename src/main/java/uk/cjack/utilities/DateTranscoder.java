@@ -0,0 +1,330 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.text.ParseException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import uk.cjack.utilities.metrics.DateTimeMetrics;
+import uk.cjack.utilities.metrics.Operation;
+
+/**
+ * Converts String dates from one {@link FastDateFormat} to another, as {@link DateTimeUtils#convertFormat}, compiled
+ * once per pair of formats.
+ * <p>
+ * When both patterns are fixed-width numeric dates made of 'yyyy', 'MM' and 'dd' (such as
+ * {@link DateTimeUtils.Format#UK_DATE}, {@link DateTimeUtils.Format#US_DATE} and
+ * {@link DateTimeUtils.Format#ISO_8601_DATE_ONLY}) in the same zone and locale, a valid date is converted by moving its
+ * characters straight into the new layout, without parsing it into a {@link java.util.Date}.  Anything else (other
+ * patterns, text that is not exactly the 'from' layout, dates that would be rolled over by the lenient parser, years
+ * before the Gregorian calendar, or days that the zone skips) is converted by parsing and formatting, so the result is
+ * always the same as {@code toFormat.format( fromFormat.parse( text ) )}.
+ */
+public final class DateTranscoder {
+
+    /**
+     * The first year of the Gregorian calendar after the cutover; earlier dates are parsed and formatted
+     */
+    private static final int FIRST_DIRECT_YEAR = 1583;
+
+    private static final char YEAR = 'y';
+    private static final char MONTH = 'M';
+    private static final char DAY = 'd';
+    private static final int NOT_FOUND = -1;
+
+    private static final ConcurrentMap<FastDateFormat, ConcurrentMap<FastDateFormat, DateTranscoder>> TRANSCODERS =
+            new ConcurrentHashMap<>();
+
+    private final FastDateFormat fromFormat;
+    private final FastDateFormat toFormat;
+    private final boolean direct;
+
+    /**
+     * The 'from' pattern with each field character in place ('y', 'M' or 'd') and the literals between them
+     */
+    private final char[] fromLayout;
+    private final int yearIndex;
+    private final int monthIndex;
+    private final int dayIndex;
+
+    /**
+     * The 'to' pattern's literals, with the index of the 'from' character to copy into each field position (or
+     * {@link #NOT_FOUND} for literals)
+     */
+    private final char[] toLiterals;
+    private final int[] toSources;
+
+    /**
+     * The sorted epoch days that the zone skips, which the parser rolls over to a later day
+     */
+    private final long[] skippedDays;
+
+    private DateTranscoder( final FastDateFormat fromFormat, final FastDateFormat toFormat ) {
+        this.fromFormat = fromFormat;
+        this.toFormat = toFormat;
+        fromLayout = layout( fromFormat.getPattern() );
+        final char[] toLayout = layout( toFormat.getPattern() );
+        yearIndex = indexOf( fromLayout, YEAR );
+        monthIndex = indexOf( fromLayout, MONTH );
+        dayIndex = indexOf( fromLayout, DAY );
+        toLiterals = toLayout == null ? new char[ 0 ] : toLayout;
+        toSources = new int[ toLiterals.length ];
+
+        boolean compatible = fromLayout != null
+                && toLayout != null
+                && yearIndex != NOT_FOUND
+                && monthIndex != NOT_FOUND
+                && dayIndex != NOT_FOUND
+                && isSameCalendar( fromFormat, toFormat );
+        for ( int i = 0; compatible && i < toLiterals.length; i++ )
+        {
+            toSources[ i ] = NOT_FOUND;
+            final char toChar = toLiterals[ i ];
+            if ( isField( toChar ) )
+            {
+                final int fieldIndex = toChar == YEAR ? yearIndex : toChar == MONTH ? monthIndex : dayIndex;
+                final int fieldStart = indexOf( toLayout, toChar );
+                toSources[ i ] = fieldIndex + i - fieldStart;
+            }
+        }
+        direct = compatible;
+        skippedDays = direct ? skippedDays( fromFormat.getTimeZone() ) : new long[ 0 ];
+    }
+
+    /**
+     * Retrieves the transcoder between the two formats, compiling it on first use
+     *
+     * @param fromFormat the {@link FastDateFormat} to convert from
+     * @param toFormat   the {@link FastDateFormat} to convert to
+     * @return the {@link DateTranscoder}
+     */
+    public static DateTranscoder of( final FastDateFormat fromFormat, final FastDateFormat toFormat ) {
+        ConcurrentMap<FastDateFormat, DateTranscoder> transcoders = TRANSCODERS.get( fromFormat );
+        if ( transcoders == null )
+        {
+            transcoders = TRANSCODERS.computeIfAbsent( fromFormat, format -> new ConcurrentHashMap<>() );
+        }
+        final DateTranscoder transcoder = transcoders.get( toFormat );
+        if ( transcoder != null )
+        {
+            return transcoder;
+        }
+        return transcoders.computeIfAbsent( toFormat, format -> {
+            if ( DateTimeMetrics.ENABLED )
+            {
+                DateTimeMetrics.recordCacheMiss( Operation.CONVERT_FORMAT );
+            }
+            return new DateTranscoder( fromFormat, format );
+        } );
+    }
+
+    /**
+     * Retrieves the transcoder between the two patterns in the default zone and locale
+     *
+     * @param fromPattern the pattern to convert from, e.g. dd/MM/yyyy
+     * @param toPattern   the pattern to convert to
+     * @return the {@link DateTranscoder}
+     */
+    public static DateTranscoder of( final String fromPattern, final String toPattern ) {
+        return of( FastDateFormat.getInstance( fromPattern ), FastDateFormat.getInstance( toPattern ) );
+    }
+
+    /**
+     * @return TRUE if valid dates are converted by moving their characters, rather than by parsing and formatting
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Converts a String date into the 'to' format
+     *
+     * @param stringToConvert the String date in the 'from' format
+     * @return the date in the 'to' format
+     * @throws ParseException if the provided date cannot be parsed
+     */
+    public String convert( final String stringToConvert ) throws ParseException {
+        if ( !direct || !isDirectlyConvertible( stringToConvert ) )
+        {
+            return toFormat.format( fromFormat.parse( stringToConvert ) );
+        }
+        final char[] converted = new char[ toLiterals.length ];
+        for ( int i = 0; i < converted.length; i++ )
+        {
+            converted[ i ] = toSources[ i ] == NOT_FOUND ? toLiterals[ i ] : stringToConvert.charAt( toSources[ i ] );
+        }
+        return new String( converted );
+    }
+
+    /**
+     * Writes a String date in the 'to' format into the output as single-byte characters, if it can be converted
+     * directly
+     *
+     * @param value  the String date in the 'from' format
+     * @param output the array to write into
+     * @param offset the index to write the first byte at
+     * @return the number of bytes written, or -1 if the value must be parsed and formatted instead
+     */
+    int convertDirectly( final CharSequence value, final byte[] output, final int offset ) {
+        if ( !direct || !isDirectlyConvertible( value ) )
+        {
+            return NOT_FOUND;
+        }
+        for ( int i = 0; i < toLiterals.length; i++ )
+        {
+            final char c = toSources[ i ] == NOT_FOUND ? toLiterals[ i ] : value.charAt( toSources[ i ] );
+            output[ offset + i ] = ( byte ) c;
+        }
+        return toLiterals.length;
+    }
+
+    /**
+     * @return the length of directly converted dates
+     */
+    int getDirectLength() {
+        return toLiterals.length;
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * @return TRUE if the text is exactly the 'from' layout, holding a date that the parser would not roll over
+     */
+    private boolean isDirectlyConvertible( final CharSequence text ) {
+        if ( text.length() != fromLayout.length )
+        {
+            return false;
+        }
+        for ( int i = 0; i < fromLayout.length; i++ )
+        {
+            final char c = text.charAt( i );
+            if ( isField( fromLayout[ i ] ) ? c < '0' || c > '9' : c != fromLayout[ i ] )
+            {
+                return false;
+            }
+        }
+        final int year = digits( text, yearIndex, 4 );
+        final int month = digits( text, monthIndex, 2 );
+        final int day = digits( text, dayIndex, 2 );
+        if ( year < FIRST_DIRECT_YEAR || month < 1 || month > 12 || day < 1
+                || day > IsoParseUtils.lengthOfMonth( year, month ) )
+        {
+            return false;
+        }
+        return skippedDays.length == 0
+                || Arrays.binarySearch( skippedDays, EpochTimeUtils.toEpochDay( year, month - 1, day ) ) < 0;
+    }
+
+    private static int digits( final CharSequence text, final int offset, final int count ) {
+        int value = 0;
+        for ( int i = offset; i < offset + count; i++ )
+        {
+            value = value * 10 + text.charAt( i ) - '0';
+        }
+        return value;
+    }
+
+    /**
+     * @return the pattern as one character per position of the text (fields as their letter), or null if the pattern
+     * is not made of literals and a single 'yyyy', 'MM' and 'dd' at most
+     */
+    private static char[] layout( final String pattern ) {
+        final char[] layout = pattern.toCharArray();
+        int i = 0;
+        while ( i < layout.length )
+        {
+            final char c = layout[ i ];
+            int end = i;
+            while ( end < layout.length && layout[ end ] == c )
+            {
+                end++;
+            }
+            if ( c == '\'' || ( Character.isLetter( c ) && !isField( c ) ) )
+            {
+                return null;
+            }
+            if ( isField( c ) && ( end - i != ( c == YEAR ? 4 : 2 ) || indexOf( layout, c ) != i ) )
+            {
+                return null;
+            }
+            i = end;
+        }
+        return layout;
+    }
+
+    private static boolean isField( final char c ) {
+        return c == YEAR || c == MONTH || c == DAY;
+    }
+
+    private static int indexOf( final char[] layout, final char c ) {
+        if ( layout != null )
+        {
+            for ( int i = 0; i < layout.length; i++ )
+            {
+                if ( layout[ i ] == c )
+                {
+                    return i;
+                }
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * @return TRUE if both formats read and write the fields of the same Gregorian calendar
+     */
+    private static boolean isSameCalendar( final FastDateFormat fromFormat, final FastDateFormat toFormat ) {
+        return fromFormat.getLocale().equals( toFormat.getLocale() )
+                && fromFormat.getTimeZone().hasSameRules( toFormat.getTimeZone() )
+                && "gregory".equals( Calendar.getInstance( fromFormat.getTimeZone(), fromFormat.getLocale() )
+                .getCalendarType() );
+    }
+
+    /**
+     * @return the sorted epoch days whose midnight falls in a gap that ends on a later day
+     */
+    private static long[] skippedDays( final TimeZone zone ) {
+        final List<ZoneOffsetTransition> transitions;
+        try
+        {
+            transitions = zone.toZoneId().getRules().getTransitions();
+        }
+        catch ( final DateTimeException dateTimeException )
+        {
+            // Custom zones without tzdb rules have a fixed offset
+            return new long[ 0 ];
+        }
+        long[] days = new long[ 0 ];
+        for ( final ZoneOffsetTransition transition : transitions )
+        {
+            final LocalDateTime before = transition.getDateTimeBefore();
+            final LocalDate after = transition.getDateTimeAfter().toLocalDate();
+            LocalDate day = before.toLocalTime().equals( LocalTime.MIDNIGHT )
+                    ? before.toLocalDate()
+                    : before.toLocalDate().plusDays( 1 );
+            while ( transition.isGap() && day.isBefore( after ) )
+            {
+                days = Arrays.copyOf( days, days.length + 1 );
+                days[ days.length - 1 ] = day.toEpochDay();
+                day = day.plusDays( 1 );
+            }
+        }
+        Arrays.sort( days );
+        return days;
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * Strict validation of String dates against a {@link FastDateFormat}, as {@link DateTimeUtils#validateDateUnit}, that
+ * reports failures as a {@link Status} rather than an exception.
+ * <p>
+ * A value is valid if it parses, and formats back to exactly the same String (so values that the lenient parser would
+ * roll over, or wall-clock times skipped by a DST change, are invalid).  Patterns made only of fixed-width numeric
+ * fields ('yyyy', 'yy', 'MM', 'dd', 'HH', 'mm' and 'ss') and literals are compiled into a single pass over the value;
+ * other patterns are parsed and formatted, without throwing.  Years after 9999 format with more than four digits, so
+ * values too long for the layout of a compiled pattern with 'yyyy' are also parsed and formatted.
+ */
+public final class DateValidator {
+
+    /**
+     * The outcome of validating a value
+     */
+    public enum Status {
+        VALID,
+
+        /**
+         * The value does not have the layout of the pattern
+         */
+        WRONG_FORMAT,
+
+        /**
+         * The value has the layout of the pattern, but a field is out of range (e.g. month 13, 31st February, or a
+         * time skipped by a DST change)
+         */
+        OUT_OF_RANGE
+    }
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60000L;
+    private static final long MILLIS_PER_HOUR = 3600000L;
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private static final long FIRST_COMPILED_MILLIS = EpochTimeUtils.GREGORIAN_CUTOVER_MILLIS + MILLIS_PER_DAY;
+
+    /**
+     * Results of the compiled pass that are not instants
+     */
+    private static final long WRONG_FORMAT = Long.MIN_VALUE;
+    private static final long OUT_OF_RANGE = Long.MIN_VALUE + 1;
+    private static final long NOT_COMPILED = Long.MIN_VALUE + 2;
+
+    private static final String FIELDS = "yMdHms";
+    private static final int YEAR = 0;
+    private static final int MONTH = 1;
+    private static final int DAY = 2;
+    private static final int HOUR = 3;
+    private static final int MINUTE = 4;
+    private static final int SECOND = 5;
+    private static final int LITERAL = -1;
+
+    private static final ConcurrentMap<FastDateFormat, DateValidator> VALIDATORS = new ConcurrentHashMap<>();
+
+    private final FastDateFormat fastDateFormat;
+    private final TimeZone zone;
+
+    /**
+     * The value's expected characters, and the field (or {@link #LITERAL}) at each position, or null if the pattern is
+     * not compiled
+     */
+    private final char[] layout;
+    private final int[] fields;
+
+    /**
+     * The position of the first character of each field in the value, or {@link #LITERAL} if the pattern does not have
+     * the field
+     */
+    private final int[] fieldStarts;
+
+    /**
+     * The year the parser reads for each two-digit year, if the pattern has 'yy'
+     */
+    private final int[] twoDigitYears;
+
+    private DateValidator( final FastDateFormat fastDateFormat ) {
+        this.fastDateFormat = fastDateFormat;
+        zone = fastDateFormat.getTimeZone();
+        final StringBuilder text = new StringBuilder();
+        final int[] fieldsOfText = compile( fastDateFormat.getPattern(), text );
+        fieldStarts = new int[ FIELDS.length() ];
+        Arrays.fill( fieldStarts, LITERAL );
+        int yearWidth = 0;
+        for ( int i = fieldsOfText == null ? -1 : fieldsOfText.length - 1; i >= 0; i-- )
+        {
+            if ( fieldsOfText[ i ] != LITERAL )
+            {
+                fieldStarts[ fieldsOfText[ i ] ] = i;
+            }
+            yearWidth += fieldsOfText[ i ] == YEAR ? 1 : 0;
+        }
+        final boolean twoDigitYear = yearWidth == 2;
+        final boolean gregorian = "gregory".equals( Calendar.getInstance( zone, fastDateFormat.getLocale() )
+                .getCalendarType() );
+        twoDigitYears = gregorian && twoDigitYear ? twoDigitYears( text.toString(), fieldsOfText ) : null;
+        if ( fieldsOfText == null || !gregorian || ( twoDigitYear && twoDigitYears == null ) )
+        {
+            layout = null;
+            fields = null;
+        }
+        else
+        {
+            layout = text.toString().toCharArray();
+            fields = fieldsOfText;
+        }
+    }
+
+    /**
+     * Retrieves the validator for the format, compiling it on first use
+     *
+     * @param fastDateFormat the {@link FastDateFormat} values should be in
+     * @return the {@link DateValidator}
+     */
+    public static DateValidator of( final FastDateFormat fastDateFormat ) {
+        final DateValidator validator = VALIDATORS.get( fastDateFormat );
+        if ( validator != null )
+        {
+            return validator;
+        }
+        return VALIDATORS.computeIfAbsent( fastDateFormat, DateValidator::new );
+    }
+
+    /**
+     * @return TRUE if values are validated in a single pass, rather than by parsing and formatting
+     */
+    public boolean isCompiled() {
+        return layout != null;
+    }
+
+    /**
+     * Validates a String date or time unit
+     *
+     * @param value the String date or time unit
+     * @return the {@link Status} of the value
+     */
+    public Status validate( final String value ) {
+        final long result = parseCompiled( value );
+        if ( result == NOT_COMPILED )
+        {
+            return parseAndFormat( value ) != null ? Status.VALID : fallbackStatus( value );
+        }
+        if ( result == WRONG_FORMAT || result == OUT_OF_RANGE )
+        {
+            return result == WRONG_FORMAT ? Status.WRONG_FORMAT : Status.OUT_OF_RANGE;
+        }
+        return Status.VALID;
+    }
+
+    /**
+     * Parses a String date or time unit strictly
+     *
+     * @param value the String date or time unit
+     * @return the parsed {@link Date}, or null if the value is not valid
+     */
+    public Date parse( final String value ) {
+        final long result = parseCompiled( value );
+        if ( result == NOT_COMPILED )
+        {
+            return parseAndFormat( value );
+        }
+        return result == WRONG_FORMAT || result == OUT_OF_RANGE ? null : new Date( result );
+    }
+
+    /**
+     * Parses a date or time unit strictly, without creating a String unless the pattern is not compiled
+     *
+     * @param value the date or time unit
+     * @return the instant in milliseconds since the epoch, or {@link IsoParseUtils#INVALID} if the value is not valid
+     */
+    long parseMillis( final CharSequence value ) {
+        final long result = parseCompiled( value );
+        if ( result == NOT_COMPILED )
+        {
+            final Date parsedDate = parseAndFormat( value.toString() );
+            return parsedDate == null ? IsoParseUtils.INVALID : parsedDate.getTime();
+        }
+        return result == WRONG_FORMAT || result == OUT_OF_RANGE ? IsoParseUtils.INVALID : result;
+    }
+
+    /**
+     * @return TRUE if the pattern is compiled with 'yyyy', so valid values may be longer than its layout (with years
+     * after 9999)
+     */
+    boolean hasWideYears() {
+        return layout != null && twoDigitYears == null && fieldStarts[ YEAR ] != LITERAL;
+    }
+
+    /**
+     * @return the characters of a compiled pattern's values, with '0' wherever a digit goes, or null if the pattern is
+     * not compiled
+     */
+    char[] getShape() {
+        if ( layout == null )
+        {
+            return null;
+        }
+        final char[] shape = layout.clone();
+        for ( int i = 0; i < shape.length; i++ )
+        {
+            shape[ i ] = fields[ i ] == LITERAL ? shape[ i ] : '0';
+        }
+        return shape;
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * @return the instant of the value, {@link #WRONG_FORMAT}, {@link #OUT_OF_RANGE}, or {@link #NOT_COMPILED} if it
+     * should be parsed and formatted
+     */
+    private long parseCompiled( final CharSequence value ) {
+        if ( value == null )
+        {
+            return WRONG_FORMAT;
+        }
+        if ( layout == null )
+        {
+            return NOT_COMPILED;
+        }
+        if ( value.length() != layout.length )
+        {
+            return wrongLayout( value );
+        }
+        for ( int i = 0; i < layout.length; i++ )
+        {
+            final char c = value.charAt( i );
+            if ( fields[ i ] == LITERAL ? c != layout[ i ] : c < '0' || c > '9' )
+            {
+                return wrongLayout( value );
+            }
+        }
+        final int year = twoDigitYears != null
+                         ? twoDigitYears[ field( value, YEAR, 2, 0 ) ]
+                         : field( value, YEAR, 4, 1970 );
+        final int month = field( value, MONTH, 2, 1 );
+        final int day = field( value, DAY, 2, 1 );
+        final int hours = field( value, HOUR, 2, 0 );
+        final int minutes = field( value, MINUTE, 2, 0 );
+        final int seconds = field( value, SECOND, 2, 0 );
+        if ( month < 1 || month > 12 || day < 1 || day > IsoParseUtils.lengthOfMonth( year, month )
+                || hours > 23 || minutes > 59 || seconds > 59 )
+        {
+            return OUT_OF_RANGE;
+        }
+        final long localMillis = EpochTimeUtils.toEpochDay( year, month - 1, day ) * MILLIS_PER_DAY
+                + hours * MILLIS_PER_HOUR
+                + minutes * MILLIS_PER_MINUTE
+                + seconds * MILLIS_PER_SECOND;
+        if ( localMillis < FIRST_COMPILED_MILLIS )
+        {
+            // Julian dates are left to the parser
+            return NOT_COMPILED;
+        }
+        final long epochMillis = EpochTimeUtils.fromLocalMillis( localMillis, zone );
+        // A wall-clock time in a DST gap moves forward, which may or may not change the formatted value (it does not
+        // for a date on its own), so is left to the parser
+        return EpochTimeUtils.toLocalMillis( epochMillis, zone ) == localMillis ? epochMillis : NOT_COMPILED;
+    }
+
+    /**
+     * @return {@link #NOT_COMPILED} for a value longer than the layout if the pattern has 'yyyy', which may be a year
+     * of more than four digits, otherwise {@link #WRONG_FORMAT}
+     */
+    private long wrongLayout( final CharSequence value ) {
+        return hasWideYears() && value.length() > layout.length ? NOT_COMPILED : WRONG_FORMAT;
+    }
+
+    /**
+     * @return the number in the field's digits of the value, or the default if the pattern does not have the field
+     */
+    private int field( final CharSequence value, final int field, final int width, final int defaultValue ) {
+        final int start = fieldStarts[ field ];
+        if ( start == LITERAL )
+        {
+            return defaultValue;
+        }
+        int number = 0;
+        for ( int i = start; i < start + width; i++ )
+        {
+            number = number * 10 + value.charAt( i ) - '0';
+        }
+        return number;
+    }
+
+    /**
+     * @return the parsed {@link Date} if it formats back to the value, otherwise null
+     */
+    private Date parseAndFormat( final String value ) {
+        final Date parsedDate = fastDateFormat.parse( value, new ParsePosition( 0 ) );
+        return parsedDate != null && fastDateFormat.format( parsedDate ).equals( value ) ? parsedDate : null;
+    }
+
+    /**
+     * @return the {@link Status} of an invalid value that was parsed and formatted: a value that parses completely to
+     * a date that formats to the same length is out of range, anything else is in the wrong format
+     */
+    private Status fallbackStatus( final String value ) {
+        if ( value != null )
+        {
+            final ParsePosition position = new ParsePosition( 0 );
+            final Date parsedDate = fastDateFormat.parse( value, position );
+            if ( parsedDate != null && position.getIndex() == value.length()
+                    && fastDateFormat.format( parsedDate ).length() == value.length() )
+            {
+                return Status.OUT_OF_RANGE;
+            }
+        }
+        return Status.WRONG_FORMAT;
+    }
+
+    /**
+     * @return the year the parser reads for each two-digit year, found by parsing a value with each, or null if any
+     * cannot be parsed
+     */
+    private int[] twoDigitYears( final String text, final int[] fieldsOfText ) {
+        final int[] years = new int[ 100 ];
+        final Calendar calendar = Calendar.getInstance( zone, fastDateFormat.getLocale() );
+        for ( int twoDigitYear = 0; twoDigitYear < years.length; twoDigitYear++ )
+        {
+            final char[] sample = text.toCharArray();
+            for ( int i = 0; i < sample.length; i++ )
+            {
+                final int field = fieldsOfText[ i ];
+                if ( field != LITERAL )
+                {
+                    // Midday on the 1st of January, clear of any DST change
+                    final String digits = field == YEAR
+                                          ? String.format( "%02d", twoDigitYear )
+                                          : field == MONTH || field == DAY ? "01" : field == HOUR ? "12" : "00";
+                    sample[ i ] = digits.charAt( i - fieldStarts[ field ] );
+                }
+            }
+            final Date parsedDate = fastDateFormat.parse( new String( sample ), new ParsePosition( 0 ) );
+            if ( parsedDate == null )
+            {
+                return null;
+            }
+            calendar.setTime( parsedDate );
+            years[ twoDigitYear ] = calendar.get( Calendar.YEAR );
+        }
+        return years;
+    }
+
+    /**
+     * Splits the pattern into the characters of the value: literals (unquoted) and fields (as their pattern letter)
+     *
+     * @return the field at each position of the value, or null if the pattern has any other fields, a field more than
+     * once, or a field of a different width
+     */
+    private static int[] compile( final String pattern, final StringBuilder text ) {
+        final int[] fieldsOfText = new int[ pattern.length() ];
+        final boolean[] seen = new boolean[ FIELDS.length() ];
+        int i = 0;
+        while ( i < pattern.length() )
+        {
+            final char c = pattern.charAt( i );
+            if ( pattern.startsWith( "''", i ) )
+            {
+                fieldsOfText[ text.length() ] = LITERAL;
+                text.append( c );
+                i += 2;
+            }
+            else if ( c == '\'' )
+            {
+                // Quoted literal, within which '' is a quote
+                i++;
+                while ( i < pattern.length() && ( pattern.charAt( i ) != '\'' || pattern.startsWith( "''", i ) ) )
+                {
+                    fieldsOfText[ text.length() ] = LITERAL;
+                    text.append( pattern.charAt( i ) );
+                    i += pattern.charAt( i ) == '\'' ? 2 : 1;
+                }
+                i++;
+            }
+            else if ( !Character.isLetter( c ) )
+            {
+                fieldsOfText[ text.length() ] = LITERAL;
+                text.append( c );
+                i++;
+            }
+            else
+            {
+                final int field = FIELDS.indexOf( c );
+                int end = i;
+                while ( end < pattern.length() && pattern.charAt( end ) == c )
+                {
+                    end++;
+                }
+                final int width = end - i;
+                if ( field == LITERAL || seen[ field ] || !( width == 2 || ( field == YEAR && width == 4 ) ) )
+                {
+                    return null;
+                }
+                seen[ field ] = true;
+                for ( ; i < end; i++ )
+                {
+                    fieldsOfText[ text.length() ] = field;
+                    text.append( c );
+                }
+            }
+        }
+        return Arrays.copyOf( fieldsOfText, text.length() );
+    }
+}
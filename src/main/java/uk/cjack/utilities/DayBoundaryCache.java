@@ -0,0 +1,203 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-{@link TimeZone} cache of the instants at which each local day starts, keyed by epoch day.
+ * <p>
+ * Boundaries are calculated in blocks of {@value #DAYS_PER_BLOCK} days using the same DST resolution as
+ * {@link DateTimeUtils#setTimeEvent} (a midnight that falls in a gap starts the day at the end of the gap), so
+ * truncating an instant to the start or end of its day is an array lookup plus arithmetic.  Each zone holds at most
+ * {@value #BLOCKS_PER_ZONE} blocks; a block for a different range of days simply replaces whichever block occupies its
+ * slot, so memory stays bounded however widely the instants are spread.
+ * <p>
+ * Zones are identified by {@link TimeZone#getID()}.  A zone with the same ID as a cached zone but different rules (such
+ * as a custom zone) replaces the cached zone's boundaries.
+ */
+public final class DayBoundaryCache {
+
+    private static final int DAYS_PER_BLOCK = 256;
+    private static final int BLOCKS_PER_ZONE = 16;
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    private static final ConcurrentMap<String, DayBoundaryCache> CACHES = new ConcurrentHashMap<>();
+
+    private final TimeZone zone;
+    private final long rawOffset;
+
+    /**
+     * Direct-mapped block slots.  Blocks are immutable, so racing writers can only replace one valid block with another
+     */
+    private final Block[] blocks = new Block[ BLOCKS_PER_ZONE ];
+
+    private DayBoundaryCache( final TimeZone zone ) {
+        this.zone = zone;
+        this.rawOffset = zone.getRawOffset();
+    }
+
+    /**
+     * Retrieves the shared cache for the given zone
+     *
+     * @param zone the {@link TimeZone} to retrieve the cache for
+     * @return the {@link DayBoundaryCache} of the zone
+     */
+    public static DayBoundaryCache forZone( final TimeZone zone ) {
+        final DayBoundaryCache cache = CACHES.get( zone.getID() );
+        if ( cache != null && cache.zone.hasSameRules( zone ) )
+        {
+            return cache;
+        }
+        return CACHES.compute( zone.getID(), ( id, existing ) -> existing != null && existing.zone.hasSameRules( zone )
+                                                                 ? existing
+                                                                 : new DayBoundaryCache( ( TimeZone ) zone.clone() ) );
+    }
+
+    /**
+     * @return the {@link TimeZone} the boundaries are calculated in
+     */
+    public TimeZone getZone() {
+        return ( TimeZone ) zone.clone();
+    }
+
+    /**
+     * Retrieves the local epoch day (days since 1970-01-01) of the instant, as {@link EpochTimeUtils#toEpochDay}
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the local epoch day
+     */
+    public long epochDayOf( final long epochMillis ) {
+        // Start from the day in standard time and step across the boundaries until the instant is contained
+        long epochDay = Math.floorDiv( epochMillis + rawOffset, MILLIS_PER_DAY );
+        Block block = block( epochDay );
+        while ( epochMillis < block.start( epochDay ) )
+        {
+            epochDay--;
+            block = block( epochDay );
+        }
+        while ( epochMillis >= block.start( epochDay + 1 ) )
+        {
+            epochDay++;
+            block = block( epochDay );
+        }
+
+        // Around some transitions the instants between two day starts include wall-clock times of a neighbouring day
+        if ( block.hasTransition( epochDay ) )
+        {
+            return EpochTimeUtils.toEpochDay( epochMillis, zone );
+        }
+        return epochDay;
+    }
+
+    /**
+     * Truncates the instant to the start of its local day (as {@link DateTimeUtils.TimeEvent#START_OF_DAY})
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the first millisecond of the instant's day
+     */
+    public long startOfDay( final long epochMillis ) {
+        return startOfEpochDay( epochDayOf( epochMillis ) );
+    }
+
+    /**
+     * Truncates the instant to the end of its local day (as {@link DateTimeUtils.TimeEvent#END_OF_DAY})
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the last millisecond of the instant's day
+     */
+    public long endOfDay( final long epochMillis ) {
+        return endOfEpochDay( epochDayOf( epochMillis ) );
+    }
+
+    /**
+     * Retrieves the first millisecond of the given local day
+     *
+     * @param epochDay the days since 1970-01-01
+     * @return the instant the day starts
+     */
+    public long startOfEpochDay( final long epochDay ) {
+        return block( epochDay ).start( epochDay );
+    }
+
+    /**
+     * Retrieves the last millisecond of the given local day
+     *
+     * @param epochDay the days since 1970-01-01
+     * @return the instant the day ends
+     */
+    public long endOfEpochDay( final long epochDay ) {
+        return block( epochDay ).end( epochDay );
+    }
+
+    private Block block( final long epochDay ) {
+        final long blockIndex = Math.floorDiv( epochDay, DAYS_PER_BLOCK );
+        final int slot = ( int ) ( blockIndex & ( BLOCKS_PER_ZONE - 1 ) );
+        Block block = blocks[ slot ];
+        if ( block == null || block.index != blockIndex )
+        {
+            block = new Block( blockIndex, zone );
+            blocks[ slot ] = block;
+        }
+        return block;
+    }
+
+    /**
+     * The day boundaries of {@value #DAYS_PER_BLOCK} consecutive days (plus the start of the following day, so the
+     * instants of the last day can be located from the same block).  Ends are held separately from the next day's
+     * start, as a repeated midnight makes the end of a day earlier than the (later) start of the next
+     */
+    private static final class Block {
+
+        private final long index;
+        private final long firstDay;
+        private final long[] starts = new long[ DAYS_PER_BLOCK + 1 ];
+        private final long[] ends = new long[ DAYS_PER_BLOCK ];
+        private final long[] transitionDays = new long[ DAYS_PER_BLOCK / Long.SIZE ];
+
+        private Block( final long index, final TimeZone zone ) {
+            this.index = index;
+            this.firstDay = index * DAYS_PER_BLOCK;
+            for ( int i = 0; i <= DAYS_PER_BLOCK; i++ )
+            {
+                starts[ i ] = EpochTimeUtils.fromLocalMillis( ( firstDay + i ) * MILLIS_PER_DAY, zone );
+            }
+            for ( int i = 0; i < DAYS_PER_BLOCK; i++ )
+            {
+                ends[ i ] = EpochTimeUtils.fromLocalMillis( ( firstDay + i + 1 ) * MILLIS_PER_DAY - 1, zone );
+                // Flag days where the instants between this start and the next are not all on this wall-clock day
+                final long lastInstant = starts[ i + 1 ] - 1;
+                if ( zone.getOffset( starts[ i ] ) != zone.getOffset( lastInstant )
+                        || EpochTimeUtils.toEpochDay( starts[ i ], zone ) != firstDay + i
+                        || EpochTimeUtils.toEpochDay( lastInstant, zone ) != firstDay + i )
+                {
+                    transitionDays[ i >>> 6 ] |= 1L << i;
+                }
+            }
+        }
+
+        /**
+         * @param epochDay a day within this block, or the day after it
+         * @return the start of the day
+         */
+        private long start( final long epochDay ) {
+            return starts[ ( int ) ( epochDay - firstDay ) ];
+        }
+
+        /**
+         * @param epochDay a day within this block
+         * @return the end of the day
+         */
+        private long end( final long epochDay ) {
+            return ends[ ( int ) ( epochDay - firstDay ) ];
+        }
+
+        private boolean hasTransition( final long epochDay ) {
+            final int i = ( int ) ( epochDay - firstDay );
+            return ( transitionDays[ i >>> 6 ] & ( 1L << i ) ) != 0;
+        }
+    }
+}
@@ -0,0 +1,522 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * Primitive counterparts of the {@link DateTimeUtils} field and arithmetic methods, working on epoch milliseconds and
+ * a {@link TimeZone} rather than {@link java.util.Date} and {@link Calendar} objects.
+ * <p>
+ * Civil dates are calculated directly from the epoch day, so none of these methods allocate.  The results (including
+ * month numbering, day-of-week numbering and lenient field overflow) match {@link GregorianCalendar}; instants before
+ * the Gregorian cutover ({@link #GREGORIAN_CUTOVER_MILLIS}) are handed to a {@link GregorianCalendar} so that Julian
+ * dates are still reported the same way as before.
+ */
+public abstract class EpochTimeUtils {
+
+    /**
+     * The first instant (1582-10-16T00:00:00Z) from which the Gregorian calculations are used directly.  This is a
+     * day after the real cutover so that local dates in every zone are safely Gregorian
+     */
+    public static final long GREGORIAN_CUTOVER_MILLIS = -12219206400000L;
+
+    /* ************* *
+     * Field Getters *
+     * ************* */
+
+    /**
+     * Retrieves the year of the instant in the given zone
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return integer year
+     */
+    public static int getYear( final long epochMillis, final TimeZone zone ) {
+        if ( epochMillis < GREGORIAN_CUTOVER_MILLIS )
+        {
+            return toCalendar( epochMillis, zone ).get( Calendar.YEAR );
+        }
+        return yearOfEpochDay( toEpochDay( epochMillis, zone ) );
+    }
+
+    /**
+     * Retrieves the month of the instant in the given zone, where January = 0 ... December = 11
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return integer month
+     */
+    public static int getMonth( final long epochMillis, final TimeZone zone ) {
+        if ( epochMillis < GREGORIAN_CUTOVER_MILLIS )
+        {
+            return toCalendar( epochMillis, zone ).get( Calendar.MONTH );
+        }
+        return monthOfEpochDay( toEpochDay( epochMillis, zone ) );
+    }
+
+    /**
+     * Retrieves the day of the month of the instant in the given zone (1st = 1)
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return integer day
+     */
+    public static int getDay( final long epochMillis, final TimeZone zone ) {
+        if ( epochMillis < GREGORIAN_CUTOVER_MILLIS )
+        {
+            return toCalendar( epochMillis, zone ).get( Calendar.DAY_OF_MONTH );
+        }
+        return dayOfMonthOfEpochDay( toEpochDay( epochMillis, zone ) );
+    }
+
+    /**
+     * Retrieves the day of the week of the instant in the given zone, where Sunday = 1 ... Saturday = 7
+     * (as {@link Calendar#DAY_OF_WEEK})
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return the integer day of the week
+     */
+    public static int getDayOfWeek( final long epochMillis, final TimeZone zone ) {
+        return dayOfWeekOfEpochDay( toEpochDay( epochMillis, zone ) );
+    }
+
+    /**
+     * Retrieves the hour of the day (0-23) of the instant in the given zone
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return integer hour, in 24-hour format
+     */
+    public static int getHours( final long epochMillis, final TimeZone zone ) {
+        return ( int ) ( millisOfDay( epochMillis, zone ) / MILLIS_PER_HOUR );
+    }
+
+    /**
+     * Retrieves the minutes of the hour of the instant in the given zone
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return integer minutes
+     */
+    public static int getMinutes( final long epochMillis, final TimeZone zone ) {
+        return ( int ) ( millisOfDay( epochMillis, zone ) / MILLIS_PER_MINUTE % MINUTES_PER_HOUR );
+    }
+
+    /**
+     * Retrieves the seconds of the minute of the instant in the given zone
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return integer seconds
+     */
+    public static int getSeconds( final long epochMillis, final TimeZone zone ) {
+        return ( int ) ( millisOfDay( epochMillis, zone ) / MILLIS_PER_SECOND % SECONDS_PER_MINUTE );
+    }
+
+    /**
+     * Converts the time part of the instant in the given zone into the number of minutes into the day
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return the number of minutes into the day that time represents
+     */
+    public static int convertToMinutes( final long epochMillis, final TimeZone zone ) {
+        return ( int ) ( millisOfDay( epochMillis, zone ) / MILLIS_PER_MINUTE );
+    }
+
+    /**
+     * Retrieves the milliseconds elapsed since local midnight (wall-clock) of the instant in the given zone
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return the wall-clock milliseconds into the day
+     */
+    public static long millisOfDay( final long epochMillis, final TimeZone zone ) {
+        return Math.floorMod( toLocalMillis( epochMillis, zone ), MILLIS_PER_DAY );
+    }
+
+    /* *********** *
+     * Conversions *
+     * *********** */
+
+    /**
+     * Converts an instant into wall-clock milliseconds, i.e. the local date/time in the given zone expressed as if it
+     * were UTC
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return the local wall-clock time in milliseconds
+     */
+    public static long toLocalMillis( final long epochMillis, final TimeZone zone ) {
+        return epochMillis + zone.getOffset( epochMillis );
+    }
+
+    /**
+     * Converts an instant into the local epoch day (days since 1970-01-01) in the given zone.  This is the same value as
+     * {@link java.time.LocalDate#toEpochDay()} of {@link DateTimeUtils#toLocalDate}
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to use
+     * @return the local epoch day
+     */
+    public static long toEpochDay( final long epochMillis, final TimeZone zone ) {
+        return Math.floorDiv( toLocalMillis( epochMillis, zone ), MILLIS_PER_DAY );
+    }
+
+    /**
+     * Converts wall-clock milliseconds back into an instant in the given zone, resolving DST transitions the same way
+     * as {@link GregorianCalendar}: a wall-clock time inside a gap is moved forward by the length of the gap, and a
+     * wall-clock time inside an overlap resolves to the later (standard time) instant.
+     *
+     * @param localMillis the local wall-clock time in milliseconds (as returned by {@link #toLocalMillis})
+     * @param zone        the {@link TimeZone} to use
+     * @return the instant in milliseconds since the epoch
+     */
+    public static long fromLocalMillis( final long localMillis, final TimeZone zone ) {
+        final int guess = zone.getOffset( localMillis - zone.getRawOffset() );
+        final int actual = zone.getOffset( localMillis - guess );
+        int offset = guess;
+        if ( actual != guess )
+        {
+            if ( zone.getOffset( localMillis - actual ) != actual )
+            {
+                // Neither offset is valid, so the wall-clock time falls in a gap: apply the offset from before it
+                return localMillis - Math.min( guess, actual );
+            }
+            offset = actual;
+        }
+
+        // A valid offset was found, but within an overlap the later instant (with the smaller offset) is preferred
+        final long epochMillis = localMillis - offset;
+        final int later = zone.getOffset( epochMillis + MAX_TRANSITION_MILLIS );
+        if ( later < offset && zone.getOffset( localMillis - later ) == later )
+        {
+            return localMillis - later;
+        }
+        return epochMillis;
+    }
+
+    /**
+     * Sets the provided time onto the local day of the instant in the given zone.  As with a lenient {@link Calendar},
+     * the fields may overflow onto neighbouring days
+     *
+     * @param epochMillis  the instant whose local day is used as the base of the date
+     * @param hours        the hours to set
+     * @param minutes      the minutes to set
+     * @param seconds      the seconds to set
+     * @param milliseconds the milliseconds to set
+     * @param zone         the {@link TimeZone} to use
+     * @return the instant in milliseconds since the epoch
+     */
+    public static long setTime( final long epochMillis,
+                                final int hours,
+                                final int minutes,
+                                final int seconds,
+                                final int milliseconds,
+                                final TimeZone zone ) {
+        return fromLocalMillis( toEpochDay( epochMillis, zone ) * MILLIS_PER_DAY
+                + hours * MILLIS_PER_HOUR
+                + minutes * MILLIS_PER_MINUTE
+                + seconds * MILLIS_PER_SECOND
+                + milliseconds, zone );
+    }
+
+    /**
+     * Sets the given {@link DateTimeUtils.TimeEvent} onto the instant in the given zone (as
+     * {@link DateTimeUtils#setTimeEvent})
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param timeEvent   the {@link DateTimeUtils.TimeEvent} to set
+     * @param zone        the {@link TimeZone} to use
+     * @return the instant in milliseconds since the epoch
+     */
+    public static long setTimeEvent( final long epochMillis,
+                                     final DateTimeUtils.TimeEvent timeEvent,
+                                     final TimeZone zone ) {
+        switch ( timeEvent )
+        {
+            case START_OF_YEAR:
+                return toEpochMillis( getYear( epochMillis, zone ), 0, 1, 0, 0, 0, 0, zone );
+            case START_OF_DAY:
+                return DayBoundaryCache.forZone( zone ).startOfDay( epochMillis );
+            case END_OF_DAY:
+                return DayBoundaryCache.forZone( zone ).endOfDay( epochMillis );
+            case END_OF_YEAR:
+                // -1 milliseconds takes us to a millisecond before Jan 1st, which is the last millisecond of the year
+                final long startOfNextYear = toEpochMillis( getYear( epochMillis, zone ) + 1, 0, 1, 0, 0, 0, 0, zone );
+                return setTime( startOfNextYear, 0, 0, 0, -1, zone );
+            case ONE_WEEK_AGO:
+                return addDays( DayBoundaryCache.forZone( zone ).startOfDay( epochMillis ), -7, zone );
+            default:
+                return epochMillis;
+        }
+    }
+
+    /**
+     * Sets the provided date and time fields as an instant in the given zone.  As with a lenient {@link Calendar},
+     * fields may overflow (e.g. day 0 is the last day of the previous month, and milliseconds of -1 is the last
+     * millisecond of the previous day)
+     *
+     * @param year         the year to set
+     * @param month        the month to set (January = 0, February = 1... December = 11)
+     * @param day          the day to set
+     * @param hour         the hour to set
+     * @param minute       the minute to set
+     * @param seconds      the seconds to set
+     * @param milliseconds the milliseconds to set
+     * @param zone         the {@link TimeZone} to use
+     * @return the instant in milliseconds since the epoch
+     */
+    public static long toEpochMillis( final int year,
+                                      final int month,
+                                      final int day,
+                                      final int hour,
+                                      final int minute,
+                                      final int seconds,
+                                      final int milliseconds,
+                                      final TimeZone zone ) {
+        final long localMillis = toEpochDay( year, month, day ) * MILLIS_PER_DAY
+                + hour * MILLIS_PER_HOUR
+                + minute * MILLIS_PER_MINUTE
+                + seconds * MILLIS_PER_SECOND
+                + milliseconds;
+        if ( localMillis < GREGORIAN_CUTOVER_MILLIS + MILLIS_PER_DAY )
+        {
+            final Calendar calendar = new GregorianCalendar( zone );
+            calendar.clear();
+            calendar.set( year, month, day, hour, minute, seconds );
+            calendar.set( Calendar.MILLISECOND, milliseconds );
+            return calendar.getTimeInMillis();
+        }
+        return fromLocalMillis( localMillis, zone );
+    }
+
+    /**
+     * Converts a proleptic Gregorian date into the epoch day (days since 1970-01-01).  The month and day may overflow
+     * in the same way as a lenient {@link Calendar}
+     *
+     * @param year  the year
+     * @param month the month (January = 0, February = 1... December = 11)
+     * @param day   the day of the month
+     * @return the epoch day
+     */
+    public static long toEpochDay( final long year, final int month, final long day ) {
+        // Shift the year to start in March, so the leap day is the last day of the (shifted) year
+        final long y = year + Math.floorDiv( month, 12 ) - ( Math.floorMod( month, 12 ) < 2 ? 1 : 0 );
+        final int marchBasedMonth = Math.floorMod( month - 2, 12 );
+        final long era = Math.floorDiv( y, 400 );
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = ( 153 * marchBasedMonth + 2 ) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Retrieves the proleptic Gregorian year of an epoch day
+     *
+     * @param epochDay the days since 1970-01-01
+     * @return integer year
+     */
+    public static int yearOfEpochDay( final long epochDay ) {
+        final long z = epochDay + DAYS_0000_TO_1970;
+        final long era = Math.floorDiv( z, DAYS_PER_ERA );
+        final long dayOfEra = z - era * DAYS_PER_ERA;
+        final long yearOfEra = yearOfEra( dayOfEra );
+        final int marchBasedMonth = marchBasedMonth( dayOfEra, yearOfEra );
+        return ( int ) ( yearOfEra + era * 400 + ( marchBasedMonth >= 10 ? 1 : 0 ) );
+    }
+
+    /**
+     * Retrieves the month of an epoch day, where January = 0 ... December = 11
+     *
+     * @param epochDay the days since 1970-01-01
+     * @return integer month
+     */
+    public static int monthOfEpochDay( final long epochDay ) {
+        final long dayOfEra = Math.floorMod( epochDay + DAYS_0000_TO_1970, DAYS_PER_ERA );
+        final int marchBasedMonth = marchBasedMonth( dayOfEra, yearOfEra( dayOfEra ) );
+        return marchBasedMonth < 10 ? marchBasedMonth + 2 : marchBasedMonth - 10;
+    }
+
+    /**
+     * Retrieves the day of the month of an epoch day (1st = 1)
+     *
+     * @param epochDay the days since 1970-01-01
+     * @return integer day
+     */
+    public static int dayOfMonthOfEpochDay( final long epochDay ) {
+        final long dayOfEra = Math.floorMod( epochDay + DAYS_0000_TO_1970, DAYS_PER_ERA );
+        final long yearOfEra = yearOfEra( dayOfEra );
+        final int dayOfYear = ( int ) ( dayOfEra - ( 365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100 ) );
+        final int marchBasedMonth = ( 5 * dayOfYear + 2 ) / 153;
+        return dayOfYear - ( 153 * marchBasedMonth + 2 ) / 5 + 1;
+    }
+
+    /**
+     * Retrieves the day of the week of an epoch day, where Sunday = 1 ... Saturday = 7
+     *
+     * @param epochDay the days since 1970-01-01
+     * @return the integer day of the week
+     */
+    public static int dayOfWeekOfEpochDay( final long epochDay ) {
+        // 1970-01-01 was a Thursday (5)
+        return ( int ) Math.floorMod( epochDay + 4, 7L ) + 1;
+    }
+
+    /* *********** *
+     * Comparisons *
+     * *********** */
+
+    /**
+     * Checks whether two instants fall in the same period of the given unit, comparing their wall-clock times in the
+     * given zone (so two instants are in the same day, for example, if they have the same local date).  This gives the
+     * same answer as formatting both instants to the precision of the unit and comparing the Strings
+     *
+     * @param epochMillis1 the first instant in milliseconds since the epoch
+     * @param epochMillis2 the second instant in milliseconds since the epoch
+     * @param unit         one of {@link ChronoUnit#SECONDS}, {@link ChronoUnit#MINUTES}, {@link ChronoUnit#HOURS},
+     *                     {@link ChronoUnit#DAYS}, {@link ChronoUnit#MONTHS} or {@link ChronoUnit#YEARS}
+     * @param zone         the {@link TimeZone} to use
+     * @return TRUE if both instants truncate to the same period
+     */
+    public static boolean isSamePeriod( final long epochMillis1,
+                                        final long epochMillis2,
+                                        final ChronoUnit unit,
+                                        final TimeZone zone ) {
+        switch ( unit )
+        {
+            case SECONDS:
+                return isSameLocalPeriod( epochMillis1, epochMillis2, MILLIS_PER_SECOND, zone );
+            case MINUTES:
+                return isSameLocalPeriod( epochMillis1, epochMillis2, MILLIS_PER_MINUTE, zone );
+            case HOURS:
+                return isSameLocalPeriod( epochMillis1, epochMillis2, MILLIS_PER_HOUR, zone );
+            case DAYS:
+                return isSameLocalPeriod( epochMillis1, epochMillis2, MILLIS_PER_DAY, zone );
+            case MONTHS:
+                if ( epochMillis1 < GREGORIAN_CUTOVER_MILLIS || epochMillis2 < GREGORIAN_CUTOVER_MILLIS )
+                {
+                    return getYear( epochMillis1, zone ) == getYear( epochMillis2, zone )
+                            && getMonth( epochMillis1, zone ) == getMonth( epochMillis2, zone );
+                }
+                final long epochDay1 = toEpochDay( epochMillis1, zone );
+                final long epochDay2 = toEpochDay( epochMillis2, zone );
+                return yearOfEpochDay( epochDay1 ) == yearOfEpochDay( epochDay2 )
+                        && monthOfEpochDay( epochDay1 ) == monthOfEpochDay( epochDay2 );
+            case YEARS:
+                return getYear( epochMillis1, zone ) == getYear( epochMillis2, zone );
+            default:
+                throw new IllegalArgumentException( "Unsupported unit: " + unit );
+        }
+    }
+
+    /* *********** *
+     * Add Methods *
+     * *********** */
+
+    /**
+     * Adds the given number of days to the instant, keeping the wall-clock time in the given zone (as
+     * {@code Calendar.add( Calendar.DAY_OF_MONTH, days )})
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param daysToAdd   the number of days to add
+     * @param zone        the {@link TimeZone} to use
+     * @return the adjusted instant
+     */
+    public static long addDays( final long epochMillis, final long daysToAdd, final TimeZone zone ) {
+        final long result = epochMillis + daysToAdd * MILLIS_PER_DAY;
+        if ( epochMillis < GREGORIAN_CUTOVER_MILLIS || result < GREGORIAN_CUTOVER_MILLIS )
+        {
+            final Calendar calendar = toCalendar( epochMillis, zone );
+            calendar.add( Calendar.DAY_OF_MONTH, Math.toIntExact( daysToAdd ) );
+            return calendar.getTimeInMillis();
+        }
+
+        // Apply any change in offset, unless the adjustment would move the wall-clock time onto another day
+        final int offset = zone.getOffset( epochMillis );
+        final int delta = offset - zone.getOffset( result );
+        if ( delta != 0 )
+        {
+            final long adjusted = result + delta;
+            final long targetDay = Math.floorDiv( epochMillis + offset, MILLIS_PER_DAY ) + daysToAdd;
+            if ( toEpochDay( adjusted, zone ) == targetDay )
+            {
+                return adjusted;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the given number of minutes to the instant (as {@code Calendar.add( Calendar.MINUTE, minutes )})
+     *
+     * @param epochMillis  the instant in milliseconds since the epoch
+     * @param minutesToAdd the number of minutes to add
+     * @return the adjusted instant
+     */
+    public static long addMinutes( final long epochMillis, final long minutesToAdd ) {
+        return epochMillis + Math.toIntExact( minutesToAdd ) * MILLIS_PER_MINUTE;
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    private static long yearOfEra( final long dayOfEra ) {
+        return ( dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096 ) / 365;
+    }
+
+    private static int marchBasedMonth( final long dayOfEra, final long yearOfEra ) {
+        final int dayOfYear = ( int ) ( dayOfEra - ( 365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100 ) );
+        return ( 5 * dayOfYear + 2 ) / 153;
+    }
+
+    private static boolean isSameLocalPeriod( final long epochMillis1,
+                                              final long epochMillis2,
+                                              final long periodMillis,
+                                              final TimeZone zone ) {
+        return Math.floorDiv( toLocalMillis( epochMillis1, zone ), periodMillis )
+                == Math.floorDiv( toLocalMillis( epochMillis2, zone ), periodMillis );
+    }
+
+    private static Calendar toCalendar( final long epochMillis, final TimeZone zone ) {
+        final Calendar calendar = new GregorianCalendar( zone );
+        calendar.setTimeInMillis( epochMillis );
+        return calendar;
+    }
+
+    /* ********* *
+     * Constants *
+     * ********* */
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int MINUTES_PER_HOUR = 60;
+
+    /**
+     * Longer than any offset transition (including the date-line moves of some Pacific zones), used to look for the
+     * second occurrence of a wall-clock time
+     */
+    private static final long MAX_TRANSITION_MILLIS = 26 * MILLIS_PER_HOUR;
+
+    /**
+     * Days in a 400-year Gregorian cycle, and from 0000-03-01 to 1970-01-01
+     */
+    private static final long DAYS_PER_ERA = 146097L;
+    private static final long DAYS_0000_TO_1970 = 719468L;
+
+    /**
+     * No instantiation
+     */
+    private EpochTimeUtils() {
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable index over many [from, to] ranges of epoch milliseconds, for checking instants or ranges against all of
+ * them at once rather than calling {@link DateTimeUtils#isBetween} or {@link DateTimeUtils#isWithin} for each.
+ * <p>
+ * Both ends of every range are inclusive, as with {@link DateTimeUtils#isBetween}, and a range whose 'from' is after
+ * its 'to' contains nothing.  Ranges are reported by their index in the arrays the index was built from.
+ * <p>
+ * The ranges are held sorted by 'from' with a max-'to' tree over them, alongside separately sorted 'from' and 'to'
+ * values, so each query is O(log n) (plus O(log n) per range reported by {@link #containing}).
+ */
+public final class IntervalIndex {
+
+    /**
+     * 'from' and 'to' of each range, ordered by 'from'
+     */
+    private final long[] froms;
+    private final long[] tos;
+
+    /**
+     * The index each range was given at build time, in the same order
+     */
+    private final int[] ids;
+
+    /**
+     * Max 'to' of each tree node, where node 1 is the root and the children of node n are 2n and 2n + 1.  The leaves
+     * start at {@link #leafOffset}, and those of ranges that contain nothing are {@link Long#MIN_VALUE}
+     */
+    private final long[] maxTos;
+    private final int leafOffset;
+
+    /**
+     * Sorted 'from' values of the ranges that contain something, with the running max of their 'to' values and
+     * separately sorted 'to' values
+     */
+    private final long[] nonEmptyFroms;
+    private final long[] prefixMaxTos;
+    private final long[] sortedTos;
+
+    private IntervalIndex( final long[] from, final long[] to ) {
+        final int size = from.length;
+        final Integer[] order = IntStream.range( 0, size )
+                .boxed()
+                .sorted( Comparator.comparingLong( i -> from[ i ] ) )
+                .toArray( Integer[]::new );
+
+        froms = new long[ size ];
+        tos = new long[ size ];
+        ids = new int[ size ];
+        for ( int i = 0; i < size; i++ )
+        {
+            ids[ i ] = order[ i ];
+            froms[ i ] = from[ ids[ i ] ];
+            tos[ i ] = to[ ids[ i ] ];
+        }
+
+        leafOffset = Integer.highestOneBit( Math.max( size, 1 ) * 2 - 1 );
+        maxTos = new long[ leafOffset * 2 ];
+        Arrays.fill( maxTos, Long.MIN_VALUE );
+        for ( int i = 0; i < size; i++ )
+        {
+            if ( froms[ i ] <= tos[ i ] )
+            {
+                maxTos[ leafOffset + i ] = tos[ i ];
+            }
+        }
+        for ( int node = leafOffset - 1; node > 0; node-- )
+        {
+            maxTos[ node ] = Math.max( maxTos[ 2 * node ], maxTos[ 2 * node + 1 ] );
+        }
+
+        final int[] nonEmpty = IntStream.range( 0, size ).filter( i -> froms[ i ] <= tos[ i ] ).toArray();
+        nonEmptyFroms = Arrays.stream( nonEmpty ).mapToLong( i -> froms[ i ] ).toArray();
+        prefixMaxTos = Arrays.stream( nonEmpty ).mapToLong( i -> tos[ i ] ).toArray();
+        Arrays.parallelPrefix( prefixMaxTos, Math::max );
+        sortedTos = Arrays.stream( nonEmpty ).mapToLong( i -> tos[ i ] ).sorted().toArray();
+    }
+
+    /**
+     * Builds an index over the ranges [from[i], to[i]]
+     *
+     * @param from the start of each range, in milliseconds since the epoch
+     * @param to   the end of each range, in milliseconds since the epoch
+     * @return the {@link IntervalIndex}
+     */
+    public static IntervalIndex of( final long[] from, final long[] to ) {
+        if ( from.length != to.length )
+        {
+            throw new IllegalArgumentException( String.format( "Got %d 'from' values but %d 'to' values",
+                    from.length,
+                    to.length ) );
+        }
+        return new IntervalIndex( from, to );
+    }
+
+    /**
+     * @return the number of ranges in the index
+     */
+    public int size() {
+        return froms.length;
+    }
+
+    /**
+     * Retrieves the ranges containing the instant (as {@link DateTimeUtils#isBetween})
+     *
+     * @param epochMillis the instant to check, in milliseconds since the epoch
+     * @return the indexes of the ranges containing the instant, in ascending order
+     */
+    public int[] containing( final long epochMillis ) {
+        final int[] result = new int[ countContaining( epochMillis ) ];
+        final int[] position = new int[ 1 ];
+        forEachContaining( epochMillis, id -> result[ position[ 0 ]++ ] = id );
+        Arrays.sort( result );
+        return result;
+    }
+
+    /**
+     * Passes the index of each range containing the instant (as {@link DateTimeUtils#isBetween}) to the consumer, in
+     * no particular order
+     *
+     * @param epochMillis the instant to check, in milliseconds since the epoch
+     * @param consumer    the consumer of the range indexes
+     */
+    public void forEachContaining( final long epochMillis, final IntConsumer consumer ) {
+        final int candidates = upperBound( froms, epochMillis );
+        if ( candidates > 0 )
+        {
+            forEachContaining( 1, 0, leafOffset, candidates, epochMillis, consumer );
+        }
+    }
+
+    /**
+     * Counts the ranges containing the instant (as {@link DateTimeUtils#isBetween})
+     *
+     * @param epochMillis the instant to check, in milliseconds since the epoch
+     * @return the number of ranges containing the instant
+     */
+    public int countContaining( final long epochMillis ) {
+        // Every non-empty range that has started, less those that have also ended
+        return upperBound( nonEmptyFroms, epochMillis ) - lowerBound( sortedTos, epochMillis );
+    }
+
+    /**
+     * Checks whether any range contains the instant (as {@link DateTimeUtils#isBetween})
+     *
+     * @param epochMillis the instant to check, in milliseconds since the epoch
+     * @return TRUE if at least one range contains the instant
+     */
+    public boolean anyContaining( final long epochMillis ) {
+        return anyContaining( epochMillis, epochMillis );
+    }
+
+    /**
+     * Checks whether any range contains both the start and end instants (as {@link DateTimeUtils#isWithin})
+     *
+     * @param startMillis the start instant to check, in milliseconds since the epoch
+     * @param endMillis   the end instant to check, in milliseconds since the epoch
+     * @return TRUE if at least one range contains both instants
+     */
+    public boolean anyContaining( final long startMillis, final long endMillis ) {
+        final int candidates = upperBound( nonEmptyFroms, Math.min( startMillis, endMillis ) );
+        return candidates > 0 && prefixMaxTos[ candidates - 1 ] >= Math.max( startMillis, endMillis );
+    }
+
+    /**
+     * Checks whether any range overlaps the range [start, end], including ranges that only share an end point
+     *
+     * @param startMillis the start of the range to check, in milliseconds since the epoch
+     * @param endMillis   the end of the range to check, in milliseconds since the epoch
+     * @return TRUE if at least one range overlaps; FALSE if none do or the start is after the end
+     */
+    public boolean anyOverlap( final long startMillis, final long endMillis ) {
+        if ( startMillis > endMillis )
+        {
+            return false;
+        }
+        final int candidates = upperBound( nonEmptyFroms, endMillis );
+        return candidates > 0 && prefixMaxTos[ candidates - 1 ] >= startMillis;
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * Visits the leaves below the node within the first 'candidates' positions whose 'to' is not before the instant
+     */
+    private void forEachContaining( final int node,
+                                    final int nodeStart,
+                                    final int nodeWidth,
+                                    final int candidates,
+                                    final long epochMillis,
+                                    final IntConsumer consumer ) {
+        if ( nodeStart >= candidates || maxTos[ node ] < epochMillis )
+        {
+            return;
+        }
+        if ( nodeWidth == 1 )
+        {
+            consumer.accept( ids[ nodeStart ] );
+            return;
+        }
+        final int childWidth = nodeWidth >>> 1;
+        forEachContaining( 2 * node, nodeStart, childWidth, candidates, epochMillis, consumer );
+        forEachContaining( 2 * node + 1, nodeStart + childWidth, childWidth, candidates, epochMillis, consumer );
+    }
+
+    /**
+     * @return the number of sorted values that are less than or equal to the key
+     */
+    private static int upperBound( final long[] sorted, final long key ) {
+        int low = 0;
+        int high = sorted.length;
+        while ( low < high )
+        {
+            final int middle = ( low + high ) >>> 1;
+            if ( sorted[ middle ] <= key )
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the number of sorted values that are less than the key
+     */
+    private static int lowerBound( final long[] sorted, final long key ) {
+        int low = 0;
+        int high = sorted.length;
+        while ( low < high )
+        {
+            final int middle = ( low + high ) >>> 1;
+            if ( sorted[ middle ] < key )
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.TimeZone;
+
+/**
+ * Writes the {@link DateTimeUtils.Format#ISO_8601_DATE_ONLY}, {@link DateTimeUtils.Format#ISO_8601_DATE_TIME} and
+ * {@link DateTimeUtils.Format#TIME_24H} layouts straight into a caller-supplied {@link Appendable} (such as a
+ * {@link StringBuilder}) or {@code char[]}, without any intermediate objects.
+ * <p>
+ * The output is identical to the equivalent {@link org.apache.commons.lang3.time.FastDateFormat} (or
+ * {@link String#format}) output, so years are written with at least 4 digits and out-of-range times are written in
+ * full rather than being truncated.
+ */
+public abstract class IsoFormatUtils {
+
+    /**
+     * The length of a {@link DateTimeUtils.Format#ISO_8601_DATE_ONLY} String with a 4-digit year
+     */
+    public static final int DATE_LENGTH = 10;
+
+    /**
+     * The length of a {@link DateTimeUtils.Format#ISO_8601_DATE_TIME} String with a 4-digit year
+     */
+    public static final int DATE_TIME_LENGTH = 19;
+
+    /**
+     * The length of a {@link DateTimeUtils.Format#TIME_24H} String with 2-digit hours and minutes
+     */
+    public static final int TIME_LENGTH = 5;
+
+    /**
+     * The most characters that any of the layouts can need (a 10-digit year, or 11-character hours and minutes)
+     */
+    public static final int MAX_LENGTH = 25;
+
+    /* ************** *
+     * StringBuilders *
+     * ************** */
+
+    /**
+     * Appends the instant as 'yyyy-MM-dd'
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to format the instant in
+     * @param builder     the {@link StringBuilder} to append to
+     * @return the builder
+     */
+    public static StringBuilder appendDate( final long epochMillis,
+                                            final TimeZone zone,
+                                            final StringBuilder builder ) {
+        try
+        {
+            appendDate( epochMillis, zone, ( Appendable ) builder );
+        }
+        catch ( final IOException ioException )
+        {
+            // StringBuilders do not throw IOExceptions
+            throw new UncheckedIOException( ioException );
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the instant as 'yyyy-MM-dd'T'HH:mm:ss'
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to format the instant in
+     * @param builder     the {@link StringBuilder} to append to
+     * @return the builder
+     */
+    public static StringBuilder appendDateTime( final long epochMillis,
+                                                final TimeZone zone,
+                                                final StringBuilder builder ) {
+        try
+        {
+            appendDateTime( epochMillis, zone, ( Appendable ) builder );
+        }
+        catch ( final IOException ioException )
+        {
+            // StringBuilders do not throw IOExceptions
+            throw new UncheckedIOException( ioException );
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the hours and minutes as 'HH:mm' (as {@code String.format( Format.TIME_24H, hours, minutes )})
+     *
+     * @param hours   the hours to format
+     * @param minutes the minutes to format
+     * @param builder the {@link StringBuilder} to append to
+     * @return the builder
+     */
+    public static StringBuilder appendTime( final int hours, final int minutes, final StringBuilder builder ) {
+        try
+        {
+            appendTime( hours, minutes, ( Appendable ) builder );
+        }
+        catch ( final IOException ioException )
+        {
+            // StringBuilders do not throw IOExceptions
+            throw new UncheckedIOException( ioException );
+        }
+        return builder;
+    }
+
+    /* *********** *
+     * Appendables *
+     * *********** */
+
+    /**
+     * Appends the instant as 'yyyy-MM-dd'
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to format the instant in
+     * @param appendable  the {@link Appendable} to append to
+     * @throws IOException if the appendable cannot be written to
+     */
+    public static void appendDate( final long epochMillis,
+                                   final TimeZone zone,
+                                   final Appendable appendable ) throws IOException {
+        if ( epochMillis < EpochTimeUtils.GREGORIAN_CUTOVER_MILLIS )
+        {
+            appendDate( EpochTimeUtils.getYear( epochMillis, zone ),
+                    EpochTimeUtils.getMonth( epochMillis, zone ) + 1,
+                    EpochTimeUtils.getDay( epochMillis, zone ),
+                    appendable );
+        }
+        else
+        {
+            final long epochDay = EpochTimeUtils.toEpochDay( epochMillis, zone );
+            appendDate( EpochTimeUtils.yearOfEpochDay( epochDay ),
+                    EpochTimeUtils.monthOfEpochDay( epochDay ) + 1,
+                    EpochTimeUtils.dayOfMonthOfEpochDay( epochDay ),
+                    appendable );
+        }
+    }
+
+    /**
+     * Appends the instant as 'yyyy-MM-dd'T'HH:mm:ss'
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to format the instant in
+     * @param appendable  the {@link Appendable} to append to
+     * @throws IOException if the appendable cannot be written to
+     */
+    public static void appendDateTime( final long epochMillis,
+                                       final TimeZone zone,
+                                       final Appendable appendable ) throws IOException {
+        appendDate( epochMillis, zone, appendable );
+        final int secondOfDay = ( int ) ( EpochTimeUtils.millisOfDay( epochMillis, zone ) / 1000 );
+        appendable.append( 'T' );
+        appendDigits( secondOfDay / 3600, 2, appendable );
+        appendable.append( ':' );
+        appendDigits( secondOfDay / 60 % 60, 2, appendable );
+        appendable.append( ':' );
+        appendDigits( secondOfDay % 60, 2, appendable );
+    }
+
+    /**
+     * Appends the hours and minutes as 'HH:mm' (as {@code String.format( Format.TIME_24H, hours, minutes )})
+     *
+     * @param hours      the hours to format
+     * @param minutes    the minutes to format
+     * @param appendable the {@link Appendable} to append to
+     * @throws IOException if the appendable cannot be written to
+     */
+    public static void appendTime( final int hours,
+                                   final int minutes,
+                                   final Appendable appendable ) throws IOException {
+        appendDigits( hours, 2, appendable );
+        appendable.append( ':' );
+        appendDigits( minutes, 2, appendable );
+    }
+
+    /* ****** *
+     * char[] *
+     * ****** */
+
+    /**
+     * Writes the instant as 'yyyy-MM-dd' into the buffer
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to format the instant in
+     * @param buffer      the buffer to write to (with room for {@link #DATE_LENGTH} characters, or
+     *                    {@link #MAX_LENGTH} if the year may be beyond 9999)
+     * @param offset      the position in the buffer to start writing at
+     * @return the position after the last character written
+     */
+    public static int formatDate( final long epochMillis, final TimeZone zone, final char[] buffer, final int offset ) {
+        final int year;
+        final int month;
+        final int day;
+        if ( epochMillis < EpochTimeUtils.GREGORIAN_CUTOVER_MILLIS )
+        {
+            year = EpochTimeUtils.getYear( epochMillis, zone );
+            month = EpochTimeUtils.getMonth( epochMillis, zone ) + 1;
+            day = EpochTimeUtils.getDay( epochMillis, zone );
+        }
+        else
+        {
+            final long epochDay = EpochTimeUtils.toEpochDay( epochMillis, zone );
+            year = EpochTimeUtils.yearOfEpochDay( epochDay );
+            month = EpochTimeUtils.monthOfEpochDay( epochDay ) + 1;
+            day = EpochTimeUtils.dayOfMonthOfEpochDay( epochDay );
+        }
+        int position = writeDigits( year, 4, buffer, offset );
+        buffer[ position++ ] = '-';
+        position = writeDigits( month, 2, buffer, position );
+        buffer[ position++ ] = '-';
+        return writeDigits( day, 2, buffer, position );
+    }
+
+    /**
+     * Writes the instant as 'yyyy-MM-dd'T'HH:mm:ss' into the buffer
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to format the instant in
+     * @param buffer      the buffer to write to (with room for {@link #DATE_TIME_LENGTH} characters, or
+     *                    {@link #MAX_LENGTH} if the year may be beyond 9999)
+     * @param offset      the position in the buffer to start writing at
+     * @return the position after the last character written
+     */
+    public static int formatDateTime( final long epochMillis,
+                                      final TimeZone zone,
+                                      final char[] buffer,
+                                      final int offset ) {
+        int position = formatDate( epochMillis, zone, buffer, offset );
+        final int secondOfDay = ( int ) ( EpochTimeUtils.millisOfDay( epochMillis, zone ) / 1000 );
+        buffer[ position++ ] = 'T';
+        position = writeDigits( secondOfDay / 3600, 2, buffer, position );
+        buffer[ position++ ] = ':';
+        position = writeDigits( secondOfDay / 60 % 60, 2, buffer, position );
+        buffer[ position++ ] = ':';
+        return writeDigits( secondOfDay % 60, 2, buffer, position );
+    }
+
+    /**
+     * Writes the hours and minutes as 'HH:mm' into the buffer
+     *
+     * @param hours   the hours to format
+     * @param minutes the minutes to format
+     * @param buffer  the buffer to write to (with room for {@link #TIME_LENGTH} characters, or {@link #MAX_LENGTH} if
+     *                the values may be negative or above 99)
+     * @param offset  the position in the buffer to start writing at
+     * @return the position after the last character written
+     */
+    public static int formatTime( final int hours, final int minutes, final char[] buffer, final int offset ) {
+        int position = writeDigits( hours, 2, buffer, offset );
+        buffer[ position++ ] = ':';
+        return writeDigits( minutes, 2, buffer, position );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * Appends the value zero-padded to the minimum width, in the same way as {@code %0<width>d}
+     */
+    private static void appendDigits( final int value, final int width, final Appendable appendable )
+            throws IOException {
+        long remaining = value;
+        int digits = 1;
+        if ( remaining < 0 )
+        {
+            appendable.append( '-' );
+            remaining = -remaining;
+            digits++;
+        }
+        long divisor = 1;
+        while ( divisor * 10 <= remaining )
+        {
+            divisor *= 10;
+            digits++;
+        }
+        for ( ; digits < width; digits++ )
+        {
+            appendable.append( '0' );
+        }
+        for ( ; divisor > 0; divisor /= 10 )
+        {
+            appendable.append( ( char ) ( '0' + remaining / divisor % 10 ) );
+        }
+    }
+
+    /**
+     * Writes the value zero-padded to the minimum width, in the same way as {@code %0<width>d}
+     */
+    private static int writeDigits( final int value, final int width, final char[] buffer, final int offset ) {
+        int position = offset;
+        long remaining = value;
+        int digits = 1;
+        if ( remaining < 0 )
+        {
+            buffer[ position++ ] = '-';
+            remaining = -remaining;
+            digits++;
+        }
+        long divisor = 1;
+        while ( divisor * 10 <= remaining )
+        {
+            divisor *= 10;
+            digits++;
+        }
+        for ( ; digits < width; digits++ )
+        {
+            buffer[ position++ ] = '0';
+        }
+        for ( ; divisor > 0; divisor /= 10 )
+        {
+            buffer[ position++ ] = ( char ) ( '0' + remaining / divisor % 10 );
+        }
+        return position;
+    }
+
+    private static void appendDate( final int year, final int month, final int day, final Appendable appendable )
+            throws IOException {
+        appendDigits( year, 4, appendable );
+        appendable.append( '-' );
+        appendDigits( month, 2, appendable );
+        appendable.append( '-' );
+        appendDigits( day, 2, appendable );
+    }
+
+    /**
+     * No instantiation
+     */
+    private IsoFormatUtils() {
+    }
+}
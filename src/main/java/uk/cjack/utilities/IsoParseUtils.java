@@ -0,0 +1,266 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.util.TimeZone;
+
+/**
+ * Strict, single-pass parsers for the {@link DateTimeUtils.Format#ISO_8601_DATE_TIME},
+ * {@link DateTimeUtils.Format#ISO_8601_DATE_ONLY} and {@link DateTimeUtils.Format#ISO_8601_TIME_ONLY} layouts.
+ * <p>
+ * Each parser reads a range of a {@link CharSequence} (so values can be read straight out of a larger payload), checks
+ * the digits, separators and field ranges as it goes, and returns a primitive result or {@link #INVALID} rather than
+ * throwing.  Unlike {@link org.apache.commons.lang3.time.FastDateFormat}, nothing is parsed leniently: the range must
+ * be exactly the layout, with each field in range (days are checked against the proleptic Gregorian month length).
+ */
+public abstract class IsoParseUtils {
+
+    /**
+     * Returned by the millisecond parsers when the text is not a valid value in the layout
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * Returned by {@link #parseTimeOfDay} when the text is not a valid 'HH:mm' time
+     */
+    public static final int INVALID_TIME = -1;
+
+    /* ***************** *
+     * Wall-clock values *
+     * ***************** */
+
+    /**
+     * Parses a 'yyyy-MM-dd'T'HH:mm:ss' range into wall-clock milliseconds (the local date/time expressed as if it
+     * were UTC, as {@link EpochTimeUtils#toLocalMillis})
+     *
+     * @param text   the text to parse
+     * @param offset the index of the first character of the value
+     * @param length the number of characters in the value
+     * @return the wall-clock milliseconds, or {@link #INVALID}
+     */
+    public static long parseLocalDateTime( final CharSequence text, final int offset, final int length ) {
+        if ( length != IsoFormatUtils.DATE_TIME_LENGTH || text.charAt( offset + 10 ) != 'T' )
+        {
+            return INVALID;
+        }
+        final long date = parseLocalDate( text, offset, IsoFormatUtils.DATE_LENGTH );
+        final int hours = twoDigits( text, offset + 11, 23 );
+        final int minutes = twoDigits( text, offset + 14, 59 );
+        final int seconds = twoDigits( text, offset + 17, 59 );
+        if ( date == INVALID || ( hours | minutes | seconds ) < 0
+                || text.charAt( offset + 13 ) != ':' || text.charAt( offset + 16 ) != ':' )
+        {
+            return INVALID;
+        }
+        return date + ( ( hours * 60L + minutes ) * 60 + seconds ) * MILLIS_PER_SECOND;
+    }
+
+    /**
+     * Parses a 'yyyy-MM-dd' range into the wall-clock milliseconds of the start of the day
+     *
+     * @param text   the text to parse
+     * @param offset the index of the first character of the value
+     * @param length the number of characters in the value
+     * @return the wall-clock milliseconds, or {@link #INVALID}
+     */
+    public static long parseLocalDate( final CharSequence text, final int offset, final int length ) {
+        if ( length != IsoFormatUtils.DATE_LENGTH
+                || text.charAt( offset + 4 ) != '-' || text.charAt( offset + 7 ) != '-' )
+        {
+            return INVALID;
+        }
+        final int century = twoDigits( text, offset, 99 );
+        final int yearOfCentury = twoDigits( text, offset + 2, 99 );
+        final int month = twoDigits( text, offset + 5, 12 );
+        final int day = twoDigits( text, offset + 8, 31 );
+        if ( ( century | yearOfCentury ) < 0 || month < 1 || day < 1 )
+        {
+            return INVALID;
+        }
+        final int year = century * 100 + yearOfCentury;
+        if ( day > lengthOfMonth( year, month ) )
+        {
+            return INVALID;
+        }
+        return EpochTimeUtils.toEpochDay( year, month - 1, day ) * MILLIS_PER_DAY;
+    }
+
+    /**
+     * Parses a 'HH:mm' range into the number of minutes into the day
+     *
+     * @param text   the text to parse
+     * @param offset the index of the first character of the value
+     * @param length the number of characters in the value
+     * @return the minutes into the day, or {@link #INVALID_TIME}
+     */
+    public static int parseTimeOfDay( final CharSequence text, final int offset, final int length ) {
+        if ( length != IsoFormatUtils.TIME_LENGTH || text.charAt( offset + 2 ) != ':' )
+        {
+            return INVALID_TIME;
+        }
+        final int hours = twoDigits( text, offset, 23 );
+        final int minutes = twoDigits( text, offset + 3, 59 );
+        if ( ( hours | minutes ) < 0 )
+        {
+            return INVALID_TIME;
+        }
+        return hours * 60 + minutes;
+    }
+
+    /* ******** *
+     * Instants *
+     * ******** */
+
+    /**
+     * Parses a 'yyyy-MM-dd'T'HH:mm:ss' range into an instant in the given zone.  Wall-clock times inside a DST gap
+     * or overlap resolve as they would with a {@link java.util.Calendar}
+     *
+     * @param text   the text to parse
+     * @param offset the index of the first character of the value
+     * @param length the number of characters in the value
+     * @param zone   the {@link TimeZone} the value is in
+     * @return the instant in milliseconds since the epoch, or {@link #INVALID}
+     */
+    public static long parseDateTime( final CharSequence text,
+                                      final int offset,
+                                      final int length,
+                                      final TimeZone zone ) {
+        return toEpochMillis( parseLocalDateTime( text, offset, length ), zone );
+    }
+
+    /**
+     * Parses a whole 'yyyy-MM-dd'T'HH:mm:ss' value into an instant in the given zone
+     *
+     * @param text the text to parse
+     * @param zone the {@link TimeZone} the value is in
+     * @return the instant in milliseconds since the epoch, or {@link #INVALID}
+     * @see #parseDateTime(CharSequence, int, int, TimeZone)
+     */
+    public static long parseDateTime( final CharSequence text, final TimeZone zone ) {
+        return parseDateTime( text, 0, text.length(), zone );
+    }
+
+    /**
+     * Parses a 'yyyy-MM-dd' range into the instant of the start of the day in the given zone
+     *
+     * @param text   the text to parse
+     * @param offset the index of the first character of the value
+     * @param length the number of characters in the value
+     * @param zone   the {@link TimeZone} the value is in
+     * @return the instant in milliseconds since the epoch, or {@link #INVALID}
+     */
+    public static long parseDate( final CharSequence text, final int offset, final int length, final TimeZone zone ) {
+        return toEpochMillis( parseLocalDate( text, offset, length ), zone );
+    }
+
+    /**
+     * Parses a whole 'yyyy-MM-dd' value into the instant of the start of the day in the given zone
+     *
+     * @param text the text to parse
+     * @param zone the {@link TimeZone} the value is in
+     * @return the instant in milliseconds since the epoch, or {@link #INVALID}
+     * @see #parseDate(CharSequence, int, int, TimeZone)
+     */
+    public static long parseDate( final CharSequence text, final TimeZone zone ) {
+        return parseDate( text, 0, text.length(), zone );
+    }
+
+    /**
+     * Parses a 'HH:mm' range into the instant of that time on 1970-01-01 in the given zone (as
+     * {@link DateTimeUtils.Formatter#ISO_8601_TIME_ONLY} does)
+     *
+     * @param text   the text to parse
+     * @param offset the index of the first character of the value
+     * @param length the number of characters in the value
+     * @param zone   the {@link TimeZone} the value is in
+     * @return the instant in milliseconds since the epoch, or {@link #INVALID}
+     */
+    public static long parseTime( final CharSequence text, final int offset, final int length, final TimeZone zone ) {
+        final int minutes = parseTimeOfDay( text, offset, length );
+        if ( minutes == INVALID_TIME )
+        {
+            return INVALID;
+        }
+        return EpochTimeUtils.fromLocalMillis( minutes * MILLIS_PER_MINUTE, zone );
+    }
+
+    /**
+     * Parses a whole 'HH:mm' value into the instant of that time on 1970-01-01 in the given zone
+     *
+     * @param text the text to parse
+     * @param zone the {@link TimeZone} the value is in
+     * @return the instant in milliseconds since the epoch, or {@link #INVALID}
+     * @see #parseTime(CharSequence, int, int, TimeZone)
+     */
+    public static long parseTime( final CharSequence text, final TimeZone zone ) {
+        return parseTime( text, 0, text.length(), zone );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * Converts wall-clock milliseconds from the parsers into an instant, resolving dates before the Gregorian cutover
+     * through {@link EpochTimeUtils#toEpochMillis} so they are read as Julian dates (like a {@link java.util.Calendar})
+     */
+    private static long toEpochMillis( final long localMillis, final TimeZone zone ) {
+        if ( localMillis == INVALID )
+        {
+            return INVALID;
+        }
+        if ( localMillis < EpochTimeUtils.GREGORIAN_CUTOVER_MILLIS + MILLIS_PER_DAY )
+        {
+            final long epochDay = Math.floorDiv( localMillis, MILLIS_PER_DAY );
+            return EpochTimeUtils.toEpochMillis( EpochTimeUtils.yearOfEpochDay( epochDay ),
+                    EpochTimeUtils.monthOfEpochDay( epochDay ),
+                    EpochTimeUtils.dayOfMonthOfEpochDay( epochDay ),
+                    0,
+                    0,
+                    0,
+                    ( int ) Math.floorMod( localMillis, MILLIS_PER_DAY ),
+                    zone );
+        }
+        return EpochTimeUtils.fromLocalMillis( localMillis, zone );
+    }
+
+    /**
+     * Reads two ASCII digits as a number no greater than the maximum
+     *
+     * @return the number, or -1 if the characters are not digits or the number is too large
+     */
+    private static int twoDigits( final CharSequence text, final int index, final int max ) {
+        final int tens = text.charAt( index ) - '0';
+        final int units = text.charAt( index + 1 ) - '0';
+        if ( tens < 0 || tens > 9 || units < 0 || units > 9 )
+        {
+            return -1;
+        }
+        final int value = tens * 10 + units;
+        return value <= max ? value : -1;
+    }
+
+    /**
+     * @param year  the year
+     * @param month the month (January = 1)
+     * @return the number of days in the month of the proleptic Gregorian year
+     */
+    static int lengthOfMonth( final int year, final int month ) {
+        if ( month == 2 )
+        {
+            return ( year % 4 == 0 && ( year % 100 != 0 || year % 400 == 0 ) ) ? 29 : 28;
+        }
+        return ( month == 4 || month == 6 || month == 9 || month == 11 ) ? 30 : 31;
+    }
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+    /**
+     * No instantiation
+     */
+    private IsoParseUtils() {
+    }
+}
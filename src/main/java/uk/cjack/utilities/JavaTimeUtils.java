@@ -0,0 +1,293 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable counterparts of the {@link DateTimeUtils} methods that modify a {@link Date} or {@link java.util.Calendar}
+ * in place, on {@link Instant}, {@link ZonedDateTime} and {@link LocalDate}.  Each returns a new value and leaves its
+ * arguments untouched, so the values can be shared between threads without defensive copies.
+ * <p>
+ * The semantics are those of the {@link Date} methods (lenient field overflow, DST gaps moving forward and overlaps
+ * resolving to the later instant, END_OF_DAY being the last millisecond of the day, etc.).  {@link Instant} and
+ * {@link LocalDate} methods work in the default zone, as the {@link Date} methods do; {@link ZonedDateTime} methods
+ * work in the value's own zone and return a value in that zone.  Methods that set the time drop any sub-millisecond
+ * precision, and methods that add to the time keep it.
+ */
+public abstract class JavaTimeUtils {
+
+    private static final long NANOS_PER_MILLISECOND = 1000000L;
+
+    /**
+     * Shared {@link TimeZone} per {@link ZoneId}, which are never modified or handed out
+     */
+    private static final ConcurrentMap<ZoneId, TimeZone> ZONES = new ConcurrentHashMap<>();
+
+    /* *************** *
+     * Instant Methods *
+     * *************** */
+
+    /**
+     * Sets the provided time onto the day of the instant in the default zone (as {@link DateTimeUtils#setTimeOnDate})
+     *
+     * @param instant      the {@link Instant} to use as the base of the date
+     * @param hours        the hours to set
+     * @param minutes      the minutes to set
+     * @param seconds      the seconds to set
+     * @param milliseconds the milliseconds to set
+     * @return the {@link Instant} with the given time set
+     */
+    public static Instant setTime( final Instant instant,
+                                   final int hours,
+                                   final int minutes,
+                                   final int seconds,
+                                   final int milliseconds ) {
+        return Instant.ofEpochMilli( EpochTimeUtils.setTime( instant.toEpochMilli(),
+                hours,
+                minutes,
+                seconds,
+                milliseconds,
+                TimeZone.getDefault() ) );
+    }
+
+    /**
+     * Sets the provided hours and minutes onto the day of the instant in the default zone
+     *
+     * @param instant the {@link Instant} to use as the base of the date
+     * @param hours   the hours to set
+     * @param minutes the minutes to set
+     * @return the {@link Instant} with the given time set
+     */
+    public static Instant setTime( final Instant instant, final int hours, final int minutes ) {
+        return setTime( instant, hours, minutes, 0, 0 );
+    }
+
+    /**
+     * Sets the given TimeEvent onto the instant in the default zone (as {@link DateTimeUtils#setTimeEventOnDate})
+     *
+     * @param instant   the {@link Instant} to use as the base of the date
+     * @param timeEvent the {@link DateTimeUtils.TimeEvent} to set
+     * @return the {@link Instant} with the given time event set
+     */
+    public static Instant setTimeEvent( final Instant instant, final DateTimeUtils.TimeEvent timeEvent ) {
+        return Instant.ofEpochMilli( EpochTimeUtils.setTimeEvent( instant.toEpochMilli(),
+                timeEvent,
+                TimeZone.getDefault() ) );
+    }
+
+    /**
+     * Adds the given number of days to the instant, keeping the wall-clock time in the default zone (as
+     * {@link DateTimeUtils#addDays(Date, long)})
+     *
+     * @param instant   the {@link Instant} to add to
+     * @param daysToAdd the number of days to add
+     * @return the adjusted {@link Instant}
+     */
+    public static Instant addDays( final Instant instant, final long daysToAdd ) {
+        return withEpochMilli( instant, EpochTimeUtils.addDays( instant.toEpochMilli(),
+                Math.toIntExact( daysToAdd ),
+                TimeZone.getDefault() ) );
+    }
+
+    /**
+     * Adds the given number of minutes to the instant (as {@link DateTimeUtils#addMinutes(Date, long)})
+     *
+     * @param instant      the {@link Instant} to add to
+     * @param minutesToAdd the number of minutes to add
+     * @return the adjusted {@link Instant}
+     */
+    public static Instant addMinutes( final Instant instant, final long minutesToAdd ) {
+        return withEpochMilli( instant, EpochTimeUtils.addMinutes( instant.toEpochMilli(), minutesToAdd ) );
+    }
+
+    /**
+     * Subtracts the given number of minutes from the instant (as {@link DateTimeUtils#minusMinutes})
+     *
+     * @param instant           the {@link Instant} to subtract from
+     * @param minutesToSubtract the number of minutes to subtract
+     * @return the adjusted {@link Instant}
+     */
+    public static Instant minusMinutes( final Instant instant, final long minutesToSubtract ) {
+        return addMinutes( instant, -minutesToSubtract );
+    }
+
+    /* ********************* *
+     * ZonedDateTime Methods *
+     * ********************* */
+
+    /**
+     * Sets the provided time onto the day of the date/time in its zone (as {@link DateTimeUtils#setTimeOnDate})
+     *
+     * @param dateTime     the {@link ZonedDateTime} to use as the base of the date
+     * @param hours        the hours to set
+     * @param minutes      the minutes to set
+     * @param seconds      the seconds to set
+     * @param milliseconds the milliseconds to set
+     * @return the {@link ZonedDateTime} with the given time set
+     */
+    public static ZonedDateTime setTime( final ZonedDateTime dateTime,
+                                         final int hours,
+                                         final int minutes,
+                                         final int seconds,
+                                         final int milliseconds ) {
+        return ofEpochMilli( EpochTimeUtils.setTime( toEpochMilli( dateTime ),
+                hours,
+                minutes,
+                seconds,
+                milliseconds,
+                toTimeZone( dateTime.getZone() ) ), dateTime.getZone() );
+    }
+
+    /**
+     * Sets the provided hours and minutes onto the day of the date/time in its zone
+     *
+     * @param dateTime the {@link ZonedDateTime} to use as the base of the date
+     * @param hours    the hours to set
+     * @param minutes  the minutes to set
+     * @return the {@link ZonedDateTime} with the given time set
+     */
+    public static ZonedDateTime setTime( final ZonedDateTime dateTime, final int hours, final int minutes ) {
+        return setTime( dateTime, hours, minutes, 0, 0 );
+    }
+
+    /**
+     * Sets the given TimeEvent onto the date/time in its zone (as {@link DateTimeUtils#setTimeEventOnDate})
+     *
+     * @param dateTime  the {@link ZonedDateTime} to use as the base of the date
+     * @param timeEvent the {@link DateTimeUtils.TimeEvent} to set
+     * @return the {@link ZonedDateTime} with the given time event set
+     */
+    public static ZonedDateTime setTimeEvent( final ZonedDateTime dateTime,
+                                              final DateTimeUtils.TimeEvent timeEvent ) {
+        return ofEpochMilli( EpochTimeUtils.setTimeEvent( toEpochMilli( dateTime ),
+                timeEvent,
+                toTimeZone( dateTime.getZone() ) ), dateTime.getZone() );
+    }
+
+    /**
+     * Adds the given number of days to the date/time, keeping the wall-clock time in its zone (as
+     * {@link DateTimeUtils#addDays(java.util.Calendar, long)})
+     *
+     * @param dateTime  the {@link ZonedDateTime} to add to
+     * @param daysToAdd the number of days to add
+     * @return the adjusted {@link ZonedDateTime}
+     */
+    public static ZonedDateTime addDays( final ZonedDateTime dateTime, final long daysToAdd ) {
+        final long epochMillis = EpochTimeUtils.addDays( toEpochMilli( dateTime ),
+                Math.toIntExact( daysToAdd ),
+                toTimeZone( dateTime.getZone() ) );
+        return ZonedDateTime.ofInstant( withEpochMilli( dateTime.toInstant(), epochMillis ), dateTime.getZone() );
+    }
+
+    /**
+     * Adds the given number of minutes to the date/time (as {@link DateTimeUtils#addMinutes(Date, long)})
+     *
+     * @param dateTime     the {@link ZonedDateTime} to add to
+     * @param minutesToAdd the number of minutes to add
+     * @return the adjusted {@link ZonedDateTime}
+     */
+    public static ZonedDateTime addMinutes( final ZonedDateTime dateTime, final long minutesToAdd ) {
+        return ZonedDateTime.ofInstant( addMinutes( dateTime.toInstant(), minutesToAdd ), dateTime.getZone() );
+    }
+
+    /**
+     * Subtracts the given number of minutes from the date/time (as {@link DateTimeUtils#minusMinutes})
+     *
+     * @param dateTime          the {@link ZonedDateTime} to subtract from
+     * @param minutesToSubtract the number of minutes to subtract
+     * @return the adjusted {@link ZonedDateTime}
+     */
+    public static ZonedDateTime minusMinutes( final ZonedDateTime dateTime, final long minutesToSubtract ) {
+        return addMinutes( dateTime, -minutesToSubtract );
+    }
+
+    /**
+     * Retrieves the boundaries of the month of the date/time in its zone (as {@link DateTimeUtils#setMonthBoundaries})
+     *
+     * @param dateTime the {@link ZonedDateTime} within the month
+     * @return the {@link MonthBoundary}
+     */
+    public static MonthBoundary getMonthBoundary( final ZonedDateTime dateTime ) {
+        return MonthBoundaryTable.forZone( toTimeZone( dateTime.getZone() ) )
+                .getMonthBoundary( dateTime.getYear(), dateTime.getMonthValue() - 1 );
+    }
+
+    /* ***************** *
+     * LocalDate Methods *
+     * ***************** */
+
+    /**
+     * Sets the given TimeEvent onto the start of the date in the default zone (as {@link DateTimeUtils#setTimeEvent}
+     * of {@link DateTimeUtils#setDate})
+     *
+     * @param date      the {@link LocalDate} to use as the base of the date
+     * @param timeEvent the {@link DateTimeUtils.TimeEvent} to set
+     * @return the {@link Instant} of the time event
+     */
+    public static Instant setTimeEvent( final LocalDate date, final DateTimeUtils.TimeEvent timeEvent ) {
+        final TimeZone zone = TimeZone.getDefault();
+        final long startOfDate = EpochTimeUtils.toEpochMillis( date.getYear(),
+                date.getMonthValue() - 1,
+                date.getDayOfMonth(),
+                0,
+                0,
+                0,
+                0,
+                zone );
+        return Instant.ofEpochMilli( EpochTimeUtils.setTimeEvent( startOfDate, timeEvent, zone ) );
+    }
+
+    /**
+     * Retrieves the boundaries of the month of the date in the default zone (as
+     * {@link DateTimeUtils#setMonthBoundaries})
+     *
+     * @param date the {@link LocalDate} within the month
+     * @return the {@link MonthBoundary}
+     */
+    public static MonthBoundary getMonthBoundary( final LocalDate date ) {
+        return DateTimeUtils.getMonthBoundary( date.getYear(), date.getMonthValue() - 1 );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    private static TimeZone toTimeZone( final ZoneId zoneId ) {
+        final TimeZone zone = ZONES.get( zoneId );
+        if ( zone != null )
+        {
+            return zone;
+        }
+        return ZONES.computeIfAbsent( zoneId, TimeZone::getTimeZone );
+    }
+
+    private static long toEpochMilli( final ZonedDateTime dateTime ) {
+        return dateTime.toInstant().toEpochMilli();
+    }
+
+    private static ZonedDateTime ofEpochMilli( final long epochMillis, final ZoneId zoneId ) {
+        return ZonedDateTime.ofInstant( Instant.ofEpochMilli( epochMillis ), zoneId );
+    }
+
+    /**
+     * @return the instant at the given millisecond, keeping the sub-millisecond precision of the original
+     */
+    private static Instant withEpochMilli( final Instant original, final long epochMillis ) {
+        return Instant.ofEpochMilli( epochMillis ).plusNanos( original.getNano() % NANOS_PER_MILLISECOND );
+    }
+
+    /**
+     * No instantiation
+     */
+    private JavaTimeUtils() {
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * The first and last millisecond of a month in a zone, as set by {@link DateTimeUtils#setMonthBoundaries}.
+ * <p>
+ * Immutable: {@link #getStart()} and {@link #getEnd()} return a new {@link Date} on each call, so callers can use the
+ * millisecond accessors to avoid allocating.
+ */
+public final class MonthBoundary {
+
+    private final int year;
+    private final int month;
+    private final long startMillis;
+    private final long endMillis;
+
+    MonthBoundary( final int year, final int month, final long startMillis, final long endMillis ) {
+        this.year = year;
+        this.month = month;
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+    }
+
+    /**
+     * @return the year of the month
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return the month (January = 0, February = 1... December = 11)
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * @return the first millisecond of the month, in milliseconds since the epoch
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * @return the last millisecond of the month, in milliseconds since the epoch
+     */
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    /**
+     * @return the first millisecond of the month, as a new {@link Date}
+     */
+    public Date getStart() {
+        return new Date( startMillis );
+    }
+
+    /**
+     * @return the last millisecond of the month, as a new {@link Date}
+     */
+    public Date getEnd() {
+        return new Date( endMillis );
+    }
+
+    /**
+     * Checks whether the instant falls within the month (inclusive, as {@link DateTimeUtils#isBetween})
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return TRUE if the instant is within the month
+     */
+    public boolean contains( final long epochMillis ) {
+        return epochMillis >= startMillis && epochMillis <= endMillis;
+    }
+
+    @Override
+    public boolean equals( final Object other ) {
+        if ( this == other )
+        {
+            return true;
+        }
+        if ( !( other instanceof MonthBoundary ) )
+        {
+            return false;
+        }
+        final MonthBoundary boundary = ( MonthBoundary ) other;
+        return year == boundary.year && month == boundary.month
+                && startMillis == boundary.startMillis && endMillis == boundary.endMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash( year, month, startMillis, endMillis );
+    }
+
+    @Override
+    public String toString() {
+        return "MonthBoundary[" + year + "-" + ( month + 1 ) + ": " + startMillis + " to " + endMillis + "]";
+    }
+}
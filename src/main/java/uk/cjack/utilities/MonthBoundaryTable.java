@@ -0,0 +1,173 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-{@link TimeZone} table of the first and last millisecond of every month in a range of years, matching
+ * {@link DateTimeUtils#setMonthBoundaries} (START_OF_DAY of the 1st to END_OF_DAY of the last day, resolved through
+ * {@link DayBoundaryCache}).
+ * <p>
+ * The table is filled when it is created, so a lookup within the range is two array reads.  Months outside the range
+ * are calculated on each call, and month values outside 0-11 roll into neighbouring years as with a lenient
+ * {@link java.util.Calendar}.
+ * <p>
+ * The shared tables returned by {@link #forZone} cover {@value #DEFAULT_FIRST_YEAR} to {@value #DEFAULT_LAST_YEAR};
+ * use {@link #of} for a different range.  Zones are identified by {@link TimeZone#getID()}; a zone with the same ID as
+ * a shared table's zone but different rules (such as a custom zone) replaces that table.
+ */
+public final class MonthBoundaryTable {
+
+    public static final int DEFAULT_FIRST_YEAR = 1970;
+    public static final int DEFAULT_LAST_YEAR = 2100;
+
+    private static final ConcurrentMap<String, MonthBoundaryTable> TABLES = new ConcurrentHashMap<>();
+
+    private final TimeZone zone;
+    private final int firstYear;
+    private final int lastYear;
+
+    /**
+     * Boundaries of each month, indexed by (year - firstYear) * 12 + month
+     */
+    private final long[] starts;
+    private final long[] ends;
+
+    private MonthBoundaryTable( final TimeZone zone, final int firstYear, final int lastYear ) {
+        this.zone = zone;
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        final int months = ( lastYear - firstYear + 1 ) * 12;
+        starts = new long[ months ];
+        ends = new long[ months ];
+        for ( int i = 0; i < months; i++ )
+        {
+            starts[ i ] = calculateStart( firstYear + i / 12, i % 12, zone );
+            ends[ i ] = calculateEnd( firstYear + i / 12, i % 12, zone );
+        }
+    }
+
+    /**
+     * Retrieves the shared table for the given zone, covering the default range of years
+     *
+     * @param zone the {@link TimeZone} to retrieve the table for
+     * @return the {@link MonthBoundaryTable} of the zone
+     */
+    public static MonthBoundaryTable forZone( final TimeZone zone ) {
+        final MonthBoundaryTable table = TABLES.get( zone.getID() );
+        if ( table != null && table.zone.hasSameRules( zone ) )
+        {
+            return table;
+        }
+        return TABLES.compute( zone.getID(), ( id, existing ) -> existing != null && existing.zone.hasSameRules( zone )
+                                                                 ? existing
+                                                                 : new MonthBoundaryTable( ( TimeZone ) zone.clone(),
+                                                                         DEFAULT_FIRST_YEAR,
+                                                                         DEFAULT_LAST_YEAR ) );
+    }
+
+    /**
+     * Creates an (unshared) table for the given zone and range of years
+     *
+     * @param zone      the {@link TimeZone} to calculate the boundaries in
+     * @param firstYear the first year to hold in the table
+     * @param lastYear  the last year to hold in the table
+     * @return the {@link MonthBoundaryTable}
+     */
+    public static MonthBoundaryTable of( final TimeZone zone, final int firstYear, final int lastYear ) {
+        if ( lastYear < firstYear || ( long ) lastYear - firstYear >= Integer.MAX_VALUE / 12 )
+        {
+            throw new IllegalArgumentException( String.format( "Invalid range of years: %d to %d",
+                    firstYear,
+                    lastYear ) );
+        }
+        return new MonthBoundaryTable( ( TimeZone ) zone.clone(), firstYear, lastYear );
+    }
+
+    /**
+     * @return the {@link TimeZone} the boundaries are calculated in
+     */
+    public TimeZone getZone() {
+        return ( TimeZone ) zone.clone();
+    }
+
+    /**
+     * @return the first year held in the table
+     */
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    /**
+     * @return the last year held in the table
+     */
+    public int getLastYear() {
+        return lastYear;
+    }
+
+    /**
+     * Retrieves the first millisecond of the month
+     *
+     * @param year  the year
+     * @param month the month (January = 0, February = 1... December = 11)
+     * @return the start of the month in milliseconds since the epoch
+     */
+    public long startOfMonth( final int year, final int month ) {
+        final int index = index( year, month );
+        return index < 0 ? calculateStart( year, month, zone ) : starts[ index ];
+    }
+
+    /**
+     * Retrieves the last millisecond of the month
+     *
+     * @param year  the year
+     * @param month the month (January = 0, February = 1... December = 11)
+     * @return the end of the month in milliseconds since the epoch
+     */
+    public long endOfMonth( final int year, final int month ) {
+        final int index = index( year, month );
+        return index < 0 ? calculateEnd( year, month, zone ) : ends[ index ];
+    }
+
+    /**
+     * Retrieves the boundaries of the month
+     *
+     * @param year  the year
+     * @param month the month (January = 0, February = 1... December = 11)
+     * @return the {@link MonthBoundary}, with the year and month normalised to 0-11
+     */
+    public MonthBoundary getMonthBoundary( final int year, final int month ) {
+        final long normalisedYear = year + ( long ) Math.floorDiv( month, 12 );
+        return new MonthBoundary( ( int ) normalisedYear,
+                Math.floorMod( month, 12 ),
+                startOfMonth( year, month ),
+                endOfMonth( year, month ) );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * @return the index of the month in the table, or -1 if it is outside the range
+     */
+    private int index( final int year, final int month ) {
+        final long index = ( year - ( long ) firstYear ) * 12 + month;
+        return index < 0 || index >= starts.length ? -1 : ( int ) index;
+    }
+
+    private static long calculateStart( final int year, final int month, final TimeZone zone ) {
+        final long firstDay = EpochTimeUtils.toEpochMillis( year, month, 1, 0, 0, 0, 0, zone );
+        return DayBoundaryCache.forZone( zone ).startOfDay( firstDay );
+    }
+
+    private static long calculateEnd( final int year, final int month, final TimeZone zone ) {
+        // Day 0 of the following month is the last day of this one
+        final long lastDay = EpochTimeUtils.toEpochMillis( year, month + 1, 0, 0, 0, 0, 0, zone );
+        return DayBoundaryCache.forZone( zone ).endOfDay( lastDay );
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * Parses String dates in any of a set of formats, detecting the format from the value rather than trying each format's
+ * parser in turn.
+ * <p>
+ * The layouts of the fixed-width numeric formats (see {@link DateValidator}) are held in a trie over character classes
+ * (a digit, or each literal character), so one scan of the value finds the formats it could be in.  Those are then
+ * checked strictly, along with any formats that are not fixed-width, in the priority order the formats were given: the
+ * value is parsed by the first format it is valid in.  So with {@link DateTimeUtils.Format#US_DATE} before
+ * {@link DateTimeUtils.Format#UK_DATE}, 01/02/2021 is the 2nd of January, but 31/01/2021 is still the 31st of January.
+ * Values that match no layout are also checked against the fixed-width formats with 'yyyy', whose values have more
+ * digits for years after 9999.
+ */
+public final class MultiPatternParser {
+
+    private static final int ASCII = 128;
+    private static final int NO_CLASS = 0;
+    private static final int NO_NODE = 0;
+    private static final int ROOT = 1;
+    private static final int[] NO_CANDIDATES = new int[ 0 ];
+
+    private final FastDateFormat[] formats;
+    private final DateValidator[] validators;
+
+    /**
+     * The class of each ASCII character that appears in a layout (all digits being '0'), or {@link #NO_CLASS}
+     */
+    private final int[] classes = new int[ ASCII ];
+    private final int classCount;
+
+    /**
+     * The child of each trie node for each class, at node * (classCount + 1) + class ({@link #NO_NODE} if none)
+     */
+    private final int[] transitions;
+
+    /**
+     * The indexes of the formats to check, in priority order, for values ending at each node (null if no layout ends
+     * there), and for values that match no layout
+     */
+    private final int[][] candidates;
+    private final int[] unmatchedCandidates;
+
+    private MultiPatternParser( final FastDateFormat[] formats ) {
+        if ( formats.length == 0 )
+        {
+            throw new IllegalArgumentException( "At least one format is needed" );
+        }
+        this.formats = formats.clone();
+        validators = new DateValidator[ formats.length ];
+        final char[][] shapes = new char[ formats.length ][];
+        int count = 0;
+        for ( int i = 0; i < formats.length; i++ )
+        {
+            validators[ i ] = DateValidator.of( formats[ i ] );
+            shapes[ i ] = validators[ i ].getShape();
+            for ( int j = 0; shapes[ i ] != null && j < shapes[ i ].length; j++ )
+            {
+                final char c = shapes[ i ][ j ];
+                if ( c >= ASCII )
+                {
+                    // Layouts with other characters are checked with those that are not fixed-width
+                    shapes[ i ] = null;
+                }
+                else if ( classes[ c ] == NO_CLASS )
+                {
+                    classes[ c ] = ++count;
+                }
+            }
+        }
+        classCount = count;
+        final int[] otherCandidates = IntStream.range( 0, formats.length ).filter( i -> shapes[ i ] == null ).toArray();
+        unmatchedCandidates = IntStream.range( 0, formats.length )
+                .filter( i -> shapes[ i ] == null || validators[ i ].hasWideYears() )
+                .toArray();
+
+        // Nodes are numbered from ROOT in the order they are added, with space for at most every layout character
+        final int maxNodes = ROOT + 1 + Arrays.stream( shapes ).mapToInt( shape -> shape == null ? 0 : shape.length )
+                .sum();
+        final int[] trie = new int[ maxNodes * ( classCount + 1 ) ];
+        final int[][] nodeCandidates = new int[ maxNodes ][];
+        int nodes = ROOT + 1;
+        for ( int i = 0; i < formats.length; i++ )
+        {
+            if ( shapes[ i ] == null )
+            {
+                continue;
+            }
+            int node = ROOT;
+            for ( final char c : shapes[ i ] )
+            {
+                final int transition = node * ( classCount + 1 ) + classes[ c ];
+                if ( trie[ transition ] == NO_NODE )
+                {
+                    trie[ transition ] = nodes++;
+                }
+                node = trie[ transition ];
+            }
+            nodeCandidates[ node ] = withCandidate( nodeCandidates[ node ] == null
+                                                    ? otherCandidates
+                                                    : nodeCandidates[ node ], i );
+        }
+        transitions = Arrays.copyOf( trie, nodes * ( classCount + 1 ) );
+        candidates = Arrays.copyOf( nodeCandidates, nodes );
+    }
+
+    /**
+     * Creates a parser of the given formats
+     *
+     * @param formats the {@link FastDateFormat}s values may be in, highest priority first
+     * @return the {@link MultiPatternParser}
+     */
+    public static MultiPatternParser of( final FastDateFormat... formats ) {
+        return new MultiPatternParser( formats );
+    }
+
+    /**
+     * Creates a parser of the given patterns, in the default zone and locale
+     *
+     * @param patterns the patterns values may be in, highest priority first
+     * @return the {@link MultiPatternParser}
+     */
+    public static MultiPatternParser of( final String... patterns ) {
+        return new MultiPatternParser( Arrays.stream( patterns )
+                .map( FastDateFormat::getInstance )
+                .toArray( FastDateFormat[]::new ) );
+    }
+
+    /**
+     * Detects the format of a String date
+     *
+     * @param value the String date
+     * @return the highest priority {@link FastDateFormat} that the value is valid in, or null if there is none
+     */
+    public FastDateFormat detect( final String value ) {
+        for ( final int candidate : candidates( value ) )
+        {
+            if ( validators[ candidate ].validate( value ) == DateValidator.Status.VALID )
+            {
+                return formats[ candidate ];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a String date with the highest priority format that it is valid in
+     *
+     * @param value the String date
+     * @return the parsed {@link Date}
+     * @throws ParseException if the value is not valid in any of the formats
+     */
+    public Date parse( final String value ) throws ParseException {
+        for ( final int candidate : candidates( value ) )
+        {
+            final Date parsedDate = validators[ candidate ].parse( value );
+            if ( parsedDate != null )
+            {
+                return parsedDate;
+            }
+        }
+        throw new ParseException( "Unparseable date: \"" + value + "\" is not in any of the formats", 0 );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * @return the indexes of the formats the value could be in, in priority order
+     */
+    private int[] candidates( final String value ) {
+        if ( value == null )
+        {
+            return NO_CANDIDATES;
+        }
+        int node = ROOT;
+        for ( int i = 0; i < value.length() && node != NO_NODE; i++ )
+        {
+            final char c = value.charAt( i );
+            final int characterClass = c >= '0' && c <= '9' ? classes[ '0' ] : c < ASCII ? classes[ c ] : NO_CLASS;
+            node = characterClass == NO_CLASS ? NO_NODE : transitions[ node * ( classCount + 1 ) + characterClass ];
+        }
+        return node == NO_NODE || candidates[ node ] == null ? unmatchedCandidates : candidates[ node ];
+    }
+
+    /**
+     * @return the sorted indexes with the given one added
+     */
+    private static int[] withCandidate( final int[] indexes, final int index ) {
+        final int[] added = Arrays.copyOf( indexes, indexes.length + 1 );
+        added[ indexes.length ] = index;
+        Arrays.sort( added );
+        return added;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * The number of reservations on each day of a fixed range of days, for checking the availability of a stay against
+ * every booking at once rather than calling {@link DateTimeUtils#isWithin} for each.
+ * <p>
+ * A reservation from a start date to an end date occupies every day from the start's local date up to and including
+ * the end's, which is the {@link DateTimeUtils#daysSpanned} days concerned by the reservation.  Dates are read in the
+ * calendar's zone, or the default zone at the time of each call if it was created without one, as
+ * {@link DateTimeUtils#toLocalDate} does.  Reservations and queries are clipped to the range of the calendar, and a
+ * reservation that ends before it starts occupies nothing.
+ * <p>
+ * The counts are held in a segment tree with lazy propagation, keeping the maximum and minimum of each node, so adding
+ * a reservation and each query is O(log n) in the number of days.  The calendar is not thread-safe.
+ */
+public final class OccupancyCalendar {
+
+    private static final int ROOT = 1;
+
+    private final TimeZone zone;
+
+    /**
+     * The epoch days of the first and last days in the calendar
+     */
+    private final long firstDay;
+    private final long lastDay;
+
+    /**
+     * The max and min occupancy of each tree node, where node 1 is the root and the children of node n are 2n and
+     * 2n + 1, and the number of reservations still to be added to everything below each node.  Leaves past the last
+     * day are never updated or queried
+     */
+    private final int[] maxes;
+    private final int[] mins;
+    private final int[] pending;
+    private final int leafCount;
+
+    private OccupancyCalendar( final TimeZone zone, final LocalDate firstDate, final LocalDate lastDate ) {
+        if ( lastDate.isBefore( firstDate ) )
+        {
+            throw new IllegalArgumentException( String.format( "Invalid range of days: %s to %s",
+                    firstDate,
+                    lastDate ) );
+        }
+        this.zone = zone;
+        firstDay = firstDate.toEpochDay();
+        lastDay = lastDate.toEpochDay();
+        leafCount = Integer.highestOneBit( Math.toIntExact( lastDay - firstDay ) * 2 + 1 );
+        maxes = new int[ leafCount * 2 ];
+        mins = new int[ leafCount * 2 ];
+        pending = new int[ leafCount * 2 ];
+    }
+
+    /**
+     * Creates an empty calendar that reads the local dates of {@link Date}s in the default zone at the time of each
+     * call, as {@link DateTimeUtils#toLocalDate} does
+     *
+     * @param firstDate the first day of the calendar
+     * @param lastDate  the last day of the calendar
+     * @return the {@link OccupancyCalendar}
+     * @throws IllegalArgumentException if the last day is before the first
+     */
+    public static OccupancyCalendar of( final LocalDate firstDate, final LocalDate lastDate ) {
+        return new OccupancyCalendar( null, firstDate, lastDate );
+    }
+
+    /**
+     * Creates an empty calendar that reads the local dates of {@link Date}s in the given zone
+     *
+     * @param zone      the {@link TimeZone} to read local dates in
+     * @param firstDate the first day of the calendar
+     * @param lastDate  the last day of the calendar
+     * @return the {@link OccupancyCalendar}
+     * @throws IllegalArgumentException if the last day is before the first
+     */
+    public static OccupancyCalendar of( final TimeZone zone, final LocalDate firstDate, final LocalDate lastDate ) {
+        return new OccupancyCalendar( ( TimeZone ) zone.clone(), firstDate, lastDate );
+    }
+
+    /**
+     * Adds a reservation on every day from the start date to the end date (inclusive)
+     *
+     * @param startDate the start {@link Date} of the reservation
+     * @param endDate   the end {@link Date} of the reservation
+     */
+    public void addReservation( final Date startDate, final Date endDate ) {
+        add( toEpochDay( startDate ), toEpochDay( endDate ), 1 );
+    }
+
+    /**
+     * Removes a reservation previously added from the start date to the end date
+     *
+     * @param startDate the start {@link Date} of the reservation
+     * @param endDate   the end {@link Date} of the reservation
+     */
+    public void removeReservation( final Date startDate, final Date endDate ) {
+        add( toEpochDay( startDate ), toEpochDay( endDate ), -1 );
+    }
+
+    /**
+     * Adds a number of reservations (or removes them, if negative) on every day from the start date to the end date
+     *
+     * @param startDate    the first day of the reservations
+     * @param endDate      the last day of the reservations
+     * @param reservations the number of reservations to add
+     */
+    public void addReservations( final LocalDate startDate, final LocalDate endDate, final int reservations ) {
+        add( startDate.toEpochDay(), endDate.toEpochDay(), reservations );
+    }
+
+    /**
+     * Retrieves the highest number of reservations on any day from the start date to the end date
+     *
+     * @param startDate the start {@link Date} of the stay
+     * @param endDate   the end {@link Date} of the stay
+     * @return the maximum occupancy, or 0 if the stay occupies no days of the calendar
+     */
+    public int maxOccupancy( final Date startDate, final Date endDate ) {
+        return maxOccupancy( toEpochDay( startDate ), toEpochDay( endDate ) );
+    }
+
+    /**
+     * Retrieves the highest number of reservations on any day from the start date to the end date
+     *
+     * @param startDate the first day of the stay
+     * @param endDate   the last day of the stay
+     * @return the maximum occupancy, or 0 if the stay occupies no days of the calendar
+     */
+    public int maxOccupancy( final LocalDate startDate, final LocalDate endDate ) {
+        return maxOccupancy( startDate.toEpochDay(), endDate.toEpochDay() );
+    }
+
+    /**
+     * Checks whether a stay fits alongside every reservation
+     *
+     * @param startDate the start {@link Date} of the stay
+     * @param endDate   the end {@link Date} of the stay
+     * @param capacity  the number of reservations allowed on each day
+     * @return TRUE if every day of the stay has fewer reservations than the capacity
+     */
+    public boolean isAvailable( final Date startDate, final Date endDate, final int capacity ) {
+        return maxOccupancy( startDate, endDate ) < capacity;
+    }
+
+    /**
+     * Finds the first day, on or after the given one, with fewer reservations than the capacity
+     *
+     * @param fromDate the first day to check
+     * @param capacity the number of reservations allowed on each day
+     * @return the first day with capacity, or null if there is none up to the last day of the calendar
+     */
+    public LocalDate firstDayWithCapacity( final LocalDate fromDate, final int capacity ) {
+        final long fromDay = Math.max( fromDate.toEpochDay(), firstDay );
+        if ( fromDay > lastDay )
+        {
+            return null;
+        }
+        final int found = firstBelow( ROOT, 0, leafCount - 1, ( int ) ( fromDay - firstDay ), capacity );
+        return found < 0 || found > lastDay - firstDay ? null : LocalDate.ofEpochDay( firstDay + found );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    private void add( final long startDay, final long endDay, final int reservations ) {
+        final long from = Math.max( startDay, firstDay );
+        final long to = Math.min( endDay, lastDay );
+        if ( from <= to )
+        {
+            add( ROOT, 0, leafCount - 1, ( int ) ( from - firstDay ), ( int ) ( to - firstDay ), reservations );
+        }
+    }
+
+    private int maxOccupancy( final long startDay, final long endDay ) {
+        final long from = Math.max( startDay, firstDay );
+        final long to = Math.min( endDay, lastDay );
+        return from > to ? 0 : max( ROOT, 0, leafCount - 1, ( int ) ( from - firstDay ), ( int ) ( to - firstDay ) );
+    }
+
+    /**
+     * Adds the reservations to the days [from, to] below the node, which covers [nodeFrom, nodeTo]
+     */
+    private void add( final int node,
+                      final int nodeFrom,
+                      final int nodeTo,
+                      final int from,
+                      final int to,
+                      final int reservations ) {
+        if ( to < nodeFrom || from > nodeTo )
+        {
+            return;
+        }
+        if ( from <= nodeFrom && nodeTo <= to )
+        {
+            apply( node, reservations );
+            return;
+        }
+        push( node );
+        final int middle = ( nodeFrom + nodeTo ) >>> 1;
+        add( 2 * node, nodeFrom, middle, from, to, reservations );
+        add( 2 * node + 1, middle + 1, nodeTo, from, to, reservations );
+        maxes[ node ] = Math.max( maxes[ 2 * node ], maxes[ 2 * node + 1 ] );
+        mins[ node ] = Math.min( mins[ 2 * node ], mins[ 2 * node + 1 ] );
+    }
+
+    /**
+     * @return the max occupancy of the days [from, to] below the node, which covers [nodeFrom, nodeTo]
+     */
+    private int max( final int node, final int nodeFrom, final int nodeTo, final int from, final int to ) {
+        if ( from <= nodeFrom && nodeTo <= to )
+        {
+            return maxes[ node ];
+        }
+        push( node );
+        final int middle = ( nodeFrom + nodeTo ) >>> 1;
+        if ( to <= middle )
+        {
+            return max( 2 * node, nodeFrom, middle, from, to );
+        }
+        if ( from > middle )
+        {
+            return max( 2 * node + 1, middle + 1, nodeTo, from, to );
+        }
+        return Math.max( max( 2 * node, nodeFrom, middle, from, to ),
+                max( 2 * node + 1, middle + 1, nodeTo, from, to ) );
+    }
+
+    /**
+     * @return the first day from 'from' below the node, which covers [nodeFrom, nodeTo], whose occupancy is below the
+     * capacity, or -1 if there is none
+     */
+    private int firstBelow( final int node, final int nodeFrom, final int nodeTo, final int from, final int capacity ) {
+        if ( nodeTo < from || mins[ node ] >= capacity )
+        {
+            return -1;
+        }
+        if ( nodeFrom == nodeTo )
+        {
+            return nodeFrom;
+        }
+        push( node );
+        final int middle = ( nodeFrom + nodeTo ) >>> 1;
+        final int found = firstBelow( 2 * node, nodeFrom, middle, from, capacity );
+        return found >= 0 ? found : firstBelow( 2 * node + 1, middle + 1, nodeTo, from, capacity );
+    }
+
+    private void apply( final int node, final int reservations ) {
+        maxes[ node ] += reservations;
+        mins[ node ] += reservations;
+        pending[ node ] += reservations;
+    }
+
+    /**
+     * Passes the reservations still to be added below the node down to its children
+     */
+    private void push( final int node ) {
+        if ( pending[ node ] != 0 )
+        {
+            apply( 2 * node, pending[ node ] );
+            apply( 2 * node + 1, pending[ node ] );
+            pending[ node ] = 0;
+        }
+    }
+
+    private long toEpochDay( final Date date ) {
+        return EpochTimeUtils.toEpochDay( date.getTime(), zone != null ? zone : TimeZone.getDefault() );
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * The weekly opening hours of a shop in its own zone, for checking many shops against an instant without building
+ * dummy {@link java.util.Date}s or {@link Calendar}s.
+ * <p>
+ * The hours are held as the sorted minutes of the (local, Sunday-based) week at which the shop opens and closes, and
+ * the zone as {@link CompiledZoneRules}, so {@link #isOpen}, {@link #nextOpening} and {@link #nextClosing} are a few
+ * binary searches with no allocation.  Local times are taken with the offset at each instant, so a shop opening at
+ * 09:00 opens at 09:00 local time all year round; when the clocks go forward into (or back out of) its hours, it opens
+ * (or closes) at the moment of the change.
+ */
+public final class OpeningHours {
+
+    /**
+     * Returned by {@link #nextOpening} and {@link #nextClosing} when the shop never opens or never closes
+     */
+    public static final long NEVER = Long.MAX_VALUE;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final long MILLIS_PER_MINUTE = 60000L;
+    private static final long MILLIS_PER_WEEK = MINUTES_PER_WEEK * MILLIS_PER_MINUTE;
+
+    /**
+     * The epoch (1970-01-01) was a Thursday, four days into a Sunday-based week
+     */
+    private static final long EPOCH_MINUTE_OF_WEEK = 4 * MINUTES_PER_DAY;
+
+    /**
+     * How far ahead to look for an opening or closing.  A week of local time, plus the zone changes within it
+     */
+    private static final long SEARCH_MILLIS = 2 * MILLIS_PER_WEEK;
+
+    private final CompiledZoneRules rules;
+
+    /**
+     * The minutes of the week at which the shop opens, closes, and does either, with whether it is open at the end of
+     * the week
+     */
+    private final int[] openings;
+    private final int[] closings;
+    private final int[] changes;
+    private final boolean openAtEndOfWeek;
+
+    private OpeningHours( final CompiledZoneRules rules, final boolean[] openMinutes ) {
+        this.rules = rules;
+        openAtEndOfWeek = openMinutes[ MINUTES_PER_WEEK - 1 ];
+        int[] changeMinutes = new int[ 16 ];
+        int count = 0;
+        boolean open = openAtEndOfWeek;
+        for ( int minute = 0; minute < MINUTES_PER_WEEK; minute++ )
+        {
+            if ( openMinutes[ minute ] != open )
+            {
+                if ( count == changeMinutes.length )
+                {
+                    changeMinutes = Arrays.copyOf( changeMinutes, count * 2 );
+                }
+                changeMinutes[ count++ ] = minute;
+                open = openMinutes[ minute ];
+            }
+        }
+        changes = Arrays.copyOf( changeMinutes, count );
+        openings = Arrays.stream( changes ).filter( minute -> openMinutes[ minute ] ).toArray();
+        closings = Arrays.stream( changes ).filter( minute -> !openMinutes[ minute ] ).toArray();
+    }
+
+    /**
+     * Creates the opening hours of a shop from its daily periods of opening.  Period i starts on daysOfWeek[i] at
+     * opens[i] and ends at closes[i], both in minutes since midnight (as {@link DateTimeUtils#convertToMinutes}).  A
+     * period that closes at or before its opening time closes on the following day, so 22:00 to 02:00 is overnight and
+     * 00:00 to 00:00 is the whole day.  Periods may overlap.
+     *
+     * @param shopTimeZone the String TimeZone of the shop (empty for the default zone), as
+     *                     {@link DateTimeUtils#getTimeZoneOffsetMillis(String, long)}
+     * @param daysOfWeek   the day of the week each period opens, {@link Calendar#SUNDAY} to {@link Calendar#SATURDAY}
+     * @param opens        the minute of the day each period opens, from 0 to 1439
+     * @param closes       the minute of the day each period closes, from 0 to 1440
+     * @return the {@link OpeningHours}
+     * @throws IllegalArgumentException if the arrays are of different lengths, or any value is out of range
+     */
+    public static OpeningHours of( final String shopTimeZone,
+                                   final int[] daysOfWeek,
+                                   final int[] opens,
+                                   final int[] closes ) {
+        if ( daysOfWeek.length != opens.length || opens.length != closes.length )
+        {
+            throw new IllegalArgumentException( String.format( "Got %d days, %d opening times and %d closing times",
+                    daysOfWeek.length,
+                    opens.length,
+                    closes.length ) );
+        }
+        final boolean[] openMinutes = new boolean[ MINUTES_PER_WEEK ];
+        for ( int i = 0; i < daysOfWeek.length; i++ )
+        {
+            if ( daysOfWeek[ i ] < Calendar.SUNDAY
+                 || daysOfWeek[ i ] > Calendar.SATURDAY
+                 || opens[ i ] < 0
+                 || opens[ i ] >= MINUTES_PER_DAY
+                 || closes[ i ] < 0
+                 || closes[ i ] > MINUTES_PER_DAY )
+            {
+                throw new IllegalArgumentException( String.format( "Invalid opening period: day %d, %d to %d",
+                        daysOfWeek[ i ],
+                        opens[ i ],
+                        closes[ i ] ) );
+            }
+            final int open = ( daysOfWeek[ i ] - Calendar.SUNDAY ) * MINUTES_PER_DAY + opens[ i ];
+            final int close = open + closes[ i ] - opens[ i ] + ( closes[ i ] <= opens[ i ] ? MINUTES_PER_DAY : 0 );
+            for ( int minute = open; minute < close; minute++ )
+            {
+                openMinutes[ minute % MINUTES_PER_WEEK ] = true;
+            }
+        }
+        final String zoneId = shopTimeZone == null || shopTimeZone.isEmpty()
+                              ? TimeZone.getDefault().getID()
+                              : shopTimeZone;
+        return new OpeningHours( CompiledZoneRules.forId( zoneId ), openMinutes );
+    }
+
+    /**
+     * @return the ID of the shop's {@link TimeZone}
+     */
+    public String getZoneId() {
+        return rules.getId();
+    }
+
+    /**
+     * Checks whether the shop is open at the given instant
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return TRUE if the local time in the shop is within its opening hours
+     */
+    public boolean isOpen( final long epochMillis ) {
+        return isOpenAtLocal( epochMillis + rules.getOffset( epochMillis ) );
+    }
+
+    /**
+     * Finds when the shop next opens
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the first instant after the given one at which the shop opens, or {@link #NEVER}
+     */
+    public long nextOpening( final long epochMillis ) {
+        return nextChange( epochMillis, openings, true );
+    }
+
+    /**
+     * Finds when the shop next closes
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the first instant after the given one at which the shop closes, or {@link #NEVER}
+     */
+    public long nextClosing( final long epochMillis ) {
+        return nextChange( epochMillis, closings, false );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * Finds the first instant after the given one at which the shop becomes open (or closed), through each period of
+     * constant offset in turn: either at one of the (local) minutes it changes, or where the offset changes into it
+     */
+    private long nextChange( final long epochMillis, final int[] changeMinutes, final boolean open ) {
+        if ( changeMinutes.length == 0 )
+        {
+            return NEVER;
+        }
+        long from = epochMillis;
+        while ( from - epochMillis <= SEARCH_MILLIS )
+        {
+            final int offset = rules.getOffset( from );
+            final long until = rules.nextTransition( from );
+            final long change = nextLocalChange( from + offset, changeMinutes ) - offset;
+            if ( change < until )
+            {
+                return change;
+            }
+            if ( isOpen( until ) == open && isOpenAtLocal( until - 1 + offset ) != open )
+            {
+                return until;
+            }
+            from = until;
+        }
+        return NEVER;
+    }
+
+    /**
+     * @return the first local time after the given one at one of the minutes of the week
+     */
+    private static long nextLocalChange( final long localMillis, final int[] changeMinutes ) {
+        final long millisOfWeek = Math.floorMod( localMillis + EPOCH_MINUTE_OF_WEEK * MILLIS_PER_MINUTE,
+                MILLIS_PER_WEEK );
+        final long startOfWeek = localMillis - millisOfWeek;
+        final int next = upperBound( changeMinutes, ( int ) ( millisOfWeek / MILLIS_PER_MINUTE ) );
+        return next < changeMinutes.length
+               ? startOfWeek + changeMinutes[ next ] * MILLIS_PER_MINUTE
+               : startOfWeek + MILLIS_PER_WEEK + changeMinutes[ 0 ] * MILLIS_PER_MINUTE;
+    }
+
+    private boolean isOpenAtLocal( final long localMillis ) {
+        final int minuteOfWeek = Math.floorMod( Math.floorDiv( localMillis, MILLIS_PER_MINUTE ) + EPOCH_MINUTE_OF_WEEK,
+                                                MINUTES_PER_WEEK );
+        // The shop is open at the end of the week, changing at each minute up to this one
+        return openAtEndOfWeek ^ ( upperBound( changes, minuteOfWeek ) & 1 ) == 1;
+    }
+
+    /**
+     * @return the number of sorted values that are less than or equal to the key
+     */
+    private static int upperBound( final int[] sorted, final int key ) {
+        int low = 0;
+        int high = sorted.length;
+        while ( low < high )
+        {
+            final int middle = ( low + high ) >>> 1;
+            if ( sorted[ middle ] <= key )
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
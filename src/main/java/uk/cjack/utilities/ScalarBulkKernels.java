@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+/**
+ * The scalar loops of the {@link BulkKernels}, each over the elements from (inclusive) and to (exclusive) the given
+ * indexes.  These are the kernels on Java 11, and the fallback of the Vector API kernels on Java 17 and later.
+ */
+abstract class ScalarBulkKernels {
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private static final int MILLIS_PER_HOUR = 3600000;
+    private static final int MILLIS_PER_MINUTE = 60000;
+    private static final long DAYS_PER_ERA = 146097L;
+    private static final long DAYS_0000_TO_1970 = 719468L;
+
+    /**
+     * Decomposes Gregorian instants that share one offset into their local year, month (January = 0), day of the
+     * month, hour of the day and minutes of the hour
+     */
+    static void decompose( final long[] epochMillis,
+                           final int from,
+                           final int to,
+                           final int offset,
+                           final int[] years,
+                           final int[] months,
+                           final int[] days,
+                           final int[] hours,
+                           final int[] minutes ) {
+        for ( int i = from; i < to; i++ )
+        {
+            final long localMillis = epochMillis[ i ] + offset;
+            final long epochDay = Math.floorDiv( localMillis, MILLIS_PER_DAY );
+            final int millisOfDay = ( int ) ( localMillis - epochDay * MILLIS_PER_DAY );
+            hours[ i ] = millisOfDay / MILLIS_PER_HOUR;
+            minutes[ i ] = millisOfDay / MILLIS_PER_MINUTE % 60;
+
+            // As EpochTimeUtils, in 400-year eras of years starting in March, within which int division is enough
+            final long era = Math.floorDiv( epochDay + DAYS_0000_TO_1970, DAYS_PER_ERA );
+            final int dayOfEra = ( int ) ( epochDay + DAYS_0000_TO_1970 - era * DAYS_PER_ERA );
+            final int yearOfEra = ( dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096 ) / 365;
+            final int dayOfYear = dayOfEra - ( 365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100 );
+            final int marchBasedMonth = ( 5 * dayOfYear + 2 ) / 153;
+            years[ i ] = ( int ) ( yearOfEra + era * 400 + ( marchBasedMonth >= 10 ? 1 : 0 ) );
+            months[ i ] = marchBasedMonth < 10 ? marchBasedMonth + 2 : marchBasedMonth - 10;
+            days[ i ] = dayOfYear - ( 153 * marchBasedMonth + 2 ) / 5 + 1;
+        }
+    }
+
+    /**
+     * Calculates the number of minutes between pairs of instants, as {@link DateTimeUtils#minutesBetween}
+     */
+    static void minutesBetween( final long[] startMillis,
+                                final long[] endMillis,
+                                final int from,
+                                final int to,
+                                final int[] results ) {
+        for ( int i = from; i < to; i++ )
+        {
+            results[ i ] = ( int ) ( ( endMillis[ i ] - startMillis[ i ] ) / MILLIS_PER_MINUTE );
+        }
+    }
+
+    /**
+     * Calculates the exact number of days between pairs of instants, as {@link DateTimeUtils#daysBetweenExact}
+     */
+    static void daysBetweenExact( final long[] startMillis,
+                                  final long[] endMillis,
+                                  final int from,
+                                  final int to,
+                                  final double[] results ) {
+        for ( int i = from; i < to; i++ )
+        {
+            results[ i ] = DateTimeUtils.daysBetweenExact( startMillis[ i ], endMillis[ i ] );
+        }
+    }
+
+    /**
+     * No instantiation
+     */
+    private ScalarBulkKernels() {
+    }
+}
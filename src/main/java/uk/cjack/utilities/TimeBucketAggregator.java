@@ -0,0 +1,366 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import java.time.temporal.ChronoUnit;
+import java.util.TimeZone;
+import java.util.stream.LongStream;
+
+/**
+ * Counts (and sums values of) events by the minute, hour, day, week, month or year they fall in, over a fixed range of
+ * time, into dense primitive arrays rather than a map keyed by truncated {@link java.util.Date}s.
+ * <p>
+ * Events are bucketed by their local time in the aggregator's zone, so each day bucket runs from
+ * {@link DateTimeUtils.TimeEvent#START_OF_DAY} to {@link DateTimeUtils.TimeEvent#END_OF_DAY} (as
+ * {@link DateTimeUtils#setTimeEvent}), each month bucket between the {@link DateTimeUtils#setMonthBoundaries}
+ * boundaries, and weeks run from Sunday to Saturday.  Minute and hour buckets are local too, so when the clocks go back
+ * the repeated hour falls in one bucket (starting at its first occurrence), and when they go forward the skipped
+ * hour's bucket is empty.  Events outside the range are not added, but are counted by {@link #getDropped}.
+ * <p>
+ * An aggregator is not thread-safe: parallel workers should each fill their own (see {@link #emptyCopy}) and
+ * {@link #merge} them, as {@link #aggregate} does for a parallel {@link LongStream}.
+ */
+public final class TimeBucketAggregator {
+
+    private static final long MILLIS_PER_MINUTE = 60000L;
+    private static final long MILLIS_PER_HOUR = 3600000L;
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    /**
+     * Longer than any offset transition, used to look for the first occurrence of a repeated wall-clock time
+     */
+    private static final long MAX_TRANSITION_MILLIS = 26 * MILLIS_PER_HOUR;
+
+    /**
+     * The epoch (1970-01-01) was a Thursday, four days into a Sunday-based week
+     */
+    private static final long EPOCH_DAY_OF_WEEK = 4;
+
+    private final TimeZone zone;
+    private final ChronoUnit granularity;
+    private final long fromMillis;
+    private final long toMillis;
+
+    /**
+     * The key (see {@link #key}) of the first bucket, and the count and sum of each bucket
+     */
+    private final long firstKey;
+    private final long[] counts;
+    private final long[] sums;
+    private long dropped;
+
+    private TimeBucketAggregator( final TimeZone zone,
+                                  final ChronoUnit granularity,
+                                  final long fromMillis,
+                                  final long toMillis ) {
+        switch ( granularity )
+        {
+            case MINUTES:
+            case HOURS:
+            case DAYS:
+            case WEEKS:
+            case MONTHS:
+            case YEARS:
+                break;
+            default:
+                throw new IllegalArgumentException( "Unsupported granularity: " + granularity );
+        }
+        this.zone = zone;
+        this.granularity = granularity;
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        firstKey = key( fromMillis );
+        final long size = key( toMillis ) - firstKey + 1;
+        if ( toMillis < fromMillis || size > Integer.MAX_VALUE )
+        {
+            throw new IllegalArgumentException( String.format( "Invalid range of %s: %d to %d",
+                    granularity,
+                    fromMillis,
+                    toMillis ) );
+        }
+        counts = new long[ ( int ) size ];
+        sums = new long[ ( int ) size ];
+    }
+
+    /**
+     * Creates an empty aggregator
+     *
+     * @param zone        the {@link TimeZone} to bucket local times in
+     * @param granularity the size of each bucket: {@link ChronoUnit#MINUTES}, {@link ChronoUnit#HOURS},
+     *                    {@link ChronoUnit#DAYS}, {@link ChronoUnit#WEEKS}, {@link ChronoUnit#MONTHS} or
+     *                    {@link ChronoUnit#YEARS}
+     * @param fromMillis  the first instant to aggregate, in milliseconds since the epoch
+     * @param toMillis    the last instant to aggregate, in milliseconds since the epoch
+     * @return the {@link TimeBucketAggregator}, with a bucket for every period from the one containing fromMillis to
+     * the one containing toMillis
+     * @throws IllegalArgumentException if the granularity is not supported, or the range is not valid
+     */
+    public static TimeBucketAggregator of( final TimeZone zone,
+                                           final ChronoUnit granularity,
+                                           final long fromMillis,
+                                           final long toMillis ) {
+        return new TimeBucketAggregator( ( TimeZone ) zone.clone(), granularity, fromMillis, toMillis );
+    }
+
+    /**
+     * Counts a stream of instants, in parallel if the stream is parallel
+     *
+     * @param epochMillis the instants in milliseconds since the epoch
+     * @param zone        the {@link TimeZone} to bucket local times in
+     * @param granularity the size of each bucket (see {@link #of})
+     * @param fromMillis  the first instant to aggregate, in milliseconds since the epoch
+     * @param toMillis    the last instant to aggregate, in milliseconds since the epoch
+     * @return the {@link TimeBucketAggregator} of the instants
+     */
+    public static TimeBucketAggregator aggregate( final LongStream epochMillis,
+                                                  final TimeZone zone,
+                                                  final ChronoUnit granularity,
+                                                  final long fromMillis,
+                                                  final long toMillis ) {
+        final TimeBucketAggregator empty = of( zone, granularity, fromMillis, toMillis );
+        return epochMillis.collect( empty::emptyCopy, TimeBucketAggregator::add, TimeBucketAggregator::merge );
+    }
+
+    /**
+     * @return a new, empty aggregator with the same zone, granularity and range as this one
+     */
+    public TimeBucketAggregator emptyCopy() {
+        return new TimeBucketAggregator( zone, granularity, fromMillis, toMillis );
+    }
+
+    /**
+     * Counts an event in its bucket
+     *
+     * @param epochMillis the instant of the event in milliseconds since the epoch
+     */
+    public void add( final long epochMillis ) {
+        add( epochMillis, 0 );
+    }
+
+    /**
+     * Counts an event in its bucket, and adds its value to the bucket's sum
+     *
+     * @param epochMillis the instant of the event in milliseconds since the epoch
+     * @param value       the value of the event
+     */
+    public void add( final long epochMillis, final long value ) {
+        final int bucket = bucketOf( epochMillis );
+        if ( bucket < 0 )
+        {
+            dropped++;
+            return;
+        }
+        counts[ bucket ]++;
+        sums[ bucket ] += value;
+    }
+
+    /**
+     * Counts each event in its bucket
+     *
+     * @param epochMillis the instants of the events in milliseconds since the epoch
+     */
+    public void addAll( final long[] epochMillis ) {
+        for ( final long instant : epochMillis )
+        {
+            add( instant, 0 );
+        }
+    }
+
+    /**
+     * Counts each event in its bucket, and adds its value to the bucket's sum
+     *
+     * @param epochMillis the instants of the events in milliseconds since the epoch
+     * @param values      the value of each event
+     */
+    public void addAll( final long[] epochMillis, final long[] values ) {
+        if ( epochMillis.length != values.length )
+        {
+            throw new IllegalArgumentException( String.format( "Got %d instants but %d values",
+                    epochMillis.length,
+                    values.length ) );
+        }
+        for ( int i = 0; i < epochMillis.length; i++ )
+        {
+            add( epochMillis[ i ], values[ i ] );
+        }
+    }
+
+    /**
+     * Adds the counts and sums of another aggregator (e.g. a parallel worker's) into this one
+     *
+     * @param other the {@link TimeBucketAggregator} to merge, with the same zone, granularity and range
+     * @throws IllegalArgumentException if the other aggregator's buckets are not the same
+     */
+    public void merge( final TimeBucketAggregator other ) {
+        if ( !zone.hasSameRules( other.zone )
+             || granularity != other.granularity
+             || fromMillis != other.fromMillis
+             || toMillis != other.toMillis )
+        {
+            throw new IllegalArgumentException( "Cannot merge aggregators with different buckets" );
+        }
+        for ( int i = 0; i < counts.length; i++ )
+        {
+            counts[ i ] += other.counts[ i ];
+            sums[ i ] += other.sums[ i ];
+        }
+        dropped += other.dropped;
+    }
+
+    /**
+     * Retrieves the bucket of an instant
+     *
+     * @param epochMillis the instant in milliseconds since the epoch
+     * @return the index of the bucket, or -1 if the instant is outside the range of the aggregator
+     */
+    public int bucketOf( final long epochMillis ) {
+        if ( epochMillis < fromMillis || epochMillis > toMillis )
+        {
+            return -1;
+        }
+        return ( int ) ( key( epochMillis ) - firstKey );
+    }
+
+    /**
+     * @return the number of buckets
+     */
+    public int size() {
+        return counts.length;
+    }
+
+    /**
+     * @param bucket the index of the bucket
+     * @return the number of events in the bucket
+     */
+    public long getCount( final int bucket ) {
+        return counts[ bucket ];
+    }
+
+    /**
+     * @param bucket the index of the bucket
+     * @return the sum of the values of the events in the bucket
+     */
+    public long getSum( final int bucket ) {
+        return sums[ bucket ];
+    }
+
+    /**
+     * @return a copy of the number of events in each bucket
+     */
+    public long[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * @return a copy of the sum of the values of the events in each bucket
+     */
+    public long[] getSums() {
+        return sums.clone();
+    }
+
+    /**
+     * @return the number of events that were outside the range of the aggregator
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Retrieves the first millisecond of a bucket's period (which may be before the start of the range)
+     *
+     * @param bucket the index of the bucket
+     * @return the start of the period in milliseconds since the epoch
+     */
+    public long getBucketStart( final int bucket ) {
+        final long key = firstKey + checkBucket( bucket );
+        switch ( granularity )
+        {
+            case MINUTES:
+                return firstOccurrence( key * MILLIS_PER_MINUTE );
+            case HOURS:
+                return firstOccurrence( key * MILLIS_PER_HOUR );
+            case DAYS:
+                return DayBoundaryCache.forZone( zone ).startOfEpochDay( key );
+            case WEEKS:
+                return DayBoundaryCache.forZone( zone ).startOfEpochDay( key * 7 - EPOCH_DAY_OF_WEEK );
+            case MONTHS:
+                return MonthBoundaryTable.forZone( zone ).startOfMonth( ( int ) Math.floorDiv( key, 12 ),
+                        Math.floorMod( key, 12 ) );
+            default:
+                return MonthBoundaryTable.forZone( zone ).startOfMonth( ( int ) key, 0 );
+        }
+    }
+
+    /**
+     * Retrieves the last millisecond of a bucket's period (which may be after the end of the range).  Periods of minutes
+     * and hours end just before the next one starts, so one whose local times the clocks skip ends before it starts
+     *
+     * @param bucket the index of the bucket
+     * @return the end of the period in milliseconds since the epoch
+     */
+    public long getBucketEnd( final int bucket ) {
+        final long key = firstKey + checkBucket( bucket );
+        switch ( granularity )
+        {
+            case MINUTES:
+                return firstOccurrence( ( key + 1 ) * MILLIS_PER_MINUTE ) - 1;
+            case HOURS:
+                return firstOccurrence( ( key + 1 ) * MILLIS_PER_HOUR ) - 1;
+            case DAYS:
+                return DayBoundaryCache.forZone( zone ).endOfEpochDay( key );
+            case WEEKS:
+                return DayBoundaryCache.forZone( zone ).endOfEpochDay( key * 7 - EPOCH_DAY_OF_WEEK + 6 );
+            case MONTHS:
+                return MonthBoundaryTable.forZone( zone ).endOfMonth( ( int ) Math.floorDiv( key, 12 ),
+                        Math.floorMod( key, 12 ) );
+            default:
+                return MonthBoundaryTable.forZone( zone ).endOfMonth( ( int ) key, 11 );
+        }
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * @return the local minute, hour, epoch day, week, month (year * 12 + month) or year of the instant
+     */
+    private long key( final long epochMillis ) {
+        final long localMillis = EpochTimeUtils.toLocalMillis( epochMillis, zone );
+        switch ( granularity )
+        {
+            case MINUTES:
+                return Math.floorDiv( localMillis, MILLIS_PER_MINUTE );
+            case HOURS:
+                return Math.floorDiv( localMillis, MILLIS_PER_HOUR );
+            case DAYS:
+                return Math.floorDiv( localMillis, MILLIS_PER_DAY );
+            case WEEKS:
+                return Math.floorDiv( Math.floorDiv( localMillis, MILLIS_PER_DAY ) + EPOCH_DAY_OF_WEEK, 7 );
+            case MONTHS:
+                final long epochDay = Math.floorDiv( localMillis, MILLIS_PER_DAY );
+                return EpochTimeUtils.yearOfEpochDay( epochDay ) * 12L + EpochTimeUtils.monthOfEpochDay( epochDay );
+            default:
+                return EpochTimeUtils.yearOfEpochDay( Math.floorDiv( localMillis, MILLIS_PER_DAY ) );
+        }
+    }
+
+    /**
+     * @return the first instant at the local time, which {@link EpochTimeUtils#fromLocalMillis} resolves to the later
+     * instant if the clocks go back over it
+     */
+    private long firstOccurrence( final long localMillis ) {
+        final long later = EpochTimeUtils.fromLocalMillis( localMillis, zone );
+        final long earlier = localMillis - zone.getOffset( later - MAX_TRANSITION_MILLIS );
+        return earlier < later && EpochTimeUtils.toLocalMillis( earlier, zone ) == localMillis ? earlier : later;
+    }
+
+    private int checkBucket( final int bucket ) {
+        if ( bucket < 0 || bucket >= counts.length )
+        {
+            throw new IndexOutOfBoundsException( "Bucket " + bucket + " of " + counts.length );
+        }
+        return bucket;
+    }
+}
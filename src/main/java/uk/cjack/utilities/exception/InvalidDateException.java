@@ -16,4 +16,15 @@ public class InvalidDateException extends Exception {
     public InvalidDateException( final String message ) {
         super( message );
     }
+
+    /**
+     * Creates an exception related to an invalid Date, optionally without a stack trace (which is the main cost of
+     * creating the exception, where invalid dates are frequent)
+     *
+     * @param message            the exception message
+     * @param writableStackTrace FALSE to leave the stack trace empty
+     */
+    public InvalidDateException( final String message, final boolean writableStackTrace ) {
+        super( message, null, false, writableStackTrace );
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsSink} that keeps per-{@link Operation} counts of calls, failures and cache misses, and a
+ * {@link LatencyHistogram} of call durations, in memory
+ */
+public final class CountingMetricsSink implements MetricsSink {
+
+    private final LongAdder[] calls = adders();
+    private final LongAdder[] failures = adders();
+    private final LongAdder[] cacheMisses = adders();
+    private final LatencyHistogram[] latencies = new LatencyHistogram[ Operation.values().length ];
+
+    public CountingMetricsSink() {
+        for ( int i = 0; i < latencies.length; i++ )
+        {
+            latencies[ i ] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public void recordCall( final Operation operation, final long durationNanos, final boolean failed ) {
+        calls[ operation.ordinal() ].increment();
+        if ( failed )
+        {
+            failures[ operation.ordinal() ].increment();
+        }
+        latencies[ operation.ordinal() ].record( durationNanos );
+    }
+
+    @Override
+    public void recordCacheMiss( final Operation operation ) {
+        cacheMisses[ operation.ordinal() ].increment();
+    }
+
+    /**
+     * @param operation the {@link Operation}
+     * @return the number of calls of the operation
+     */
+    public long getCalls( final Operation operation ) {
+        return calls[ operation.ordinal() ].sum();
+    }
+
+    /**
+     * @param operation the {@link Operation}
+     * @return the number of calls of the operation that failed to parse their input
+     */
+    public long getFailures( final Operation operation ) {
+        return failures[ operation.ordinal() ].sum();
+    }
+
+    /**
+     * @param operation the {@link Operation}
+     * @return the number of calls of the operation that missed its cache
+     */
+    public long getCacheMisses( final Operation operation ) {
+        return cacheMisses[ operation.ordinal() ].sum();
+    }
+
+    /**
+     * @param operation the {@link Operation}
+     * @return the {@link LatencyHistogram} of the durations of calls of the operation
+     */
+    public LatencyHistogram getLatencies( final Operation operation ) {
+        return latencies[ operation.ordinal() ];
+    }
+
+    private static LongAdder[] adders() {
+        final LongAdder[] adders = new LongAdder[ Operation.values().length ];
+        for ( int i = 0; i < adders.length; i++ )
+        {
+            adders[ i ] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities.metrics;
+
+/**
+ * Optional instrumentation of the {@link uk.cjack.utilities.DateTimeUtils} hot paths, enabled by starting the JVM
+ * with -D{@value #PROPERTY}=true.
+ * <p>
+ * When enabled, each call of an {@link Operation} is passed to the {@link MetricsSink} (a {@link CountingMetricsSink}
+ * unless {@link #setSink} is called) and committed as a JFR event named {@value DateTimeOperationEvent#NAME}.  When
+ * disabled, the instrumented methods check {@link #ENABLED} and do nothing else, which the JIT removes entirely.
+ */
+public abstract class DateTimeMetrics {
+
+    public static final String PROPERTY = "uk.cjack.utilities.metrics";
+
+    /**
+     * Whether metrics are recorded, fixed when the class is loaded
+     */
+    public static final boolean ENABLED = Boolean.getBoolean( PROPERTY );
+
+    private static volatile MetricsSink sink = new CountingMetricsSink();
+
+    /**
+     * @return the {@link MetricsSink} metrics are passed to
+     */
+    public static MetricsSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Replaces the {@link MetricsSink} metrics are passed to
+     *
+     * @param sinkToSet the {@link MetricsSink} to use
+     */
+    public static void setSink( final MetricsSink sinkToSet ) {
+        sink = sinkToSet;
+    }
+
+    /**
+     * Records a call of an operation that started at the given {@link System#nanoTime()}
+     *
+     * @param operation  the {@link Operation} called
+     * @param startNanos the {@link System#nanoTime()} when the call started
+     * @param failed     TRUE if the call failed to parse its input
+     */
+    public static void recordCall( final Operation operation, final long startNanos, final boolean failed ) {
+        final long durationNanos = System.nanoTime() - startNanos;
+        sink.recordCall( operation, durationNanos, failed );
+
+        final DateTimeOperationEvent event = new DateTimeOperationEvent();
+        if ( event.isEnabled() )
+        {
+            event.operation = operation.name();
+            event.durationNanos = durationNanos;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a call of an operation that missed its cache
+     *
+     * @param operation the {@link Operation} called
+     */
+    public static void recordCacheMiss( final Operation operation ) {
+        sink.recordCacheMiss( operation );
+
+        final DateTimeOperationEvent event = new DateTimeOperationEvent();
+        if ( event.isEnabled() )
+        {
+            event.operation = operation.name();
+            event.cacheMiss = true;
+            event.commit();
+        }
+    }
+
+    /**
+     * No instantiation
+     */
+    private DateTimeMetrics() {
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The JFR event of a call (or cache miss) of an instrumented operation, committed when {@link DateTimeMetrics#ENABLED}
+ * and a recording has the event enabled
+ */
+@Name( DateTimeOperationEvent.NAME )
+@Label( "Date Time Operation" )
+@Category( { "uk.cjack", "Date Time" } )
+@Description( "A call of an instrumented DateTimeUtils operation" )
+@StackTrace( false )
+final class DateTimeOperationEvent extends Event {
+
+    static final String NAME = "uk.cjack.utilities.DateTimeOperation";
+
+    @Label( "Operation" )
+    String operation;
+
+    @Label( "Duration" )
+    @Timespan( Timespan.NANOSECONDS )
+    long durationNanos;
+
+    @Label( "Failed" )
+    boolean failed;
+
+    @Label( "Cache Miss" )
+    boolean cacheMiss;
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of durations in power-of-two buckets of nanoseconds: bucket 0 holds durations of 0ns, and
+ * bucket n holds durations from 2^(n-1) to 2^n - 1 nanoseconds
+ */
+public final class LatencyHistogram {
+
+    public static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] counts = new LongAdder[ BUCKETS ];
+
+    public LatencyHistogram() {
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            counts[ i ] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration
+     *
+     * @param durationNanos the duration in nanoseconds (negative durations are recorded as 0)
+     */
+    public void record( final long durationNanos ) {
+        counts[ bucketOf( durationNanos ) ].increment();
+    }
+
+    /**
+     * @param bucket the index of the bucket
+     * @return the number of durations recorded in the bucket
+     */
+    public long getCount( final int bucket ) {
+        return counts[ bucket ].sum();
+    }
+
+    /**
+     * @return the number of durations recorded
+     */
+    public long getCount() {
+        long count = 0;
+        for ( final LongAdder bucketCount : counts )
+        {
+            count += bucketCount.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves an upper bound of a percentile of the durations
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the longest duration of the bucket holding the percentile, in nanoseconds, or 0 if nothing is recorded
+     */
+    public long getPercentile( final double percentile ) {
+        final long[] snapshot = new long[ BUCKETS ];
+        long count = 0;
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            snapshot[ i ] = counts[ i ].sum();
+            count += snapshot[ i ];
+        }
+        final long rank = ( long ) Math.ceil( count * Math.min( Math.max( percentile, 0 ), 100 ) / 100 );
+        long seen = 0;
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            seen += snapshot[ i ];
+            if ( seen >= Math.max( rank, 1 ) )
+            {
+                return upperBound( i );
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param bucket the index of the bucket
+     * @return the longest duration the bucket holds, in nanoseconds
+     */
+    public static long upperBound( final int bucket ) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : ( 1L << bucket ) - 1;
+    }
+
+    private static int bucketOf( final long durationNanos ) {
+        return durationNanos <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros( durationNanos );
+    }
+}
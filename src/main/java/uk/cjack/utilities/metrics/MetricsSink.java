@@ -0,0 +1,27 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities.metrics;
+
+/**
+ * Receives the metrics of instrumented operations, when {@link DateTimeMetrics#ENABLED}.  Implementations are called
+ * on the threads performing the operations, so must be thread-safe and should be quick
+ */
+public interface MetricsSink {
+
+    /**
+     * Records a call of an operation
+     *
+     * @param operation     the {@link Operation} called
+     * @param durationNanos the time the call took, in nanoseconds
+     * @param failed        TRUE if the call failed to parse its input
+     */
+    void recordCall( Operation operation, long durationNanos, boolean failed );
+
+    /**
+     * Records a call of an operation that had to build something it could not find in its cache
+     *
+     * @param operation the {@link Operation} called
+     */
+    void recordCacheMiss( Operation operation );
+}
@@ -0,0 +1,13 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities.metrics;
+
+/**
+ * The {@link uk.cjack.utilities.DateTimeUtils} operations that record metrics
+ */
+public enum Operation {
+    VALIDATE_DATE_UNIT,
+    CONVERT_FORMAT,
+    SET_MONTH_BOUNDARIES
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+/**
+ * The inner loops of {@link BulkDateTimeUtils} that can run at vector width, each over the elements from (inclusive)
+ * and to (exclusive) the given indexes.
+ * <p>
+ * This is the Java 17 version, in META-INF/versions/17 of the multi-release jar.  It runs the
+ * {@link VectorBulkKernels} when the {@code jdk.incubator.vector} module has been added to the JVM (with
+ * {@code --add-modules jdk.incubator.vector}) and has vectors of at least two longs, and the
+ * {@link ScalarBulkKernels} otherwise.
+ */
+abstract class BulkKernels {
+
+    /**
+     * Checked once, so the JIT compiles each kernel down to a single path.  The vector classes are only loaded when the
+     * module is present
+     */
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule( "jdk.incubator.vector" ).isPresent()
+            && VectorBulkKernels.isSupported();
+
+    /**
+     * @see ScalarBulkKernels#decompose
+     */
+    static void decompose( final long[] epochMillis,
+                           final int from,
+                           final int to,
+                           final int offset,
+                           final int[] years,
+                           final int[] months,
+                           final int[] days,
+                           final int[] hours,
+                           final int[] minutes ) {
+        if ( VECTORIZED )
+        {
+            VectorBulkKernels.decompose( epochMillis, from, to, offset, years, months, days, hours, minutes );
+        }
+        else
+        {
+            ScalarBulkKernels.decompose( epochMillis, from, to, offset, years, months, days, hours, minutes );
+        }
+    }
+
+    /**
+     * @see ScalarBulkKernels#minutesBetween
+     */
+    static void minutesBetween( final long[] startMillis,
+                                final long[] endMillis,
+                                final int from,
+                                final int to,
+                                final int[] results ) {
+        if ( VECTORIZED )
+        {
+            VectorBulkKernels.minutesBetween( startMillis, endMillis, from, to, results );
+        }
+        else
+        {
+            ScalarBulkKernels.minutesBetween( startMillis, endMillis, from, to, results );
+        }
+    }
+
+    /**
+     * @see ScalarBulkKernels#daysBetweenExact
+     */
+    static void daysBetweenExact( final long[] startMillis,
+                                  final long[] endMillis,
+                                  final int from,
+                                  final int to,
+                                  final double[] results ) {
+        if ( VECTORIZED )
+        {
+            VectorBulkKernels.daysBetweenExact( startMillis, endMillis, from, to, results );
+        }
+        else
+        {
+            ScalarBulkKernels.daysBetweenExact( startMillis, endMillis, from, to, results );
+        }
+    }
+
+    /**
+     * No instantiation
+     */
+    private BulkKernels() {
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API versions of the {@link ScalarBulkKernels}, with exactly the same results, over the widest vectors of
+ * doubles the CPU supports.
+ * <p>
+ * Vector units have no integer division (and vector division of doubles is slow), so the arithmetic is done on whole
+ * numbers in double lanes.  Each quotient rounded down is a fused multiply-add with the divisor's reciprocal, rounded
+ * to the nearest whole number, which for dividends below 2<sup>50</sup> is exactly {@link Math#floorDiv(long, long)}.
+ * Java 17 compiles no vector conversions from doubles to ints or longs, so doubles are rounded by adding
+ * {@link #ROUNDING}, and the results are read from the bits of the sum.  Values out of range (in a vector, or for
+ * {@link #decompose} anywhere in the run) and the elements left over after the last whole vector are passed to the
+ * {@link ScalarBulkKernels}.
+ */
+abstract class VectorBulkKernels {
+
+    private static final double MILLIS_PER_DAY = 86400000;
+    private static final double MILLIS_PER_MINUTE = 60000;
+    private static final double DAYS_PER_ERA = 146097;
+    private static final double DAYS_0000_TO_1970 = 719468;
+
+    /**
+     * The magnitude of dividends from which quotients, and their products with the divisors, may not be exact
+     */
+    private static final double EXACT_DIVIDEND_LIMIT = 0x1p50;
+
+    /**
+     * The magnitude of durations from which the number of minutes is too large for an int, where the scalar kernel's
+     * cast of a long quotient wraps round but a conversion of a double would not
+     */
+    private static final double MINUTES_IN_INT_LIMIT = 0x1p31 * MILLIS_PER_MINUTE;
+
+    /**
+     * Adding this to a double of magnitude below 2<sup>51</sup> rounds it to the nearest whole number, which is then
+     * the difference between the bits of the sum and of this (and subtracting this again gives it as a double).  The
+     * low 32 bits of this are clear, so the low 32 bits of the sum are the whole number as an int
+     */
+    private static final double ROUNDING = 0x1.8p52;
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Longs with as many lanes as {@link #DOUBLES}
+     */
+    private static final VectorSpecies<Long> LONGS = DOUBLES.withLanes( long.class );
+
+    /**
+     * Ints with as many lanes as {@link #DOUBLES}, to store int results (no narrower than the narrowest vector shape)
+     */
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of( int.class,
+            VectorShape.forBitSize( Math.max( DOUBLES.vectorBitSize() / 2, 64 ) ) );
+
+    /**
+     * {@link #ROUNDING} in every lane.  Each broadcast of a scalar adds so much to what the JIT has to compile that,
+     * broadcasting this in every rounding, it stops inlining part way through the loops and boxes the vectors
+     */
+    private static final DoubleVector ROUNDINGS = DoubleVector.broadcast( DOUBLES, ROUNDING );
+
+    /**
+     * @return TRUE if the CPU has vectors of more than one double
+     */
+    static boolean isSupported() {
+        return DOUBLES.length() > 1 && INTS.length() == DOUBLES.length();
+    }
+
+    /**
+     * @see ScalarBulkKernels#decompose
+     */
+    static void decompose( final long[] epochMillis,
+                           final int from,
+                           final int to,
+                           final int offset,
+                           final int[] years,
+                           final int[] months,
+                           final int[] days,
+                           final int[] hours,
+                           final int[] minutes ) {
+        // In passes over the whole vectors, each small enough for the JIT to inline everything, with the epoch days
+        // and then (four times) the days of the year passed on in the days
+        final int bound = from + DOUBLES.loopBound( to - from );
+        if ( decomposeTimes( epochMillis, from, bound, offset, days, hours, minutes ) )
+        {
+            decomposeYears( from, bound, years, days );
+            decomposeMonths( from, bound, years, months, days );
+            ScalarBulkKernels.decompose( epochMillis, bound, to, offset, years, months, days, hours, minutes );
+        }
+        else
+        {
+            ScalarBulkKernels.decompose( epochMillis, from, to, offset, years, months, days, hours, minutes );
+        }
+    }
+
+    /**
+     * @see ScalarBulkKernels#minutesBetween
+     */
+    static void minutesBetween( final long[] startMillis,
+                                final long[] endMillis,
+                                final int from,
+                                final int to,
+                                final int[] results ) {
+        final int bound = from + DOUBLES.loopBound( to - from );
+        int i = from;
+        for ( ; i < bound; i += DOUBLES.length() )
+        {
+            final DoubleVector millis = ( DoubleVector ) LongVector.fromArray( LONGS, endMillis, i )
+                    .sub( LongVector.fromArray( LONGS, startMillis, i ) )
+                    .convert( VectorOperators.L2D, 0 );
+            if ( millis.abs().compare( VectorOperators.GE, MINUTES_IN_INT_LIMIT ).anyTrue() )
+            {
+                ScalarBulkKernels.minutesBetween( startMillis, endMillis, i, i + DOUBLES.length(), results );
+                continue;
+            }
+            // Rounded towards zero, as long division is
+            final DoubleVector magnitude = floorDiv( millis.abs(), MILLIS_PER_MINUTE );
+            store( magnitude.blend( magnitude.neg(), millis.compare( VectorOperators.LT, 0 ) ), results, i );
+        }
+        ScalarBulkKernels.minutesBetween( startMillis, endMillis, i, to, results );
+    }
+
+    /**
+     * @see ScalarBulkKernels#daysBetweenExact
+     */
+    static void daysBetweenExact( final long[] startMillis,
+                                  final long[] endMillis,
+                                  final int from,
+                                  final int to,
+                                  final double[] results ) {
+        final int bound = from + DOUBLES.loopBound( to - from );
+        int i = from;
+        for ( ; i < bound; i += DOUBLES.length() )
+        {
+            // The same conversion and sequence of divisions as DateTimeUtils, so the same rounding
+            final DoubleVector millis = ( DoubleVector ) LongVector.fromArray( LONGS, endMillis, i )
+                    .sub( LongVector.fromArray( LONGS, startMillis, i ) )
+                    .convert( VectorOperators.L2D, 0 );
+            millis.div( 1000 ).div( 60 ).div( 60 ).div( 24 ).intoArray( results, i );
+        }
+        ScalarBulkKernels.daysBetweenExact( startMillis, endMillis, i, to, results );
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * Stores the hours and minutes, and the epoch days in the days
+     *
+     * @return FALSE, having stopped, if any instant is out of range
+     */
+    private static boolean decomposeTimes( final long[] epochMillis,
+                                           final int from,
+                                           final int to,
+                                           final int offset,
+                                           final int[] days,
+                                           final int[] hours,
+                                           final int[] minutes ) {
+        for ( int i = from; i < to; i += DOUBLES.length() )
+        {
+            final DoubleVector localMillis = ( DoubleVector ) LongVector.fromArray( LONGS, epochMillis, i )
+                    .add( offset )
+                    .convert( VectorOperators.L2D, 0 );
+            if ( localMillis.abs().compare( VectorOperators.GE, EXACT_DIVIDEND_LIMIT ).anyTrue() )
+            {
+                return false;
+            }
+            final DoubleVector epochDay = floorDiv( localMillis, MILLIS_PER_DAY );
+            final DoubleVector minuteOfDay = floorDiv( localMillis.sub( epochDay.mul( MILLIS_PER_DAY ) ),
+                    MILLIS_PER_MINUTE );
+            final DoubleVector hour = floorDiv( minuteOfDay, 60 );
+            store( hour, hours, i );
+            store( minuteOfDay.sub( hour.mul( 60 ) ), minutes, i );
+            store( epochDay, days, i );
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the epoch days in the days with four times the days of the year plus up to three, and stores the years
+     * starting in March
+     */
+    private static void decomposeYears( final int from, final int to, final int[] years, final int[] days ) {
+        for ( int i = from; i < to; i += DOUBLES.length() )
+        {
+            // As ScalarBulkKernels, in 400-year eras of years starting in March, but counting the years in centuries
+            // (the first three of 36524 days), which takes fewer divisions
+            final DoubleVector daysFrom0000 = load( days, i ).add( DAYS_0000_TO_1970 );
+            final DoubleVector era = floorDiv( daysFrom0000, DAYS_PER_ERA );
+            final DoubleVector dayOfEra = daysFrom0000.sub( era.mul( DAYS_PER_ERA ) );
+            final DoubleVector century = floorDiv( dayOfEra.mul( 4 ).add( 3 ), DAYS_PER_ERA );
+            final DoubleVector dayOfCentury = dayOfEra.sub( century.mul( 36524 ) );
+            final DoubleVector yearOfCentury = floorDiv( dayOfCentury.mul( 4 ).add( 3 ), 1461 );
+            store( era.mul( 400 ).add( century.mul( 100 ) ).add( yearOfCentury ), years, i );
+            store( dayOfCentury.mul( 4 ).add( 3 ).sub( yearOfCentury.mul( 1461 ) ), days, i );
+        }
+    }
+
+    /**
+     * Replaces four times the days of the year in the days with the days of the month, stores the months, and moves
+     * the years on from the years starting in March where they are January or February
+     */
+    private static void decomposeMonths( final int from,
+                                         final int to,
+                                         final int[] years,
+                                         final int[] months,
+                                         final int[] days ) {
+        for ( int i = from; i < to; i += DOUBLES.length() )
+        {
+            final DoubleVector dayOfYear = floorDiv( load( days, i ), 4 );
+            final DoubleVector marchBasedMonth = floorDiv( dayOfYear.mul( 5 ).add( 2 ), 153 );
+            // 1 for January and February, of the next year
+            final DoubleVector nextYear = floorDiv( marchBasedMonth, 10 );
+            store( load( years, i ).add( nextYear ), years, i );
+            store( marchBasedMonth.add( 2 ).sub( nextYear.mul( 12 ) ), months, i );
+            store( dayOfYear.sub( floorDiv( marchBasedMonth.mul( 153 ).add( 2 ), 5 ) ).add( 1 ), days, i );
+        }
+    }
+
+    /**
+     * @return the quotient rounded down, as {@link Math#floorDiv(long, long)}, of whole numbers below
+     * {@link #EXACT_DIVIDEND_LIMIT} by a positive whole number
+     */
+    private static DoubleVector floorDiv( final DoubleVector dividend, final double divisor ) {
+        // The quotient less a half of (dividend + 1/2) / divisor, which is never a whole number and is at least
+        // 1 / (2 * divisor) from one, so the fused multiply-add is far closer to it than that and rounds to the same
+        return dividend.fma( 1 / divisor, 0.5 / divisor - 0.5 ).add( ROUNDINGS ).sub( ROUNDINGS );
+    }
+
+    /**
+     * Stores whole numbers in the int range
+     */
+    private static void store( final DoubleVector values, final int[] results, final int index ) {
+        ( ( IntVector ) values.add( ROUNDINGS ).viewAsIntegralLanes().convertShape( VectorOperators.L2I, INTS, 0 ) )
+                .intoArray( results, index );
+    }
+
+    /**
+     * @return ints as doubles
+     */
+    private static DoubleVector load( final int[] values, final int index ) {
+        return ( DoubleVector ) IntVector.fromArray( INTS, values, index )
+                .convertShape( VectorOperators.I2D, DOUBLES, 0 );
+    }
+
+    /**
+     * No instantiation
+     */
+    private VectorBulkKernels() {
+    }
+}
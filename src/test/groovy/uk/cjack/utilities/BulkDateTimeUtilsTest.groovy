@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link BulkDateTimeUtils}
+ */
+class BulkDateTimeUtilsTest extends Specification {
+
+    private TimeZone defaultZone
+
+    def setup() {
+        defaultZone = TimeZone.getDefault()
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"))
+    }
+
+    def cleanup() {
+        TimeZone.setDefault(defaultZone)
+    }
+
+    /**
+     * Test for the single-instant methods of {@link BulkDateTimeUtils}, compared against {@link DateTimeUtils}
+     */
+    def "bulk results for #size instants should match the single-value methods"() {
+        given: "Instants spread over several centuries, including DST changes"
+        def zone = TimeZone.getDefault()
+        def random = new Random(size)
+        def millis = (0..<size).collect { (random.nextDouble() - 0.5) * 400L * 365 * 86400000L as long } as long[]
+        def ints = new int[size]
+        def longs = new long[size]
+
+        expect: "Every element should match its single-value equivalent"
+        BulkDateTimeUtils.getYear(millis, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.getYear(new Date(millis[it])) }
+        BulkDateTimeUtils.getMonth(millis, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.getMonth(new Date(millis[it])) }
+        BulkDateTimeUtils.getDay(millis, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.getDay(new Date(millis[it])) }
+        BulkDateTimeUtils.getDayOfWeek(millis, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.getDayOfWeek(new Date(millis[it])) }
+        BulkDateTimeUtils.getHours(millis, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.getHours(new Date(millis[it])) }
+        BulkDateTimeUtils.getMinutes(millis, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.getMinutes(new Date(millis[it])) }
+        BulkDateTimeUtils.getSeconds(millis, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.getSeconds(new Date(millis[it])) }
+        BulkDateTimeUtils.convertToMinutes(millis, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.convertToMinutes(new Date(millis[it])) }
+        BulkDateTimeUtils.resetTime(millis, zone, longs)
+        (0..<size).every { longs[it] == DateTimeUtils.resetTime(new Date(millis[it])).getTime() }
+        BulkDateTimeUtils.toEpochDay(millis, zone, longs)
+        (0..<size).every { longs[it] == DateTimeUtils.toLocalDate(new Date(millis[it])).toEpochDay() }
+
+        where: "Both the single-threaded and fork-join paths are tested"
+        size << [1000, BulkDateTimeUtils.PARALLEL_THRESHOLD * 3]
+    }
+
+    /**
+     * Test for {@link BulkDateTimeUtils#decompose}, compared against {@link DateTimeUtils}
+     */
+    def "decomposing #size #order instants should match the single-value methods"() {
+        given: "Instants spread over several centuries, or a run of sorted instants across DST changes"
+        def zone = TimeZone.getDefault()
+        def random = new Random(size)
+        def millis = order == "random"
+                     ? (0..<size).collect { (random.nextDouble() - 0.5) * 400L * 365 * 86400000L as long } as long[]
+                     : (0..<size).collect { 1_600_000_000_000L + it * 1_234_567L } as long[]
+        def years = new int[size]
+        def months = new int[size]
+        def days = new int[size]
+        def hours = new int[size]
+        def minutes = new int[size]
+
+        when: "I decompose the instants"
+        BulkDateTimeUtils.decompose(millis, zone, years, months, days, hours, minutes)
+
+        then: "Every field should match its single-value equivalent"
+        (0..<size).every { years[it] == DateTimeUtils.getYear(new Date(millis[it])) }
+        (0..<size).every { months[it] == DateTimeUtils.getMonth(new Date(millis[it])) }
+        (0..<size).every { days[it] == DateTimeUtils.getDay(new Date(millis[it])) }
+        (0..<size).every { hours[it] == DateTimeUtils.getHours(new Date(millis[it])) }
+        (0..<size).every { minutes[it] == DateTimeUtils.getMinutes(new Date(millis[it])) }
+
+        where: "Both the single-threaded and fork-join paths are tested"
+        size                                     | order
+        1000                                     | "random"
+        1000                                     | "sorted"
+        BulkDateTimeUtils.PARALLEL_THRESHOLD * 3 | "random"
+        BulkDateTimeUtils.PARALLEL_THRESHOLD * 3 | "sorted"
+    }
+
+    /**
+     * Test for {@link BulkDateTimeUtils#decompose} with a zone whose rules are not those of its ID
+     */
+    def "decomposing instants in a custom zone with ID #zone.ID should use the rules of that zone"() {
+        given: "A run of sorted instants, with the custom zone as the default zone"
+        TimeZone.setDefault(zone)
+        def millis = (0..<1000).collect { 1_600_000_000_000L + it * 1_234_567L } as long[]
+        def years = new int[1000]
+        def months = new int[1000]
+        def days = new int[1000]
+        def hours = new int[1000]
+        def minutes = new int[1000]
+
+        when: "I decompose the instants"
+        BulkDateTimeUtils.decompose(millis, zone, years, months, days, hours, minutes)
+
+        then: "The first instant (12:26 UTC) should be in the hour of the zone"
+        hours[0] == expectedHour
+
+        and: "Every field should match its single-value equivalent"
+        (0..<1000).every { years[it] == DateTimeUtils.getYear(new Date(millis[it])) }
+        (0..<1000).every { months[it] == DateTimeUtils.getMonth(new Date(millis[it])) }
+        (0..<1000).every { days[it] == DateTimeUtils.getDay(new Date(millis[it])) }
+        (0..<1000).every { hours[it] == DateTimeUtils.getHours(new Date(millis[it])) }
+        (0..<1000).every { minutes[it] == DateTimeUtils.getMinutes(new Date(millis[it])) }
+
+        where: "The zones have an unknown ID, or the ID of a tzdb zone with other rules"
+        zone                                              | expectedHour
+        new SimpleTimeZone(5 * 3600000, "MyShopZone")     | 17
+        new SimpleTimeZone(-3 * 3600000, "Europe/London") | 9
+    }
+
+    /**
+     * Test for the paired-instant methods of {@link BulkDateTimeUtils}, compared against {@link DateTimeUtils}
+     */
+    def "bulk results for #size pairs of instants should match the single-value methods"() {
+        given: "Pairs of instants up to 10 years apart in either direction"
+        def zone = TimeZone.getDefault()
+        def random = new Random(size)
+        def starts = (0..<size).collect { (random.nextDouble() - 0.5) * 100L * 365 * 86400000L as long } as long[]
+        def ends = (0..<size).collect { starts[it] + (random.nextDouble() - 0.5) * 20L * 365 * 86400000L as long } as long[]
+        def ints = new int[size]
+        def doubles = new double[size]
+
+        expect: "Every element should match its single-value equivalent"
+        BulkDateTimeUtils.daysBetween(starts, ends, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.daysBetween(new Date(starts[it]), new Date(ends[it])) }
+        BulkDateTimeUtils.daysSpanned(starts, ends, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.daysSpanned(new Date(starts[it]), new Date(ends[it])) }
+        BulkDateTimeUtils.monthsBetween(starts, ends, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.monthsBetween(new Date(starts[it]), new Date(ends[it])) }
+        BulkDateTimeUtils.yearsBetween(starts, ends, zone, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.yearsBetween(new Date(starts[it]), new Date(ends[it])) }
+        BulkDateTimeUtils.hoursBetween(starts, ends, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.hoursBetween(new Date(starts[it]), new Date(ends[it])) }
+        BulkDateTimeUtils.minutesBetween(starts, ends, ints)
+        (0..<size).every { ints[it] == DateTimeUtils.minutesBetween(new Date(starts[it]), new Date(ends[it])) }
+        BulkDateTimeUtils.daysBetweenExact(starts, ends, doubles)
+        (0..<size).every { doubles[it] == DateTimeUtils.daysBetweenExact(new Date(starts[it]), new Date(ends[it])) }
+
+        where: "Both the single-threaded and fork-join paths are tested"
+        size << [1000, BulkDateTimeUtils.PARALLEL_THRESHOLD * 3]
+    }
+
+    /**
+     * Test for the result array checks of {@link BulkDateTimeUtils}
+     */
+    def "a result array shorter than the instants should be rejected"() {
+        when: "I pass a result array that is too short"
+        BulkDateTimeUtils.getYear(new long[3], TimeZone.getDefault(), new int[2])
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+    }
+}
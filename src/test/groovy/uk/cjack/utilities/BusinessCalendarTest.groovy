@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.time.LocalDate
+
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link BusinessCalendar}
+ */
+class BusinessCalendarTest extends Specification {
+
+    // Christmas 2021 fell on a weekend, so the holidays were the following Monday and Tuesday
+    private static final List<LocalDate> HOLIDAYS = [LocalDate.of(2021, 12, 27), LocalDate.of(2021, 12, 28)]
+
+    private static final BusinessCalendar CALENDAR = BusinessCalendar.of(HOLIDAYS, Calendar.SATURDAY, Calendar.SUNDAY)
+
+    /**
+     * Test for {@link BusinessCalendar#isWorkingDay(LocalDate)} and {@link BusinessCalendar#isWorkingDay(Date)}
+     */
+    def "#date should be a working day: #expectedResult"() {
+        expect: "Weekend days and holidays are not working days"
+        CALENDAR.isWorkingDay(date) == expectedResult
+        CALENDAR.isWorkingDay(DateTimeUtils.setDateTime(date.year, date.monthValue - 1, date.dayOfMonth, 23, 59)) ==
+                expectedResult
+
+        where: "The following scenarios are tested"
+        date                       | expectedResult
+        LocalDate.of(2021, 12, 24) | true
+        LocalDate.of(2021, 12, 25) | false
+        LocalDate.of(2021, 12, 27) | false
+        LocalDate.of(2021, 12, 29) | true
+        LocalDate.of(1900, 1, 1)   | true
+        LocalDate.of(2200, 1, 4)   | false
+    }
+
+    /**
+     * Test for {@link BusinessCalendar#workingDaysBetween(Date, Date)} and
+     * {@link BusinessCalendar#addWorkingDays(Date, int)}
+     */
+    def "#days working days from #start should be #expectedEnd"() {
+        given: "The start date, mid-afternoon"
+        def startDate = DateTimeUtils.setDateTime(start.year, start.monthValue - 1, start.dayOfMonth, 15, 30)
+
+        when: "I add the working days"
+        def endDate = CALENDAR.addWorkingDays(startDate, days)
+
+        then: "The working day reached keeps the time, and the working days between them are counted"
+        DateTimeUtils.toLocalDate(endDate) == expectedEnd
+        DateTimeUtils.getHours(endDate) == 15
+        CALENDAR.workingDaysBetween(startDate, endDate) == expectedBetween
+
+        where: "The following scenarios are tested"
+        start                      | days | expectedEnd                | expectedBetween
+        LocalDate.of(2021, 12, 23) | 0    | LocalDate.of(2021, 12, 23) | 0
+        LocalDate.of(2021, 12, 23) | 1    | LocalDate.of(2021, 12, 24) | 1
+        LocalDate.of(2021, 12, 24) | 1    | LocalDate.of(2021, 12, 29) | 1
+        LocalDate.of(2021, 12, 25) | 1    | LocalDate.of(2021, 12, 29) | 1
+        LocalDate.of(2021, 12, 24) | 6    | LocalDate.of(2022, 1, 5)   | 6
+        LocalDate.of(2021, 12, 29) | -1   | LocalDate.of(2021, 12, 24) | -1
+        LocalDate.of(2021, 12, 26) | -1   | LocalDate.of(2021, 12, 24) | 0
+        LocalDate.of(2100, 12, 30) | 3    | LocalDate.of(2101, 1, 4)   | 3
+        LocalDate.of(1970, 1, 2)   | -2   | LocalDate.of(1969, 12, 31) | -2
+    }
+
+    /**
+     * Test for {@link BusinessCalendar#workingDaysBetween(LocalDate, LocalDate)} and
+     * {@link BusinessCalendar#addWorkingDays(LocalDate, int)}, compared against counting day by day
+     */
+    def "working days should match counting day by day with the weekend on #weekendDays"() {
+        given: "A calendar with random holidays"
+        def random = new Random(42)
+        def holidays = (0..<200).collect { LocalDate.ofEpochDay(random.nextInt(60000) - 10000) } as Set
+        def calendar = BusinessCalendar.of(holidays, weekendDays as int[])
+        def isWorkingDay = { LocalDate date ->
+            !holidays.contains(date) && !weekendDays.contains(date.dayOfWeek.value % 7 + 1)
+        }
+
+        expect: "Every date is counted and moved as it would be day by day"
+        (0..<2000).every {
+            def start = LocalDate.ofEpochDay(random.nextInt(70000) - 15000)
+            def days = random.nextInt(41) - 20
+            def end = start
+            for (int remaining = Math.abs(days); remaining > 0;) {
+                end = end.plusDays(Integer.signum(days))
+                remaining -= isWorkingDay(end) ? 1 : 0
+            }
+            def between = (1..Math.max(1, Math.abs(end.toEpochDay() - start.toEpochDay()))).count {
+                days > 0 ? isWorkingDay(start.plusDays(it)) : days < 0 && isWorkingDay(end.plusDays(it))
+            }
+            calendar.isWorkingDay(start) == isWorkingDay(start) &&
+                    calendar.addWorkingDays(start, days) == end &&
+                    calendar.workingDaysBetween(start, end) == Integer.signum(days) * between
+        }
+
+        where: "The following scenarios are tested"
+        weekendDays << [[Calendar.SATURDAY, Calendar.SUNDAY], [Calendar.FRIDAY, Calendar.SATURDAY], []]
+    }
+
+    /**
+     * Test for {@link BusinessCalendar#of}
+     */
+    def "of should not accept the weekend days #weekendDays"() {
+        when: "I create the calendar"
+        BusinessCalendar.of(HOLIDAYS, weekendDays as int[])
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+
+        where: "The following scenarios are tested"
+        weekendDays << [[0], [8], (1..7).toList()]
+    }
+}
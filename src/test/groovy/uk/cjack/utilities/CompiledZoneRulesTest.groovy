@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link CompiledZoneRules}
+ */
+class CompiledZoneRulesTest extends Specification {
+
+    /**
+     * Test for {@link CompiledZoneRules#getOffset} and {@link CompiledZoneRules#inDaylightTime}
+     */
+    def "#zoneId at #dateTime should have offset #expectedOffset and DST: #expectedDST"() {
+        given: "The compiled rules"
+        def rules = CompiledZoneRules.forId(zoneId)
+        def millis = FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss.SSSZZ").parse(dateTime).getTime()
+
+        expect: "The offset and DST state should be those of the zone at the instant"
+        rules.getOffset(millis) == expectedOffset
+        rules.inDaylightTime(millis) == expectedDST
+
+        where: "The following scenarios are tested"
+        zoneId                           | dateTime                        | expectedOffset | expectedDST
+        "Europe/London"                  | "2021-03-28T00:59:59.999+00:00" | 0              | false
+        "Europe/London"                  | "2021-03-28T01:00:00.000+00:00" | 3600000        | true
+        "Europe/London"                  | "2021-10-31T00:59:59.999+00:00" | 3600000        | true
+        "Europe/London"                  | "2021-10-31T01:00:00.000+00:00" | 0              | false
+        "America/Argentina/Buenos_Aires" | "2000-01-01T00:00:00.000+00:00" | -10800000      | true
+        "America/Argentina/Buenos_Aires" | "2001-01-01T00:00:00.000+00:00" | -10800000      | false
+        "Asia/Kolkata"                   | "2021-06-01T00:00:00.000+00:00" | 19800000       | false
+        "Europe/London"                  | "1850-06-01T00:00:00.000+00:00" | 0              | false
+        "Europe/London"                  | "2150-06-01T00:00:00.000+00:00" | 3600000        | true
+        "Nowhere/Unknown"                | "2021-06-01T00:00:00.000+00:00" | 0              | false
+    }
+
+    /**
+     * Test for {@link CompiledZoneRules#forId}
+     */
+    def "zones should be compiled once and unknown IDs should resolve to GMT"() {
+        expect: "The same rules are returned for the same ID"
+        CompiledZoneRules.forId("Europe/Paris").is(CompiledZoneRules.forId("Europe/Paris"))
+        CompiledZoneRules.forId("Europe/Paris").getId() == "Europe/Paris"
+        CompiledZoneRules.forId("Nowhere/Unknown").getId() == "GMT"
+    }
+
+    /**
+     * Test for {@link CompiledZoneRules#forId}
+     */
+    def "the non-canonical ID #zoneId should be resolved once and held by that ID"() {
+        when: "I retrieve the rules twice"
+        def rules = CompiledZoneRules.forId(zoneId)
+        def again = CompiledZoneRules.forId(zoneId)
+
+        then: "The same rules of the resolved zone are returned, and held by the requested ID"
+        again.is(rules)
+        rules.getId() == expectedId
+        CompiledZoneRules.REGISTRY.get(zoneId).is(rules)
+        CompiledZoneRules.forId(expectedId).is(rules)
+
+        where: "The following scenarios are tested"
+        zoneId         | expectedId
+        "GMT+5"        | "GMT+05:00"
+        "gmt"          | "GMT"
+        "Europe/Londn" | "GMT"
+    }
+
+    /**
+     * Test for {@link CompiledZoneRules}, compared against {@link TimeZone#getOffset(long)} and
+     * {@link TimeZone#inDaylightTime}
+     */
+    def "random instants in #zoneId should match the TimeZone"() {
+        given: "The compiled rules and the zone"
+        def rules = CompiledZoneRules.forId(zoneId)
+        def zone = TimeZone.getTimeZone(zoneId)
+        def random = new Random(42)
+
+        expect: "Every instant from 1850 to 2150 matches"
+        (0..<20000).every {
+            long millis = -3786825600000L + (long) (random.nextDouble() * 9467280000000L)
+            rules.getOffset(millis) == zone.getOffset(millis) &&
+                    rules.inDaylightTime(millis) == zone.inDaylightTime(new Date(millis))
+        }
+
+        where: "The following scenarios are tested"
+        zoneId << ["Europe/London", "America/New_York", "America/Argentina/Buenos_Aires", "Africa/Algiers",
+                   "Australia/Lord_Howe", "Africa/Casablanca", "Pacific/Apia", "Europe/Dublin", "Asia/Tehran"]
+    }
+
+    /**
+     * Test for {@link CompiledZoneRules#forId}
+     */
+    def "unknown zone IDs should share the rules of GMT"() {
+        expect: "Every unknown ID resolves to the one compiled GMT zone"
+        CompiledZoneRules.forId("Nowhere/First").is(CompiledZoneRules.forId("GMT"))
+        CompiledZoneRules.forId("Nowhere/Second").is(CompiledZoneRules.forId("Nowhere/First"))
+    }
+}
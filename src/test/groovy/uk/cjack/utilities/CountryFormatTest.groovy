@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link CountryFormat}
+ */
+class CountryFormatTest extends Specification {
+
+    /**
+     * Test for {@link CountryFormat#forLocale} and {@link CountryFormat#forCountryCode}
+     */
+    def "#locale should resolve to #expectedResult"() {
+        expect: "The country of the locale is found"
+        CountryFormat.forLocale(locale) == expectedResult
+        CountryFormat.forCountryCode(locale.getCountry().toLowerCase()) == expectedResult
+
+        where: "The following scenarios are tested"
+        locale                 | expectedResult
+        Locale.UK              | CountryFormat.UK
+        new Locale("cy", "GB") | CountryFormat.UK
+        Locale.US              | CountryFormat.US
+        Locale.FRANCE          | CountryFormat.FR
+        Locale.JAPAN           | CountryFormat.JP
+    }
+
+    /**
+     * Test for {@link CountryFormat#forCountryCode}
+     */
+    def "forCountryCode should not accept #countryCode"() {
+        when: "I resolve the country"
+        CountryFormat.forCountryCode(countryCode)
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+
+        where: "The following scenarios are tested"
+        countryCode << ["UK", "", null]
+    }
+
+    /**
+     * Test for {@link CountryFormat#getFormatter(CountryFormat.Style)}
+     */
+    def "#country should format 2021-08-14T15:05 as #expectedResult in #style"() {
+        given: "The date"
+        def date = DateTimeUtils.setDateTime(2021, Calendar.AUGUST, 14, 15, 5, 0, 0)
+
+        expect: "The date is formatted in the country's pattern and locale"
+        country.getFormatter(style).format(date) == expectedResult
+        country.getFormatter(style).getLocale() == country.getLocale()
+
+        where: "The following scenarios are tested"
+        country          | style                            | expectedResult
+        CountryFormat.UK | CountryFormat.Style.DATE         | "14/08/2021"
+        CountryFormat.UK | CountryFormat.Style.TIME_STAMP   | "14/08/21 @ 15:05"
+        CountryFormat.US | CountryFormat.Style.DATE         | "08/14/2021"
+        CountryFormat.US | CountryFormat.Style.TIME         | "03:05 PM"
+        CountryFormat.FR | CountryFormat.Style.DATE         | "14.08.2021"
+        CountryFormat.JP | CountryFormat.Style.DATE         | "2021/08/14"
+        CountryFormat.JP | CountryFormat.Style.DATE_COMPACT | "08/14"
+    }
+
+    /**
+     * Test for {@link CountryFormat#index}, {@link CountryFormat#getFormatter(int)} and
+     * {@link CountryFormat#getValidator(int)}
+     */
+    def "every country and style should have its own index, formatter and validator"() {
+        given: "The index of every pair"
+        def pairs = CountryFormat.values().collectMany { country ->
+            CountryFormat.Style.values().collect { style -> [country, style] }
+        }
+        def indexes = pairs.collect { CountryFormat.index(it[0], it[1]) }
+
+        expect: "The indexes are 0 to n - 1, and find the pair's formatter and validator"
+        indexes == (0..<pairs.size()).toList()
+        pairs.every { country, style ->
+            def index = CountryFormat.index(country, style)
+            CountryFormat.getFormatter(index).is(country.getFormatter(style)) &&
+                    CountryFormat.getFormatter(index).getPattern() == country.getPattern(style) &&
+                    CountryFormat.getValidator(index).is(country.getValidator(style))
+        }
+    }
+
+    /**
+     * Test for {@link CountryFormat#getValidator(CountryFormat.Style)}
+     */
+    def "#country should find #value valid: #expectedResult in #style"() {
+        expect: "The value is checked strictly against the pattern"
+        (country.getValidator(style).validate(value) == DateValidator.Status.VALID) == expectedResult
+
+        where: "The following scenarios are tested"
+        country          | style                               | value        | expectedResult
+        CountryFormat.UK | CountryFormat.Style.DATE            | "31/12/2021" | true
+        CountryFormat.UK | CountryFormat.Style.DATE            | "12/31/2021" | false
+        CountryFormat.US | CountryFormat.Style.DATE            | "12/31/2021" | true
+        CountryFormat.FR | CountryFormat.Style.DATE_SHORT_YEAR | "31.12.21"   | true
+        CountryFormat.JP | CountryFormat.Style.DATE            | "2021/02/29" | false
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link DateColumnConverter}
+ */
+class DateColumnConverterTest extends Specification {
+
+    private Path input
+    private Path output
+
+    def setup() {
+        input = Files.createTempFile("input", ".csv")
+        output = Files.createTempFile("output", ".csv")
+    }
+
+    def cleanup() {
+        Files.deleteIfExists(input)
+        Files.deleteIfExists(output)
+    }
+
+    /**
+     * Test for {@link DateColumnConverter#convert}
+     */
+    def "convert should convert the date columns of #description"() {
+        given: "The input file"
+        Files.write(input, text.getBytes("UTF-8"))
+
+        when: "I convert the date columns"
+        def result = DateColumnConverter.of(delimiter as char,
+                header,
+                FastDateFormat.getInstance(DateTimeUtils.Format.UK_DATE),
+                FastDateFormat.getInstance(DateTimeUtils.Format.ISO_8601_DATE_ONLY),
+                1, 2).convert(input, output)
+
+        then: "Only the valid dates are converted, and the invalid ones counted"
+        new String(Files.readAllBytes(output), "UTF-8") == expectedText
+        [result.rows, result.convertedValues, result.invalidValues, result.invalidRows] == expectedCounts
+
+        where: "The following scenarios are tested"
+        description            | delimiter | header | text                                             | expectedText                                     | expectedCounts
+        "a CSV file"           | ','       | false  | "1,14/08/2021,31/12/2021\n2,01/01/2022,x\n"      | "1,2021-08-14,2021-12-31\n2,2022-01-01,x\n"      | [2, 3, 1, 1]
+        "a TSV file"           | '\t'      | false  | "1\t14/08/2021\t31/12/2021"                      | "1\t2021-08-14\t2021-12-31"                      | [1, 2, 0, 0]
+        "a file with a header" | ','       | true   | "id,from,to\r\n1,14/08/2021,\r\n"                | "id,from,to\r\n1,2021-08-14,\r\n"                | [1, 1, 0, 0]
+        "quoted values"        | ','       | false  | "\"a,b\",\"14/08/2021\",31/02/2021,\"x\"\"y\"\n" | "\"a,b\",\"2021-08-14\",31/02/2021,\"x\"\"y\"\n" | [1, 1, 1, 1]
+        "short rows"           | ','       | false  | "1\n2,14/08/2021\n"                              | "1\n2,2021-08-14\n"                              | [2, 1, 0, 0]
+    }
+
+    /**
+     * Test for {@link DateColumnConverter#convert}, compared against {@link DateTimeUtils#convertFormat} of each value
+     */
+    def "convert should match converting each value from #fromPattern to #toPattern in chunks of #chunkBytes bytes"() {
+        given: "An input file with random dates"
+        def fromFormat = FastDateFormat.getInstance(fromPattern)
+        def toFormat = FastDateFormat.getInstance(toPattern)
+        def random = new Random(42)
+        def lines = (0..<2000).collect {
+            [it, fromFormat.format(new Date((long) (random.nextDouble() * 2524608000000L))), "text $it"]
+        }
+        Files.write(input, (lines.collect { it.join(",") }.join("\n")).getBytes("UTF-8"))
+
+        when: "I convert the date column"
+        def result = DateColumnConverter.of(',' as char, false, fromFormat, toFormat, 1)
+                .withChunkBytes(chunkBytes)
+                .convert(input, output)
+
+        then: "Every line is converted as each value would be"
+        new String(Files.readAllBytes(output), "UTF-8") == lines.collect {
+            [it[0], DateTimeUtils.convertFormat(it[1] as String, fromFormat, toFormat), it[2]].join(",")
+        }.join("\n")
+        result.rows == 2000
+        result.convertedValues == 2000
+
+        where: "The following scenarios are tested"
+        fromPattern                             | toPattern                               | chunkBytes
+        DateTimeUtils.Format.UK_DATE            | DateTimeUtils.Format.US_DATE            | 100
+        DateTimeUtils.Format.UK_DATE_SHORT_YEAR | DateTimeUtils.Format.ISO_8601_DATE_ONLY | 4096
+        "dd MMM yyyy"                           | DateTimeUtils.Format.JP_DATE            | 100
+        DateTimeUtils.Format.ISO_8601_DATE_TIME | DateTimeUtils.Format.UK_TIME_STAMP      | DateColumnConverter.DEFAULT_CHUNK_BYTES
+    }
+
+    /**
+     * Test for {@link DateColumnConverter#of}
+     */
+    def "of should not accept the delimiter #delimiter or the columns #columns"() {
+        when: "I create the converter"
+        DateColumnConverter.of(delimiter as char,
+                false,
+                DateTimeUtils.Formatter.UK_DATE,
+                DateTimeUtils.Formatter.ISO_8601_DATE_ONLY,
+                columns as int[])
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+
+        where: "The following scenarios are tested"
+        delimiter | columns
+        '"'       | [0]
+        '\n'      | [0]
+        ','       | []
+        ','       | [-1]
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.time.temporal.ChronoUnit
+import java.util.stream.Collectors
+import java.util.stream.StreamSupport
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link DateRange}
+ */
+class DateRangeTest extends Specification {
+
+    /**
+     * Test for {@link DateRange#get} and {@link DateRange#size}
+     */
+    def "a range of #size from #start by #step in #zoneId should be #expectedResult"() {
+        given: "The range"
+        def zone = TimeZone.getTimeZone(zoneId)
+        def format = FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ssZZ", zone)
+        def range = DateRange.of(format.parse(start).getTime(), size, step, zone)
+
+        expect: "The dates should be the expected ones"
+        range.size() == size
+        range.collect { format.format(it) } == expectedResult
+
+        where: "The following scenarios are tested"
+        start                       | size | step               | zoneId          | expectedResult
+        "2021-03-27T15:00:00+00:00" | 3    | ChronoUnit.DAYS    | "Europe/London" | ["2021-03-27T15:00:00+00:00", "2021-03-28T15:00:00+01:00", "2021-03-29T15:00:00+01:00"]
+        "2021-03-28T00:30:00+00:00" | 3    | ChronoUnit.HOURS   | "Europe/London" | ["2021-03-28T00:30:00+00:00", "2021-03-28T02:30:00+01:00", "2021-03-28T03:30:00+01:00"]
+        "2021-12-31T23:59:00+00:00" | 2    | ChronoUnit.MINUTES | "UTC"           | ["2021-12-31T23:59:00+00:00", "2022-01-01T00:00:00+00:00"]
+        "2021-12-31T23:59:00+00:00" | 0    | ChronoUnit.DAYS    | "UTC"           | []
+    }
+
+    /**
+     * Test for {@link DateRange#get}, compared against adding days with a {@link Calendar}
+     */
+    def "every date of a long daily range should match Calendar.add"() {
+        given: "A ten-year daily range"
+        def start = DateTimeUtils.setDateTime(2015, 0, 1, 0, 30)
+        def range = DateTimeUtils.getDateRange(start, 3653, ChronoUnit.DAYS)
+
+        expect: "Each date is the start date with the index added in days"
+        (0..<range.size()).every {
+            def calendar = DateTimeUtils.toCalendar(start)
+            calendar.add(Calendar.DAY_OF_MONTH, it)
+            range.get(it) == calendar.getTime() && range.getMillis(it) == calendar.getTimeInMillis()
+        }
+    }
+
+    /**
+     * Test for {@link DateRange#spliterator} and {@link DateRange#millisStream}
+     */
+    def "parallel streams should produce the same dates in order"() {
+        given: "A range of minutes"
+        def range = DateRange.of(0L, 100000, ChronoUnit.MINUTES, TimeZone.getTimeZone("UTC"))
+
+        expect: "The parallel streams to match the sequential elements"
+        StreamSupport.stream(range.spliterator(), true).map { it.getTime() }.collect(Collectors.toList()) ==
+                (0..<100000).collect { it * 60000L }
+        range.millisStream().parallel().toArray() == (0..<100000).collect { it * 60000L } as long[]
+    }
+
+    /**
+     * Test for {@link DateRange#of}
+     */
+    def "invalid ranges should be rejected [size #size, step #step]"() {
+        when: "I create the range"
+        DateRange.of(new Date(), size, step)
+
+        then: "An exception is thrown"
+        thrown(exception)
+
+        where: "The following scenarios are tested"
+        size | step              | exception
+        -1   | ChronoUnit.DAYS   | IllegalArgumentException
+        1    | ChronoUnit.MONTHS | IllegalArgumentException
+    }
+
+    /**
+     * Test for {@link DateRange#get}
+     */
+    def "get should reject index #index"() {
+        when: "I get the index"
+        DateRange.of(new Date(), 5, ChronoUnit.DAYS).get(index)
+
+        then: "An exception is thrown"
+        thrown(IndexOutOfBoundsException)
+
+        where: "The following scenarios are tested"
+        index << [-1, 5]
+    }
+}
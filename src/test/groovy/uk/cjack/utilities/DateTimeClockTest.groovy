@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link DateTimeClock}
+ */
+class DateTimeClockTest extends Specification {
+
+    private TimeZone defaultZone
+
+    def setup() {
+        defaultZone = TimeZone.getDefault()
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"))
+    }
+
+    def cleanup() {
+        DateTimeUtils.setClock(null)
+        TimeZone.setDefault(defaultZone)
+    }
+
+    /**
+     * Test for {@link DateTimeClock#fixed} used through {@link DateTimeUtils#setClock}
+     */
+    def "the 'now' methods should use a fixed clock at #dateTime"() {
+        given: "A clock fixed at the date/time"
+        def format = FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss.SSSZZ")
+        DateTimeUtils.setClock(DateTimeClock.fixed(format.parse(dateTime).getTime()))
+
+        expect: "The methods should be relative to the fixed time"
+        DateTimeUtils.getCurrentYear() == expectedYear
+        DateTimeUtils.getCurrentMonth() == expectedMonth
+        format.format(DateTimeUtils.getStartOfToday()) == expectedStart
+        format.format(DateTimeUtils.getEndOfToday()) == expectedEnd
+        DateTimeUtils.isCurrentlyDST("Europe/London") == expectedDST
+        DateTimeUtils.getTimeZoneOffsetMillis("") == (expectedDST ? 3600000 : 0)
+        DateTimeUtils.isToday(format.parse(expectedStart))
+        !DateTimeUtils.isToday(new Date(format.parse(expectedEnd).getTime() + 1))
+        DateTimeUtils.isInFuture(format.parse(expectedEnd))
+        !DateTimeUtils.isInFuture(format.parse(expectedStart))
+
+        where: "The following scenarios are tested"
+        dateTime                        | expectedYear | expectedMonth | expectedStart                   | expectedEnd                     | expectedDST
+        "2021-08-14T13:45:30.250+01:00" | 2021         | 7             | "2021-08-14T00:00:00.000+01:00" | "2021-08-14T23:59:59.999+01:00" | true
+        "2021-12-31T23:59:59.000+00:00" | 2021         | 11            | "2021-12-31T00:00:00.000+00:00" | "2021-12-31T23:59:59.999+00:00" | false
+        "2021-10-31T12:00:00.000+00:00" | 2021         | 9             | "2021-10-31T00:00:00.000+01:00" | "2021-10-31T23:59:59.999+00:00" | false
+    }
+
+    /**
+     * Test for {@link DateTimeClock#ticking}
+     */
+    def "a ticking clock should memoise values consistent with the time it last read"() {
+        given: "A ticking clock"
+        def clock = DateTimeClock.ticking(10)
+
+        when: "I read the values after it has ticked"
+        sleep(50)
+        def millis = clock.millis()
+        def cache = DayBoundaryCache.forZone(TimeZone.getDefault())
+        def london = TimeZone.getTimeZone("Europe/London")
+        def tokyo = TimeZone.getTimeZone("Asia/Tokyo")
+
+        then: "The values should match those calculated from its time"
+        Math.abs(System.currentTimeMillis() - millis) < 5000
+        clock.zone().getID() == "Europe/London"
+        clock.today() == cache.epochDayOf(millis)
+        clock.startOfToday() == cache.startOfDay(millis)
+        clock.endOfToday() == cache.endOfDay(millis)
+        clock.currentYear() == EpochTimeUtils.getYear(millis, london)
+        clock.currentMonth() == EpochTimeUtils.getMonth(millis, london)
+        clock.getOffset("Asia/Tokyo") == tokyo.getOffset(millis)
+        clock.inDaylightTime("Europe/London") == london.inDaylightTime(new Date(millis))
+
+        cleanup: "Stop the clock"
+        clock.close()
+    }
+
+    /**
+     * Test for {@link DateTimeClock#ticking}
+     */
+    def "a ticking clock should follow changes to the default zone"() {
+        given: "A ticking clock"
+        def clock = DateTimeClock.ticking(10)
+
+        when: "I change the default zone"
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"))
+        sleep(50)
+
+        then: "The clock picks up the new zone"
+        clock.zone().getID() == "Asia/Tokyo"
+        clock.getOffset("") == 9 * 3600000
+        clock.today() == DayBoundaryCache.forZone(TimeZone.getTimeZone("Asia/Tokyo")).epochDayOf(clock.millis())
+
+        cleanup: "Stop the clock"
+        clock.close()
+    }
+
+    /**
+     * Test for {@link DateTimeClock#ticking}
+     */
+    def "a ticking clock should reject a period of #period"() {
+        when: "I create the clock"
+        DateTimeClock.ticking(period)
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+
+        where: "The following scenarios are tested"
+        period << [0, -1]
+    }
+}
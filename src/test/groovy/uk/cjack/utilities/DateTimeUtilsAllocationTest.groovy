@@ -0,0 +1,555 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.lang.management.ManagementFactory
+import java.time.temporal.ChronoUnit
+
+import groovy.transform.CompileStatic
+import spock.lang.Shared
+import spock.lang.Specification
+
+/**
+ * Test Class for the allocation of {@link DateTimeUtils}: the bytes each public method allocates per call, once warmed
+ * up, against a declared budget, so that a change bringing a Calendar or String.format back onto a hot path fails.
+ * <p>
+ * Budgets are the bytes allocated per call when interpreted (on a 64-bit JVM with compressed oops), where nothing is
+ * removed by escape analysis, so compiled code can only come in under them: a Date is 24 bytes, and each
+ * TimeZone.getDefault() is a 56 byte clone.  The probes run their calls in a statically compiled loop so that nothing
+ * of Groovy's is measured, and the least of a few rounds is taken so that one-off allocations are ignored.
+ */
+class DateTimeUtilsAllocationTest extends Specification {
+
+    private static final int WARM_UP_CALLS = 20_000
+    private static final int MEASURED_CALLS = 10_000
+    private static final int ROUNDS = 3
+
+    /**
+     * The probe inputs and results, which are not private so that the probes read and write them directly rather than
+     * through reflection
+     */
+    static final Date DATE = new Date(1_625_150_730_000L) // 2021-07-01T14:45:30Z
+    static final Date LATER_DATE = new Date(1_640_995_200_000L) // 2022-01-01T00:00:00Z
+    static final Date MUTABLE_DATE = new Date(DATE.time)
+    static final Date MUTABLE_END_DATE = new Date(DATE.time)
+    static final Calendar CALENDAR = DateTimeUtils.toCalendar(DATE)
+    static Object objectResult
+    static long longResult
+    static double doubleResult
+    static boolean booleanResult
+
+    private static final Map<String, Closure<?>> PROBES = probes()
+
+    @Shared
+    private TimeZone defaultZone
+
+    def setupSpec() {
+        defaultZone = TimeZone.getDefault()
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"))
+    }
+
+    def cleanupSpec() {
+        TimeZone.setDefault(defaultZone)
+    }
+
+    /**
+     * Test for the allocation of each {@link DateTimeUtils} method
+     */
+    def "#method should allocate at most #budget bytes per call"() {
+        given: "Allocation is measured per thread"
+        def threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+        assert threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()
+
+        expect: "The method allocates no more than its budget once warmed up"
+        bytesPerCall(threads, PROBES[method]) <= budget
+
+        where: "The following methods are measured"
+        method                                                      || budget
+        "setTime(Date, int, int, int, int)"                         || 80
+        "setTime(Date, int, int)"                                   || 80
+        "setTimeOnDate(Date, int, int, int, int)"                   || 56
+        "setTimeOnDate(Date, int, int)"                             || 56
+        "setTimeEventOnDate"                                        || 80
+        "setTimeEvent"                                              || 80
+        "resetTime"                                                 || 80
+        "setTime(Date, Date)"                                       || 192
+        "setTime(Date, Date, boolean)"                              || 248
+        "setTimeOnDummyDate(int, int)"                              || 104
+        "setTimeOnDummyDate(Date)"                                  || 216
+        "setTimeOnDummyDate(String)"                                || 160
+        "setDate"                                                   || 80
+        "setDateTime(int, int, int, int, int)"                      || 80
+        "setDateTime(int, int, int, int, int, int, int)"            || 80
+        "setMonthBoundaries(Date, Date, int, int)"                  || 56
+        "setMonthBoundaries(Date, Date, Date, Date)"                || 168
+        "getMonthBoundary"                                          || 96
+        "toCalendar"                                                || 560
+        "toLocalDate"                                               || 168
+        "convertToMinutes(Date)"                                    || 56
+        "convertToMinutes(int, int)"                                || 0
+        "convertFormat(String, String, String)"                     || 320
+        "convertFormat(String, FastDateFormat, FastDateFormat)"     || 96
+        "getDatesAsList"                                            || 600
+        "getDateRange"                                              || 152
+        "millisecondsBetween"                                       || 0
+        "secondsBetween"                                            || 0
+        "minutesBetween"                                            || 0
+        "hoursBetween"                                              || 0
+        "daysBetween"                                               || 336
+        "daysBetweenExact(Date, Date)"                              || 0
+        "daysBetweenExact(long, long)"                              || 0
+        "daysSpanned"                                               || 384
+        "monthsBetween"                                             || 336
+        "yearsBetween"                                              || 336
+        "getDayOfWeek"                                              || 56
+        "getHours"                                                  || 56
+        "getDay"                                                    || 56
+        "getMonth"                                                  || 56
+        "getYear"                                                   || 56
+        "getMinutes"                                                || 56
+        "getSeconds"                                                || 56
+        "getCurrentYear"                                            || 56
+        "getCurrentMonth"                                           || 56
+        "getStartOfYear"                                            || 160
+        "getStartOfToday"                                           || 80
+        "getEndOfToday"                                             || 80
+        "getEndOfYear"                                              || 160
+        "getTimeZoneOffsetMillis(String)"                           || 0
+        "getTimeZoneOffsetMillis(String, long)"                     || 0
+        "minutesToTime"                                             || 96
+        "toStringTime(Date)"                                        || 152
+        "toIsoStringDate"                                           || 168
+        "toIsoStringDateTime"                                       || 184
+        "toStringTime(int, int)"                                    || 96
+        "addDays(Date, long)"                                       || 56
+        "addDays(Calendar, long)"                                   || 24
+        "addDays(long)"                                             || 80
+        "addMinutes(Date, long)"                                    || 0
+        "addMinutes(long)"                                          || 24
+        "minusMinutes"                                              || 0
+        "iso8601StringToDate"                                       || 24
+        "isInFuture"                                                || 0
+        "isBetween"                                                 || 0
+        "isWithin"                                                  || 0
+        "isNotWithinDays"                                           || 56
+        "isWithinDays"                                              || 56
+        "isSameDate(Date, Date, FastDateFormat)"                    || 0
+        "isSameDate(Date, Date, ChronoUnit)"                        || 56
+        "isToday"                                                   || 112
+        "validateDateUnit(String, FastDateFormat, String)"          || 24
+        "validateDateUnit(String, FastDateFormat, String, boolean)" || 24
+        "checkDateUnit"                                             || 0
+        "isCurrentlyDST"                                            || 0
+        "isDST"                                                     || 0
+    }
+
+    /* *************** *
+     * Private Helpers *
+     * *************** */
+
+    /**
+     * @return the least bytes allocated per call over each round of calls, after warming up
+     */
+    @CompileStatic
+    private static long bytesPerCall(final com.sun.management.ThreadMXBean threads, final Closure<?> probe) {
+        probe.call(WARM_UP_CALLS)
+        final long threadId = Thread.currentThread().getId()
+        long least = Long.MAX_VALUE
+        for (int round = 0; round < ROUNDS; round++) {
+            final long before = threads.getThreadAllocatedBytes(threadId)
+            probe.call(MEASURED_CALLS)
+            least = Math.min(least, threads.getThreadAllocatedBytes(threadId) - before)
+        }
+        return least.intdiv(MEASURED_CALLS).longValue()
+    }
+
+    /**
+     * @return the probe of each method, which calls it the given number of times
+     */
+    @CompileStatic
+    private static Map<String, Closure<?>> probes() {
+        final Map<String, Closure<?>> probes = new LinkedHashMap<>()
+        probes.put("setTime(Date, int, int, int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setTime(DATE, 9, 30, 15, 500)
+            }
+        })
+        probes.put("setTime(Date, int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setTime(DATE, 9, 30)
+            }
+        })
+        probes.put("setTimeOnDate(Date, int, int, int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                DateTimeUtils.setTimeOnDate(MUTABLE_DATE, 9, 30, 15, 500)
+            }
+        })
+        probes.put("setTimeOnDate(Date, int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                DateTimeUtils.setTimeOnDate(MUTABLE_DATE, 9, 30)
+            }
+        })
+        probes.put("setTimeEventOnDate", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                DateTimeUtils.setTimeEventOnDate(MUTABLE_DATE, DateTimeUtils.TimeEvent.END_OF_DAY)
+            }
+        })
+        probes.put("setTimeEvent", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setTimeEvent(DATE, DateTimeUtils.TimeEvent.START_OF_YEAR)
+            }
+        })
+        probes.put("resetTime", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.resetTime(DATE)
+            }
+        })
+        probes.put("setTime(Date, Date)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setTime(DATE, LATER_DATE)
+            }
+        })
+        probes.put("setTime(Date, Date, boolean)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setTime(DATE, LATER_DATE, true)
+            }
+        })
+        probes.put("setTimeOnDummyDate(int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setTimeOnDummyDate(9, 30)
+            }
+        })
+        probes.put("setTimeOnDummyDate(Date)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setTimeOnDummyDate(DATE)
+            }
+        })
+        probes.put("setTimeOnDummyDate(String)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setTimeOnDummyDate("09:30")
+            }
+        })
+        probes.put("setDate", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setDate(2021, 7, 1)
+            }
+        })
+        probes.put("setDateTime(int, int, int, int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setDateTime(2021, 7, 1, 9, 30)
+            }
+        })
+        probes.put("setDateTime(int, int, int, int, int, int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.setDateTime(2021, 7, 1, 9, 30, 15, 500)
+            }
+        })
+        probes.put("setMonthBoundaries(Date, Date, int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                DateTimeUtils.setMonthBoundaries(MUTABLE_DATE, MUTABLE_END_DATE, 2021, 7)
+            }
+        })
+        probes.put("setMonthBoundaries(Date, Date, Date, Date)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                DateTimeUtils.setMonthBoundaries(MUTABLE_DATE, MUTABLE_END_DATE, DATE, LATER_DATE)
+            }
+        })
+        probes.put("getMonthBoundary", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.getMonthBoundary(2021, 7)
+            }
+        })
+        probes.put("toCalendar", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.toCalendar(DATE)
+            }
+        })
+        probes.put("toLocalDate", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.toLocalDate(DATE)
+            }
+        })
+        probes.put("convertToMinutes(Date)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.convertToMinutes(DATE)
+            }
+        })
+        probes.put("convertToMinutes(int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.convertToMinutes(9, 30)
+            }
+        })
+        probes.put("convertFormat(String, String, String)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.convertFormat("01/07/2021", "dd/MM/yyyy", "yyyy-MM-dd")
+            }
+        })
+        probes.put("convertFormat(String, FastDateFormat, FastDateFormat)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.convertFormat("01/07/2021", DateTimeUtils.Formatter.UK_DATE, DateTimeUtils.Formatter.ISO_8601_DATE_ONLY)
+            }
+        })
+        probes.put("getDatesAsList", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.getDatesAsList(DATE, 7)
+            }
+        })
+        probes.put("getDateRange", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.getDateRange(DATE, 7, ChronoUnit.DAYS)
+            }
+        })
+        probes.put("millisecondsBetween", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.millisecondsBetween(DATE, LATER_DATE)
+            }
+        })
+        probes.put("secondsBetween", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.secondsBetween(DATE, LATER_DATE)
+            }
+        })
+        probes.put("minutesBetween", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.minutesBetween(DATE, LATER_DATE)
+            }
+        })
+        probes.put("hoursBetween", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.hoursBetween(DATE, LATER_DATE)
+            }
+        })
+        probes.put("daysBetween", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.daysBetween(DATE, LATER_DATE)
+            }
+        })
+        probes.put("daysBetweenExact(Date, Date)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                doubleResult = DateTimeUtils.daysBetweenExact(DATE, LATER_DATE)
+            }
+        })
+        probes.put("daysBetweenExact(long, long)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                doubleResult = DateTimeUtils.daysBetweenExact(DATE.time, LATER_DATE.time)
+            }
+        })
+        probes.put("daysSpanned", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.daysSpanned(DATE, LATER_DATE)
+            }
+        })
+        probes.put("monthsBetween", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.monthsBetween(DATE, LATER_DATE)
+            }
+        })
+        probes.put("yearsBetween", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.yearsBetween(DATE, LATER_DATE)
+            }
+        })
+        probes.put("getDayOfWeek", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getDayOfWeek(DATE)
+            }
+        })
+        probes.put("getHours", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getHours(DATE)
+            }
+        })
+        probes.put("getDay", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getDay(DATE)
+            }
+        })
+        probes.put("getMonth", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getMonth(DATE)
+            }
+        })
+        probes.put("getYear", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getYear(DATE)
+            }
+        })
+        probes.put("getMinutes", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getMinutes(DATE)
+            }
+        })
+        probes.put("getSeconds", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getSeconds(DATE)
+            }
+        })
+        probes.put("getCurrentYear", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getCurrentYear()
+            }
+        })
+        probes.put("getCurrentMonth", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getCurrentMonth()
+            }
+        })
+        probes.put("getStartOfYear", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.getStartOfYear(2021)
+            }
+        })
+        probes.put("getStartOfToday", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.getStartOfToday()
+            }
+        })
+        probes.put("getEndOfToday", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.getEndOfToday()
+            }
+        })
+        probes.put("getEndOfYear", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.getEndOfYear(2021)
+            }
+        })
+        probes.put("getTimeZoneOffsetMillis(String)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getTimeZoneOffsetMillis("America/New_York")
+            }
+        })
+        probes.put("getTimeZoneOffsetMillis(String, long)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                longResult = DateTimeUtils.getTimeZoneOffsetMillis("America/New_York", DATE.time)
+            }
+        })
+        probes.put("minutesToTime", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.minutesToTime(570)
+            }
+        })
+        probes.put("toStringTime(Date)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.toStringTime(DATE)
+            }
+        })
+        probes.put("toIsoStringDate", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.toIsoStringDate(DATE)
+            }
+        })
+        probes.put("toIsoStringDateTime", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.toIsoStringDateTime(DATE)
+            }
+        })
+        probes.put("toStringTime(int, int)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.toStringTime(9, 30)
+            }
+        })
+        probes.put("addDays(Date, long)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                DateTimeUtils.addDays(MUTABLE_DATE, i % 2 == 0 ? 1 : -1)
+            }
+        })
+        probes.put("addDays(Calendar, long)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.addDays(CALENDAR, 1)
+            }
+        })
+        probes.put("addDays(long)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.addDays(1)
+            }
+        })
+        probes.put("addMinutes(Date, long)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                DateTimeUtils.addMinutes(MUTABLE_DATE, 1)
+            }
+        })
+        probes.put("addMinutes(long)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.addMinutes(1)
+            }
+        })
+        probes.put("minusMinutes", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                DateTimeUtils.minusMinutes(MUTABLE_DATE, 1)
+            }
+        })
+        probes.put("iso8601StringToDate", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.iso8601StringToDate("2021-07-01T14:45:30")
+            }
+        })
+        probes.put("isInFuture", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isInFuture(DATE)
+            }
+        })
+        probes.put("isBetween", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isBetween(DATE, DATE, LATER_DATE)
+            }
+        })
+        probes.put("isWithin", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isWithin(DATE, LATER_DATE, DATE, LATER_DATE)
+            }
+        })
+        probes.put("isNotWithinDays", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isNotWithinDays(DATE, 7)
+            }
+        })
+        probes.put("isWithinDays", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isWithinDays(DATE, 7)
+            }
+        })
+        probes.put("isSameDate(Date, Date, FastDateFormat)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isSameDate(DATE, LATER_DATE, DateTimeUtils.Formatter.UK_DATE)
+            }
+        })
+        probes.put("isSameDate(Date, Date, ChronoUnit)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isSameDate(DATE, LATER_DATE, ChronoUnit.DAYS)
+            }
+        })
+        probes.put("isToday", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isToday(DATE)
+            }
+        })
+        probes.put("validateDateUnit(String, FastDateFormat, String)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.validateDateUnit("01/07/2021", DateTimeUtils.Formatter.UK_DATE, "date")
+            }
+        })
+        probes.put("validateDateUnit(String, FastDateFormat, String, boolean)", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.validateDateUnit("01/07/2021", DateTimeUtils.Formatter.UK_DATE, "date", true)
+            }
+        })
+        probes.put("checkDateUnit", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                objectResult = DateTimeUtils.checkDateUnit("01/07/2021", DateTimeUtils.Formatter.UK_DATE)
+            }
+        })
+        probes.put("isCurrentlyDST", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isCurrentlyDST("America/New_York")
+            }
+        })
+        probes.put("isDST", { int calls ->
+            for (int i = 0; i < calls; i++) {
+                booleanResult = DateTimeUtils.isDST("America/New_York", DATE.time)
+            }
+        })
+        return probes
+    }
+}
@@ -3,10 +3,10 @@
  */
 package uk.cjack.utilities
 
+import java.time.temporal.ChronoUnit
+
 import org.apache.commons.lang3.time.DateUtils
 import org.apache.commons.lang3.time.FastDateFormat
-import org.mockito.MockedConstruction
-import org.mockito.Mockito
 import spock.lang.Specification
 import uk.cjack.utilities.exception.InvalidDateException
 
@@ -327,6 +327,30 @@ class DateTimeUtilsTest extends Specification {
         convertToDate("1970-12-01T01:02:03.45") | convertToDate("2021-01-01T00:00:00.00") | "2021-12-01T00:00:00" | "2021-12-31T23:59:59"
     }
 
+    /**
+     * Test for {@link DateTimeUtils#getMonthBoundary}
+     */
+    def "getMonthBoundary should return the same boundaries as setMonthBoundaries for month #month of #year"() {
+        given: "The dates set by setMonthBoundaries"
+        def startOfSearch = new Date()
+        def endOfSearch = new Date()
+        DateTimeUtils.setMonthBoundaries(startOfSearch, endOfSearch, year, month)
+
+        when: "I retrieve the boundary"
+        def boundary = DateTimeUtils.getMonthBoundary(year, month)
+
+        then: "The boundary should match the dates"
+        boundary.getStart() == startOfSearch
+        boundary.getEnd() == endOfSearch
+
+        where: "The following scenarios are tested"
+        year | month
+        2021 | 0
+        2021 | 11
+        1900 | 5
+        3000 | 5
+    }
+
     /* *********** *
      * Conversions *
      * *********** */
@@ -677,27 +701,35 @@ class DateTimeUtilsTest extends Specification {
     /**
      * Test for {@link DateTimeUtils#getCurrentYear}
      *
-     * In this test, I've mocked the Construction of a new Date so that this test doesn't need constant updating.
-     * The mock will default to the unix epoch start (e.g. 1970-01-01)
+     * In this test, I've fixed the clock so that this test doesn't need constant updating.
+     * The clock is fixed at midday on the unix epoch start (e.g. 1970-01-01), so it is the same date in any zone
      */
     def "getCurrentYear should return the current year as an integer"() {
+        given: "A clock fixed at 1970-01-01"
+        DateTimeUtils.setClock(DateTimeClock.fixed(12 * 60 * 60 * 1000))
+
         expect: "The method to return 1970"
-        try (MockedConstruction<Date> dateMockedConstruction = Mockito.mockConstruction(Date)) {
-            DateTimeUtils.getCurrentYear() == 1970
-        }
+        DateTimeUtils.getCurrentYear() == 1970
+
+        cleanup: "Reset the clock"
+        DateTimeUtils.setClock(null)
     }
 
     /**
      * Test for {@link DateTimeUtils#getCurrentMonth}
      *
-     * In this test, I've mocked the Construction of a new Date so that this test doesn't need constant updating.
-     * The mock will default to the unix epoch start (e.g. 1970-01-01)
+     * In this test, I've fixed the clock so that this test doesn't need constant updating.
+     * The clock is fixed at midday on the unix epoch start (e.g. 1970-01-01), so it is the same date in any zone
      */
     def "getCurrentMonth should return the current month as an integer"() {
+        given: "A clock fixed at 1970-01-01"
+        DateTimeUtils.setClock(DateTimeClock.fixed(12 * 60 * 60 * 1000))
+
         expect: "The method to return 0 (January)"
-        try (MockedConstruction<Date> dateMockedConstruction = Mockito.mockConstruction(Date)) {
-            DateTimeUtils.getCurrentMonth() == 0
-        }
+        DateTimeUtils.getCurrentMonth() == 0
+
+        cleanup: "Reset the clock"
+        DateTimeUtils.setClock(null)
     }
 
     /**
@@ -1033,6 +1065,37 @@ class DateTimeUtilsTest extends Specification {
         convertToDate("2021-01-01T15:00:00.00") | convertToDate("2021-01-02T15:59:00.00") | false
     }
 
+    /**
+     * Test for {@link DateTimeUtils#isSameDate}, with Formatters that are compared without formatting
+     */
+    def "isSameDate should return #expectedResult when the dates to check are #date1 and #date2 with #formatter.pattern"() {
+        expect: "The method should return the expected result"
+        DateTimeUtils.isSameDate(date1, date2, formatter) == expectedResult
+
+        where: "The following scenarios are tested"
+        date1                                   | date2                                   | formatter                                  | expectedResult
+        convertToDate("2021-01-01T15:00:00.00") | convertToDate("2021-01-01T15:59:00.00") | DateTimeUtils.Formatter.UK_DATE            | true
+        convertToDate("2021-01-01T15:00:00.00") | convertToDate("2021-01-02T15:00:00.00") | DateTimeUtils.Formatter.US_DATE            | false
+        convertToDate("2021-01-01T15:00:00.00") | convertToDate("2021-12-31T23:59:00.00") | DateTimeUtils.Formatter.YEAR_ONLY          | true
+        convertToDate("2021-01-01T15:00:00.10") | convertToDate("2021-01-01T15:00:00.90") | DateTimeUtils.Formatter.ISO_8601_DATE_TIME | true
+        convertToDate("2021-01-01T15:00:00.00") | convertToDate("2021-01-01T15:00:01.00") | DateTimeUtils.Formatter.ISO_8601_DATE_TIME | false
+    }
+
+    /**
+     * Test for {@link DateTimeUtils#isSameDate}, by unit
+     */
+    def "isSameDate should return #expectedResult when the dates to check are #date1 and #date2 by #unit"() {
+        expect: "The method should return the expected result"
+        DateTimeUtils.isSameDate(date1, date2, unit) == expectedResult
+
+        where: "The following scenarios are tested"
+        date1                                   | date2                                   | unit              | expectedResult
+        convertToDate("2021-01-01T15:00:00.00") | convertToDate("2021-01-01T15:59:00.00") | ChronoUnit.HOURS  | true
+        convertToDate("2021-01-01T15:00:00.00") | convertToDate("2021-01-01T16:00:00.00") | ChronoUnit.HOURS  | false
+        convertToDate("2021-01-01T00:00:00.00") | convertToDate("2021-01-31T23:59:00.00") | ChronoUnit.MONTHS | true
+        convertToDate("2021-01-31T00:00:00.00") | convertToDate("2021-02-01T00:00:00.00") | ChronoUnit.MONTHS | false
+    }
+
     /**
      * Test for {@link DateTimeUtils#validateDateUnit}
      */
@@ -1067,6 +1130,67 @@ class DateTimeUtilsTest extends Specification {
         "31/01/2023"    | DateTimeUtils.Formatter.UK_DATE_SHORT_YEAR | "Date"
     }
 
+    /**
+     * Test for {@link DateTimeUtils#validateDateUnit(String, FastDateFormat, String, boolean)}
+     */
+    def "validateDateUnit should throw an exception with a stack trace: #expectedStackTrace when quiet: #quiet"() {
+        when: "I call validateDateUnit with a date to check that is not in the correct format"
+        DateTimeUtils.validateDateUnit("2023-31-01", DateTimeUtils.Formatter.ISO_8601_DATE_ONLY, "Date", quiet)
+
+        then: "An exception should be thrown, with a message detailing the error"
+        def exception = thrown(InvalidDateException)
+        exception.message == "Invalid Date format for String: 2023-31-01; should be yyyy-MM-dd"
+        (exception.stackTrace.length > 0) == expectedStackTrace
+
+        where: "The following scenarios are tested"
+        quiet | expectedStackTrace
+        true  | false
+        false | true
+    }
+
+    /**
+     * Test for {@link DateTimeUtils#validateDateUnit(String, FastDateFormat, String, boolean)}
+     */
+    def "validateDateUnit should return the parsed date when quiet"() {
+        expect: "The method should return the parsed date"
+        DateTimeUtils.validateDateUnit("2021-12-14", DateTimeUtils.Formatter.ISO_8601_DATE_ONLY, "Date", true) ==
+                DateTimeUtils.Formatter.ISO_8601_DATE_ONLY.parse("2021-12-14")
+    }
+
+    /**
+     * Test for {@link DateTimeUtils#checkDateUnit}
+     */
+    def "checkDateUnit should return #expectedResult for #dateUnitToCheck in format #format"() {
+        expect: "The method should return the expected result"
+        DateTimeUtils.checkDateUnit(dateUnitToCheck, format) == expectedResult
+
+        where: "The following scenarios are tested"
+        dateUnitToCheck | format                                     | expectedResult
+        "2021-12-14"    | DateTimeUtils.Formatter.ISO_8601_DATE_ONLY | DateValidator.Status.VALID
+        "01-01-2023"    | DateTimeUtils.Formatter.ISO_8601_DATE_ONLY | DateValidator.Status.WRONG_FORMAT
+        "2023-31-01"    | DateTimeUtils.Formatter.ISO_8601_DATE_ONLY | DateValidator.Status.OUT_OF_RANGE
+        "31/01/2023"    | DateTimeUtils.Formatter.UK_DATE_SHORT_YEAR | DateValidator.Status.WRONG_FORMAT
+    }
+
+    /**
+     * Test for {@link DateTimeUtils#getTimeZoneOffsetMillis(String, long)} and {@link DateTimeUtils#isDST}
+     */
+    def "#timeZone at #dateTime should have offset #expectedOffset and DST: #expectedDST"() {
+        given: "The instant"
+        def millis = FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ssZZ").parse(dateTime).getTime()
+
+        expect: "The offset and DST state should be those of the zone at the instant"
+        DateTimeUtils.getTimeZoneOffsetMillis(timeZone, millis) == expectedOffset
+        DateTimeUtils.isDST(timeZone, millis) == expectedDST
+
+        where: "The following scenarios are tested"
+        timeZone           | dateTime                    | expectedOffset                         | expectedDST
+        "Europe/Paris"     | "2021-07-01T12:00:00+00:00" | TestConstants.TWO_HOURS_MILLIS         | true
+        "Europe/Paris"     | "2021-12-01T12:00:00+00:00" | TestConstants.ONE_HOUR_MILLIS          | false
+        "America/New_York" | "2021-12-01T12:00:00+00:00" | TestConstants.MINUS_FIVE_HOURS_MILLIS  | false
+        "America/Chicago"  | "2021-12-01T12:00:00+00:00" | TestConstants.MINUS_SIX_HOURS_MILLIS   | false
+    }
+
     /* ************** *
      * Helper Methods *
      * ************** */
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.text.ParseException
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link DateTranscoder}
+ */
+class DateTranscoderTest extends Specification {
+
+    private TimeZone defaultZone
+
+    def setup() {
+        defaultZone = TimeZone.getDefault()
+    }
+
+    def cleanup() {
+        TimeZone.setDefault(defaultZone)
+    }
+
+    /**
+     * Test for {@link DateTranscoder#isDirect}
+     */
+    def "#fromPattern to #toPattern should be converted directly: #expectedResult"() {
+        expect: "Only fixed-width numeric dates are converted directly"
+        DateTranscoder.of(fromPattern, toPattern).isDirect() == expectedResult
+
+        where: "The following scenarios are tested"
+        fromPattern                      | toPattern                        | expectedResult
+        DateTimeUtils.Format.UK_DATE     | DateTimeUtils.Format.US_DATE     | true
+        DateTimeUtils.Format.US_DATE     | "yyyy-MM-dd"                     | true
+        "yyyyMMdd"                       | DateTimeUtils.Format.FR_DATE     | true
+        DateTimeUtils.Format.UK_DATE     | "dd/MM"                          | true
+        "dd/MM"                          | DateTimeUtils.Format.UK_DATE     | false
+        "dd/MM/yy"                       | DateTimeUtils.Format.UK_DATE     | false
+        DateTimeUtils.Format.UK_DATE     | "dd MMM yyyy"                    | false
+        "yyyy-MM-dd'T'HH:mm"             | DateTimeUtils.Format.UK_DATE     | false
+        "d/M/yyyy"                       | DateTimeUtils.Format.UK_DATE     | false
+    }
+
+    /**
+     * Test for {@link DateTranscoder#convert}
+     */
+    def "#stringDate in #fromPattern should convert to #expectedResult in #toPattern"() {
+        given: "The default zone"
+        TimeZone.setDefault(TimeZone.getTimeZone(zoneId))
+
+        expect: "The result is that of parsing and formatting"
+        DateTranscoder.of(fromPattern, toPattern).convert(stringDate) == expectedResult
+
+        where: "The following scenarios are tested"
+        stringDate       | fromPattern  | toPattern    | zoneId          | expectedResult
+        "31/12/2021"     | "dd/MM/yyyy" | "MM/dd/yyyy" | "Europe/London" | "12/31/2021"
+        "20240229"       | "yyyyMMdd"   | "yyyy-MM-dd" | "Europe/London" | "2024-02-29"
+        "14/08/2021"     | "dd/MM/yyyy" | "dd/MM"      | "Europe/London" | "14/08"
+        "31/02/2021"     | "dd/MM/yyyy" | "yyyy-MM-dd" | "Europe/London" | "2021-03-03"
+        "1/8/2021"       | "dd/MM/yyyy" | "yyyy-MM-dd" | "Europe/London" | "2021-08-01"
+        "14/08/2021 xyz" | "dd/MM/yyyy" | "yyyy-MM-dd" | "Europe/London" | "2021-08-14"
+        "14/08/0000"     | "dd/MM/yyyy" | "yyyy-MM-dd" | "Europe/London" | "0001-08-14"
+        "30/12/2011"     | "dd/MM/yyyy" | "yyyy-MM-dd" | "Pacific/Apia"  | "2011-12-31"
+        "29/12/2011"     | "dd/MM/yyyy" | "yyyy-MM-dd" | "Pacific/Apia"  | "2011-12-29"
+    }
+
+    /**
+     * Test for {@link DateTranscoder#convert}
+     */
+    def "#stringDate should not be converted from #fromPattern"() {
+        when: "I convert the date"
+        DateTranscoder.of(fromPattern, DateTimeUtils.Format.ISO_8601_DATE_ONLY).convert(stringDate)
+
+        then: "The date cannot be parsed"
+        thrown(ParseException)
+
+        where: "The following scenarios are tested"
+        stringDate    | fromPattern
+        "14-08-2021"  | DateTimeUtils.Format.UK_DATE
+        " 14/08/2021" | DateTimeUtils.Format.UK_DATE
+        "14/08/+2021" | DateTimeUtils.Format.UK_DATE
+        ""            | DateTimeUtils.Format.UK_DATE
+    }
+
+    /**
+     * Test for {@link DateTranscoder#convert}, compared against {@link FastDateFormat#parse} and
+     * {@link FastDateFormat#format}
+     */
+    def "random dates from #fromPattern to #toPattern should match parsing and formatting"() {
+        given: "The formats and random dates in the layout"
+        def fromFormat = FastDateFormat.getInstance(fromPattern)
+        def toFormat = FastDateFormat.getInstance(toPattern)
+        def transcoder = DateTranscoder.of(fromFormat, toFormat)
+        def random = new Random(42)
+
+        expect: "Every date converts to the same result, or fails to parse in both"
+        (0..<5000).every {
+            def year = String.format("%04d", 1500 + random.nextInt(600))
+            def month = String.format("%02d", random.nextInt(14))
+            def day = String.format("%02d", random.nextInt(33))
+            def stringDate = fromPattern.replace("yyyy", year).replace("MM", month).replace("dd", day)
+            def expected
+            def actual
+            try {
+                expected = toFormat.format(fromFormat.parse(stringDate))
+            } catch (final ParseException parseException) {
+                expected = parseException.getMessage()
+            }
+            try {
+                actual = transcoder.convert(stringDate)
+            } catch (final ParseException parseException) {
+                actual = parseException.getMessage()
+            }
+            expected == actual
+        }
+
+        where: "The following scenarios are tested"
+        fromPattern  | toPattern
+        "dd/MM/yyyy" | "MM/dd/yyyy"
+        "MM/dd/yyyy" | "yyyy-MM-dd"
+        "yyyy/MM/dd" | "dd.MM.yyyy"
+        "yyyyMMdd"   | "dd/MM"
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.text.ParseException
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link DateValidator}
+ */
+class DateValidatorTest extends Specification {
+
+    /**
+     * Test for {@link DateValidator#validate}
+     */
+    def "#value in #pattern should be #expectedResult"() {
+        expect: "The value should have the expected status"
+        DateValidator.of(FastDateFormat.getInstance(pattern, TimeZone.getTimeZone(zoneId))).validate(value) == expectedResult
+
+        where: "The following scenarios are tested"
+        value                 | pattern                 | zoneId          | expectedResult
+        "2021-08-14"          | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.VALID
+        "2021-08-14T13:45:30" | "yyyy-MM-dd'T'HH:mm:ss" | "Europe/London" | DateValidator.Status.VALID
+        "29/02/24"            | "dd/MM/yy"              | "Europe/London" | DateValidator.Status.VALID
+        "14:53"               | "HH:mm"                 | "Europe/London" | DateValidator.Status.VALID
+        "02:30 PM"            | "hh:mm a"               | "Europe/London" | DateValidator.Status.VALID
+        "2010-09-26"          | "yyyy-MM-dd"            | "Pacific/Apia"  | DateValidator.Status.VALID
+        "2021-8-14"           | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.WRONG_FORMAT
+        "14/08/2021"          | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.WRONG_FORMAT
+        "2021-08-14 "         | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.WRONG_FORMAT
+        "1400"                | "HH:mm"                 | "Europe/London" | DateValidator.Status.WRONG_FORMAT
+        "14:30"               | "hh:mm a"               | "Europe/London" | DateValidator.Status.WRONG_FORMAT
+        null                  | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.WRONG_FORMAT
+        "2023-31-01"          | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.OUT_OF_RANGE
+        "2023-02-29"          | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.OUT_OF_RANGE
+        "24:00"               | "HH:mm"                 | "Europe/London" | DateValidator.Status.OUT_OF_RANGE
+        "2021-03-28T01:30:00" | "yyyy-MM-dd'T'HH:mm:ss" | "Europe/London" | DateValidator.Status.OUT_OF_RANGE
+        "13:30 PM"            | "hh:mm a"               | "Europe/London" | DateValidator.Status.OUT_OF_RANGE
+        "12345-01-01"         | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.VALID
+        "11657"               | "yyyy"                  | "Europe/London" | DateValidator.Status.VALID
+        "10000/01/01"         | "yyyy/MM/dd"            | "Europe/London" | DateValidator.Status.VALID
+        "12345-13-01"         | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.OUT_OF_RANGE
+        "12345-1-01"          | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.WRONG_FORMAT
+        "2021-08-145"         | "yyyy-MM-dd"            | "Europe/London" | DateValidator.Status.WRONG_FORMAT
+    }
+
+    /**
+     * Test for {@link DateValidator#isCompiled}
+     */
+    def "#pattern should be compiled: #expectedResult"() {
+        expect: "Only fixed-width numeric patterns are compiled"
+        DateValidator.of(FastDateFormat.getInstance(pattern)).isCompiled() == expectedResult
+
+        where: "The following scenarios are tested"
+        pattern                 | expectedResult
+        "yyyy-MM-dd'T'HH:mm:ss" | true
+        "dd/MM/yy @ HH:mm"      | true
+        "yyyyMMdd"              | true
+        "hh:mm a"               | false
+        "dd MMM yyyy"           | false
+        "d/M/yyyy"              | false
+        "yyyy-MM-dd HH:mm:ss.S" | false
+    }
+
+    /**
+     * Test for {@link DateValidator#parse}, compared against parsing and formatting with {@link FastDateFormat}
+     */
+    def "random values in #pattern and #zoneId should parse as they format back"() {
+        given: "The format and validator"
+        def format = FastDateFormat.getInstance(pattern, TimeZone.getTimeZone(zoneId))
+        def validator = DateValidator.of(format)
+        def random = new Random(42)
+
+        expect: "A value is valid if it formats back to itself, and then parses to the same Date"
+        (0..<5000).every {
+            def value = format.format(new Date((long) (random.nextDouble() * 2524608000000L))).collect {
+                Character.isDigit(it as char) && random.nextInt(3) == 0 ? String.valueOf(random.nextInt(10)) : it
+            }.join()
+            def expected = null
+            try {
+                def parsed = format.parse(value)
+                expected = format.format(parsed) == value ? parsed : null
+            } catch (final ParseException parseException) {
+                expected = null
+            }
+            validator.parse(value) == expected &&
+                    (validator.validate(value) == DateValidator.Status.VALID) == (expected != null)
+        }
+
+        where: "The following scenarios are tested"
+        pattern                 | zoneId
+        "yyyy-MM-dd'T'HH:mm:ss" | "Europe/London"
+        "dd/MM/yy @ HH:mm"      | "America/Sao_Paulo"
+        "MM/dd/yyyy"            | "Pacific/Apia"
+        "HH:mm"                 | "Australia/Lord_Howe"
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link DayBoundaryCache}
+ */
+class DayBoundaryCacheTest extends Specification {
+
+    /**
+     * Test for {@link DayBoundaryCache#startOfDay} and {@link DayBoundaryCache#endOfDay}
+     */
+    def "the day boundaries of #dateTime in #zoneId should be #expectedStart -> #expectedEnd"() {
+        given: "The cache and a formatter for the zone"
+        def zone = TimeZone.getTimeZone(zoneId)
+        def cache = DayBoundaryCache.forZone(zone)
+        def format = FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss.SSSZZ", zone)
+        def millis = format.parse(dateTime).getTime()
+
+        expect: "The start and end of the day should be the expected instants"
+        format.format(cache.startOfDay(millis)) == expectedStart
+        format.format(cache.endOfDay(millis)) == expectedEnd
+
+        where: "The following scenarios are tested"
+        dateTime                        | zoneId              | expectedStart                   | expectedEnd
+        "2021-06-06T14:56:06.280+00:00" | "UTC"               | "2021-06-06T00:00:00.000+00:00" | "2021-06-06T23:59:59.999+00:00"
+        "1969-12-31T23:59:59.999+00:00" | "UTC"               | "1969-12-31T00:00:00.000+00:00" | "1969-12-31T23:59:59.999+00:00"
+        // 23 and 25 hour days
+        "2021-03-28T12:00:00.000+01:00" | "Europe/London"     | "2021-03-28T00:00:00.000+00:00" | "2021-03-28T23:59:59.999+01:00"
+        "2021-10-31T12:00:00.000+00:00" | "Europe/London"     | "2021-10-31T00:00:00.000+01:00" | "2021-10-31T23:59:59.999+00:00"
+        // Midnight falls in a gap, so the day starts at 01:00
+        "2018-11-04T12:00:00.000-02:00" | "America/Sao_Paulo" | "2018-11-04T01:00:00.000-02:00" | "2018-11-04T23:59:59.999-02:00"
+        // Midnight is repeated, so the previous day ends before the (later) start of this one
+        "2010-10-31T00:30:00.000-04:00" | "America/Havana"    | "2010-10-31T00:00:00.000-05:00" | "2010-10-31T23:59:59.999-05:00"
+        "2010-10-30T12:00:00.000-04:00" | "America/Havana"    | "2010-10-30T00:00:00.000-04:00" | "2010-10-30T23:59:59.999-04:00"
+        // The next day is skipped, so the day ends just before the following one starts (not at the end of that day)
+        "2011-12-29T12:00:00.000-10:00" | "Pacific/Apia"      | "2011-12-29T00:00:00.000-10:00" | "2011-12-29T23:59:59.999-10:00"
+    }
+
+    /**
+     * Test for {@link DayBoundaryCache#epochDayOf}, compared against {@link EpochTimeUtils#toEpochDay}
+     */
+    def "epochDayOf should match EpochTimeUtils for every hour of #year in #zoneId"() {
+        given: "The cache for the zone"
+        def zone = TimeZone.getTimeZone(zoneId)
+        def cache = DayBoundaryCache.forZone(zone)
+        def start = EpochTimeUtils.toEpochMillis(year, 0, 1, 0, 0, 0, 0, zone)
+        def end = EpochTimeUtils.toEpochMillis(year + 1, 0, 1, 0, 0, 0, 0, zone)
+
+        expect: "Every hour (plus an offset, to avoid only testing whole hours) should match"
+        (start..<end).step(3600000 + 61001).every { cache.epochDayOf(it) == EpochTimeUtils.toEpochDay(it, zone) }
+
+        where: "The following scenarios are tested"
+        year | zoneId
+        2010 | "America/Havana"
+        2011 | "Pacific/Apia"
+        2021 | "Australia/Lord_Howe"
+        2021 | "Europe/London"
+        1990 | "Asia/Kolkata"
+    }
+
+    /**
+     * Test for {@link DayBoundaryCache#forZone}
+     */
+    def "forZone should share one cache per zone ID"() {
+        expect: "The same cache is returned for equivalent zones"
+        DayBoundaryCache.forZone(TimeZone.getTimeZone("Europe/Paris")).is(DayBoundaryCache.forZone(TimeZone.getTimeZone("Europe/Paris")))
+        !DayBoundaryCache.forZone(TimeZone.getTimeZone("Europe/Paris")).is(DayBoundaryCache.forZone(TimeZone.getTimeZone("Europe/Rome")))
+    }
+
+    /**
+     * Test for {@link DayBoundaryCache#forZone}
+     */
+    def "forZone should not return the boundaries of a different zone with the same ID"() {
+        given: "Two custom zones sharing an ID but not their offsets"
+        def plusOne = new SimpleTimeZone(3600000, "ShopZone")
+        def minusFive = new SimpleTimeZone(-5 * 3600000, "ShopZone")
+        def millis = 1_625_140_800_000L // 2021-07-01T12:00:00Z
+
+        when: "I use the first zone's boundaries, then ask for the second zone's"
+        DayBoundaryCache.forZone(plusOne).startOfDay(millis)
+        def cache = DayBoundaryCache.forZone(minusFive)
+
+        then: "The boundaries are those of the second zone"
+        cache.startOfDay(millis) == 1_625_115_600_000L // 2021-07-01T00:00:00-05:00
+        cache.getZone().getRawOffset() == -5 * 3600000
+    }
+}
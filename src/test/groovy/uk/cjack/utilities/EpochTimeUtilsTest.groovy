@@ -0,0 +1,245 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.time.temporal.ChronoUnit
+
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link EpochTimeUtils}
+ */
+class EpochTimeUtilsTest extends Specification {
+
+    /* ************* *
+     * Field Getters *
+     * ************* */
+
+    /**
+     * Test for the {@link EpochTimeUtils} field getters, compared against a {@link GregorianCalendar}
+     */
+    def "field getters should match GregorianCalendar for #dateTime in #zoneId"() {
+        given: "The instant of the local date/time in the zone"
+        def zone = TimeZone.getTimeZone(zoneId)
+        def calendar = calendarFor(dateTime, zone)
+        def millis = calendar.getTimeInMillis()
+
+        expect: "Every field should match the Calendar equivalent"
+        EpochTimeUtils.getYear(millis, zone) == calendar.get(Calendar.YEAR)
+        EpochTimeUtils.getMonth(millis, zone) == calendar.get(Calendar.MONTH)
+        EpochTimeUtils.getDay(millis, zone) == calendar.get(Calendar.DAY_OF_MONTH)
+        EpochTimeUtils.getDayOfWeek(millis, zone) == calendar.get(Calendar.DAY_OF_WEEK)
+        EpochTimeUtils.getHours(millis, zone) == calendar.get(Calendar.HOUR_OF_DAY)
+        EpochTimeUtils.getMinutes(millis, zone) == calendar.get(Calendar.MINUTE)
+        EpochTimeUtils.getSeconds(millis, zone) == calendar.get(Calendar.SECOND)
+
+        where: "The following scenarios are tested"
+        dateTime                  | zoneId
+        "1970-01-01T00:00:00.000" | "UTC"
+        "1969-12-31T23:59:59.999" | "UTC"
+        "2000-02-29T12:34:56.000" | "Europe/London"
+        "2021-03-28T03:30:00.000" | "Europe/London"
+        "2021-10-31T01:30:00.000" | "America/New_York"
+        "2100-12-31T23:59:59.000" | "Asia/Kolkata"
+        "1600-03-01T00:00:00.000" | "Australia/Sydney"
+        // Before the Gregorian cutover (Julian calendar)
+        "1500-06-15T10:00:00.000" | "Europe/Paris"
+    }
+
+    /**
+     * Test for {@link EpochTimeUtils#convertToMinutes}
+     */
+    def "convertToMinutes should return #expectedResult for #dateTime"() {
+        given: "The instant of the local date/time"
+        def zone = TimeZone.getTimeZone("Europe/London")
+        def millis = calendarFor(dateTime, zone).getTimeInMillis()
+
+        expect: "The method should return the expected result"
+        EpochTimeUtils.convertToMinutes(millis, zone) == expectedResult
+
+        where: "The following scenarios are tested"
+        dateTime                  | expectedResult
+        "2021-08-14T00:00:00.000" | 0
+        "2021-08-14T01:00:00.000" | 60
+        "2021-01-14T13:37:59.000" | 817
+        "2021-01-14T23:59:00.000" | 1439
+    }
+
+    /* *********** *
+     * Conversions *
+     * *********** */
+
+    /**
+     * Test for {@link EpochTimeUtils#toEpochMillis}
+     */
+    def "toEpochMillis should match a lenient Calendar for [#year, #month, #day, #hour:#minute, #millis ms] in #zoneId"() {
+        given: "A lenient Calendar with the same fields set"
+        def zone = TimeZone.getTimeZone(zoneId)
+        def calendar = new GregorianCalendar(zone)
+        calendar.clear()
+        calendar.set(year, month, day, hour, minute, 0)
+        calendar.set(Calendar.MILLISECOND, millis)
+
+        expect: "The method should return the same instant"
+        EpochTimeUtils.toEpochMillis(year, month, day, hour, minute, 0, millis, zone) == calendar.getTimeInMillis()
+
+        where: "The following scenarios are tested"
+        year | month | day | hour | minute | millis | zoneId
+        2021 | 0     | 1   | 0    | 0      | 0      | "Europe/London"
+        // Overflowing fields
+        2021 | 1     | 31  | 0    | 0      | 0      | "Europe/London"
+        2021 | 12    | 0   | 0    | 0      | 0      | "Europe/London"
+        2021 | -1    | 1   | 25   | 0      | -1     | "Europe/London"
+        // Within the spring gap and the autumn overlap
+        2021 | 2     | 28  | 1    | 30     | 0      | "Europe/London"
+        2021 | 9     | 31  | 1    | 30     | 0      | "Europe/London"
+        2021 | 2     | 14  | 2    | 15     | 0      | "America/New_York"
+        2021 | 10    | 7   | 1    | 15     | 0      | "America/New_York"
+        // Midnight gap
+        2018 | 10    | 4   | 0    | 30     | 0      | "America/Sao_Paulo"
+        // Before the Gregorian cutover
+        1582 | 9     | 4   | 12   | 0      | 0      | "UTC"
+    }
+
+    /**
+     * Test for {@link EpochTimeUtils#toEpochDay(long, int, long)} and its inverse getters
+     */
+    def "toEpochDay should convert [#year, #month, #day] into epoch day #expectedResult and back"() {
+        expect: "The method should return the expected result"
+        EpochTimeUtils.toEpochDay(year, month, day) == expectedResult
+        EpochTimeUtils.yearOfEpochDay(expectedResult) == year
+        EpochTimeUtils.monthOfEpochDay(expectedResult) == month
+        EpochTimeUtils.dayOfMonthOfEpochDay(expectedResult) == day
+
+        where: "The following scenarios are tested"
+        year | month | day | expectedResult
+        1970 | 0     | 1   | 0
+        1969 | 11    | 31  | -1
+        2000 | 1     | 29  | 11016
+        2021 | 7     | 14  | 18853
+        1600 | 2     | 1   | -135080
+    }
+
+    /* *********** *
+     * Add Methods *
+     * *********** */
+
+    /**
+     * Test for {@link EpochTimeUtils#addDays}
+     */
+    def "addDays should add #days days to #dateTime in #zoneId the same way as Calendar"() {
+        given: "The instant of the local date/time in the zone"
+        def zone = TimeZone.getTimeZone(zoneId)
+        def calendar = calendarFor(dateTime, zone)
+        def millis = calendar.getTimeInMillis()
+        calendar.add(Calendar.DAY_OF_MONTH, days)
+
+        expect: "The method should return the same instant as Calendar.add"
+        EpochTimeUtils.addDays(millis, days, zone) == calendar.getTimeInMillis()
+
+        where: "The following scenarios are tested"
+        dateTime                  | days | zoneId
+        "2021-01-01T10:11:12.000" | 120  | "Europe/London"
+        "2021-03-27T01:30:00.000" | 1    | "Europe/London"
+        "2021-10-30T01:30:00.000" | 1    | "Europe/London"
+        "2021-10-31T00:00:00.000" | -7   | "America/New_York"
+        "2018-11-03T00:00:00.000" | 1    | "America/Sao_Paulo"
+        "1582-10-20T00:00:00.000" | -10  | "UTC"
+    }
+
+    /**
+     * Test for {@link EpochTimeUtils#setTimeEvent}
+     */
+    def "#timeEvent of #millis in #zoneId should be #expectedResult"() {
+        expect: "The method should return the expected instant"
+        EpochTimeUtils.setTimeEvent(millis, timeEvent, TimeZone.getTimeZone(zoneId)) == expectedResult
+
+        where: "The following scenarios are tested"
+        millis         | timeEvent                            | zoneId          | expectedResult
+        // 2021-07-01T12:00Z, in a day from 00:00 to 23:59:59.999 BST
+        1625140800000L | DateTimeUtils.TimeEvent.START_OF_DAY | "Europe/London" | 1625094000000L
+        1625140800000L | DateTimeUtils.TimeEvent.END_OF_DAY   | "Europe/London" | 1625180399999L
+        // 2011-12-29T12:00-10:00, the day before the skipped 30th, which ends at 23:59:59.999-10:00 (rather than at the
+        // end of the 31st, as a lenient Calendar set to 23:59:59.999 on the 29th gives)
+        1325196000000L | DateTimeUtils.TimeEvent.START_OF_DAY | "Pacific/Apia"  | 1325152800000L
+        1325196000000L | DateTimeUtils.TimeEvent.END_OF_DAY   | "Pacific/Apia"  | 1325239199999L
+    }
+
+    /**
+     * Test for {@link EpochTimeUtils#addMinutes}
+     */
+    def "addMinutes should add #minutes minutes to #millis"() {
+        expect: "The method should return the expected result"
+        EpochTimeUtils.addMinutes(millis, minutes) == expectedResult
+
+        where: "The following scenarios are tested"
+        millis | minutes | expectedResult
+        0L     | 10      | 600000L
+        600000 | -10     | 0L
+        0L     | 1440    | 86400000L
+    }
+
+    /**
+     * Test for {@link EpochTimeUtils#isSamePeriod}
+     */
+    def "isSamePeriod should return #expectedResult for #dateTime1 and #dateTime2 by #unit in #zoneId"() {
+        given: "The instants of the date/times"
+        def zone = TimeZone.getTimeZone(zoneId)
+        def millis1 = calendarFor(dateTime1, zone).getTimeInMillis()
+        def millis2 = calendarFor(dateTime2, zone).getTimeInMillis()
+
+        expect: "The method should return the expected result"
+        EpochTimeUtils.isSamePeriod(millis1, millis2, unit, zone) == expectedResult
+
+        where: "The following scenarios are tested"
+        dateTime1                 | dateTime2                 | unit               | zoneId          | expectedResult
+        "2021-08-14T13:45:30.000" | "2021-08-14T13:45:30.999" | ChronoUnit.SECONDS | "UTC"           | true
+        "2021-08-14T13:45:30.999" | "2021-08-14T13:45:31.000" | ChronoUnit.SECONDS | "UTC"           | false
+        "2021-08-14T13:45:00.000" | "2021-08-14T13:45:59.999" | ChronoUnit.MINUTES | "Asia/Kolkata"  | true
+        "2021-08-14T13:00:00.000" | "2021-08-14T14:00:00.000" | ChronoUnit.HOURS   | "Asia/Kolkata"  | false
+        "2021-08-14T00:00:00.000" | "2021-08-14T23:59:59.999" | ChronoUnit.DAYS    | "Europe/London" | true
+        "2021-08-14T23:59:59.999" | "2021-08-15T00:00:00.000" | ChronoUnit.DAYS    | "Europe/London" | false
+        "2021-03-01T00:00:00.000" | "2021-03-31T23:59:59.999" | ChronoUnit.MONTHS  | "Europe/London" | true
+        "2021-02-28T23:59:59.999" | "2021-03-01T00:00:00.000" | ChronoUnit.MONTHS  | "Europe/London" | false
+        "2021-01-01T00:00:00.000" | "2021-12-31T23:59:59.999" | ChronoUnit.YEARS   | "Europe/London" | true
+        "1500-02-29T12:00:00.000" | "1500-02-01T00:00:00.000" | ChronoUnit.MONTHS  | "Europe/London" | true
+    }
+
+    /**
+     * Test for {@link EpochTimeUtils#isSamePeriod}
+     */
+    def "isSamePeriod should reject #unit"() {
+        when: "I compare by an unsupported unit"
+        EpochTimeUtils.isSamePeriod(0, 0, unit, TimeZone.getTimeZone("UTC"))
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+
+        where: "The following scenarios are tested"
+        unit << [ChronoUnit.MILLIS, ChronoUnit.WEEKS, ChronoUnit.DECADES]
+    }
+
+    /* ************** *
+     * Helper Methods *
+     * ************** */
+
+    /**
+     * Creates a Calendar in the given zone from a String in "yyyy-MM-dd'T'HH:mm:ss.SSS" format
+     * @param stringDate the String in "yyyy-MM-dd'T'HH:mm:ss.SSS" format
+     * @param zone the {@link TimeZone} to use
+     * @return the {@link Calendar}
+     */
+    private static Calendar calendarFor(final String stringDate, final TimeZone zone) {
+        def calendar = new GregorianCalendar(zone)
+        calendar.clear()
+        calendar.set(stringDate.substring(0, 4) as int,
+                (stringDate.substring(5, 7) as int) - 1,
+                stringDate.substring(8, 10) as int,
+                stringDate.substring(11, 13) as int,
+                stringDate.substring(14, 16) as int,
+                stringDate.substring(17, 19) as int)
+        calendar.set(Calendar.MILLISECOND, stringDate.substring(20, 23) as int)
+        calendar
+    }
+}
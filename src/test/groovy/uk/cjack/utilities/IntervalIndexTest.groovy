@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link IntervalIndex}
+ */
+class IntervalIndexTest extends Specification {
+
+    private static final long[] FROM = [10, 20, 20, 40, 70, 5]
+    private static final long[] TO = [30, 20, 50, 35, 80, 100] // [40, 35] contains nothing
+
+    /**
+     * Test for {@link IntervalIndex#containing} and {@link IntervalIndex#countContaining}
+     */
+    def "the ranges containing #instant should be #expectedResult"() {
+        given: "The index"
+        def index = IntervalIndex.of(FROM, TO)
+
+        expect: "The containing ranges should be found, including those that start or end at the instant"
+        index.containing(instant) as List == expectedResult
+        index.countContaining(instant) == expectedResult.size()
+        index.anyContaining(instant) == !expectedResult.isEmpty()
+
+        where: "The following scenarios are tested"
+        instant | expectedResult
+        4       | []
+        5       | [5]
+        10      | [0, 5]
+        20      | [0, 1, 2, 5]
+        36      | [2, 5]
+        40      | [2, 5]
+        60      | [5]
+        80      | [4, 5]
+        100     | [5]
+        101     | []
+    }
+
+    /**
+     * Test for {@link IntervalIndex#anyOverlap} and {@link IntervalIndex#anyContaining(long, long)}
+     */
+    def "a range of #start to #end should overlap: #expectedOverlap and be within: #expectedWithin"() {
+        given: "An index of two ranges and a range that contains nothing"
+        def index = IntervalIndex.of([10, 40, 25] as long[], [20, 50, 24] as long[])
+
+        expect: "The range is checked against the index"
+        index.anyOverlap(start, end) == expectedOverlap
+        index.anyContaining(start, end) == expectedWithin
+
+        where: "The following scenarios are tested"
+        start | end | expectedOverlap | expectedWithin
+        0     | 9   | false           | false
+        0     | 10  | true            | false
+        12    | 18  | true            | true
+        18    | 12  | false           | true
+        20    | 40  | true            | false
+        21    | 39  | false           | false
+        24    | 25  | false           | false
+        50    | 60  | true            | false
+        51    | 60  | false           | false
+    }
+
+    /**
+     * Test for {@link IntervalIndex#of}
+     */
+    def "an index should reject arrays of different lengths"() {
+        when: "I build the index"
+        IntervalIndex.of(new long[2], new long[3])
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+    }
+
+    /**
+     * Test for {@link IntervalIndex}, compared against {@link DateTimeUtils#isBetween} and
+     * {@link DateTimeUtils#isWithin}
+     */
+    def "random ranges should give the same results as checking each with isBetween and isWithin"() {
+        given: "An index of random ranges, some of which end before they start"
+        def random = new Random(42)
+        def size = 500
+        long[] from = new long[size]
+        long[] to = new long[size]
+        (0..<size).each {
+            from[it] = random.nextInt(10000)
+            to[it] = from[it] + random.nextInt(1000) - 50
+        }
+        def index = IntervalIndex.of(from, to)
+        def dates = { long millis -> new Date(millis) }
+
+        expect: "Every query matches a scan of the ranges"
+        (0..<2000).every {
+            long instant = random.nextInt(11000) - 500
+            long other = instant + random.nextInt(400) - 200
+            def expected = (0..<size).findAll {
+                DateTimeUtils.isBetween(dates(instant), dates(from[it]), dates(to[it]))
+            }
+            def expectedWithin = (0..<size).any {
+                DateTimeUtils.isWithin(dates(instant), dates(other), dates(from[it]), dates(to[it]))
+            }
+            def expectedOverlap = other >= instant && (0..<size).any {
+                from[it] <= to[it] && from[it] <= other && to[it] >= instant
+            }
+            index.containing(instant) as List == expected &&
+                    index.countContaining(instant) == expected.size() &&
+                    index.anyContaining(instant, other) == expectedWithin &&
+                    index.anyOverlap(instant, other) == expectedOverlap
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link IsoFormatUtils}
+ */
+class IsoFormatUtilsTest extends Specification {
+
+    /**
+     * Test for {@link IsoFormatUtils#appendDate} and {@link IsoFormatUtils#appendDateTime}
+     */
+    def "appendDate and appendDateTime should match FastDateFormat for #dateTime in #zoneId"() {
+        given: "The instant of the date/time"
+        def zone = TimeZone.getTimeZone(zoneId)
+        def millis = FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss.SSS", zone).parse(dateTime).getTime()
+
+        expect: "The output should match the Formatter equivalents"
+        IsoFormatUtils.appendDate(millis, zone, new StringBuilder()).toString() ==
+                FastDateFormat.getInstance(DateTimeUtils.Format.ISO_8601_DATE_ONLY, zone).format(millis)
+        IsoFormatUtils.appendDateTime(millis, zone, new StringBuilder()).toString() ==
+                FastDateFormat.getInstance(DateTimeUtils.Format.ISO_8601_DATE_TIME, zone).format(millis)
+
+        where: "The following scenarios are tested"
+        dateTime                   | zoneId
+        "2021-08-14T00:00:00.000"  | "UTC"
+        "2021-01-31T15:30:20.999"  | "Europe/London"
+        "1969-12-31T23:59:59.999"  | "America/New_York"
+        "0099-06-15T12:00:00.000"  | "Asia/Tokyo"
+        "12345-06-15T12:00:00.000" | "UTC"
+    }
+
+    /**
+     * Test for {@link IsoFormatUtils#appendTime}
+     */
+    def "appendTime should format [#hours, #minutes] as #expectedResult"() {
+        expect: "The output should match String.format with Format.TIME_24H"
+        IsoFormatUtils.appendTime(hours, minutes, new StringBuilder()).toString() == expectedResult
+        String.format(DateTimeUtils.Format.TIME_24H, hours, minutes) == expectedResult
+
+        where: "The following scenarios are tested"
+        hours | minutes | expectedResult
+        0     | 0       | "00:00"
+        9     | 5       | "09:05"
+        23    | 59      | "23:59"
+        123   | 7       | "123:07"
+        -1    | -10     | "-1:-10"
+    }
+
+    /**
+     * Test for the char[] methods of {@link IsoFormatUtils}
+     */
+    def "the char[] methods should write at the offset and return the end position"() {
+        given: "A buffer with existing content"
+        def zone = TimeZone.getTimeZone("Europe/London")
+        def millis = FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss", zone).parse("2021-08-14T13:45:30").getTime()
+        def buffer = "[".padRight(IsoFormatUtils.MAX_LENGTH + 1, ' ').toCharArray()
+
+        when: "I write each layout after the first character"
+        def dateEnd = IsoFormatUtils.formatDate(millis, zone, buffer, 1)
+        def date = new String(buffer, 1, dateEnd - 1)
+        def dateTimeEnd = IsoFormatUtils.formatDateTime(millis, zone, buffer, 1)
+        def dateTime = new String(buffer, 1, dateTimeEnd - 1)
+        def timeEnd = IsoFormatUtils.formatTime(13, 45, buffer, 1)
+        def time = new String(buffer, 1, timeEnd - 1)
+
+        then: "The layouts should be written in full, leaving the preceding content alone"
+        buffer[0] == '[' as char
+        date == "2021-08-14"
+        dateEnd == 1 + IsoFormatUtils.DATE_LENGTH
+        dateTime == "2021-08-14T13:45:30"
+        dateTimeEnd == 1 + IsoFormatUtils.DATE_TIME_LENGTH
+        time == "13:45"
+        timeEnd == 1 + IsoFormatUtils.TIME_LENGTH
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link IsoParseUtils}
+ */
+class IsoParseUtilsTest extends Specification {
+
+    /**
+     * Test for {@link IsoParseUtils#parseDateTime}, {@link IsoParseUtils#parseDate} and {@link IsoParseUtils#parseTime}
+     */
+    def "parsing #dateTime in #zoneId should match FastDateFormat"() {
+        given: "The zone and the date and time portions"
+        def zone = TimeZone.getTimeZone(zoneId)
+        def date = dateTime.substring(0, 10)
+        def time = dateTime.substring(11, 16)
+
+        expect: "Each parser should return the same instant as the Formatter equivalent"
+        IsoParseUtils.parseDateTime(dateTime, zone) ==
+                FastDateFormat.getInstance(DateTimeUtils.Format.ISO_8601_DATE_TIME, zone).parse(dateTime).getTime()
+        IsoParseUtils.parseDate(date, zone) ==
+                FastDateFormat.getInstance(DateTimeUtils.Format.ISO_8601_DATE_ONLY, zone).parse(date).getTime()
+        IsoParseUtils.parseTime(time, zone) ==
+                FastDateFormat.getInstance(DateTimeUtils.Format.ISO_8601_TIME_ONLY, zone).parse(time).getTime()
+
+        where: "The following scenarios are tested"
+        dateTime              | zoneId
+        "2021-08-14T00:00:00" | "UTC"
+        "2021-01-31T15:30:20" | "Europe/London"
+        "1969-12-31T23:59:59" | "America/New_York"
+        "2000-02-29T12:00:00" | "Asia/Tokyo"
+        // Inside the spring-forward gap and the autumn overlap
+        "2021-03-28T01:30:00" | "Europe/London"
+        "2021-10-31T01:30:00" | "Europe/London"
+        // Before the Gregorian cutover
+        "1066-10-14T09:00:00" | "Europe/London"
+    }
+
+    /**
+     * Test for {@link IsoParseUtils#parseLocalDateTime}, {@link IsoParseUtils#parseLocalDate} and
+     * {@link IsoParseUtils#parseTimeOfDay} with invalid values
+     */
+    def "'#value' should not be parsed"() {
+        expect: "Each parser should return its invalid marker"
+        IsoParseUtils.parseLocalDateTime(value, 0, value.length()) == IsoParseUtils.INVALID
+        IsoParseUtils.parseLocalDate(value, 0, value.length()) == IsoParseUtils.INVALID
+        IsoParseUtils.parseTimeOfDay(value, 0, value.length()) == IsoParseUtils.INVALID_TIME
+
+        where: "The following scenarios are tested"
+        value << ["", "2021-8-14", "2021-13-01", "2021-02-29", "1900-02-29", "2021-04-31", "2021-00-10",
+                  "2021-08-14 10:00:00", "2021-08-14T24:00:00", "2021-08-14T10:60:00", "2021-08-14T10:00:60",
+                  "2021/08/14", "20a1-08-14", "24:00", "9:30", "09-30", "+1:00"]
+    }
+
+    /**
+     * Test for the range methods of {@link IsoParseUtils}
+     */
+    def "values should be parsed from within a larger sequence"() {
+        given: "A payload with the values embedded in it"
+        def payload = new StringBuilder("id=7;at=2021-08-14T13:45:30;on=2021-08-14;from=13:45")
+        def zone = TimeZone.getTimeZone("Europe/London")
+
+        expect: "Each value should be parsed from its range"
+        IsoParseUtils.parseDateTime(payload, 8, IsoFormatUtils.DATE_TIME_LENGTH, zone) ==
+                IsoParseUtils.parseDateTime("2021-08-14T13:45:30", zone)
+        IsoParseUtils.parseDate(payload, 31, IsoFormatUtils.DATE_LENGTH, zone) ==
+                IsoParseUtils.parseDate("2021-08-14", zone)
+        IsoParseUtils.parseTimeOfDay(payload, 47, IsoFormatUtils.TIME_LENGTH) == 13 * 60 + 45
+        IsoParseUtils.parseLocalDate(payload, 31, IsoFormatUtils.DATE_LENGTH) == 18853L * 86400000L
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneId
+import java.time.ZonedDateTime
+
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link JavaTimeUtils}
+ */
+class JavaTimeUtilsTest extends Specification {
+
+    private TimeZone defaultZone
+
+    def setup() {
+        defaultZone = TimeZone.getDefault()
+    }
+
+    def cleanup() {
+        TimeZone.setDefault(defaultZone)
+    }
+
+    /**
+     * Test for {@link JavaTimeUtils#setTimeEvent(ZonedDateTime, DateTimeUtils.TimeEvent)}
+     */
+    def "setTimeEvent should set #timeEvent onto #dateTime as #expectedResult"() {
+        expect: "The time event is set in the zone of the date/time"
+        JavaTimeUtils.setTimeEvent(ZonedDateTime.parse(dateTime), timeEvent) == ZonedDateTime.parse(expectedResult)
+
+        where: "The following scenarios are tested"
+        dateTime                                       | timeEvent                             | expectedResult
+        "2021-08-14T13:45:30.250+01:00[Europe/London]" | DateTimeUtils.TimeEvent.START_OF_DAY  | "2021-08-14T00:00+01:00[Europe/London]"
+        "2021-08-14T13:45:30.250+01:00[Europe/London]" | DateTimeUtils.TimeEvent.END_OF_DAY    | "2021-08-14T23:59:59.999+01:00[Europe/London]"
+        "2021-08-14T13:45:30.250+01:00[Europe/London]" | DateTimeUtils.TimeEvent.START_OF_YEAR | "2021-01-01T00:00Z[Europe/London]"
+        "2021-08-14T13:45:30.250+01:00[Europe/London]" | DateTimeUtils.TimeEvent.END_OF_YEAR   | "2021-12-31T23:59:59.999Z[Europe/London]"
+        "2021-04-02T13:45:30.250+01:00[Europe/London]" | DateTimeUtils.TimeEvent.ONE_WEEK_AGO  | "2021-03-26T00:00Z[Europe/London]"
+        "2018-11-04T12:00-02:00[America/Sao_Paulo]"    | DateTimeUtils.TimeEvent.START_OF_DAY  | "2018-11-04T01:00-02:00[America/Sao_Paulo]"
+    }
+
+    /**
+     * Test for the {@link JavaTimeUtils} {@link Instant} methods, compared against the {@link Date} methods they
+     * mirror
+     */
+    def "the Instant methods should match the Date methods in #zoneId"() {
+        given: "The default zone and random instants"
+        TimeZone.setDefault(TimeZone.getTimeZone(zoneId))
+        def random = new Random(42)
+
+        expect: "Each method gives the same instant as its Date counterpart, without changing the original"
+        (0..<2000).every {
+            long millis = -2208988800000L + (long) (random.nextDouble() * 6311433600000L)
+            def instant = Instant.ofEpochMilli(millis)
+            def days = random.nextInt(800) - 400
+            def minutes = random.nextInt(100000) - 50000
+            def event = DateTimeUtils.TimeEvent.values()[random.nextInt(DateTimeUtils.TimeEvent.values().length)]
+            def date = { new Date(millis) }
+            def added = date()
+            DateTimeUtils.addDays(added, days)
+            def addedMinutes = date()
+            DateTimeUtils.addMinutes(addedMinutes, minutes)
+            def subtractedMinutes = date()
+            DateTimeUtils.minusMinutes(subtractedMinutes, minutes)
+            def withTime = date()
+            DateTimeUtils.setTimeOnDate(withTime, 14, 30, 15, 500)
+            def withEvent = date()
+            DateTimeUtils.setTimeEventOnDate(withEvent, event)
+
+            JavaTimeUtils.addDays(instant, days).toEpochMilli() == added.getTime() &&
+                    JavaTimeUtils.addMinutes(instant, minutes).toEpochMilli() == addedMinutes.getTime() &&
+                    JavaTimeUtils.minusMinutes(instant, minutes).toEpochMilli() == subtractedMinutes.getTime() &&
+                    JavaTimeUtils.setTime(instant, 14, 30, 15, 500).toEpochMilli() == withTime.getTime() &&
+                    JavaTimeUtils.setTimeEvent(instant, event).toEpochMilli() == withEvent.getTime() &&
+                    instant.toEpochMilli() == millis
+        }
+
+        where: "The following scenarios are tested"
+        zoneId << ["Europe/London", "America/Sao_Paulo", "Australia/Lord_Howe", "Asia/Kolkata"]
+    }
+
+    /**
+     * Test for the {@link JavaTimeUtils} {@link ZonedDateTime} methods, compared against the {@link Date} methods
+     * they mirror in the same zone
+     */
+    def "the ZonedDateTime methods should match the Date methods in #zoneId"() {
+        given: "A different default zone and random date/times in the zone"
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"))
+        def zoneTimeZone = TimeZone.getTimeZone(zoneId)
+        def random = new Random(42)
+
+        expect: "Each method gives the same instant as its Date counterpart in the zone, and stays in the zone"
+        (0..<2000).every {
+            long millis = (long) (random.nextDouble() * 2524608000000L)
+            def dateTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.of(zoneId))
+            def days = random.nextInt(800) - 400
+            def event = DateTimeUtils.TimeEvent.values()[random.nextInt(DateTimeUtils.TimeEvent.values().length)]
+            def calendar = Calendar.getInstance(zoneTimeZone)
+            calendar.setTimeInMillis(millis)
+            def added = DateTimeUtils.addDays(calendar, days)
+
+            def addedDays = JavaTimeUtils.addDays(dateTime, days)
+            def withTime = JavaTimeUtils.setTime(dateTime, 14, 30)
+            def withEvent = JavaTimeUtils.setTimeEvent(dateTime, event)
+            addedDays.toInstant().toEpochMilli() == added.getTime() &&
+                    withTime.toInstant().toEpochMilli() == EpochTimeUtils.setTime(millis, 14, 30, 0, 0, zoneTimeZone) &&
+                    withEvent.toInstant().toEpochMilli() == EpochTimeUtils.setTimeEvent(millis, event, zoneTimeZone) &&
+                    [addedDays, withTime, withEvent].every { it.getZone() == dateTime.getZone() }
+        }
+
+        where: "The following scenarios are tested"
+        zoneId << ["Europe/London", "America/Sao_Paulo", "America/New_York"]
+    }
+
+    /**
+     * Test for {@link JavaTimeUtils#addDays(Instant, long)} and {@link JavaTimeUtils#setTime(Instant, int, int)}
+     */
+    def "adding should keep sub-millisecond precision and setting the time should drop it"() {
+        given: "An instant with nanoseconds"
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"))
+        def instant = Instant.parse("2021-08-14T13:45:30.123456789Z")
+
+        expect: "The precision is kept or dropped"
+        JavaTimeUtils.addDays(instant, 1) == Instant.parse("2021-08-15T13:45:30.123456789Z")
+        JavaTimeUtils.addMinutes(instant, -1) == Instant.parse("2021-08-14T13:44:30.123456789Z")
+        JavaTimeUtils.setTime(instant, 9, 5) == Instant.parse("2021-08-14T09:05:00Z")
+    }
+
+    /**
+     * Test for {@link JavaTimeUtils#setTimeEvent(LocalDate, DateTimeUtils.TimeEvent)} and
+     * {@link JavaTimeUtils#getMonthBoundary(LocalDate)}
+     */
+    def "the LocalDate methods should match setTimeEvent of setDate and setMonthBoundaries"() {
+        given: "The default zone"
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"))
+        def startOfSearch = new Date()
+        def endOfSearch = new Date()
+        DateTimeUtils.setMonthBoundaries(startOfSearch, endOfSearch, 2021, 2)
+
+        expect: "The results match the Date methods"
+        DateTimeUtils.TimeEvent.values().every {
+            JavaTimeUtils.setTimeEvent(LocalDate.of(2021, 3, 28), it) ==
+                    DateTimeUtils.setTimeEvent(DateTimeUtils.setDate(2021, 2, 28), it).toInstant()
+        }
+        JavaTimeUtils.getMonthBoundary(LocalDate.of(2021, 3, 28)).getStart() == startOfSearch
+        JavaTimeUtils.getMonthBoundary(LocalDate.of(2021, 3, 28)).getEnd() == endOfSearch
+        JavaTimeUtils.getMonthBoundary(ZonedDateTime.parse("2021-03-28T12:00+01:00[Europe/London]")) ==
+                JavaTimeUtils.getMonthBoundary(LocalDate.of(2021, 3, 28))
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link MonthBoundaryTable}
+ */
+class MonthBoundaryTableTest extends Specification {
+
+    private TimeZone defaultZone
+
+    def setup() {
+        defaultZone = TimeZone.getDefault()
+    }
+
+    def cleanup() {
+        TimeZone.setDefault(defaultZone)
+    }
+
+    /**
+     * Test for {@link MonthBoundaryTable#startOfMonth} and {@link MonthBoundaryTable#endOfMonth}, compared against
+     * {@link DateTimeUtils#setTimeEvent} of {@link DateTimeUtils#setDate}
+     */
+    def "every month from #firstYear to #lastYear in #zoneId should match setTimeEvent of setDate"() {
+        given: "The default zone and a table covering part of the years"
+        TimeZone.setDefault(TimeZone.getTimeZone(zoneId))
+        def table = MonthBoundaryTable.of(TimeZone.getDefault(), firstYear + 10, lastYear - 10)
+
+        expect: "Each month, in and outside the table, matches the Calendar-style calculation"
+        (firstYear..lastYear).every { year ->
+            (-1..12).every { month ->
+                def start = DateTimeUtils.setTimeEvent(DateTimeUtils.setDate(year, month, 1),
+                        DateTimeUtils.TimeEvent.START_OF_DAY)
+                def end = DateTimeUtils.setTimeEvent(DateTimeUtils.setDate(year, month + 1, 0),
+                        DateTimeUtils.TimeEvent.END_OF_DAY)
+                table.startOfMonth(year, month) == start.getTime() && table.endOfMonth(year, month) == end.getTime()
+            }
+        }
+
+        where: "The following scenarios are tested"
+        zoneId                | firstYear | lastYear
+        "Europe/London"       | 1950      | 2050
+        "America/Sao_Paulo"   | 1960      | 2030
+        "Asia/Gaza"           | 1990      | 2030
+        "Pacific/Apia"        | 2000      | 2020
+        "Australia/Lord_Howe" | 1980      | 2030
+        "UTC"                 | 1500      | 1600
+    }
+
+    /**
+     * Test for {@link MonthBoundaryTable#getMonthBoundary}
+     */
+    def "the boundary of month #month of #year should be #expectedStart to #expectedEnd"() {
+        given: "The table for London"
+        def zone = TimeZone.getTimeZone("Europe/London")
+        def format = FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss.SSSZZ", zone)
+
+        when: "I retrieve the boundary"
+        def boundary = MonthBoundaryTable.forZone(zone).getMonthBoundary(year, month)
+
+        then: "The year and month are normalised and the boundaries are the first and last millisecond of the month"
+        boundary.getYear() == expectedYear
+        boundary.getMonth() == expectedMonth
+        format.format(boundary.getStart()) == expectedStart
+        format.format(boundary.getEnd()) == expectedEnd
+        boundary.contains(boundary.getStartMillis()) && boundary.contains(boundary.getEndMillis())
+        !boundary.contains(boundary.getEndMillis() + 1)
+
+        where: "The following scenarios are tested"
+        year | month | expectedYear | expectedMonth | expectedStart                   | expectedEnd
+        2021 | 2     | 2021         | 2             | "2021-03-01T00:00:00.000+00:00" | "2021-03-31T23:59:59.999+01:00"
+        2020 | 1     | 2020         | 1             | "2020-02-01T00:00:00.000+00:00" | "2020-02-29T23:59:59.999+00:00"
+        2021 | 12    | 2022         | 0             | "2022-01-01T00:00:00.000+00:00" | "2022-01-31T23:59:59.999+00:00"
+        2021 | -1    | 2020         | 11            | "2020-12-01T00:00:00.000+00:00" | "2020-12-31T23:59:59.999+00:00"
+        2500 | 9     | 2500         | 9             | "2500-10-01T00:00:00.000+01:00" | "2500-10-31T23:59:59.999+00:00"
+    }
+
+    /**
+     * Test for {@link MonthBoundaryTable#of}
+     */
+    def "a table should reject a range of #firstYear to #lastYear"() {
+        when: "I create the table"
+        MonthBoundaryTable.of(TimeZone.getTimeZone("UTC"), firstYear, lastYear)
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+
+        where: "The following scenarios are tested"
+        firstYear         | lastYear
+        2021              | 2020
+        Integer.MIN_VALUE | Integer.MAX_VALUE
+    }
+
+    /**
+     * Test for {@link MonthBoundaryTable#forZone}
+     */
+    def "forZone should not return the boundaries of a different zone with the same ID"() {
+        given: "Two custom zones sharing an ID but not their offsets"
+        def plusOne = new SimpleTimeZone(3600000, "ShopZone")
+        def minusFive = new SimpleTimeZone(-5 * 3600000, "ShopZone")
+
+        when: "I use the first zone's table, then ask for the second zone's"
+        MonthBoundaryTable.forZone(plusOne).startOfMonth(2021, 6)
+        def table = MonthBoundaryTable.forZone(minusFive)
+
+        then: "The boundaries are those of the second zone"
+        table.startOfMonth(2021, 6) == 1_625_115_600_000L // 2021-07-01T00:00:00-05:00
+        table.getZone().getRawOffset() == -5 * 3600000
+    }
+}
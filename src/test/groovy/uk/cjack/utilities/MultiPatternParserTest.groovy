@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.text.ParseException
+
+import org.apache.commons.lang3.time.FastDateFormat
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link MultiPatternParser}
+ */
+class MultiPatternParserTest extends Specification {
+
+    private static final String[] ALL_FORMATS = [DateTimeUtils.Format.ISO_8601_DATE_TIME,
+                                                 DateTimeUtils.Format.ISO_8601_DATE_ONLY,
+                                                 DateTimeUtils.Format.UK_DATE,
+                                                 DateTimeUtils.Format.US_DATE,
+                                                 DateTimeUtils.Format.FR_DATE,
+                                                 DateTimeUtils.Format.JP_DATE,
+                                                 DateTimeUtils.Format.UK_DATE_SHORT_YEAR,
+                                                 DateTimeUtils.Format.UK_TIME_STAMP,
+                                                 DateTimeUtils.Format.UK_DATE_COMPACT,
+                                                 "dd MMM yyyy"]
+
+    /**
+     * Test for {@link MultiPatternParser#detect} and {@link MultiPatternParser#parse}
+     */
+    def "#value should be detected as #expectedPattern"() {
+        given: "The parser"
+        def parser = MultiPatternParser.of(ALL_FORMATS)
+
+        expect: "The value is parsed in the highest priority format it is valid in"
+        parser.detect(value).getPattern() == expectedPattern
+        parser.parse(value) == FastDateFormat.getInstance(expectedPattern).parse(value)
+
+        where: "The following scenarios are tested"
+        value                 | expectedPattern
+        "2021-08-14T15:05:00" | DateTimeUtils.Format.ISO_8601_DATE_TIME
+        "2021-08-14"          | DateTimeUtils.Format.ISO_8601_DATE_ONLY
+        "01/02/2021"          | DateTimeUtils.Format.UK_DATE
+        "12/31/2021"          | DateTimeUtils.Format.US_DATE
+        "14.08.2021"          | DateTimeUtils.Format.FR_DATE
+        "2021/08/14"          | DateTimeUtils.Format.JP_DATE
+        "14/08/21"            | DateTimeUtils.Format.UK_DATE_SHORT_YEAR
+        "14/08/21 @ 15:05"    | DateTimeUtils.Format.UK_TIME_STAMP
+        "14/08"               | DateTimeUtils.Format.UK_DATE_COMPACT
+        "14 Aug 2021"         | "dd MMM yyyy"
+        "12345-08-14"         | DateTimeUtils.Format.ISO_8601_DATE_ONLY
+        "14/08/12345"         | DateTimeUtils.Format.UK_DATE
+    }
+
+    /**
+     * Test for {@link MultiPatternParser#detect}
+     */
+    def "#value should be detected as #expectedPattern with #patterns in priority order"() {
+        expect: "Ambiguous values are in the first format they are valid in"
+        MultiPatternParser.of(patterns as String[]).detect(value).getPattern() == expectedPattern
+
+        where: "The following scenarios are tested"
+        patterns                                                     | value        | expectedPattern
+        [DateTimeUtils.Format.UK_DATE, DateTimeUtils.Format.US_DATE] | "01/02/2021" | DateTimeUtils.Format.UK_DATE
+        [DateTimeUtils.Format.US_DATE, DateTimeUtils.Format.UK_DATE] | "01/02/2021" | DateTimeUtils.Format.US_DATE
+        [DateTimeUtils.Format.US_DATE, DateTimeUtils.Format.UK_DATE] | "31/01/2021" | DateTimeUtils.Format.UK_DATE
+        ["dd MMM yyyy", DateTimeUtils.Format.UK_DATE]                | "01/02/2021" | DateTimeUtils.Format.UK_DATE
+    }
+
+    /**
+     * Test for {@link MultiPatternParser#detect} and {@link MultiPatternParser#parse}
+     */
+    def "#value should not be detected"() {
+        given: "The parser"
+        def parser = MultiPatternParser.of(ALL_FORMATS)
+
+        when: "I parse the value"
+        parser.parse(value)
+
+        then: "It is not in any format"
+        parser.detect(value) == null
+        thrown(ParseException)
+
+        where: "The following scenarios are tested"
+        value << ["31/02/2021", "2021-08-14T15:05", "14/08/2021 extra", "14-08-2021", "", null]
+    }
+
+    /**
+     * Test for {@link MultiPatternParser#of}
+     */
+    def "of should not accept no formats"() {
+        when: "I create the parser"
+        MultiPatternParser.of(new FastDateFormat[0])
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.time.LocalDate
+
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link OccupancyCalendar}
+ */
+class OccupancyCalendarTest extends Specification {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2021, 1, 1)
+    private static final LocalDate LAST_DATE = LocalDate.of(2021, 12, 31)
+
+    /**
+     * Test for {@link OccupancyCalendar#maxOccupancy(Date, Date)} and {@link OccupancyCalendar#isAvailable}
+     */
+    def "a stay from #start to #end should have a max occupancy of #expectedResult"() {
+        given: "A calendar of reservations 10th-12th August, 12th-14th August (ending before noon) and two on 20th"
+        def calendar = OccupancyCalendar.of(FIRST_DATE, LAST_DATE)
+        calendar.addReservation(DateTimeUtils.setDateTime(2021, Calendar.AUGUST, 10, 15, 0),
+                DateTimeUtils.setDateTime(2021, Calendar.AUGUST, 12, 11, 0))
+        calendar.addReservation(DateTimeUtils.setDateTime(2021, Calendar.AUGUST, 12, 15, 0),
+                DateTimeUtils.setDateTime(2021, Calendar.AUGUST, 14, 11, 0))
+        calendar.addReservations(LocalDate.of(2021, 8, 20), LocalDate.of(2021, 8, 20), 2)
+
+        expect: "Every day the stay spans is checked, as DateTimeUtils.daysSpanned counts them"
+        calendar.maxOccupancy(LocalDate.parse(start), LocalDate.parse(end)) == expectedResult
+        calendar.isAvailable(DateTimeUtils.setDateTime(*toFields(start), 23, 59),
+                DateTimeUtils.setDateTime(*toFields(end), 0, 0),
+                2) == expectedResult < 2
+
+        where: "The following scenarios are tested"
+        start        | end          | expectedResult
+        "2021-08-01" | "2021-08-09" | 0
+        "2021-08-09" | "2021-08-10" | 1
+        "2021-08-12" | "2021-08-12" | 2
+        "2021-08-13" | "2021-08-19" | 1
+        "2021-08-15" | "2021-08-19" | 0
+        "2021-08-01" | "2021-08-31" | 2
+        "2021-08-14" | "2021-08-10" | 0
+        "2020-12-01" | "2021-01-31" | 0
+    }
+
+    /**
+     * Test for {@link OccupancyCalendar#firstDayWithCapacity} and {@link OccupancyCalendar#removeReservation}
+     */
+    def "the first day from #from with capacity for #capacity should be #expectedResult"() {
+        given: "A calendar full from 1st to 10th August, with one reservation removed on 5th-6th"
+        def calendar = OccupancyCalendar.of(FIRST_DATE, LAST_DATE)
+        calendar.addReservations(LocalDate.of(2021, 8, 1), LocalDate.of(2021, 8, 10), 3)
+        calendar.removeReservation(DateTimeUtils.setDate(2021, Calendar.AUGUST, 5),
+                DateTimeUtils.setDate(2021, Calendar.AUGUST, 6))
+
+        expect: "The first day with fewer reservations than the capacity is found"
+        calendar.firstDayWithCapacity(LocalDate.parse(from), capacity) ==
+                (expectedResult ? LocalDate.parse(expectedResult) : null)
+
+        where: "The following scenarios are tested"
+        from         | capacity | expectedResult
+        "2021-07-30" | 3        | "2021-07-30"
+        "2021-08-01" | 3        | "2021-08-05"
+        "2021-08-07" | 3        | "2021-08-11"
+        "2021-08-01" | 4        | "2021-08-01"
+        "2021-08-01" | 0        | null
+        "2020-06-01" | 1        | "2021-01-01"
+        "2022-01-01" | 1        | null
+    }
+
+    /**
+     * Test for {@link OccupancyCalendar}, compared against counting the reservations of each day
+     */
+    def "occupancy should match counting the reservations of each day"() {
+        given: "A year of random reservations"
+        def random = new Random(42)
+        def calendar = OccupancyCalendar.of(FIRST_DATE, LAST_DATE)
+        def counts = new int[LAST_DATE.dayOfYear]
+        (0..<2000).each {
+            def start = random.nextInt(400) - 20
+            def end = start + random.nextInt(14)
+            def reservations = random.nextInt(3) - 1
+            calendar.addReservations(FIRST_DATE.plusDays(start), FIRST_DATE.plusDays(end), reservations)
+            for (int day = Math.max(start, 0); day <= Math.min(end, counts.length - 1); day++) {
+                counts[day] += reservations
+            }
+        }
+
+        expect: "Every stay and search gives the same answer as the counts of each day"
+        (0..<2000).every {
+            def start = random.nextInt(counts.length)
+            def end = Math.min(start + random.nextInt(30), counts.length - 1)
+            def capacity = random.nextInt(40) - 10
+            def firstDay = (start..<counts.length).find { counts[it] < capacity }
+            calendar.maxOccupancy(FIRST_DATE.plusDays(start), FIRST_DATE.plusDays(end)) == counts[start..end].max() &&
+                    calendar.firstDayWithCapacity(FIRST_DATE.plusDays(start), capacity) ==
+                    (firstDay == null ? null : FIRST_DATE.plusDays(firstDay))
+        }
+    }
+
+    /**
+     * Test for {@link OccupancyCalendar#of}
+     */
+    def "of should not accept a last day before the first"() {
+        when: "I create the calendar"
+        OccupancyCalendar.of(LAST_DATE, FIRST_DATE)
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+    }
+
+    private static List<Integer> toFields(final String date) {
+        def localDate = LocalDate.parse(date)
+        return [localDate.year, localDate.monthValue - 1, localDate.dayOfMonth]
+    }
+}
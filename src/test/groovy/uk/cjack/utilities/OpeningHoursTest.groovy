@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.time.ZonedDateTime
+
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link OpeningHours}
+ */
+class OpeningHoursTest extends Specification {
+
+    /**
+     * Monday to Friday 09:00 to 17:30, and Saturday 22:00 to Sunday 02:00
+     */
+    private static final OpeningHours LONDON_SHOP = OpeningHours.of("Europe/London",
+            [Calendar.MONDAY, Calendar.TUESDAY, Calendar.WEDNESDAY, Calendar.THURSDAY, Calendar.FRIDAY,
+             Calendar.SATURDAY] as int[],
+            [540, 540, 540, 540, 540, 1320] as int[],
+            [1050, 1050, 1050, 1050, 1050, 120] as int[])
+
+    /**
+     * Test for {@link OpeningHours#isOpen}, {@link OpeningHours#nextOpening} and {@link OpeningHours#nextClosing}
+     */
+    def "at #localTime the shop should be open: #expectedOpen, opening at #expectedOpening, closing at #expectedClosing"() {
+        given: "The instant of the local time"
+        def instant = toEpochMillis(localTime)
+
+        expect: "The shop's hours are checked in its own zone"
+        LONDON_SHOP.isOpen(instant) == expectedOpen
+        LONDON_SHOP.nextOpening(instant) == toEpochMillis(expectedOpening)
+        LONDON_SHOP.nextClosing(instant) == toEpochMillis(expectedClosing)
+
+        where: "The following scenarios are tested"
+        localTime                   | expectedOpen | expectedOpening             | expectedClosing
+        "2021-08-16T08:59:59+01:00" | false        | "2021-08-16T09:00:00+01:00" | "2021-08-16T17:30:00+01:00"
+        "2021-08-16T09:00:00+01:00" | true         | "2021-08-17T09:00:00+01:00" | "2021-08-16T17:30:00+01:00"
+        "2021-08-20T17:30:00+01:00" | false        | "2021-08-21T22:00:00+01:00" | "2021-08-22T02:00:00+01:00"
+        "2021-08-22T01:00:00+01:00" | true         | "2021-08-23T09:00:00+01:00" | "2021-08-22T02:00:00+01:00"
+        "2021-12-20T12:00:00Z"      | true         | "2021-12-21T09:00:00Z"      | "2021-12-20T17:30:00Z"
+    }
+
+    /**
+     * Test for {@link OpeningHours#isOpen}, {@link OpeningHours#nextOpening} and {@link OpeningHours#nextClosing}
+     * across the changes of the clocks
+     */
+    def "a shop open #opens to #closes on Sundays should open at #expectedOpening and close at #expectedClosing"() {
+        given: "The shop's hours, and midnight at the start of the day the clocks change"
+        def shop = OpeningHours.of("Europe/London", [Calendar.SUNDAY] as int[], [opens] as int[], [closes] as int[])
+        def midnight = toEpochMillis(date)
+
+        expect: "The shop opens and closes at its local times, or when the clocks change into or out of them"
+        shop.nextOpening(midnight) == toEpochMillis(expectedOpening)
+        shop.nextClosing(midnight) == toEpochMillis(expectedClosing)
+
+        where: "The following scenarios are tested"
+        date                        | opens | closes | expectedOpening             | expectedClosing
+        "2021-03-28T00:00:00Z"      | 90    | 180    | "2021-03-28T01:00:00Z"      | "2021-03-28T02:00:00Z"
+        "2021-03-28T00:00:00Z"      | 60    | 150    | "2021-03-28T01:00:00Z"      | "2021-03-28T01:30:00Z"
+        "2021-10-31T00:00:00+01:00" | 30    | 90     | "2021-10-30T23:30:00Z"      | "2021-10-31T00:30:00Z"
+        "2021-10-31T00:00:00+01:00" | 90    | 120    | "2021-10-31T00:30:00Z"      | "2021-10-31T01:00:00Z"
+    }
+
+    /**
+     * Test for {@link OpeningHours#nextOpening} and {@link OpeningHours#nextClosing}
+     */
+    def "a shop open #description should never open: #expectedNeverOpens or close: #expectedNeverCloses"() {
+        given: "The shop's hours in the default zone"
+        def shop = OpeningHours.of("", days as int[], opens as int[], closes as int[])
+
+        expect: "There is only an opening or closing to find if the shop's hours change"
+        shop.isOpen(0) == expectedOpen
+        (shop.nextOpening(0) == OpeningHours.NEVER) == expectedNeverOpens
+        (shop.nextClosing(0) == OpeningHours.NEVER) == expectedNeverCloses
+
+        where: "The following scenarios are tested"
+        description  | days              | opens   | closes  | expectedOpen | expectedNeverOpens | expectedNeverCloses
+        "no hours"   | []                | []      | []      | false        | true               | true
+        "all week"   | (1..7).toList()   | [0] * 7 | [0] * 7 | true         | true               | true
+        "on Sundays" | [Calendar.SUNDAY] | [0]     | [1440]  | false        | false              | false
+    }
+
+    /**
+     * Test for {@link OpeningHours#of}
+     */
+    def "of should not accept the period #days #opens to #closes"() {
+        when: "I create the opening hours"
+        OpeningHours.of("Europe/London", days as int[], opens as int[], closes as int[])
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+
+        where: "The following scenarios are tested"
+        days   | opens  | closes
+        [0]    | [540]  | [1050]
+        [8]    | [540]  | [1050]
+        [2]    | [1440] | [1050]
+        [2]    | [540]  | [1441]
+        [2]    | [-1]   | [1050]
+        [2, 3] | [540]  | [1050]
+    }
+
+    private static long toEpochMillis(final String dateTime) {
+        return ZonedDateTime.parse(dateTime).toInstant().toEpochMilli()
+    }
+}
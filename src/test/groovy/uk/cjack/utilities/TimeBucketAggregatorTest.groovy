@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import java.time.ZonedDateTime
+import java.time.temporal.ChronoUnit
+import java.util.stream.LongStream
+
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link TimeBucketAggregator}
+ */
+class TimeBucketAggregatorTest extends Specification {
+
+    private static final TimeZone LONDON = TimeZone.getTimeZone("Europe/London")
+
+    /**
+     * Test for {@link TimeBucketAggregator#add} and {@link TimeBucketAggregator#getBucketStart}
+     */
+    def "events should be counted and summed by #granularity"() {
+        given: "An aggregator over 2021"
+        def aggregator = TimeBucketAggregator.of(LONDON, granularity, toEpochMillis("2021-01-01T00:00:00Z"),
+                toEpochMillis("2021-12-31T23:59:59.999Z"))
+
+        when: "I add events at 01:30 local time either side of the clocks going back, and one after the range"
+        aggregator.add(toEpochMillis("2021-10-31T00:30:00Z"), 5)
+        aggregator.add(toEpochMillis("2021-10-31T01:30:00Z"), 7)
+        aggregator.add(toEpochMillis("2022-01-01T00:00:00Z"), 11)
+
+        then: "The events are in the buckets of their local times"
+        aggregator.size() == expectedSize
+        aggregator.getCounts().findAll { it > 0 } == expectedCounts
+        aggregator.getSums().sum() == 12
+        aggregator.getDropped() == 1
+        aggregator.getBucketStart(aggregator.bucketOf(toEpochMillis("2021-10-31T00:30:00Z"))) ==
+                toEpochMillis(expectedStart)
+
+        where: "The following scenarios are tested"
+        granularity        | expectedSize | expectedCounts | expectedStart
+        ChronoUnit.MINUTES | 525600       | [2]            | "2021-10-31T00:30:00Z"
+        ChronoUnit.HOURS   | 8760         | [2]            | "2021-10-31T00:00:00Z"
+        ChronoUnit.DAYS    | 365          | [2]            | "2021-10-31T00:00:00+01:00"
+        ChronoUnit.WEEKS   | 53           | [2]            | "2021-10-31T00:00:00+01:00"
+        ChronoUnit.MONTHS  | 12           | [2]            | "2021-10-01T00:00:00+01:00"
+        ChronoUnit.YEARS   | 1            | [2]            | "2021-01-01T00:00:00Z"
+    }
+
+    /**
+     * Test for {@link TimeBucketAggregator#getBucketStart} and {@link TimeBucketAggregator#getBucketEnd}, compared
+     * against {@link DateTimeUtils#setTimeEvent} and {@link DateTimeUtils#setMonthBoundaries}
+     */
+    def "buckets by #granularity should match the DateTimeUtils boundaries in #zoneId"() {
+        given: "The default zone, and random instants"
+        def defaultZone = TimeZone.getDefault()
+        TimeZone.setDefault(TimeZone.getTimeZone(zoneId))
+        def random = new Random(42)
+        def instants = (0..<2000).collect { (long) (random.nextDouble() * 4102444800000L) }
+        def aggregator = TimeBucketAggregator.of(TimeZone.getDefault(), granularity, 0, 4102444800000L)
+
+        expect: "Each instant's bucket starts and ends where DateTimeUtils would put its period"
+        instants.every { instant ->
+            def bucket = aggregator.bucketOf(instant)
+            def date = new Date(instant)
+            def start = new Date(0)
+            def end = new Date(0)
+            DateTimeUtils.setMonthBoundaries(start, end, DateTimeUtils.getYear(date), DateTimeUtils.getMonth(date))
+            granularity == ChronoUnit.DAYS
+                    ? aggregator.getBucketStart(bucket) == DateTimeUtils.resetTime(date).time &&
+                    aggregator.getBucketEnd(bucket) ==
+                    DateTimeUtils.setTimeEvent(date, DateTimeUtils.TimeEvent.END_OF_DAY).time
+                    : aggregator.getBucketStart(bucket) == start.time && aggregator.getBucketEnd(bucket) == end.time
+        }
+
+        cleanup: "Restore the default zone"
+        TimeZone.setDefault(defaultZone)
+
+        where: "The following scenarios are tested"
+        granularity       | zoneId
+        ChronoUnit.DAYS   | "Europe/London"
+        ChronoUnit.DAYS   | "America/Sao_Paulo"
+        ChronoUnit.MONTHS | "Europe/London"
+        ChronoUnit.MONTHS | "Pacific/Apia"
+    }
+
+    /**
+     * Test for {@link TimeBucketAggregator#getBucketStart} and {@link TimeBucketAggregator#getBucketEnd}
+     */
+    def "the #granularity bucket #buckets after #midnight should be #expectedStart -> #expectedEnd"() {
+        given: "An aggregator over 2021, and the bucket the given number after local midnight"
+        def aggregator = TimeBucketAggregator.of(LONDON, granularity, toEpochMillis("2021-01-01T00:00:00Z"),
+                toEpochMillis("2021-12-31T23:59:59.999Z"))
+        def bucket = aggregator.bucketOf(toEpochMillis(midnight)) + buckets
+
+        expect: "The bucket starts and ends at the expected instants, just before the next bucket starts"
+        aggregator.getBucketStart(bucket) == toEpochMillis(expectedStart)
+        aggregator.getBucketEnd(bucket) == toEpochMillis(expectedEnd)
+        aggregator.getBucketEnd(bucket) == aggregator.getBucketStart(bucket + 1) - 1
+
+        where: "The local times of 01:00 to 01:59 are skipped on the 28th of March and repeated on the 31st of October"
+        granularity        | midnight                    | buckets | expectedStart          | expectedEnd
+        ChronoUnit.HOURS   | "2021-03-28T00:00:00Z"      | 0       | "2021-03-28T00:00:00Z" | "2021-03-28T00:59:59.999Z"
+        ChronoUnit.HOURS   | "2021-03-28T00:00:00Z"      | 1       | "2021-03-28T01:00:00Z" | "2021-03-28T00:59:59.999Z"
+        ChronoUnit.HOURS   | "2021-03-28T00:00:00Z"      | 2       | "2021-03-28T01:00:00Z" | "2021-03-28T01:59:59.999Z"
+        ChronoUnit.MINUTES | "2021-03-28T00:00:00Z"      | 119     | "2021-03-28T01:59:00Z" | "2021-03-28T00:59:59.999Z"
+        ChronoUnit.HOURS   | "2021-10-31T00:00:00+01:00" | 1       | "2021-10-31T00:00:00Z" | "2021-10-31T01:59:59.999Z"
+        ChronoUnit.MINUTES | "2021-10-31T00:00:00+01:00" | 119     | "2021-10-31T00:59:00Z" | "2021-10-31T01:59:59.999Z"
+    }
+
+    /**
+     * Test for {@link TimeBucketAggregator#aggregate} and {@link TimeBucketAggregator#merge}
+     */
+    def "a parallel stream should give the same counts as adding each event"() {
+        given: "Random instants over ten years"
+        def random = new Random(42)
+        def instants = (0..<100000).collect { (long) (random.nextDouble() * 315360000000L) + 1262304000000L } as long[]
+
+        when: "I aggregate them in parallel, and one at a time"
+        def parallel = TimeBucketAggregator.aggregate(LongStream.of(instants).parallel(), LONDON, ChronoUnit.DAYS,
+                1262304000000L, 1577836799999L)
+        def sequential = TimeBucketAggregator.of(LONDON, ChronoUnit.DAYS, 1262304000000L, 1577836799999L)
+        sequential.addAll(instants)
+
+        then: "The counts are the same"
+        parallel.getCounts() == sequential.getCounts()
+        parallel.getDropped() == sequential.getDropped()
+        parallel.getCounts().sum() + parallel.getDropped() == instants.length
+    }
+
+    /**
+     * Test for {@link TimeBucketAggregator#of} and {@link TimeBucketAggregator#merge}
+     */
+    def "of should not accept #granularity from #fromMillis to #toMillis"() {
+        when: "I create the aggregator"
+        TimeBucketAggregator.of(LONDON, granularity, fromMillis, toMillis)
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+
+        where: "The following scenarios are tested"
+        granularity        | fromMillis | toMillis
+        ChronoUnit.SECONDS | 0          | 1000
+        ChronoUnit.DAYS    | 1000       | 0
+        ChronoUnit.MINUTES | 0          | Long.MAX_VALUE.intdiv(2)
+    }
+
+    /**
+     * Test for {@link TimeBucketAggregator#merge}
+     */
+    def "merge should not accept an aggregator with different buckets"() {
+        when: "I merge the aggregators"
+        TimeBucketAggregator.of(LONDON, ChronoUnit.DAYS, 0, 86400000)
+                .merge(TimeBucketAggregator.of(LONDON, ChronoUnit.HOURS, 0, 86400000))
+
+        then: "An exception is thrown"
+        thrown(IllegalArgumentException)
+    }
+
+    private static long toEpochMillis(final String dateTime) {
+        return ZonedDateTime.parse(dateTime).toInstant().toEpochMilli()
+    }
+}
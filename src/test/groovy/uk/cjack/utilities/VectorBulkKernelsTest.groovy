@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities
+
+import spock.lang.Requires
+import spock.lang.Specification
+
+/**
+ * Test Class for the Vector API kernels, which are only built and on the test class path with the vector profile
+ * (so the class is looked up by name), compared against {@link ScalarBulkKernels}
+ */
+@Requires({ ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() })
+class VectorBulkKernelsTest extends Specification {
+
+    private static final long EXACT_DOUBLE_LIMIT = 1L << 53
+
+    private static final long EXACT_DIVIDEND_LIMIT = 1L << 50
+
+    private Class vectorKernels = Class.forName("uk.cjack.utilities.VectorBulkKernels")
+
+    /**
+     * Test for {@link BulkKernels}
+     */
+    def "the bulk methods should run the vector kernels where they are supported"() {
+        when: "I find the kernels the bulk methods run"
+        def bulkKernels = BulkDateTimeUtils.classLoader.loadClass("uk.cjack.utilities.BulkKernels")
+
+        then: "They are the Java 17 version, which runs the vector kernels"
+        bulkKernels.getResource("BulkKernels.class").toString().contains("META-INF/versions/17")
+        bulkKernels.VECTORIZED == vectorKernels.isSupported()
+    }
+
+    /**
+     * Test for {@code VectorBulkKernels#decompose}
+     */
+    def "decomposing #size instants with offset #offset up to #limit should match the scalar kernel"() {
+        given: "Instants spread over several millennia, at day boundaries, and just up to the given magnitude"
+        def random = new Random(size + offset)
+        def millis = (0..<size).collect {
+            if (it % 97 == 50) {
+                return (random.nextBoolean() ? 1 : -1) * (limit - random.nextInt(3)) - offset
+            }
+            switch (it % 3) {
+                case 0: return (random.nextDouble() - 0.5) * 4000L * 365 * 86400000L as long
+                case 1: return (random.nextInt(200_000) - 100_000) * 86400000L - offset + random.nextInt(3) - 1
+                default: return 1_600_000_000_000L + it * 1_234_567L
+            }
+        } as long[]
+        def expected = (0..<5).collect { new int[size] }
+        def actual = (0..<5).collect { new int[size] }
+
+        when: "I decompose all but the first instant with each kernel"
+        ScalarBulkKernels.decompose(millis, 1, size, offset, *expected)
+        vectorKernels.decompose(millis, 1, size, offset, *actual)
+
+        then: "The years, months, days, hours and minutes should be the same"
+        (0..<5).every { Arrays.equals(expected[it], actual[it]) }
+
+        where: "The sizes leave different numbers of elements after the last whole vector"
+        size | offset    | limit
+        1    | 0         | EXACT_DIVIDEND_LIMIT
+        10   | 3600000   | EXACT_DIVIDEND_LIMIT
+        1001 | 19800000  | EXACT_DIVIDEND_LIMIT - 1
+        1002 | -36000000 | EXACT_DIVIDEND_LIMIT
+        4099 | 45900000  | EXACT_DIVIDEND_LIMIT - 1
+        4099 | -18000000 | EXACT_DOUBLE_LIMIT
+    }
+
+    /**
+     * Test for {@code VectorBulkKernels#minutesBetween} and {@code VectorBulkKernels#daysBetweenExact}
+     */
+    def "calculations over #size pairs of instants should match the scalar kernels"() {
+        given: "Durations of either sign, whole minutes either side, and either side of the limit of exact doubles"
+        def random = new Random(size)
+        def starts = (0..<size).collect { (random.nextDouble() - 0.5) * 100L * 365 * 86400000L as long } as long[]
+        def durations = (0..<size).collect {
+            switch (it % 97) {
+                case 50: return (random.nextBoolean() ? 1 : -1) * (EXACT_DOUBLE_LIMIT + random.nextInt(3) - 1)
+                case 51: return random.nextLong()
+                case 52: return (random.nextBoolean() ? 1 : -1) * (EXACT_DOUBLE_LIMIT - random.nextInt(1 << 20))
+                default: return it % 2 == 0
+                                ? (random.nextDouble() - 0.5) * 20L * 365 * 86400000L as long
+                                : (random.nextInt(2_000_000) - 1_000_000) * 60000L + random.nextInt(3) - 1
+            }
+        }
+        def ends = (0..<size).collect { starts[it] + durations[it] } as long[]
+        def expectedMinutes = new int[size]
+        def actualMinutes = new int[size]
+        def expectedDays = new double[size]
+        def actualDays = new double[size]
+
+        when: "I calculate with each kernel"
+        ScalarBulkKernels.minutesBetween(starts, ends, 0, size, expectedMinutes)
+        vectorKernels.minutesBetween(starts, ends, 0, size, actualMinutes)
+        ScalarBulkKernels.daysBetweenExact(starts, ends, 0, size, expectedDays)
+        vectorKernels.daysBetweenExact(starts, ends, 0, size, actualDays)
+
+        then: "The results should be the same"
+        Arrays.equals(expectedMinutes, actualMinutes)
+        Arrays.equals(expectedDays, actualDays)
+
+        where: "The sizes leave different numbers of elements after the last whole vector"
+        size << [3, 1000, 4099]
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Chris Jackson (www.cjack.uk)
+ */
+package uk.cjack.utilities.metrics
+
+import java.nio.file.Files
+
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordingFile
+import spock.lang.Specification
+
+/**
+ * Test Class for {@link DateTimeMetrics}, {@link CountingMetricsSink} and {@link LatencyHistogram}
+ */
+class DateTimeMetricsTest extends Specification {
+
+    private MetricsSink originalSink = DateTimeMetrics.getSink()
+
+    def cleanup() {
+        DateTimeMetrics.setSink(originalSink)
+    }
+
+    /**
+     * Test for {@link DateTimeMetrics#ENABLED}
+     */
+    def "metrics should be disabled unless the system property is set"() {
+        expect: "Metrics are enabled only by the system property"
+        DateTimeMetrics.ENABLED == Boolean.getBoolean(DateTimeMetrics.PROPERTY)
+    }
+
+    /**
+     * Test for {@link LatencyHistogram#record} and {@link LatencyHistogram#getCount(int)}
+     */
+    def "a duration of #durationNanos ns should be recorded in bucket #expectedBucket"() {
+        given: "An empty histogram"
+        def histogram = new LatencyHistogram()
+
+        when: "I record the duration"
+        histogram.record(durationNanos)
+
+        then: "It is counted in the power-of-two bucket holding it"
+        histogram.getCount(expectedBucket) == 1
+        histogram.getCount() == 1
+        durationNanos <= LatencyHistogram.upperBound(expectedBucket)
+
+        where: "The following scenarios are tested"
+        durationNanos  || expectedBucket
+        -5             || 0
+        0              || 0
+        1              || 1
+        2              || 2
+        3              || 2
+        1000           || 10
+        Long.MAX_VALUE || 63
+    }
+
+    /**
+     * Test for {@link LatencyHistogram#getPercentile}
+     */
+    def "the #percentile percentile should be bounded by #expectedNanos ns"() {
+        given: "A histogram of 90 fast and 10 slow durations"
+        def histogram = new LatencyHistogram()
+        90.times { histogram.record(100) }
+        10.times { histogram.record(1_000_000) }
+
+        expect: "The percentile is the upper bound of the bucket holding it"
+        histogram.getPercentile(percentile) == expectedNanos
+
+        where: "The following scenarios are tested"
+        percentile || expectedNanos
+        0          || 127
+        50         || 127
+        90         || 127
+        91         || 1_048_575
+        100        || 1_048_575
+    }
+
+    /**
+     * Test for {@link LatencyHistogram#getPercentile}
+     */
+    def "an empty histogram should have percentiles of zero"() {
+        expect: "No durations gives a percentile of zero"
+        new LatencyHistogram().getPercentile(99) == 0
+    }
+
+    /**
+     * Test for {@link CountingMetricsSink}
+     */
+    def "the counting sink should count calls, failures and cache misses per operation"() {
+        given: "A counting sink"
+        def sink = new CountingMetricsSink()
+
+        when: "I record calls and cache misses"
+        sink.recordCall(Operation.CONVERT_FORMAT, 100, false)
+        sink.recordCall(Operation.CONVERT_FORMAT, 200, true)
+        sink.recordCall(Operation.VALIDATE_DATE_UNIT, 300, true)
+        sink.recordCacheMiss(Operation.CONVERT_FORMAT)
+
+        then: "Each operation has its own counts and latencies"
+        sink.getCalls(Operation.CONVERT_FORMAT) == 2
+        sink.getFailures(Operation.CONVERT_FORMAT) == 1
+        sink.getCacheMisses(Operation.CONVERT_FORMAT) == 1
+        sink.getLatencies(Operation.CONVERT_FORMAT).getCount() == 2
+        sink.getCalls(Operation.VALIDATE_DATE_UNIT) == 1
+        sink.getFailures(Operation.VALIDATE_DATE_UNIT) == 1
+        sink.getCalls(Operation.SET_MONTH_BOUNDARIES) == 0
+        sink.getLatencies(Operation.SET_MONTH_BOUNDARIES).getCount() == 0
+    }
+
+    /**
+     * Test for {@link DateTimeMetrics#recordCall} and {@link DateTimeMetrics#recordCacheMiss}
+     */
+    def "recorded metrics should be passed to the sink"() {
+        given: "A sink in place of the default"
+        def sink = Mock(MetricsSink)
+        DateTimeMetrics.setSink(sink)
+
+        when: "I record a failed call and a cache miss"
+        DateTimeMetrics.recordCall(Operation.CONVERT_FORMAT, System.nanoTime(), true)
+        DateTimeMetrics.recordCacheMiss(Operation.CONVERT_FORMAT)
+
+        then: "The sink receives both"
+        1 * sink.recordCall(Operation.CONVERT_FORMAT, { it >= 0 }, true)
+        1 * sink.recordCacheMiss(Operation.CONVERT_FORMAT)
+    }
+
+    /**
+     * Test for {@link DateTimeMetrics#recordCall} and {@link DateTimeOperationEvent}
+     */
+    def "recorded metrics should be committed as JFR events"() {
+        given: "A recording of the operation events"
+        DateTimeMetrics.setSink(new CountingMetricsSink())
+        def recording = new Recording()
+        recording.enable(DateTimeOperationEvent.NAME)
+        def file = Files.createTempFile("metrics", ".jfr")
+
+        when: "I record a call and a cache miss"
+        recording.start()
+        DateTimeMetrics.recordCall(Operation.SET_MONTH_BOUNDARIES, System.nanoTime(), false)
+        DateTimeMetrics.recordCacheMiss(Operation.CONVERT_FORMAT)
+        recording.stop()
+        recording.dump(file)
+        def events = RecordingFile.readAllEvents(file)
+
+        then: "Both are in the recording"
+        events.collect { [it.getString("operation"), it.getBoolean("cacheMiss")] } ==
+                [["SET_MONTH_BOUNDARIES", false], ["CONVERT_FORMAT", true]]
+
+        cleanup: "Remove the recording"
+        recording.close()
+        Files.delete(file)
+    }
+}